@@ -0,0 +1,54 @@
+package com.example.community.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 생성/검증 비용 측정 (인증이 필요한 모든 요청이 validateAccess + getEmail을 거침)
+ *
+ * - invalidSignature: 서명이 다른 토큰 (검증 실패 경로, 예외 생성 비용 포함)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private String forged;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmark-secret-min-32-chars-1234567890");
+        ReflectionTestUtils.setField(jwtUtil, "accessExpMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "community-app");
+        jwtUtil.init();
+
+        token = jwtUtil.generateAccessToken("bench@example.com");
+        char last = token.charAt(token.length() - 2);
+        forged = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateAccessToken("bench@example.com");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validateAccess(token);
+    }
+
+    @Benchmark
+    public boolean invalidSignature() {
+        return jwtUtil.validateAccess(forged);
+    }
+
+    @Benchmark
+    public String getEmail() {
+        return jwtUtil.getEmail(token);
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.community.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * 리포지토리 벤치마크용 대용량 데이터 생성 (배치 JDBC)
+ *
+ * scale=1.0 기준 회원 20만, 게시글 100만, 추천 1천만, 댓글 500만 건을 만듭니다.
+ * 게시글 인기도는 Zipf(지수 0.8) 분포를 따르며, 추천/댓글 수가 같은 순위를 공유합니다.
+ * (인기 순위는 작성 시각과 무관하게 흩어 놓아 최근 글만 인기 있는 편향을 피함)
+ *
+ * 검색 선택도 측정을 위해 제목에 빈도가 정해진 토큰을 넣습니다.
+ * - tokrare: 0.01%, tokmid: 1%, tokcommon: 10%, toknone: 없음 (전체 스캔 최악의 경우)
+ *
+ * 같은 seed/scale이면 항상 같은 데이터가 만들어지며, 생성 정보는 bench_dataset 테이블에 기록합니다.
+ */
+final class BenchmarkDataset {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkDataset.class);
+
+    static final String MARKER_TABLE = "bench_dataset";
+    static final String[] SELECTIVITY_TOKENS = {"tokrare", "tokmid", "tokcommon", "toknone"};
+
+    private static final double ZIPF_EXPONENT = 0.8;
+    private static final int BATCH_SIZE = 10_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final Duration SPAN = Duration.ofDays(365);
+    private static final String PASSWORD_HASH = "$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchmar";
+    private static final String BODY = "벤치마크 본문입니다. 게시판 검색과 목록 조회의 성능 기준선을 만들기 위한 텍스트. ".repeat(8);
+
+    final long members;
+    final long posts;
+    final long targetLikes;
+    final long targetComments;
+    final long seed;
+
+    BenchmarkDataset(double scale, long seed) {
+        this.members = Math.max(100, Math.round(200_000 * scale));
+        this.posts = Math.max(1_000, Math.round(1_000_000 * scale));
+        this.targetLikes = Math.round(10_000_000 * scale);
+        this.targetComments = Math.round(5_000_000 * scale);
+        this.seed = seed;
+    }
+
+    /**
+     * 게시글 작성 시각 (ID 순으로 1년에 고르게 분포, 마지막 글이 EPOCH + 365일)
+     */
+    static LocalDateTime postCreatedAt(long postId, long posts) {
+        return EPOCH.plusSeconds(SPAN.toSeconds() * postId / posts);
+    }
+
+    static LocalDateTime latest() {
+        return EPOCH.plus(SPAN);
+    }
+
+    /**
+     * 인기 순위 (0이 가장 인기), 게시글 ID를 곱셈 순열로 섞음
+     */
+    long rank(long postId) {
+        return Math.floorMod((postId - 1) * 2_654_435_761L, posts);
+    }
+
+    /**
+     * 지정 순위의 게시글 ID (rank의 역함수, 탐색으로 구함 - 조회용이므로 한 번만 호출)
+     */
+    long postWithRank(long rank) {
+        for (long id = 1; id <= posts; id++) {
+            if (rank(id) == rank) {
+                return id;
+            }
+        }
+        throw new IllegalArgumentException("순위 범위 초과: " + rank);
+    }
+
+    boolean isLoaded(DataSource dataSource, double scale) throws SQLException {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT scale, seed FROM " + MARKER_TABLE)) {
+            return rs.next() && rs.getDouble(1) == scale && rs.getLong(2) == seed;
+        } catch (SQLException e) {
+            return false; // 표식 테이블이 없으면 새로 생성
+        }
+    }
+
+    void load(DataSource dataSource, double scale) throws SQLException {
+        double[] weights = zipfWeights();
+        long start = System.nanoTime();
+        try (Connection c = dataSource.getConnection()) {
+            c.setAutoCommit(false);
+            loadMembers(c);
+            loadPosts(c, weights);
+            long likes = loadLikes(c, weights);
+            long comments = loadComments(c, weights);
+            try (Statement st = c.createStatement()) {
+                st.execute("ALTER TABLE members ALTER COLUMN id RESTART WITH " + (members + 1));
+                st.execute("ALTER TABLE posts ALTER COLUMN id RESTART WITH " + (posts + 1));
+                st.execute("ALTER TABLE post_likes ALTER COLUMN id RESTART WITH " + (likes + 1));
+                st.execute("ALTER TABLE comments ALTER COLUMN id RESTART WITH " + (comments + 1));
+                st.execute("DROP TABLE IF EXISTS " + MARKER_TABLE);
+                st.execute("CREATE TABLE " + MARKER_TABLE + " (scale DOUBLE, seed BIGINT, members BIGINT,"
+                        + " posts BIGINT, likes BIGINT, comments BIGINT)");
+                st.execute("INSERT INTO " + MARKER_TABLE + " VALUES (" + scale + ", " + seed + ", " + members
+                        + ", " + posts + ", " + likes + ", " + comments + ")");
+                st.execute("ANALYZE");
+            }
+            c.commit();
+            log.info("데이터 생성 완료: 회원={}, 게시글={}, 추천={}, 댓글={}, 소요={}초",
+                    members, posts, likes, comments, Duration.ofNanos(System.nanoTime() - start).toSeconds());
+        }
+    }
+
+    private double[] zipfWeights() {
+        double[] weights = new double[(int) posts];
+        double sum = 0;
+        for (int r = 0; r < posts; r++) {
+            weights[r] = 1.0 / Math.pow(r + 1, ZIPF_EXPONENT);
+            sum += weights[r];
+        }
+        for (int r = 0; r < posts; r++) {
+            weights[r] /= sum;
+        }
+        return weights;
+    }
+
+    // 순위별 건수 (한 게시글의 추천은 회원 수를 넘을 수 없음)
+    private long count(double[] weights, long postId, long total) {
+        return Math.min(members, (long) (total * weights[(int) rank(postId)]));
+    }
+
+    private void loadMembers(Connection c) throws SQLException {
+        Timestamp createdAt = Timestamp.valueOf(EPOCH.minusDays(30));
+        try (PreparedStatement member = c.prepareStatement(
+                "INSERT INTO members (id, username, email, password, active, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, TRUE, ?, ?)");
+             PreparedStatement role = c.prepareStatement(
+                     "INSERT INTO member_roles (member_id, role) VALUES (?, 'ROLE_USER')")) {
+            for (long id = 1; id <= members; id++) {
+                member.setLong(1, id);
+                member.setString(2, "user" + id);
+                member.setString(3, "user" + id + "@bench.local");
+                member.setString(4, PASSWORD_HASH);
+                member.setTimestamp(5, createdAt);
+                member.setTimestamp(6, createdAt);
+                member.addBatch();
+                role.setLong(1, id);
+                role.addBatch();
+                if (id % BATCH_SIZE == 0 || id == members) {
+                    member.executeBatch();
+                    role.executeBatch();
+                    c.commit();
+                }
+            }
+        }
+        log.info("회원 {}건 생성", members);
+    }
+
+    private void loadPosts(Connection c, double[] weights) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO posts (id, title, content, author_id, board_type, view_count, like_count, version,"
+                        + " created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)")) {
+            for (long id = 1; id <= posts; id++) {
+                long likes = count(weights, id, targetLikes);
+                Timestamp createdAt = Timestamp.valueOf(postCreatedAt(id, posts));
+                ps.setLong(1, id);
+                ps.setString(2, title(id));
+                ps.setString(3, BODY + id);
+                ps.setLong(4, 1 + random.nextLong(members));
+                ps.setString(5, random.nextInt(100) < 3 ? "NOTICE" : "FREE");
+                ps.setLong(6, likes * 20 + random.nextLong(50));
+                ps.setLong(7, likes);
+                ps.setTimestamp(8, createdAt);
+                ps.setTimestamp(9, createdAt);
+                ps.addBatch();
+                if (id % BATCH_SIZE == 0 || id == posts) {
+                    ps.executeBatch();
+                    c.commit();
+                    if (id % (BATCH_SIZE * 10) == 0) {
+                        log.info("게시글 {}/{}", id, posts);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String title(long id) {
+        StringBuilder title = new StringBuilder("게시글 제목 ").append(id);
+        if (id % 10_000 == 0) {
+            title.append(" tokrare");
+        }
+        if (id % 100 == 0) {
+            title.append(" tokmid");
+        }
+        if (id % 10 == 0) {
+            title.append(" tokcommon");
+        }
+        return title.toString();
+    }
+
+    /**
+     * 게시글마다 정해진 수만큼 서로 다른 회원의 추천 생성 (임의 시작점부터 연속 회원, 유일 제약 충족)
+     */
+    private long loadLikes(Connection c, double[] weights) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        long id = 0;
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO post_likes (id, post_id, member_id, created_at) VALUES (?, ?, ?, ?)")) {
+            for (long postId = 1; postId <= posts; postId++) {
+                long likes = count(weights, postId, targetLikes);
+                long first = random.nextLong(members);
+                LocalDateTime postedAt = postCreatedAt(postId, posts);
+                for (long i = 0; i < likes; i++) {
+                    ps.setLong(1, ++id);
+                    ps.setLong(2, postId);
+                    ps.setLong(3, 1 + (first + i) % members);
+                    ps.setTimestamp(4, Timestamp.valueOf(postedAt.plusMinutes(random.nextLong(60 * 24 * 7))));
+                    ps.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                        c.commit();
+                        if (id % (BATCH_SIZE * 100) == 0) {
+                            log.info("추천 {}/{}", id, targetLikes);
+                        }
+                    }
+                }
+            }
+            ps.executeBatch();
+            c.commit();
+        }
+        return id;
+    }
+
+    private long loadComments(Connection c, double[] weights) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        long id = 0;
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO comments (id, post_id, author_id, content, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long postId = 1; postId <= posts; postId++) {
+                long comments = count(weights, postId, targetComments);
+                LocalDateTime postedAt = postCreatedAt(postId, posts);
+                for (long i = 0; i < comments; i++) {
+                    Timestamp createdAt = Timestamp.valueOf(postedAt.plusMinutes(i + random.nextLong(60)));
+                    ps.setLong(1, ++id);
+                    ps.setLong(2, postId);
+                    ps.setLong(3, 1 + random.nextLong(members));
+                    ps.setString(4, "벤치마크 댓글 " + id);
+                    ps.setTimestamp(5, createdAt);
+                    ps.setTimestamp(6, createdAt);
+                    ps.addBatch();
+                    if (id % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                        c.commit();
+                        if (id % (BATCH_SIZE * 100) == 0) {
+                            log.info("댓글 {}/{}", id, targetComments);
+                        }
+                    }
+                }
+            }
+            ps.executeBatch();
+            c.commit();
+        }
+        return id;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.community.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행된 SQL과 바인딩 값을 기록해 두었다가 H2 EXPLAIN ANALYZE로 다시 실행하여 검사한 행 수를 구함
+ *
+ * 측정 반복에는 끼어들지 않고, 시나리오마다 한 번 별도로 실행할 때만 기록합니다.
+ * 검사한 행 수는 EXPLAIN ANALYZE 결과의 scanCount 합계입니다. (MySQL의 rows examined에 해당)
+ * 변경 문장은 같은 트랜잭션 안에서 실행한 뒤 롤백합니다.
+ */
+final class QueryPlanRecorder extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanRecorder.class);
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final ThreadLocal<List<Recorded>> RECORDING = new ThreadLocal<>();
+
+    record Recorded(String sql, List<Object> params) {
+    }
+
+    QueryPlanRecorder(DataSource target) {
+        super(target);
+    }
+
+    static void start() {
+        RECORDING.set(new ArrayList<>());
+    }
+
+    static List<Recorded> stop() {
+        List<Recorded> recorded = RECORDING.get();
+        RECORDING.remove();
+        return recorded != null ? recorded : List.of();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        List<Recorded> recording = RECORDING.get();
+        return recording != null ? wrap(connection, recording) : connection;
+    }
+
+    /**
+     * 기록한 문장들의 검사 행 수 합계 (EXPLAIN을 지원하지 않는 문장이 있으면 -1)
+     */
+    long rowsExamined(List<Recorded> recorded) throws SQLException {
+        long total = 0;
+        try (Connection c = obtainTargetDataSource().getConnection()) {
+            c.setAutoCommit(false);
+            try {
+                for (Recorded r : recorded) {
+                    total += explain(c, r);
+                }
+            } catch (SQLException e) {
+                log.warn("EXPLAIN ANALYZE 실패: {}", e.getMessage());
+                return -1;
+            } finally {
+                c.rollback();
+            }
+        }
+        return total;
+    }
+
+    private static long explain(Connection c, Recorded recorded) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("EXPLAIN ANALYZE " + recorded.sql())) {
+            for (int i = 0; i < recorded.params().size(); i++) {
+                ps.setObject(i + 1, recorded.params().get(i));
+            }
+            long scanned = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Matcher m = SCAN_COUNT.matcher(rs.getString(1));
+                    while (m.find()) {
+                        scanned += Long.parseLong(m.group(1));
+                    }
+                }
+            }
+            return scanned;
+        }
+    }
+
+    private static Connection wrap(Connection connection, List<Recorded> recording) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement ps && "prepareStatement".equals(method.getName())) {
+                        return wrap(ps, (String) args[0], recording);
+                    }
+                    return result;
+                });
+    }
+
+    private static PreparedStatement wrap(PreparedStatement statement, String sql, List<Recorded> recording) {
+        Map<Integer, Object> params = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    switch (name) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "clearParameters" -> params.clear();
+                        default -> {
+                            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                                params.put(index, "setNull".equals(name) ? null : args[1]);
+                            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                                recording.add(new Recorded(sql, new ArrayList<>(params.values())));
+                            }
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
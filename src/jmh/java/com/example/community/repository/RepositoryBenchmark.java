@@ -0,0 +1,396 @@
+package com.example.community.repository;
+
+import com.example.community.config.JpaConfig;
+import com.example.community.config.SqlStatementTracker;
+import com.example.community.domain.BoardType;
+import com.example.community.domain.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * PostRepository/CommentRepository 쿼리 벤치마크 (대용량 파일 기반 H2, MySQL 모드)
+ *
+ * ./gradlew repositoryBenchmark [-Pbench.scale=0.1] [-Pbench.iterations=30] [-Pbench.filter=findAll]
+ *
+ * 선언된 쿼리 메서드마다 페이지 깊이(0/10/1000)와 검색 선택도(0.01%~10%, 일치 없음)를 바꿔 가며
+ * 새 트랜잭션에서 반복 실행하고 p50/p99 지연, 문장 수, 반환 행 수, 검사 행 수를 보고합니다.
+ * 결과는 build/results/repository-benchmark/results.json에 저장되므로 인덱스/쿼리 변경 전후를 비교할 수 있습니다.
+ *
+ * 스키마는 엔티티 매핑으로 만든 뒤 운영 Flyway 마이그레이션의 인덱스를 적용합니다. (PRODUCTION_INDEXES,
+ * 마이그레이션은 MySQL 전용 구문이 있어 H2에서 그대로 실행하지 않으므로 인덱스를 추가/변경하면 여기에도 반영)
+ * 데이터는 처음 한 번만 생성하고, scale/seed가 바뀌거나 -Pbench.regenerate=true이면 다시 만듭니다.
+ */
+public final class RepositoryBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryBenchmark.class);
+    private static final int PAGE_SIZE = 20;
+    private static final int[] PAGE_DEPTHS = {0, 10, 1000};
+    private static final double[] LIKE_SELECTIVITIES = {0.001, 0.01, 0.1};
+    private static final int[] RECENT_DAYS = {7, 30, 365};
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    /**
+     * 운영 마이그레이션(V1, V2, V5, V12)이 만드는 인덱스 중 엔티티 매핑(@Table)에 없는 것
+     * (작성자, 댓글의 게시글/작성자 인덱스는 엔티티 매핑에 같은 컬럼으로 선언되어 있음)
+     */
+    private static final List<String> PRODUCTION_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_posts_created_at ON posts (created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_post_board_type ON posts (board_type)",
+            "CREATE INDEX IF NOT EXISTS idx_post_board_type_created_at ON posts (board_type, created_at DESC)",
+            "CREATE INDEX IF NOT EXISTS idx_posts_like_count ON posts (like_count)",
+            "CREATE INDEX IF NOT EXISTS idx_post_images_blob ON post_images (blob_hash)");
+
+    private final PostRepository posts;
+    private final CommentRepository comments;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+    private final QueryPlanRecorder recorder;
+    private final JdbcTemplate jdbc;
+    private final BenchmarkDataset dataset;
+    private final int warmup;
+    private final int iterations;
+    private final String filter;
+
+    record Scenario(String name, String params, boolean write, Supplier<Object> call) {
+    }
+
+    record Result(String scenario, String params, int iterations, double p50Ms, double p99Ms, double meanMs,
+                  int statements, long rowsReturned, long rowsExamined) {
+    }
+
+    private RepositoryBenchmark(ConfigurableApplicationContext context, BenchmarkDataset dataset,
+                                int warmup, int iterations, String filter) {
+        this.posts = context.getBean(PostRepository.class);
+        this.comments = context.getBean(CommentRepository.class);
+        PlatformTransactionManager txManager = context.getBean(PlatformTransactionManager.class);
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(txManager);
+        DataSource dataSource = context.getBean(DataSource.class);
+        this.recorder = unwrap(dataSource);
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.dataset = dataset;
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Path.of(System.getProperty("bench.dir", "build/repository-benchmark")).toAbsolutePath();
+        double scale = Double.parseDouble(System.getProperty("bench.scale", "1.0"));
+        long seed = Long.parseLong(System.getProperty("bench.seed", "42"));
+        int warmup = Integer.parseInt(System.getProperty("bench.warmup", "3"));
+        int iterations = Integer.parseInt(System.getProperty("bench.iterations", "30"));
+        String filter = System.getProperty("bench.filter", "");
+        boolean regenerate = Boolean.parseBoolean(System.getProperty("bench.regenerate", "false"));
+
+        String url = "jdbc:h2:file:" + dir.resolve("db/community")
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=524288";
+        BenchmarkDataset dataset = new BenchmarkDataset(scale, seed);
+        boolean loaded = !regenerate && dataset.isLoaded(new DriverManagerDataSource(url, "sa", ""), scale);
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("bench.url", url);
+        properties.put("spring.jpa.hibernate.ddl-auto", loaded ? "none" : "create");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.properties.hibernate.default_batch_fetch_size", "100");
+        properties.put("app.datasource.hold-time.enabled", "false");
+        properties.put("logging.level.org.hibernate.SQL", "off");
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Context.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(properties)
+                .run(args)) {
+            if (!loaded) {
+                log.info("벤치마크 데이터 생성 시작 (scale={}, seed={})", scale, seed);
+                dataset.load(context.getBean(DataSource.class), scale);
+            }
+            applyProductionIndexes(context.getBean(DataSource.class));
+            List<Result> results = new RepositoryBenchmark(context, dataset, warmup, iterations, filter).run();
+
+            Path out = Path.of(System.getProperty("bench.results", "build/results/repository-benchmark/results.json"));
+            Files.createDirectories(out.toAbsolutePath().getParent());
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("scale", scale);
+            report.put("seed", seed);
+            report.put("iterations", iterations);
+            report.put("results", results);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+            log.info("결과 저장: {}", out.toAbsolutePath());
+        }
+    }
+
+    // 데이터 생성 후 적용 (이전에 만든 DB에도 없는 인덱스만 추가), 실행 계획이 새 인덱스를 보도록 통계 갱신
+    private static void applyProductionIndexes(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        PRODUCTION_INDEXES.forEach(jdbc::execute);
+        jdbc.execute("ANALYZE");
+        log.info("운영 인덱스 적용: {}개", PRODUCTION_INDEXES.size());
+    }
+
+    // JpaConfig가 계측 래퍼로 감싼 DataSource에서 기록기를 꺼냄
+    private static QueryPlanRecorder unwrap(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource delegating && !(current instanceof QueryPlanRecorder)) {
+            current = delegating.getTargetDataSource();
+        }
+        if (current instanceof QueryPlanRecorder recorder) {
+            return recorder;
+        }
+        throw new IllegalStateException("QueryPlanRecorder를 찾을 수 없습니다: " + dataSource.getClass());
+    }
+
+    private List<Result> run() {
+        List<Result> results = new ArrayList<>();
+        System.out.printf("%-60s %-40s %9s %9s %6s %10s %12s%n",
+                "scenario", "params", "p50(ms)", "p99(ms)", "stmts", "rows", "examined");
+        for (Scenario scenario : scenarios()) {
+            if (!(scenario.name() + " " + scenario.params()).contains(filter)) {
+                continue;
+            }
+            Result result = measure(scenario);
+            results.add(result);
+            System.out.printf("%-60s %-40s %9.2f %9.2f %6d %10d %12d%n", result.scenario(), result.params(),
+                    result.p50Ms(), result.p99Ms(), result.statements(), result.rowsReturned(), result.rowsExamined());
+        }
+        return results;
+    }
+
+    private Result measure(Scenario scenario) {
+        for (int i = 0; i < warmup; i++) {
+            execute(scenario);
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            execute(scenario);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+
+        // 측정과 별도로 한 번 더 실행하여 문장 수/반환 행 수를 집계하고 실행 계획을 확인
+        QueryPlanRecorder.start();
+        List<QueryPlanRecorder.Recorded> recorded;
+        SqlStatementTracker.Scope scope = SqlStatementTracker.begin(scenario.name());
+        try (scope) {
+            execute(scenario);
+        } finally {
+            recorded = QueryPlanRecorder.stop();
+        }
+        long examined;
+        try {
+            examined = recorder.rowsExamined(recorded);
+        } catch (Exception e) {
+            log.warn("검사 행 수 측정 실패: {} ({})", scenario.name(), e.getMessage());
+            examined = -1;
+        }
+        return new Result(scenario.name(), scenario.params(), iterations,
+                millis(percentile(samples, 0.50)), millis(percentile(samples, 0.99)),
+                millis(Arrays.stream(samples).sum() / samples.length),
+                scope.statements(), scope.rows(), examined);
+    }
+
+    // 결과를 끝까지 읽어 지연 로딩 없이 측정되도록 함, 변경 쿼리는 롤백
+    private void execute(Scenario scenario) {
+        (scenario.write() ? writeTx : readTx).executeWithoutResult(status -> {
+            Object result = scenario.call().get();
+            if (result instanceof Page<?> page) {
+                page.getContent().size();
+            } else if (result instanceof Collection<?> list) {
+                list.size();
+            } else if (result instanceof Optional<?> optional) {
+                optional.isPresent();
+            }
+            if (scenario.write()) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Pageable page(int depth, Sort sort) {
+        return PageRequest.of(depth, PAGE_SIZE, sort);
+    }
+
+    private List<Scenario> scenarios() {
+        long hotPost = dataset.postWithRank(0);
+        long medianPost = dataset.postWithRank(dataset.posts / 2);
+        long coldPost = dataset.postWithRank(dataset.posts - 1);
+        Map<String, Long> targets = new LinkedHashMap<>();
+        targets.put("hot", hotPost);
+        targets.put("median", medianPost);
+        targets.put("cold", coldPost);
+        Long hotAuthor = jdbc.queryForObject("SELECT author_id FROM posts WHERE id = ?", Long.class, hotPost);
+        LocalDateTime now = BenchmarkDataset.latest();
+
+        List<Scenario> list = new ArrayList<>();
+
+        // 목록 (페이지 깊이)
+        for (int depth : PAGE_DEPTHS) {
+            Pageable pageable = page(depth, NEWEST_FIRST);
+            list.add(new Scenario("PostRepository.findAll", "page=" + depth, false,
+                    () -> posts.findAll(pageable)));
+            for (BoardType type : BoardType.values()) {
+                list.add(new Scenario("PostRepository.findByBoardType", type + " page=" + depth, false,
+                        () -> posts.findByBoardType(type, pageable)));
+            }
+        }
+
+        // 검색 (선택도 x 페이지 깊이)
+        for (String token : BenchmarkDataset.SELECTIVITY_TOKENS) {
+            for (int depth : new int[]{0, 10}) {
+                String params = "q=" + token + " page=" + depth;
+                Pageable sorted = page(depth, NEWEST_FIRST);
+                Pageable unsorted = PageRequest.of(depth, PAGE_SIZE);
+                list.add(new Scenario("PostRepository.findByTitleContainingIgnoreCaseWithAuthor", params, false,
+                        () -> posts.findByTitleContainingIgnoreCaseWithAuthor(token, sorted)));
+                list.add(new Scenario("PostRepository.findByTitleOrContentContainingIgnoreCaseWithAuthor", params, false,
+                        () -> posts.findByTitleOrContentContainingIgnoreCaseWithAuthor(token, sorted)));
+                list.add(new Scenario("PostRepository.findByBoardTypeAndTitleContainingIgnoreCase", params, false,
+                        () -> posts.findByBoardTypeAndTitleContainingIgnoreCase(BoardType.FREE, token, unsorted)));
+                list.add(new Scenario("PostRepository.findByBoardTypeAndTitleOrContentContainingIgnoreCase", params, false,
+                        () -> posts.findByBoardTypeAndTitleOrContentContainingIgnoreCase(BoardType.FREE, token, unsorted)));
+            }
+        }
+
+        // 추천수 필터 (상위 0.1%/1%/10% 기준값)
+        for (double selectivity : LIKE_SELECTIVITIES) {
+            long minLikes = likeThreshold(selectivity);
+            for (int depth : new int[]{0, 10}) {
+                String params = "top=" + (selectivity * 100) + "% minLikes=" + minLikes + " page=" + depth;
+                Pageable pageable = PageRequest.of(depth, PAGE_SIZE);
+                list.add(new Scenario("PostRepository.findByLikeCountGreaterThanEqual", params, false,
+                        () -> posts.findByLikeCountGreaterThanEqual(minLikes, pageable)));
+                list.add(new Scenario("PostRepository.findByLikeCountGreaterThanEqualAndTitleContaining",
+                        params + " q=tokmid", false,
+                        () -> posts.findByLikeCountGreaterThanEqualAndTitleContaining(minLikes, "tokmid", pageable)));
+                list.add(new Scenario("PostRepository.findByLikeCountGreaterThanEqualAndTitleOrContentContaining",
+                        params + " q=tokmid", false,
+                        () -> posts.findByLikeCountGreaterThanEqualAndTitleOrContentContaining(minLikes, "tokmid", pageable)));
+            }
+        }
+
+        // 기간 내 추천순
+        for (int days : RECENT_DAYS) {
+            LocalDateTime from = now.minusDays(days);
+            for (int depth : new int[]{0, 10}) {
+                Pageable pageable = PageRequest.of(depth, PAGE_SIZE);
+                list.add(new Scenario("PostRepository.findRecentOrderByLikes", "days=" + days + " page=" + depth, false,
+                        () -> posts.findRecentOrderByLikes(from, pageable)));
+            }
+        }
+
+        // 단건 조회/변경 (인기 글, 중간, 비인기 글)
+        targets.forEach((label, id) -> {
+            list.add(new Scenario("PostRepository.findByIdWithAuthor", label, false,
+                    () -> posts.findByIdWithAuthor(id)));
+            list.add(new Scenario("PostRepository.findByIdWithAuthorAndImages", label, false,
+                    () -> posts.findByIdWithAuthorAndImages(id)));
+            list.add(new Scenario("PostRepository.existsByIdAndAuthor_Id", label, false,
+                    () -> posts.existsByIdAndAuthor_Id(id, hotAuthor)));
+            list.add(new Scenario("PostRepository.incrementViews", label, true,
+                    () -> posts.incrementViews(id)));
+        });
+        list.add(new Scenario("PostRepository.markPostsByAuthorIdAsWithdrawn", "author=" + hotAuthor, true,
+                () -> posts.markPostsByAuthorIdAsWithdrawn(hotAuthor)));
+
+        // 댓글 (게시글 인기도 x 페이지 깊이)
+        targets.forEach((label, id) -> {
+            list.add(new Scenario("CommentRepository.findByPost(list)", label, false,
+                    () -> comments.findByPost(posts.getReferenceById(id))));
+            for (int depth : PAGE_DEPTHS) {
+                String params = label + " page=" + depth;
+                Pageable oldestFirst = page(depth, Sort.by(Sort.Direction.ASC, "createdAt"));
+                list.add(new Scenario("CommentRepository.findByPost(page)", params, false,
+                        () -> comments.findByPost(posts.getReferenceById(id), oldestFirst)));
+                list.add(new Scenario("CommentRepository.findByPostId", params, false,
+                        () -> comments.findByPostId(id, oldestFirst)));
+                list.add(new Scenario("CommentRepository.findProjectionsByPostId", params, false,
+                        () -> comments.findProjectionsByPostId(id, oldestFirst)));
+            }
+        });
+        Long firstComment = jdbc.queryForObject("SELECT MIN(id) FROM comments", Long.class);
+        list.add(new Scenario("CommentRepository.findAuthorIdById", "id=" + firstComment, false,
+                () -> comments.findAuthorIdById(firstComment)));
+        list.add(new Scenario("CommentRepository.anonymizeByAuthorId", "author=" + hotAuthor, true,
+                () -> comments.anonymizeByAuthorId(hotAuthor)));
+        return list;
+    }
+
+    private long likeThreshold(double selectivity) {
+        long offset = Math.max(0, (long) (dataset.posts * selectivity) - 1);
+        return jdbc.queryForObject(
+                "SELECT like_count FROM posts ORDER BY like_count DESC OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY",
+                Long.class, offset);
+    }
+
+    /**
+     * 리포지토리와 JPA만 올리는 최소 컨텍스트 (웹/보안/스케줄러 제외)
+     * JpaConfig를 가져와 감사 필드와 SQL 집계 DataSource를 애플리케이션과 같게 구성합니다.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Post.class)
+    @EnableJpaRepositories(basePackageClasses = PostRepository.class)
+    @Import(JpaConfig.class)
+    static class Context {
+
+        @Bean
+        DataSource dataSource(Environment env) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(env.getRequiredProperty("bench.url"));
+            pool.setUsername("sa");
+            pool.setPassword("");
+            pool.setMaximumPoolSize(4);
+            return new QueryPlanRecorder(pool);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.community.security;
+
+import com.example.community.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 빈도 제한 필터 오버헤드 측정
+ *
+ * - baseline: 필터 없이 체인만 실행
+ * - unmatchedPath: 정책에 해당하지 않는 요청 (대부분의 GET 트래픽)
+ * - matchedPath: 정책에 해당하는 요청 (버킷 조회 + CAS)
+ *
+ * 용량을 충분히 크게 잡아 측정 중 429가 발생하지 않도록 함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimitFilterBenchmark {
+
+    private RateLimitFilter filter;
+    private MockHttpServletRequest matched;
+    private MockHttpServletRequest unmatched;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties.Policy like = new RateLimitProperties.Policy();
+        like.setName("post-like");
+        like.setMethod("POST");
+        like.setPattern("/api/posts/*/like");
+        like.setCapacity(Integer.MAX_VALUE / 2);
+        like.setRefillPeriod(Duration.ofNanos(1));
+        like.setKey(RateLimitProperties.KeyType.IP);
+
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setName("auth-login");
+        login.setMethod("POST");
+        login.setPattern("/api/auth/login");
+        login.setKey(RateLimitProperties.KeyType.IP);
+
+        RateLimitProperties props = new RateLimitProperties();
+        props.setPolicies(List.of(login, like));
+        filter = new RateLimitFilter(new RateLimiter(props));
+
+        matched = new MockHttpServletRequest("POST", "/api/posts/42/like");
+        matched.setRemoteAddr("10.0.0.1");
+        unmatched = new MockHttpServletRequest("GET", "/api/posts/42");
+        unmatched.setRemoteAddr("10.0.0.1");
+    }
+
+    @Benchmark
+    public Object baseline() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        chain.doFilter(matched, res);
+        return res;
+    }
+
+    @Benchmark
+    public Object unmatchedPath() throws Exception {
+        return run(unmatched);
+    }
+
+    @Benchmark
+    public Object matchedPath() throws Exception {
+        return run(matched);
+    }
+
+    private Object run(MockHttpServletRequest req) throws Exception {
+        // OncePerRequestFilter의 "이미 처리됨" 속성 제거
+        req.clearAttributes();
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+        return res;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.community.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리프레시 토큰 해시 비용 측정 (발급/회전/폐기마다 호출)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RefreshTokenHashBenchmark {
+
+    private String rawToken;
+
+    @Setup
+    public void setUp() {
+        rawToken = UUID.randomUUID() + "." + UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String hashToken() {
+        return RefreshTokenService.hashToken(rawToken);
+    }
+}
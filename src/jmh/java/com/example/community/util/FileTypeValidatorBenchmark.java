@@ -0,0 +1,56 @@
+package com.example.community.util;
+
+import com.example.community.common.FilePolicy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업로드 파일 타입 검증 비용 측정 (형식별 시그니처 검사)
+ *
+ * - isAllowed: MultipartFile에서 헤더를 읽어 검사 (업로드 경로)
+ * - matches: 이미 읽은 헤더 버퍼로 검사 (스트리밍 업로드 경로)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FileTypeValidatorBenchmark {
+
+    @Param({"image/png", "image/jpeg", "image/gif", "image/webp"})
+    public String mime;
+
+    private MockMultipartFile file;
+    private byte[] head;
+
+    @Setup
+    public void setUp() {
+        byte[] content = new byte[64 * 1024];
+        byte[] signature = signature(mime);
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        file = new MockMultipartFile("file", "bench", mime, content);
+        head = new byte[FileTypeValidator.HEAD_LENGTH];
+        System.arraycopy(content, 0, head, 0, head.length);
+    }
+
+    @Benchmark
+    public boolean isAllowed() throws IOException {
+        return FileTypeValidator.isAllowed(file, FilePolicy.ALLOWED_IMAGE_TYPES);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return FileTypeValidator.matches(mime, head, head.length);
+    }
+
+    private static byte[] signature(String mime) {
+        return switch (mime) {
+            case "image/png" -> new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+            case "image/jpeg" -> new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+            case "image/gif" -> new byte[]{'G', 'I', 'F', '8', '9', 'a'};
+            case "image/webp" -> new byte[]{'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'};
+            default -> throw new IllegalArgumentException(mime);
+        };
+    }
+}
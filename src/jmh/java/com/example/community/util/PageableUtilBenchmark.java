@@ -0,0 +1,47 @@
+package com.example.community.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 정렬 화이트리스트 검증 비용 측정 (목록 API마다 호출)
+ *
+ * - unsorted: 정렬 없음 (그대로 반환)
+ * - allowedSort: 허용 필드만 사용 (검사 후 그대로 반환)
+ * - mixedSort: 허용되지 않는 필드 포함 (필터링 후 새 Pageable 생성)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PageableUtilBenchmark {
+
+    private Pageable unsorted;
+    private Pageable allowed;
+    private Pageable mixed;
+
+    @Setup
+    public void setUp() {
+        unsorted = PageRequest.of(0, 20);
+        allowed = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("likeCount")));
+        mixed = PageRequest.of(0, 20, Sort.by(Sort.Order.desc("password"), Sort.Order.asc("viewCount")));
+    }
+
+    @Benchmark
+    public Pageable unsorted() {
+        return PageableUtil.getSafePostPageable(unsorted);
+    }
+
+    @Benchmark
+    public Pageable allowedSort() {
+        return PageableUtil.getSafePostPageable(allowed);
+    }
+
+    @Benchmark
+    public Pageable mixedSort() {
+        return PageableUtil.getSafePostPageable(mixed);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.community.web.dto;
+
+import com.example.community.domain.BoardType;
+import com.example.community.domain.Member;
+import com.example.community.domain.Post;
+import com.example.community.domain.PostImage;
+import com.example.community.service.mapper.DtoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 게시글 응답 변환/직렬화 비용 측정
+ *
+ * - postResOf / dtoMapper: 엔티티 한 건을 응답 DTO로 변환
+ * - serializePage: 목록 응답(Page&lt;PostRes&gt;)을 JSON 바이트로 직렬화
+ *
+ * ObjectMapper는 애플리케이션과 같은 기본 설정(Jackson2ObjectMapperBuilder, JavaTimeModule 포함)을 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostResBenchmark {
+
+    @Param({"20"})
+    public int pageSize;
+
+    @Param({"3"})
+    public int imagesPerPost;
+
+    private Post post;
+    private DtoMapper mapper;
+    private ObjectMapper objectMapper;
+    private Page<PostRes> page;
+
+    @Setup
+    public void setUp() {
+        Member author = Member.builder().id(1L).username("bench-user").email("bench@example.com")
+                .password("p").roles(Set.of("ROLE_USER")).build();
+        ReflectionTestUtils.setField(author, "createdAt", LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        List<PostRes> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(PostRes.of(post(i, author)));
+        }
+        post = post(0, author);
+        mapper = new DtoMapper();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+    }
+
+    private Post post(long id, Member author) {
+        Post p = Post.builder().id(id).title("벤치마크 게시글 제목 " + id)
+                .content("본문 ".repeat(100)).boardType(BoardType.FREE).author(author)
+                .viewCount(1234).likeCount(56).build();
+        ReflectionTestUtils.setField(p, "createdAt", LocalDateTime.of(2024, 1, 1, 12, 0));
+        for (int j = 0; j < imagesPerPost; j++) {
+            String key = "posts/1/ab/cd/" + id + "-" + j + ".png";
+            p.addImage(PostImage.builder().id(id * 10 + j).fileKey(key).originalName(j + ".png")
+                    .contentType("image/png").size(123_456).url("/files/" + key)
+                    .thumbnailUrl("/files/" + key + ".thumb.webp").width(1920).height(1080).build());
+        }
+        return p;
+    }
+
+    @Benchmark
+    public PostRes postResOf() {
+        return PostRes.of(post);
+    }
+
+    @Benchmark
+    public PostRes dtoMapper() {
+        return mapper.toPostRes(post);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
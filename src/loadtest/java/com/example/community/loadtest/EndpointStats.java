@@ -0,0 +1,47 @@
+package com.example.community.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 응답 시간(HDR 히스토그램, 마이크로초)과 오류 수
+ *
+ * Recorder는 여러 가상 스레드가 잠금 없이 기록하고, 단계가 끝날 때 구간 히스토그램을 꺼내면 초기화됩니다.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Recorder> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    record Snapshot(Histogram histogram, long errors) {
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        long micros = Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        latencies.computeIfAbsent(endpoint, e -> new Recorder(HIGHEST_MICROS, 3)).recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 지금까지 기록을 꺼내고 초기화 (엔드포인트 이름순)
+     */
+    Map<String, Snapshot> drain() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        latencies.forEach((endpoint, recorder) -> {
+            LongAdder errorCount = errors.get(endpoint);
+            snapshot.put(endpoint, new Snapshot(recorder.getIntervalHistogram(),
+                    errorCount != null ? errorCount.sumThenReset() : 0));
+        });
+        return snapshot;
+    }
+}
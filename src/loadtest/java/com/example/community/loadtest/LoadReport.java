@@ -0,0 +1,124 @@
+package com.example.community.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 단계(동시 가상 사용자 수)별 엔드포인트 처리량/지연 백분위와 풀 상태 보고
+ *
+ * 포화 판정: 직전 단계보다 처리량이 10% 미만으로 늘었는데 커넥션 대기(pending)가 생긴 첫 단계.
+ * 이 지점부터는 동시 사용자를 늘려도 처리량은 그대로이고 지연만 커지며, 대기 원인이 풀인지 여부를 함께 보여 줍니다.
+ */
+final class LoadReport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadReport.class);
+    private static final double SATURATION_GAIN = 0.10;
+
+    record EndpointResult(long count, double rps, double p50Ms, double p90Ms, double p99Ms, double p999Ms,
+                          double maxMs, long errors) {
+
+        static EndpointResult of(EndpointStats.Snapshot snapshot, double seconds) {
+            Histogram h = snapshot.histogram();
+            return new EndpointResult(h.getTotalCount(), h.getTotalCount() / seconds,
+                    ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                    ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)),
+                    ms(h.getMaxValue()), snapshot.errors());
+        }
+
+        private static double ms(long micros) {
+            return micros / 1000.0;
+        }
+    }
+
+    record StageResult(int users, double seconds, double rps, long errors, PoolSampler.PoolStats pool,
+                       Map<String, EndpointResult> endpoints) {
+    }
+
+    private final Map<String, Object> settings;
+    private final List<StageResult> stages = new ArrayList<>();
+
+    LoadReport(Map<String, Object> settings) {
+        this.settings = settings;
+    }
+
+    StageResult add(int users, Duration measured, Map<String, EndpointStats.Snapshot> snapshot,
+                    PoolSampler.PoolStats pool) {
+        double seconds = measured.toNanos() / 1e9;
+        Map<String, EndpointResult> endpoints = new LinkedHashMap<>();
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (Map.Entry<String, EndpointStats.Snapshot> e : snapshot.entrySet()) {
+            endpoints.put(e.getKey(), EndpointResult.of(e.getValue(), seconds));
+            all.add(e.getValue().histogram());
+            errors += e.getValue().errors();
+        }
+        endpoints.put("ALL", EndpointResult.of(new EndpointStats.Snapshot(all, errors), seconds));
+        StageResult stage = new StageResult(users, seconds, all.getTotalCount() / seconds, errors, pool, endpoints);
+        stages.add(stage);
+        print(stage);
+        return stage;
+    }
+
+    /**
+     * 포화가 시작된 단계의 동시 사용자 수 (없으면 null)
+     */
+    Integer saturatedAt() {
+        for (int i = 1; i < stages.size(); i++) {
+            StageResult prev = stages.get(i - 1);
+            StageResult cur = stages.get(i);
+            if (cur.rps() < prev.rps() * (1 + SATURATION_GAIN) && cur.pool().pendingAvg() > 0) {
+                return cur.users();
+            }
+        }
+        return null;
+    }
+
+    void finish(Path output) throws IOException {
+        log.info("===== 요약 =====");
+        log.info(String.format("%8s %10s %10s %10s %12s %12s %10s", "users", "rps", "p99(ms)", "errors",
+                "active(avg)", "pending(avg)", "acquire(ms)"));
+        for (StageResult s : stages) {
+            EndpointResult all = s.endpoints().get("ALL");
+            log.info(String.format("%8d %10.1f %10.1f %10d %12.1f %12.1f %10.2f", s.users(), s.rps(), all.p99Ms(),
+                    s.errors(), s.pool().activeAvg(), s.pool().pendingAvg(), s.pool().acquireAvgMs()));
+        }
+        Integer saturated = saturatedAt();
+        log.info(saturated != null
+                ? "커넥션 풀 포화 시작: 동시 사용자 " + saturated + "명 (처리량 정체 + 커넥션 대기 발생)"
+                : "측정한 단계 안에서는 풀 포화가 관찰되지 않았습니다.");
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("saturatedAtUsers", saturated);
+        json.put("stages", stages);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), json);
+        log.info("결과 저장: {}", output.toAbsolutePath());
+    }
+
+    private static void print(StageResult stage) {
+        PoolSampler.PoolStats pool = stage.pool();
+        log.info("===== 동시 사용자 {}명, {}초, {} req/s, 오류 {} =====", stage.users(),
+                String.format("%.1f", stage.seconds()), String.format("%.1f", stage.rps()), stage.errors());
+        log.info(String.format("풀: active 평균 %.1f / 최대 %.0f, pending 평균 %.1f / 최대 %.0f, 획득 평균 %.2fms, 시간 초과 %d",
+                pool.activeAvg(), pool.activeMax(), pool.pendingAvg(), pool.pendingMax(), pool.acquireAvgMs(),
+                pool.timeouts()));
+        log.info(String.format("%-36s %8s %9s %9s %9s %9s %9s %9s %7s", "endpoint", "count", "rps",
+                "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "errors"));
+        stage.endpoints().forEach((name, r) -> log.info(String.format(
+                "%-36s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d", name, r.count(), r.rps(),
+                r.p50Ms(), r.p90Ms(), r.p99Ms(), r.p999Ms(), r.maxMs(), r.errors())));
+    }
+}
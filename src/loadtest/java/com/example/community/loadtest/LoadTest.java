@@ -0,0 +1,162 @@
+package com.example.community.loadtest;
+
+import com.example.community.CommunityApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 종단 간 부하 테스트 (./gradlew loadTest)
+ *
+ * 애플리케이션을 같은 JVM에서 "loadtest" 프로필로 띄우고(기본 인메모리 H2, load.dbUrl 지정 시 로컬 MySQL + Flyway),
+ * 계정/게시글을 만든 뒤 동시 가상 사용자 수를 단계별로 늘려 가며 정해진 트래픽 구성을 재생합니다.
+ * 가상 사용자는 가상 스레드 하나씩이며, 응답을 받자마자 다음 요청을 보내는 닫힌 모델(closed model)입니다.
+ *
+ * 같은 seed와 구성이면 가상 사용자별 시나리오 순서가 같으므로 변경 전후 결과를 비교할 수 있습니다.
+ * 각 단계의 워밍업 구간 결과는 버리고, 측정 구간의 엔드포인트별 처리량/지연 백분위와 Hikari 풀 상태를 보고합니다.
+ *
+ * 설정 (시스템 속성)
+ * - load.stages: 단계별 동시 가상 사용자 수 (기본 8,16,32,64,128)
+ * - load.warmupSeconds / load.stageSeconds: 단계별 워밍업/측정 시간 (기본 10/30)
+ * - load.mix: 시나리오 가중치 (기본 browse=45,detail=30,like=8,comment=7,upload=3,refresh=7)
+ * - load.posts: 미리 만들 게시글 수 (기본 300)
+ * - load.likeBurst / load.commentBurst: 한 번에 보내는 추천/댓글 요청 수 (기본 5/3)
+ * - load.seed: 시나리오 선택 난수 seed (기본 42)
+ * - load.dbUrl / load.dbUser / load.dbPassword: 로컬 MySQL 사용 시
+ * - load.results: 결과 JSON 경로
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] stages = Arrays.stream(System.getProperty("load.stages", "8,16,32,64,128").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        Duration warmup = Duration.ofSeconds(Long.parseLong(System.getProperty("load.warmupSeconds", "10")));
+        Duration measure = Duration.ofSeconds(Long.parseLong(System.getProperty("load.stageSeconds", "30")));
+        Workload.Mix mix = new Workload.Mix(System.getProperty("load.mix",
+                "browse=45,detail=30,like=8,comment=7,upload=3,refresh=7"));
+        int posts = Integer.parseInt(System.getProperty("load.posts", "300"));
+        int likeBurst = Integer.parseInt(System.getProperty("load.likeBurst", "5"));
+        int commentBurst = Integer.parseInt(System.getProperty("load.commentBurst", "3"));
+        long seed = Long.parseLong(System.getProperty("load.seed", "42"));
+        String dbUrl = System.getProperty("load.dbUrl", "");
+        Path output = Path.of(System.getProperty("load.results", "build/results/loadtest/results.json"));
+
+        Map<String, Object> properties = new HashMap<>();
+        if (!dbUrl.isBlank()) {
+            // 운영과 같은 스키마(Flyway)로 로컬 MySQL에 실행, 데이터는 테스트 계정으로만 추가됨
+            properties.put("spring.datasource.url", dbUrl);
+            properties.put("spring.datasource.username", System.getProperty("load.dbUser", "root"));
+            properties.put("spring.datasource.password", System.getProperty("load.dbPassword", ""));
+            properties.put("spring.jpa.hibernate.ddl-auto", "none");
+            properties.put("spring.flyway.enabled", "true");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CommunityApplication.class)
+                .profiles("loadtest")
+                .properties(properties)
+                .run(args);
+             ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            Environment env = context.getEnvironment();
+            URI base = URI.create("http://localhost:" + env.getRequiredProperty("local.server.port"));
+            String pool = env.getProperty("spring.datasource.hikari.pool-name", "community-pool");
+            int poolSize = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+
+            EndpointStats stats = new EndpointStats();
+            Workload workload = new Workload(http, base, env.getRequiredProperty("refresh.cookie.name"), stats,
+                    likeBurst, commentBurst);
+
+            // 가상 사용자마다 계정 하나 (가장 큰 단계 기준)
+            int maxUsers = Arrays.stream(stages).max().orElse(1);
+            List<Future<Workload.User>> signups = new ArrayList<>();
+            for (int i = 0; i < maxUsers; i++) {
+                int index = i;
+                signups.add(setup.submit(() -> workload.signUpAndLogin(index)));
+            }
+            List<Workload.User> users = new ArrayList<>();
+            for (Future<Workload.User> f : signups) {
+                users.add(f.get());
+            }
+            List<Long> postIds = new ArrayList<>();
+            for (int i = 0; i < posts; i++) {
+                postIds.add(workload.createPost(users.get(i % users.size()), i));
+            }
+            workload.posts(postIds);
+            log.info("초기 데이터 준비 완료: 계정 {}개, 게시글 {}개, 풀 {} (최대 {}), 구성 {}",
+                    users.size(), postIds.size(), pool, poolSize, mix);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("stages", stages);
+            settings.put("warmupSeconds", warmup.toSeconds());
+            settings.put("stageSeconds", measure.toSeconds());
+            settings.put("mix", mix.toString());
+            settings.put("posts", posts);
+            settings.put("likeBurst", likeBurst);
+            settings.put("commentBurst", commentBurst);
+            settings.put("seed", seed);
+            settings.put("database", dbUrl.isBlank() ? "h2-mem" : dbUrl.replaceAll("\\?.*", ""));
+            settings.put("poolSize", poolSize);
+            LoadReport report = new LoadReport(settings);
+            PoolSampler sampler = new PoolSampler(context.getBean(MeterRegistry.class), pool);
+
+            for (int concurrency : stages) {
+                runStage(concurrency, users, workload, mix, seed, warmup, measure, stats, sampler, report);
+            }
+            report.finish(output);
+        }
+    }
+
+    private static void runStage(int concurrency, List<Workload.User> users, Workload workload, Workload.Mix mix,
+                                 long seed, Duration warmup, Duration measure, EndpointStats stats,
+                                 PoolSampler sampler, LoadReport report) throws InterruptedException {
+        log.info("단계 시작: 동시 사용자 {}명 (워밍업 {}초, 측정 {}초)", concurrency, warmup.toSeconds(), measure.toSeconds());
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + measure.toNanos();
+        long measureStart;
+        try (ExecutorService vus = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                Workload.User user = users.get(i);
+                SplittableRandom random = new SplittableRandom(seed * 31 + i);
+                vus.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        workload.run(mix.pick(random), user, random);
+                    }
+                });
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            stats.drain(); // 워밍업 결과는 버림
+            measureStart = System.nanoTime();
+            sampler.start();
+        } // 모든 가상 사용자가 진행 중인 요청을 마칠 때까지 대기
+        Duration measured = Duration.ofNanos(System.nanoTime() - measureStart);
+        report.add(concurrency, measured, stats.drain(), sampler.stop());
+    }
+}
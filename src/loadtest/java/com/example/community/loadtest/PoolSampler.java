@@ -0,0 +1,99 @@
+package com.example.community.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단계 동안 Hikari 풀 상태를 주기적으로 표본 추출 (애플리케이션과 같은 JVM의 MeterRegistry에서 직접 읽음)
+ *
+ * - active/pending: 50ms 간격 표본의 평균과 최대
+ * - acquire: 커넥션 획득 대기 시간 (단계 구간 평균, Micrometer의 max는 이동 구간 값이라 단계별로 나눌 수 없음)
+ * - timeouts: 커넥션 획득 시간 초과 건수
+ */
+final class PoolSampler {
+
+    private static final long INTERVAL_MS = 50;
+
+    record PoolStats(double activeAvg, double activeMax, double pendingAvg, double pendingMax,
+                     double acquireAvgMs, long timeouts) {
+    }
+
+    private final MeterRegistry registry;
+    private final String pool;
+
+    private volatile boolean running;
+    private Thread sampler;
+    private double activeSum;
+    private double activeMax;
+    private double pendingSum;
+    private double pendingMax;
+    private long samples;
+    private long acquireCountStart;
+    private double acquireTotalStart;
+    private double timeoutsStart;
+
+    PoolSampler(MeterRegistry registry, String pool) {
+        this.registry = registry;
+        this.pool = pool;
+    }
+
+    void start() {
+        activeSum = activeMax = pendingSum = pendingMax = 0;
+        samples = 0;
+        Timer acquire = acquireTimer();
+        acquireCountStart = acquire != null ? acquire.count() : 0;
+        acquireTotalStart = acquire != null ? acquire.totalTime(TimeUnit.MILLISECONDS) : 0;
+        timeoutsStart = timeouts();
+        running = true;
+        sampler = Thread.ofVirtual().name("pool-sampler").start(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+    }
+
+    PoolStats stop() throws InterruptedException {
+        running = false;
+        sampler.join();
+        Timer acquire = acquireTimer();
+        long acquires = acquire != null ? acquire.count() - acquireCountStart : 0;
+        double acquireTotal = acquire != null ? acquire.totalTime(TimeUnit.MILLISECONDS) - acquireTotalStart : 0;
+        long n = Math.max(1, samples);
+        return new PoolStats(activeSum / n, activeMax, pendingSum / n, pendingMax,
+                acquires > 0 ? acquireTotal / acquires : 0,
+                Math.round(timeouts() - timeoutsStart));
+    }
+
+    private void sample() {
+        double active = gauge("hikaricp.connections.active");
+        double pending = gauge("hikaricp.connections.pending");
+        activeSum += active;
+        activeMax = Math.max(activeMax, active);
+        pendingSum += pending;
+        pendingMax = Math.max(pendingMax, pending);
+        samples++;
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = registry.find(name).tag("pool", pool).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private Timer acquireTimer() {
+        return registry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+    }
+
+    private double timeouts() {
+        Counter counter = registry.find("hikaricp.connections.timeout").tag("pool", pool).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
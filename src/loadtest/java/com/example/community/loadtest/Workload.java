@@ -0,0 +1,304 @@
+package com.example.community.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * 부하 테스트 시나리오와 트래픽 구성
+ *
+ * - browse: 비로그인 목록 조회 (최신/인기/게시판별)
+ * - detail: 게시글 상세 조회 (앞쪽 게시글에 몰리도록 편향)
+ * - like: 하나의 인기 게시글에 추천/취소 연타 (행 잠금 경합)
+ * - comment: 한 게시글에 댓글 연속 작성
+ * - upload: 이미지 한 장 업로드 (파생본 생성 작업 포함)
+ * - refresh: 리프레시 토큰 회전 후 새 액세스 토큰 사용
+ *
+ * 가상 사용자마다 자기 계정과 토큰을 가지므로 토큰 재사용 탐지에 걸리지 않습니다.
+ */
+final class Workload {
+
+    static final String ORIGIN = "http://localhost:3000";
+
+    enum Scenario { BROWSE, DETAIL, LIKE, COMMENT, UPLOAD, REFRESH }
+
+    /**
+     * 로그인한 가상 사용자 (한 가상 스레드만 사용)
+     */
+    static final class User {
+        final String email;
+        String accessToken;
+        String refreshToken;
+
+        User(String email) {
+            this.email = email;
+        }
+    }
+
+    /**
+     * 가중치 기반 시나리오 선택 (예: browse=45,detail=30,like=8,comment=7,upload=3,refresh=7)
+     */
+    static final class Mix {
+        private final Scenario[] scenarios;
+        private final int[] cumulative;
+
+        Mix(String spec) {
+            Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("트래픽 구성 형식 오류: " + part + " (예: browse=45)");
+                }
+                weights.put(Scenario.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+            }
+            weights.values().removeIf(w -> w <= 0);
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("가중치가 있는 시나리오가 없습니다: " + spec);
+            }
+            scenarios = weights.keySet().toArray(Scenario[]::new);
+            cumulative = new int[scenarios.length];
+            int sum = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                sum += weights.get(scenarios[i]);
+                cumulative[i] = sum;
+            }
+        }
+
+        Scenario pick(SplittableRandom random) {
+            int r = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (r < cumulative[i]) {
+                    return scenarios[i];
+                }
+            }
+            return scenarios[scenarios.length - 1];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < scenarios.length; i++) {
+                sb.append(i == 0 ? "" : ",").append(scenarios[i].name().toLowerCase())
+                        .append('=').append(cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]));
+            }
+            return sb.toString();
+        }
+    }
+
+    private final HttpClient http;
+    private final URI base;
+    private final String refreshCookie;
+    private final EndpointStats stats;
+    private final ObjectMapper json = new ObjectMapper();
+    private final byte[] png = smallPng();
+    private final int likeBurst;
+    private final int commentBurst;
+    private List<Long> postIds = List.of();
+    private long hotPost;
+
+    Workload(HttpClient http, URI base, String refreshCookie, EndpointStats stats, int likeBurst, int commentBurst) {
+        this.http = http;
+        this.base = base;
+        this.refreshCookie = refreshCookie;
+        this.stats = stats;
+        this.likeBurst = likeBurst;
+        this.commentBurst = commentBurst;
+    }
+
+    void posts(List<Long> postIds) {
+        this.postIds = List.copyOf(postIds);
+        this.hotPost = postIds.get(0);
+    }
+
+    void run(Scenario scenario, User user, SplittableRandom random) {
+        switch (scenario) {
+            case BROWSE -> browse(random);
+            case DETAIL -> get("GET /api/posts/{id}", "/api/posts/" + skewedPost(random), null);
+            case LIKE -> {
+                for (int i = 0; i < likeBurst; i++) {
+                    post("POST /api/posts/{id}/like", "/api/posts/" + hotPost + "/like", user, null);
+                }
+            }
+            case COMMENT -> {
+                long postId = skewedPost(random);
+                for (int i = 0; i < commentBurst; i++) {
+                    post("POST /api/posts/{id}/comments", "/api/posts/" + postId + "/comments", user,
+                            "{\"content\":\"부하 테스트 댓글 " + random.nextInt(1_000_000) + "\"}");
+                }
+            }
+            case UPLOAD -> upload(user);
+            case REFRESH -> {
+                if (refresh(user)) {
+                    get("GET /api/posts/{id}/like", "/api/posts/" + skewedPost(random) + "/like", user);
+                }
+            }
+        }
+    }
+
+    private void browse(SplittableRandom random) {
+        switch (random.nextInt(3)) {
+            case 0 -> get("GET /api/posts", "/api/posts?page=" + random.nextInt(5) + "&size=20", null);
+            case 1 -> get("GET /api/posts/popular", "/api/posts/popular?page=0&size=20", null);
+            default -> get("GET /api/posts/board/{boardType}", "/api/posts/board/FREE?page=" + random.nextInt(3), null);
+        }
+    }
+
+    // 앞쪽(먼저 만든) 게시글일수록 자주 조회
+    private long skewedPost(SplittableRandom random) {
+        double u = random.nextDouble();
+        return postIds.get((int) (postIds.size() * u * u * u));
+    }
+
+    // ===== 초기 데이터 (기록하지 않음) =====
+
+    User signUpAndLogin(int index) {
+        String suffix = index + "-" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User("load" + suffix + "@loadtest.local");
+        String password = "loadtest-password";
+        send(null, request("/api/auth/signup").POST(body("{\"username\":\"lt" + suffix.replace("-", "")
+                + "\",\"email\":\"" + user.email + "\",\"password\":\"" + password + "\"}")), true);
+        HttpResponse<String> login = send(null, request("/api/auth/login").POST(body(
+                "{\"email\":\"" + user.email + "\",\"password\":\"" + password + "\"}")), true);
+        readTokens(user, login);
+        return user;
+    }
+
+    long createPost(User user, int index) {
+        HttpResponse<String> res = send(null, authorized(request("/api/posts"), user).POST(body(
+                "{\"title\":\"부하 테스트 게시글 " + index + "\",\"content\":\"" + "본문 ".repeat(50)
+                        + "\",\"boardType\":\"FREE\"}")), true);
+        return readJson(res).get("id").asLong();
+    }
+
+    // ===== 요청 =====
+
+    private void get(String endpoint, String path, User user) {
+        HttpRequest.Builder req = request(path).GET();
+        send(endpoint, user != null ? authorized(req, user) : req, false);
+    }
+
+    private void post(String endpoint, String path, User user, String jsonBody) {
+        HttpRequest.Builder req = authorized(request(path), user)
+                .POST(jsonBody != null ? body(jsonBody) : HttpRequest.BodyPublishers.noBody());
+        send(endpoint, req, false);
+    }
+
+    private void upload(User user) {
+        String boundary = "----loadtest" + UUID.randomUUID();
+        ByteArrayOutputStream multipart = new ByteArrayOutputStream(png.length + 256);
+        multipart.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"files\"; filename=\"load.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        multipart.writeBytes(png);
+        multipart.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        HttpRequest.Builder req = HttpRequest.newBuilder(base.resolve("/api/files/posts/images"))
+                .header("Origin", ORIGIN)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart.toByteArray()));
+        send("POST /api/files/posts/images", authorized(req, user), false);
+    }
+
+    private boolean refresh(User user) {
+        HttpRequest.Builder req = request("/api/auth/refresh")
+                .header("X-Requested-With", "XMLHttpRequest")
+                .header("Cookie", refreshCookie + "=" + user.refreshToken)
+                .POST(HttpRequest.BodyPublishers.noBody());
+        HttpResponse<String> res = send("POST /api/auth/refresh", req, false);
+        if (res == null || res.statusCode() != 200) {
+            return false;
+        }
+        readTokens(user, res);
+        return true;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Origin", ORIGIN)
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.Builder authorized(HttpRequest.Builder req, User user) {
+        return req.header("Authorization", "Bearer " + user.accessToken);
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 요청 전송, endpoint가 있으면 응답 시간과 성공 여부(4xx/5xx/전송 실패는 오류)를 기록
+     * @param required 초기 데이터 생성처럼 실패하면 부하 테스트를 진행할 수 없는 요청
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder req, boolean required) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> res = http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+            if (endpoint != null) {
+                stats.record(endpoint, System.nanoTime() - start, res.statusCode() < 400);
+            }
+            if (required && res.statusCode() >= 400) {
+                throw new IllegalStateException("초기 데이터 요청 실패: " + res.request().uri() + " " + res.statusCode()
+                        + " " + res.body());
+            }
+            return res;
+        } catch (IOException e) {
+            if (required) {
+                throw new UncheckedIOException(e);
+            }
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (required) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        }
+    }
+
+    private void readTokens(User user, HttpResponse<String> res) {
+        user.accessToken = readJson(res).get("accessToken").asText();
+        res.headers().allValues("Set-Cookie").stream()
+                .filter(c -> c.startsWith(refreshCookie + "="))
+                .findFirst()
+                .ifPresent(c -> user.refreshToken = c.substring(refreshCookie.length() + 1, c.indexOf(';')));
+    }
+
+    private JsonNode readJson(HttpResponse<String> res) {
+        try {
+            return json.readTree(res.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] smallPng() {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 31) ^ (y * 17));
+            }
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
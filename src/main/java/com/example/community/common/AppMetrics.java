@@ -0,0 +1,74 @@
+package com.example.community.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 애플리케이션 주요 경로 지표 (Prometheus: /actuator/prometheus)
+ *
+ * - posts.views: 게시글 상세 조회(조회수 증가) 수
+ * - posts.likes{action=like|unlike}: 추천/추천 취소 수
+ * - comments.created: 댓글 작성 수
+ * - auth.jwt.verification{result=valid|invalid}: 액세스 토큰 검증 시간
+ * - auth.refresh.rotations: 리프레시 토큰 회전 수
+ *
+ * 요청 지연(http.server.requests), 커넥션 풀(hikaricp.*), 저장소 연산(storage.operations)은
+ * 각각 Spring Boot 자동 구성, ConnectionHoldTimeDataSource, MetricsConfig에서 기록합니다.
+ */
+@Component
+public class AppMetrics {
+
+    private final Counter postViews;
+    private final Counter postLikes;
+    private final Counter postUnlikes;
+    private final Counter commentsCreated;
+    private final Counter refreshRotations;
+    private final Timer jwtValid;
+    private final Timer jwtInvalid;
+
+    public AppMetrics(MeterRegistry registry) {
+        this.postViews = Counter.builder("posts.views")
+                .description("게시글 상세 조회 수").register(registry);
+        this.postLikes = Counter.builder("posts.likes")
+                .description("게시글 추천/추천 취소 수").tag("action", "like").register(registry);
+        this.postUnlikes = Counter.builder("posts.likes")
+                .description("게시글 추천/추천 취소 수").tag("action", "unlike").register(registry);
+        this.commentsCreated = Counter.builder("comments.created")
+                .description("댓글 작성 수").register(registry);
+        this.refreshRotations = Counter.builder("auth.refresh.rotations")
+                .description("리프레시 토큰 회전 수").register(registry);
+        this.jwtValid = jwtTimer(registry, "valid");
+        this.jwtInvalid = jwtTimer(registry, "invalid");
+    }
+
+    private static Timer jwtTimer(MeterRegistry registry, String result) {
+        return Timer.builder("auth.jwt.verification")
+                .description("액세스 토큰 서명/클레임 검증 시간")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public void postViewed() {
+        postViews.increment();
+    }
+
+    public void postLikeToggled(boolean liked) {
+        (liked ? postLikes : postUnlikes).increment();
+    }
+
+    public void commentCreated() {
+        commentsCreated.increment();
+    }
+
+    public void refreshRotated() {
+        refreshRotations.increment();
+    }
+
+    public void jwtVerified(boolean valid, long nanos) {
+        (valid ? jwtValid : jwtInvalid).record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.community.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 애플리케이션 주요 경로의 JFR(Java Flight Recorder) 이벤트
+ *
+ * 녹화 중이 아니면 begin/shouldCommit/commit은 아무 일도 하지 않고 JIT가 객체 생성까지 제거하므로
+ * 평소 비용은 없습니다. 녹화는 /actuator/jfr(FlightRecorderEndpoint) 또는 -XX:StartFlightRecording으로 시작합니다.
+ * JDK Mission Control에서 jdk.JDBC/소켓/GC 이벤트와 같은 스레드 타임라인에 나란히 보입니다.
+ *
+ * 사용 방식 (필드는 기록할 때만 채움)
+ * <pre>
+ * var event = new ProfilingEvents.PostDetailLoad();
+ * event.begin();
+ * ...
+ * if (event.shouldCommit()) {
+ *     event.postId = id;
+ *     event.commit();
+ * }
+ * </pre>
+ */
+public final class ProfilingEvents {
+
+    private ProfilingEvents() {
+    }
+
+    @Name("community.PostDetailLoad")
+    @Label("Post Detail Load")
+    @Description("게시글 상세 조회 (조회수 증가 포함)")
+    @Category({"Community", "Posts"})
+    @StackTrace(false)
+    public static class PostDetailLoad extends Event {
+        @Label("Post ID")
+        public long postId;
+    }
+
+    @Name("community.PostSearch")
+    @Label("Post Search")
+    @Description("게시글 목록/검색 조회")
+    @Category({"Community", "Posts"})
+    @StackTrace(false)
+    public static class PostSearch extends Event {
+        @Label("Kind")
+        @Description("list, minLikes, board")
+        public String kind;
+
+        @Label("Query Length")
+        @Description("검색어 길이 (검색어가 없으면 0)")
+        public int queryLength;
+
+        @Label("Page Size")
+        public int pageSize;
+
+        @Label("Result Count")
+        @Description("조건에 맞는 전체 게시글 수")
+        public long resultCount;
+    }
+
+    @Name("community.LikeToggle")
+    @Label("Like Toggle")
+    @Description("게시글 추천/추천 취소")
+    @Category({"Community", "Posts"})
+    @StackTrace(false)
+    public static class LikeToggle extends Event {
+        @Label("Post ID")
+        public long postId;
+
+        @Label("Liked")
+        public boolean liked;
+    }
+
+    @Name("community.TokenRefresh")
+    @Label("Token Refresh")
+    @Description("리프레시 토큰 검증과 회전")
+    @Category({"Community", "Auth"})
+    @StackTrace(false)
+    public static class TokenRefresh extends Event {
+        @Label("Status")
+        @Description("HTTP 응답 상태 (200이면 회전 성공)")
+        public int status;
+    }
+
+    @Name("community.StorageOperation")
+    @Label("Storage Operation")
+    @Description("저장소 파일 저장/삭제")
+    @Category({"Community", "Storage"})
+    @StackTrace(false)
+    public static class StorageOperation extends Event {
+        @Label("Operation")
+        public String operation;
+
+        @Label("Provider")
+        public String provider;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        @Label("Success")
+        public boolean success;
+    }
+
+    @Name("community.ConnectionWait")
+    @Label("Connection Pool Wait")
+    @Description("Hikari 풀에서 커넥션을 얻기까지 기다린 시간 (기본 1ms 이상만 기록)")
+    @Category({"Community", "Database"})
+    @Threshold("1 ms")
+    public static class ConnectionWait extends Event {
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 커넥션 점유 시간 계측 DataSource
+ *
+ * getConnection()부터 close()(풀 반환)까지의 시간을 db.connection.hold 타이머로 기록합니다.
+ * method 태그는 커넥션을 요청한 가장 가까운 애플리케이션 메서드입니다. (예: PostService.create)
+ * pool 태그는 커넥션을 빌린 풀입니다. (primary/replica, 읽기 복제본이 있으면 풀마다 따로 감쌈)
+ * 트랜잭션 안에서 파일 I/O 등을 하느라 커넥션을 오래 잡는 메서드를 찾는 용도입니다.
+ */
+@Slf4j
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    static final String METRIC_NAME = "db.connection.hold";
+
+    private static final String APP_PACKAGE = "com.example.community.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final List<Class<?>> INFRASTRUCTURE = List.of(
+            ConnectionHoldTimeDataSource.class, ReadWriteRoutingDataSource.class, GovernedTransactionManager.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String pool;
+    private final Duration warnThreshold;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeDataSource(DataSource target,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        Duration warnThreshold) {
+        this(target, "primary", meterRegistry, warnThreshold);
+    }
+
+    public ConnectionHoldTimeDataSource(DataSource target,
+                                        String pool,
+                                        ObjectProvider<MeterRegistry> meterRegistry,
+                                        Duration warnThreshold) {
+        super(target);
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        String caller = caller();
+        long start = System.nanoTime();
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "close" -> {
+                            if (closed.compareAndSet(false, true)) {
+                                record(caller, System.nanoTime() - start);
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void record(String caller, long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            timers.computeIfAbsent(caller, c -> Timer.builder(METRIC_NAME)
+                    .description("커넥션을 빌린 뒤 풀에 반환하기까지의 시간")
+                    .tag("method", c)
+                    .tag("pool", pool)
+                    .register(registry))
+                    .record(Duration.ofNanos(nanos));
+        }
+        if (nanos > warnThreshold.toNanos()) {
+            log.warn("커넥션 점유 시간 초과: 메서드={}, 풀={}, 점유={}ms, 기준={}ms",
+                    caller, pool, nanos / 1_000_000, warnThreshold.toMillis());
+        }
+    }
+
+    /**
+     * 커넥션을 요청한 가장 가까운 애플리케이션 메서드 (Spring 프록시/람다 이름은 원래 메서드로 정리)
+     */
+    static String caller() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE) && !isInfrastructure(f.getClassName()))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + methodName(f.getMethodName()))
+                .orElse("other"));
+    }
+
+    /**
+     * 커넥션을 대신 요청하는 DataSource/트랜잭션 래퍼 (읽기 복제본 라우팅, DB 동시성 제한)
+     */
+    private static boolean isInfrastructure(String className) {
+        for (Class<?> type : INFRASTRUCTURE) {
+            if (className.equals(type.getName()) || className.startsWith(type.getName() + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int proxy = name.indexOf("$$");
+        return proxy > 0 ? name.substring(0, proxy) : name;
+    }
+
+    private static String methodName(String method) {
+        // 람다 본문: lambda$create$0 → create
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            return end > 0 ? method.substring("lambda$".length(), end) : method;
+        }
+        return method;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.community.config;
+
+import com.example.community.common.ProfilingEvents;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 커넥션 획득 대기 시간을 JFR 이벤트(community.ConnectionWait)로 기록하는 DataSource
+ *
+ * 풀 바로 바깥에 두어 대기 시간만 잽니다. 녹화 중이 아니면 이벤트 처리가 JIT에서 제거되어 위임 호출만 남습니다.
+ */
+public class ConnectionWaitEventDataSource extends DelegatingDataSource {
+
+    public ConnectionWaitEventDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ProfilingEvents.ConnectionWait event = new ProfilingEvents.ConnectionWait();
+        event.begin();
+        Connection connection = super.getConnection();
+        event.commit();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ProfilingEvents.ConnectionWait event = new ProfilingEvents.ConnectionWait();
+        event.begin();
+        Connection connection = super.getConnection(username, password);
+        event.commit();
+        return connection;
+    }
+}
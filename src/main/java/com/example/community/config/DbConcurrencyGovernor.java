@@ -0,0 +1,88 @@
+package com.example.community.config;
+
+import com.example.community.service.exception.DatabaseBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 동시성 제한기
+ *
+ * 가상 스레드에서는 요청 수만큼 스레드가 생기므로, 커넥션 풀(기본 10개)보다 훨씬 많은 요청이 동시에 커넥션을 기다리게 됩니다.
+ * 트랜잭션을 시작하기 전에 풀 크기만큼의 공정(fair) 세마포어 허가를 받게 하여 도착 순서대로 들여보내고,
+ * max-wait 안에 허가를 받지 못하면 풀 시간 초과(30초)까지 기다리지 않고 바로 DatabaseBusyException(503)으로 거절합니다.
+ *
+ * 읽기 복제본이 있으면 풀마다 제한기를 따로 두고 pool 태그(primary/replica)로 구분합니다. (GovernedTransactionManager 참고)
+ *
+ * - db.governor.wait{outcome=admitted|rejected, pool}: 허가를 받기까지(또는 거절되기까지) 기다린 시간
+ * - db.governor.active{pool}: 허가를 받아 진행 중인 트랜잭션 수
+ * - db.governor.queued{pool}: 허가를 기다리는 스레드 수 (근사치)
+ */
+@Slf4j
+public class DbConcurrencyGovernor {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long maxWaitNanos;
+    private final Timer admitted;
+    private final Timer rejected;
+
+    public DbConcurrencyGovernor(int maxPermits, Duration maxWait, MeterRegistry registry) {
+        this("primary", maxPermits, maxWait, registry);
+    }
+
+    /**
+     * @param pool 제한 대상 풀 이름 (지표의 pool 태그)
+     */
+    public DbConcurrencyGovernor(String pool, int maxPermits, Duration maxWait, MeterRegistry registry) {
+        this.maxPermits = Math.max(1, maxPermits);
+        this.permits = new Semaphore(this.maxPermits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.admitted = waitTimer(registry, pool, "admitted");
+        this.rejected = waitTimer(registry, pool, "rejected");
+        Gauge.builder("db.governor.active", this, g -> g.maxPermits - g.permits.availablePermits())
+                .description("DB 동시성 제한기 허가를 받아 진행 중인 트랜잭션 수")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("db.governor.queued", permits, Semaphore::getQueueLength)
+                .description("DB 동시성 제한기 허가를 기다리는 스레드 수")
+                .tag("pool", pool)
+                .register(registry);
+        log.info("DB 동시성 제한 설정: 풀={}, 허가 수={}, 최대 대기={}", pool, this.maxPermits, maxWait);
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String pool, String outcome) {
+        return Timer.builder("db.governor.wait")
+                .description("DB 동시성 제한기 대기 시간")
+                .tag("outcome", outcome)
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    /**
+     * 허가를 받음 (대기 한도를 넘으면 DatabaseBusyException)
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            ok = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("DB 허가 대기 중 중단되었습니다", e);
+        }
+        (ok ? admitted : rejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!ok) {
+            throw new DatabaseBusyException("요청이 많아 잠시 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
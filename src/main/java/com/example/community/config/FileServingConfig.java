@@ -0,0 +1,46 @@
+package com.example.community.config;
+
+import com.example.community.storage.LocalFileServer;
+import com.example.community.storage.Storage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 업로드 파일 제공 설정
+ * public-base-url 경로(예: /files/**)를 LocalFileServer로 직접 처리합니다.
+ * (sendfile/Range/ETag/immutable 캐싱 - 별도 Nginx 계층 없이 제공)
+ * S3 저장소를 쓰면 파일은 버킷/CDN에서 직접 제공하므로 등록하지 않습니다.
+ */
+@Configuration
+@ConditionalOnExpression("'${app.storage.provider:local}' != 's3'")
+public class FileServingConfig {
+
+    @Bean
+    public LocalFileServer localFileServer(
+            Storage storage,
+            @Value("${app.storage.local.base-path:uploads}") String basePath,
+            @Value("${app.storage.serving.max-open-files:1024}") int maxOpenFiles,
+            @Value("${app.storage.serving.open-file-ttl:60s}") Duration openFileTtl,
+            @Value("${app.storage.serving.sendfile-threshold:49152}") long sendfileThreshold) {
+        return new LocalFileServer(storage, basePath, maxOpenFiles, openFileTtl, sendfileThreshold);
+    }
+
+    /**
+     * 컨트롤러 매핑(order 0) 다음, 기본 리소스 핸들러보다 먼저 적용
+     */
+    @Bean
+    public SimpleUrlHandlerMapping fileServingHandlerMapping(
+            LocalFileServer localFileServer,
+            @Value("${app.public-base-url}") String publicBaseUrl) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+                Map.of(StaticResourceConfig.handlerPath(publicBaseUrl) + "**", localFileServer));
+        mapping.setOrder(1);
+        return mapping;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.community.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JFR 녹화 제어 Actuator 엔드포인트 (관리자 전용, SecurityConfig)
+ *
+ * - GET  /actuator/jfr: 녹화 상태
+ * - POST /actuator/jfr/start: 녹화 시작 {"settings": "default|profile", "maxAge": "30m", "maxSize": "256MB"}
+ * - POST /actuator/jfr/stop: 녹화 중지 (중지 후에도 덤프 가능)
+ * - GET  /actuator/jfr/dump: 현재까지의 녹화를 .jfr 파일로 내려받음 (JDK Mission Control에서 열기)
+ *
+ * 한 번에 하나의 녹화만 관리하며, 녹화 중이 아니면 ProfilingEvents는 비용이 없습니다.
+ * 덤프는 파일 I/O를 하므로 synchronized 대신 ReentrantLock을 사용합니다. (가상 스레드 고정 방지)
+ * 덤프 파일은 요청마다 따로 만들고 응답을 다 쓴 뒤 삭제하므로, 동시에 내려받아도 서로의 파일을 덮어쓰지 않습니다.
+ * default 설정의 부하는 보통 1% 미만이라 운영에서 상시 녹화(maxAge 순환)로 써도 됩니다.
+ */
+@Slf4j
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "community";
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(30);
+    private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(256);
+
+    private final Path dumpDirectory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public FlightRecorderEndpoint(Path dumpDirectory) {
+        this.dumpDirectory = dumpDirectory;
+        deleteLeftoverDumps();
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("available", FlightRecorder.isAvailable());
+            if (recording == null) {
+                status.put("state", "NONE");
+                return status;
+            }
+            status.put("state", recording.getState().name());
+            status.put("startTime", recording.getStartTime());
+            status.put("stopTime", recording.getStopTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("maxSize", DataSize.ofBytes(recording.getMaxSize()).toString());
+            status.put("size", DataSize.ofBytes(recording.getSize()).toString());
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> control(@Selector String action,
+                                                            @Nullable String settings,
+                                                            @Nullable Duration maxAge,
+                                                            @Nullable DataSize maxSize) {
+        lock.lock();
+        try {
+            return switch (action) {
+                case "start" -> start(settings != null ? settings : "default",
+                        maxAge != null ? maxAge : DEFAULT_MAX_AGE, maxSize != null ? maxSize : DEFAULT_MAX_SIZE);
+                case "stop" -> stop();
+                default -> new WebEndpointResponse<>(Map.of("error", "지원하지 않는 동작: " + action),
+                        WebEndpointResponse.STATUS_BAD_REQUEST);
+            };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> dump(@Selector String name) {
+        if (!"dump".equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() == RecordingState.CLOSED) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            Path dumpFile = Files.createTempFile(dumpDirectory, RECORDING_NAME + "-", ".jfr");
+            try {
+                recording.dump(dumpFile);
+            } catch (IOException e) {
+                Files.deleteIfExists(dumpFile);
+                throw e;
+            }
+            log.info("JFR 녹화 덤프: {} ({}바이트)", dumpFile, Files.size(dumpFile));
+            return new WebEndpointResponse<>(new DumpResource(dumpFile), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            log.error("JFR 녹화 덤프 실패: {}", e.getMessage(), e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 응답을 쓰지 못하고 남은 이전 덤프 파일 정리 (응답 중 재시작 등)
+     */
+    private void deleteLeftoverDumps() {
+        try (DirectoryStream<Path> dumps = Files.newDirectoryStream(dumpDirectory, RECORDING_NAME + "-*.jfr")) {
+            for (Path dump : dumps) {
+                Files.deleteIfExists(dump);
+            }
+        } catch (IOException e) {
+            log.warn("이전 JFR 덤프 파일 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 응답 본문을 다 읽고 스트림을 닫으면 삭제되는 덤프 파일
+     */
+    private static final class DumpResource extends FileSystemResource {
+
+        private final Path file;
+
+        DumpResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+
+    private WebEndpointResponse<Map<String, Object>> start(String settings, Duration maxAge, DataSize maxSize) {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(Map.of("error", "이 JVM에서는 JFR을 사용할 수 없습니다."),
+                    WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(Map.of("error", "이미 녹화 중입니다."), 409);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "JFR 설정을 찾을 수 없습니다: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(configuration);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("JFR 녹화 시작: 설정={}, maxAge={}, maxSize={}", settings, maxAge, maxSize);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    private WebEndpointResponse<Map<String, Object>> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(Map.of("error", "진행 중인 녹화가 없습니다."),
+                    WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        recording.stop();
+        log.info("JFR 녹화 중지: 크기={}", DataSize.ofBytes(recording.getSize()));
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.community.config;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 가장 바깥 트랜잭션을 시작할 때 DbConcurrencyGovernor의 허가를 받는 트랜잭션 관리자
+ *
+ * - @Transactional 서비스 메서드와 TransactionTemplate(백그라운드 워커) 모두 여기를 거칩니다.
+ * - 이미 트랜잭션 안에서 시작하는 트랜잭션(REQUIRED 참여, REQUIRES_NEW)은 허가를 다시 받지 않습니다.
+ *   (바깥 트랜잭션이 허가를 쥔 채 안쪽 허가를 기다리면 허가끼리 교착되므로)
+ * - 단, REQUIRES_NEW는 허가 없이 두 번째 커넥션을 잡습니다. 풀이 바닥나지 않도록 허가 수는 풀 크기보다
+ *   여유분만큼 작게 둡니다. (VirtualThreadConfig 참고, 여유분보다 많은 허가 보유자가 동시에 REQUIRES_NEW에
+ *   들어가면 커넥션 대기 시간 초과까지 서로를 기다릴 수 있음)
+ * - 허가는 가장 바깥 트랜잭션의 커밋/롤백이 끝나면 반납합니다.
+ *
+ * 읽기 복제본이 있으면 주 DB와 복제본 허가를 따로 둡니다. (허가 수를 합쳐 한 제한기로 두면 주 DB 풀을 넘는 쓰기도 들여보냄)
+ * 가장 바깥 읽기 전용 트랜잭션은 ReadWriteRoutingDataSource.decide()로 대상을 정해 그 풀의 허가를 받고,
+ * 그 결정을 트랜잭션이 끝날 때까지 라우팅에 걸어 둡니다. 복제본 커넥션을 얻지 못하면 주 DB 허가를 받은 뒤 복제본 허가를 반납합니다.
+ * (복제본 허가 보유자만 주 DB 허가를 기다리고 그 반대는 없으므로 교착되지 않음)
+ */
+public class GovernedTransactionManager implements PlatformTransactionManager {
+
+    // 현재 스레드에서 허가를 받고 시작한 가장 바깥 트랜잭션
+    private static final ThreadLocal<Admission> ADMITTED = new ThreadLocal<>();
+
+    private final PlatformTransactionManager delegate;
+    private final DbConcurrencyGovernor governor;
+    private final DbConcurrencyGovernor replicaGovernor;
+    private final ReadWriteRoutingDataSource routing;
+
+    public GovernedTransactionManager(PlatformTransactionManager delegate, DbConcurrencyGovernor governor) {
+        this(delegate, governor, null, null);
+    }
+
+    /**
+     * @param replicaGovernor 복제본 허가 (읽기 복제본이 없으면 null)
+     * @param routing         트랜잭션 관리자가 쓰는 라우팅 DataSource (읽기 복제본이 없으면 null)
+     */
+    public GovernedTransactionManager(PlatformTransactionManager delegate, DbConcurrencyGovernor governor,
+                                      DbConcurrencyGovernor replicaGovernor, ReadWriteRoutingDataSource routing) {
+        this.delegate = delegate;
+        this.governor = governor;
+        this.replicaGovernor = routing != null ? replicaGovernor : null;
+        this.routing = replicaGovernor != null ? routing : null;
+    }
+
+    public PlatformTransactionManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || ADMITTED.get() != null) {
+            return delegate.getTransaction(definition);
+        }
+        Admission admission = admit(definition);
+        TransactionStatus status;
+        try {
+            status = delegate.getTransaction(definition);
+        } catch (RuntimeException | Error e) {
+            admission.release();
+            throw e;
+        }
+        if (status.isNewTransaction()) {
+            admission.status = status;
+            ADMITTED.set(admission);
+        } else {
+            admission.release(); // SUPPORTS/NOT_SUPPORTED 등 실제 트랜잭션이 없는 경우
+        }
+        return status;
+    }
+
+    private Admission admit(TransactionDefinition definition) {
+        if (routing == null || !definition.isReadOnly()) {
+            governor.acquire();
+            return new Admission(governor, null);
+        }
+        ReadWriteRoutingDataSource.Route route = routing.decide();
+        DbConcurrencyGovernor lane = route == ReadWriteRoutingDataSource.Route.REPLICA ? replicaGovernor : governor;
+        lane.acquire();
+        Admission admission = new Admission(lane, route);
+        ReadWriteRoutingDataSource.bindLane(admission);
+        return admission;
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.commit(status);
+        } finally {
+            releaseIfAdmitted(status);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        try {
+            delegate.rollback(status);
+        } finally {
+            releaseIfAdmitted(status);
+        }
+    }
+
+    private void releaseIfAdmitted(TransactionStatus status) {
+        Admission admission = ADMITTED.get();
+        if (admission != null && admission.status == status) {
+            ADMITTED.remove();
+            admission.release();
+        }
+    }
+
+    /**
+     * 가장 바깥 트랜잭션이 받은 허가 (읽기 전용이면 라우팅 대상도 함께)
+     */
+    private final class Admission implements ReadWriteRoutingDataSource.Lane {
+
+        private final ReadWriteRoutingDataSource.Route route;
+        private DbConcurrencyGovernor held;
+        private TransactionStatus status;
+
+        Admission(DbConcurrencyGovernor held, ReadWriteRoutingDataSource.Route route) {
+            this.held = held;
+            this.route = route;
+        }
+
+        @Override
+        public ReadWriteRoutingDataSource.Route route() {
+            return route;
+        }
+
+        @Override
+        public void fallbackToPrimary() {
+            if (held != governor) {
+                governor.acquire();
+                held.release();
+                held = governor;
+            }
+        }
+
+        void release() {
+            if (route != null) {
+                ReadWriteRoutingDataSource.unbindLane();
+            }
+            held.release();
+        }
+    }
+}
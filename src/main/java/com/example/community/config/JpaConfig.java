@@ -1,8 +1,58 @@
 package com.example.community.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import javax.sql.DataSource;
+import java.time.Duration;
+
 @Configuration
 @EnableJpaAuditing
-public class JpaConfig {}
+public class JpaConfig {
+
+    /**
+     * DataSource를 계측 래퍼로 감쌈 (읽기 복제본이 있으면 주 DB와 복제본 풀을 각각 감싼 뒤 바깥에 라우팅)
+     * - 가장 바깥쪽: 읽기 전용 트랜잭션을 복제본으로 보내는 라우팅 (읽기 복제본이 있을 때만, ReadReplicaConfig)
+     * - 풀마다 바깥쪽: 커넥션 점유 시간 계측, pool 태그 (app.datasource.hold-time.enabled=false로 끌 수 있음)
+     * - 풀마다 중간: 요청별 SQL 문장 집계 (app.sql.budget.enabled=false로 끌 수 있음)
+     * - 풀마다 안쪽: 커넥션 획득 대기 JFR 이벤트 (녹화 중일 때만 기록)
+     * 라우팅이 실제 커넥션을 첫 SQL까지 미루므로, 점유 시간은 트랜잭션 전체가 아니라 풀에서 실제로 빌린 시간입니다.
+     */
+    @Bean
+    static BeanPostProcessor dataSourceInstrumentationPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                    ObjectProvider<ReadReplica> readReplica,
+                                                                    Environment env) {
+        boolean countStatements = env.getProperty("app.sql.budget.enabled", Boolean.class, true);
+        boolean holdTime = env.getProperty("app.datasource.hold-time.enabled", Boolean.class, true);
+        Duration warnThreshold = env.getProperty("app.datasource.hold-time.warn-threshold",
+                Duration.class, Duration.ofMillis(500));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof ConnectionHoldTimeDataSource
+                        || bean instanceof StatementCountingDataSource || bean instanceof ConnectionWaitEventDataSource
+                        || bean instanceof ReadWriteRoutingDataSource) {
+                    return bean;
+                }
+                DataSource primary = instrument(ds, "primary");
+                ReadReplica replica = readReplica.getIfAvailable();
+                if (replica == null) {
+                    return primary;
+                }
+                return new ReadWriteRoutingDataSource(primary, instrument(replica.getDataSource(), "replica"),
+                        replica, meterRegistry.getObject());
+            }
+
+            private DataSource instrument(DataSource pool, String name) {
+                DataSource wrapped = new ConnectionWaitEventDataSource(pool);
+                wrapped = countStatements ? new StatementCountingDataSource(wrapped) : wrapped;
+                return holdTime ? new ConnectionHoldTimeDataSource(wrapped, name, meterRegistry, warnThreshold) : wrapped;
+            }
+        };
+    }
+}
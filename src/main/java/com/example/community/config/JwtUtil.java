@@ -1,8 +1,10 @@
 package com.example.community.config;
 
+import com.example.community.common.AppMetrics;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -24,6 +26,13 @@ public class JwtUtil {
 
     private SecretKey key;
     private JwtParser parser;
+    private AppMetrics metrics;
+
+    // 지표 빈이 없는 테스트 슬라이스/직접 생성에서도 동작하도록 선택 주입
+    @Autowired(required = false)
+    void setMetrics(AppMetrics metrics) {
+        this.metrics = metrics;
+    }
 
     @PostConstruct
     void init() {
@@ -49,12 +58,18 @@ public class JwtUtil {
     }
 
     public boolean validateAccess(String token) {
+        long start = System.nanoTime();
+        boolean valid;
         try {
             parser.parseClaimsJws(token);
-            return true;
+            valid = true;
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            valid = false;
+        }
+        if (metrics != null) {
+            metrics.jwtVerified(valid, System.nanoTime() - start);
         }
+        return valid;
     }
 
     public String getEmail(String token) {
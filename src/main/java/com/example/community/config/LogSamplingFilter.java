@@ -0,0 +1,29 @@
+package com.example.community.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청마다 로그 샘플링 표본 값을 정하는 필터 (SamplingTurboFilter 참고)
+ *
+ * 가장 먼저 실행되어 Security/SQL 예산 필터의 로그도 같은 요청의 판정을 따릅니다.
+ * SamplingTurboFilter가 등록되지 않은 프로필에서는 표본 값만 정해지고 아무 영향이 없습니다.
+ */
+public class LogSamplingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SamplingTurboFilter.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SamplingTurboFilter.endRequest();
+        }
+    }
+}
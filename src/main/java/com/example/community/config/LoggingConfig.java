@@ -0,0 +1,25 @@
+package com.example.community.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 로그 구성
+ * 출력 형식과 비동기 appender, 카테고리별 샘플링 비율은 logback-spring.xml에서 정하고,
+ * 여기서는 요청 단위 샘플링 판정을 위한 필터만 등록합니다.
+ */
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * 요청별 로그 샘플링 표본 필터 (다른 모든 필터보다 먼저 실행)
+     */
+    @Bean
+    FilterRegistrationBean<LogSamplingFilter> logSamplingFilter() {
+        FilterRegistrationBean<LogSamplingFilter> registration = new FilterRegistrationBean<>(new LogSamplingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.community.config;
+
+import com.example.community.storage.MeteredStorage;
+import com.example.community.storage.Storage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+
+/**
+ * 애플리케이션 지표 구성
+ * 요청 지연과 Hikari 풀 지표는 Actuator 자동 구성을 그대로 사용하고,
+ * 여기서는 저장소 연산 계측과 요청별 SQL 예산 필터, JFR 녹화 엔드포인트를 연결합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * 활성 저장소 구현체를 연산별 계측 프록시로 감쌈
+     */
+    @Bean
+    static BeanPostProcessor meteredStoragePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                        Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Storage storage) {
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry != null) {
+                        return MeteredStorage.wrap(storage, registry,
+                                env.getProperty("app.storage.provider", "local"));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * 요청별 SQL 예산 필터 (Security 필터 체인보다 앞에 등록)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.sql.budget.enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            MeterRegistry registry,
+            @Value("${app.sql.budget.max-statements:20}") int maxStatements,
+            @Value("${app.sql.budget.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementBudgetFilter(registry, maxStatements, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * JFR 녹화 제어 엔드포인트 (management.endpoints.web.exposure.include에 jfr이 있을 때만 등록)
+     */
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    FlightRecorderEndpoint flightRecorderEndpoint(
+            @Value("${app.jfr.dump-directory:${java.io.tmpdir}}") String dumpDirectory) {
+        return new FlightRecorderEndpoint(Path.of(dumpDirectory));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.community.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * multipart 해석 설정
+ *
+ * 기본 StandardServletMultipartResolver는 DispatcherServlet 진입 시 모든 파트를 해석하며,
+ * 이 과정에서 서블릿 컨테이너가 업로드 내용을 임시 디렉토리(/tmp, 운영 환경에서는 tmpfs)에 모아 둡니다.
+ * 스트리밍 업로드 경로는 컨트롤러가 요청 본문을 직접 읽어야 하므로 multipart 해석 대상에서 제외합니다.
+ * (그 외 경로는 spring.servlet.multipart.* 설정을 그대로 따름)
+ */
+@Configuration
+public class MultipartConfig {
+
+    /**
+     * 스트리밍 이미지 업로드 경로 (FileController 기준 상대 경로)
+     */
+    public static final String STREAMING_UPLOAD_PATH = "/posts/images/stream";
+
+    private static final String STREAMING_UPLOAD_URI = "/api/files" + STREAMING_UPLOAD_PATH;
+
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public StandardServletMultipartResolver multipartResolver(MultipartProperties properties) {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(HttpServletRequest request) {
+                if (STREAMING_UPLOAD_URI.equals(request.getRequestURI().substring(request.getContextPath().length()))) {
+                    return false;
+                }
+                return super.isMultipart(request);
+            }
+        };
+        resolver.setResolveLazily(properties.isResolveLazily());
+        resolver.setStrictServletCompliance(properties.isStrictServletCompliance());
+        return resolver;
+    }
+}
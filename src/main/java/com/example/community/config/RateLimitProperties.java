@@ -0,0 +1,85 @@
+package com.example.community.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 빈도 제한(Rate Limit) 설정
+ * app.rate-limit 하위의 YAML 설정을 바인딩합니다.
+ *
+ * 예시:
+ * <pre>
+ * app:
+ *   rate-limit:
+ *     enabled: true
+ *     max-keys: 100000
+ *     idle-eviction: 10m
+ *     policies:
+ *       - name: auth-login
+ *         method: POST
+ *         pattern: /api/auth/login
+ *         capacity: 10
+ *         refill-tokens: 10
+ *         refill-period: 1m
+ *         key: ip
+ * </pre>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    // 전체 기능 활성화 여부
+    private boolean enabled = true;
+
+    // 버킷 맵에 보관할 최대 키 수 (메모리 상한)
+    private int maxKeys = 100_000;
+
+    // 이 시간 이상 사용되지 않은 버킷은 제거
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    // 경로별 정책 목록 (위에서부터 처음 일치하는 정책 하나만 적용)
+    private List<Policy> policies = new ArrayList<>();
+
+    /**
+     * 버킷 식별 기준
+     * MEMBER: 인증된 회원 ID (비로그인 요청은 IP로 대체)
+     * IP: 클라이언트 IP
+     */
+    public enum KeyType {
+        MEMBER, IP
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        // 정책 이름 (버킷 키 접두사 및 로그용)
+        private String name;
+
+        // HTTP 메서드 (비어 있으면 모든 메서드)
+        private String method;
+
+        // 경로 패턴 (PathPattern 문법, 예: /api/posts/*/like)
+        private String pattern;
+
+        // 버스트 허용량 (버킷 최대 토큰 수)
+        private int capacity = 10;
+
+        // refill-period 동안 채워지는 토큰 수 (미지정 시 capacity와 동일)
+        private Integer refillTokens;
+
+        // 토큰 충전 주기
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        private KeyType key = KeyType.MEMBER;
+
+        public int effectiveRefillTokens() {
+            return refillTokens == null || refillTokens <= 0 ? capacity : refillTokens;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * 읽기 복제본 커넥션 풀과 복제 지연 감시
+ *
+ * lag-query를 주기적으로 실행해 복제 지연(초)을 확인하고, max-lag 이하일 때만 읽기 전용 트랜잭션을 복제본으로 보냅니다.
+ * - 결과 열 중 Seconds_Behind_Source가 있으면 그 값(MySQL SHOW REPLICA STATUS), 없으면 첫 번째 열을 지연 초로 사용
+ * - 값이 NULL이면 복제 중단으로 보고 사용하지 않음
+ * - 결과 행이 없으면 지연 0으로 봄 (복제 상태를 보여주지 않는 관리형 읽기 엔드포인트)
+ * - 확인이 실패하거나 마지막 확인이 check-interval의 3배보다 오래되면 사용하지 않음
+ *
+ * - db.replica.lag: 마지막으로 확인한 복제 지연(초), 알 수 없으면 NaN
+ * - db.replica.available: 복제본 사용 여부 (1/0)
+ */
+@Slf4j
+public class ReadReplica implements AutoCloseable {
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final DataSource dataSource;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long staleAfterNanos;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean healthy;
+    private volatile long checkedAt;
+
+    public ReadReplica(DataSource dataSource, String lagQuery, Duration maxLag, Duration checkInterval,
+                       MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.staleAfterNanos = checkInterval.multipliedBy(3).toNanos();
+        Gauge.builder("db.replica.lag", this, r -> r.lagSeconds)
+                .description("읽기 복제본 복제 지연")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("db.replica.available", this, r -> r.isAvailable() ? 1 : 0)
+                .description("읽기 복제본 사용 여부")
+                .register(registry);
+        log.info("읽기 복제본 설정: 최대 지연={}, 확인 주기={}", maxLag, checkInterval);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * 읽기 전용 트랜잭션을 복제본으로 보내도 되는지 여부
+     */
+    public boolean isAvailable() {
+        return healthy && System.nanoTime() - checkedAt <= staleAfterNanos;
+    }
+
+    /**
+     * 복제 지연 확인
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        double lag;
+        try (Connection con = dataSource.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(lagQuery)) {
+            lag = rs.next() ? readLag(rs) : 0;
+        } catch (SQLException e) {
+            update(Double.NaN, "확인 실패: " + e.getMessage());
+            return;
+        }
+        update(lag, Double.isNaN(lag) ? "복제 중단" : "지연 " + lag + "초");
+    }
+
+    private static double readLag(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int column = 1;
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                column = i;
+                break;
+            }
+        }
+        double lag = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : lag;
+    }
+
+    private void update(double lag, String detail) {
+        boolean nowHealthy = !Double.isNaN(lag) && lag <= maxLagSeconds;
+        boolean wasHealthy = healthy;
+        boolean first = checkedAt == 0;
+        lagSeconds = lag;
+        healthy = nowHealthy;
+        checkedAt = System.nanoTime();
+        if ((wasHealthy || first) && !nowHealthy) {
+            log.warn("읽기 복제본 사용 중지, 주 DB로 읽기 전환: {}", detail);
+        } else if (!wasHealthy && nowHealthy) {
+            log.info("읽기 복제본 사용 시작: {}", detail);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.community.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * 읽기 복제본 구성 (app.datasource.replica.enabled=true일 때만)
+ *
+ * 복제본 풀은 DataSource 빈으로 등록하지 않고 ReadReplica가 보관합니다. (주 DataSource 자동 구성과 JPA 주입에 영향 없음)
+ * 주 DataSource를 ReadWriteRoutingDataSource로 감싸는 것은 JpaConfig의 계측 후처리기에서 합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    ReadReplica readReplica(
+            MeterRegistry registry,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${spring.datasource.driver-class-name:}") String driverClassName,
+            @Value("${app.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int maximumPoolSize,
+            @Value("${app.datasource.replica.connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${app.datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${app.datasource.replica.max-lag:2s}") Duration maxLag,
+            @Value("${app.datasource.replica.check-interval-ms:1000}") long checkIntervalMs) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("community-replica-pool");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (StringUtils.hasText(driverClassName)) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setMaximumPoolSize(maximumPoolSize);
+        // 복제본이 응답하지 않으면 오래 기다리지 않고 주 DB로 읽기 전환
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        // 시작 시 복제본에 연결하지 못해도 애플리케이션은 뜨고, 연결될 때까지 주 DB에서 읽음
+        config.setInitializationFailTimeout(-1);
+        config.setReadOnly(true);
+        config.setMetricRegistry(registry);
+        return new ReadReplica(new HikariDataSource(config), lagQuery, maxLag,
+                Duration.ofMillis(checkIntervalMs), registry);
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    /**
+     * 최근 쓰기 회원 판정 필터 (인증 정보가 필요하므로 Security 필터 체인 뒤에 등록)
+     */
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWritesTracker tracker) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(tracker));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 읽기 전용 트랜잭션을 읽기 복제본으로 보내는 DataSource
+ *
+ * LazyConnectionDataSourceProxy가 실제 커넥션을 첫 SQL 실행 시점까지 미루므로,
+ * 트랜잭션 시작 시 setReadOnly(true)가 먼저 기록되고 그 값으로 복제본/주 DB를 고릅니다.
+ * (@Transactional(readOnly = true)만 복제본 대상, 쓰기 트랜잭션 안에서 참여한 읽기 전용 메서드는 주 DB 그대로)
+ *
+ * 다음 경우에는 읽기 전용 트랜잭션도 주 DB에서 읽습니다.
+ * - 최근에 쓰기 요청을 보낸 회원의 요청 (ReadYourWritesTracker)
+ * - 복제 지연이 max-lag를 넘었거나 확인에 실패한 경우 (ReadReplica)
+ * - 복제본 커넥션을 얻지 못한 경우
+ *
+ * DB 동시성 제한이 켜져 있으면 GovernedTransactionManager가 트랜잭션 시작 시 decide()로 대상을 정해 그 풀의 허가를 받고,
+ * 그 결정(Lane)을 현재 스레드에 걸어 둡니다. 커넥션은 허가를 받은 풀에서 빌리며,
+ * 복제본 커넥션을 얻지 못하면 주 DB 허가로 바꾼 뒤에만 주 DB에서 읽습니다. (허가를 못 받으면 DatabaseBusyException)
+ *
+ * db.routing.reads{target=replica|primary, reason}: 읽기 전용 트랜잭션이 사용한 DB
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    /**
+     * 읽기 전용 트랜잭션의 대상 (REPLICA 외에는 주 DB)
+     */
+    public enum Route {
+        REPLICA, READ_YOUR_WRITES, REPLICA_UNAVAILABLE
+    }
+
+    /**
+     * 트랜잭션 시작 시 정한 대상과 허가
+     */
+    public interface Lane {
+
+        Route route();
+
+        /**
+         * 복제본 커넥션을 얻지 못했을 때 주 DB 허가로 바꿈 (받지 못하면 DatabaseBusyException)
+         */
+        void fallbackToPrimary();
+    }
+
+    private static final ThreadLocal<Lane> LANE = new ThreadLocal<>();
+
+    private final ReadReplica replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replicaPool, ReadReplica replica,
+                                      MeterRegistry registry) {
+        super(primary);
+        this.replica = replica;
+        setReadOnlyDataSource(new ReplicaSelectingDataSource(primary, replicaPool, this, registry));
+    }
+
+    /**
+     * 지금 읽기 전용 트랜잭션을 시작하면 사용할 대상
+     */
+    public Route decide() {
+        if (ReadYourWritesTracker.isPinnedToPrimary()) {
+            return Route.READ_YOUR_WRITES;
+        }
+        return replica.isAvailable() ? Route.REPLICA : Route.REPLICA_UNAVAILABLE;
+    }
+
+    static void bindLane(Lane lane) {
+        LANE.set(lane);
+    }
+
+    static void unbindLane() {
+        LANE.remove();
+    }
+
+    /**
+     * 읽기 전용 커넥션 요청마다 복제본 사용 가능 여부를 판단
+     */
+    private static class ReplicaSelectingDataSource extends DelegatingDataSource {
+
+        private final DataSource primary;
+        private final ReadWriteRoutingDataSource routing;
+        private final Counter toReplica;
+        private final Counter readYourWrites;
+        private final Counter replicaUnavailable;
+        private final Counter replicaError;
+
+        ReplicaSelectingDataSource(DataSource primary, DataSource replicaPool, ReadWriteRoutingDataSource routing,
+                                   MeterRegistry registry) {
+            super(replicaPool);
+            this.primary = primary;
+            this.routing = routing;
+            this.toReplica = counter(registry, "replica", "replica");
+            this.readYourWrites = counter(registry, "primary", "read_your_writes");
+            this.replicaUnavailable = counter(registry, "primary", "replica_unavailable");
+            this.replicaError = counter(registry, "primary", "replica_error");
+        }
+
+        private static Counter counter(MeterRegistry registry, String target, String reason) {
+            return Counter.builder("db.routing.reads")
+                    .description("읽기 전용 트랜잭션이 사용한 DB")
+                    .tag("target", target)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Lane lane = LANE.get();
+            Route route = lane != null ? lane.route() : routing.decide();
+            if (route == Route.READ_YOUR_WRITES) {
+                return primary(readYourWrites);
+            }
+            if (route == Route.REPLICA_UNAVAILABLE) {
+                return primary(replicaUnavailable);
+            }
+            Connection connection;
+            try {
+                connection = super.getConnection();
+            } catch (SQLException e) {
+                log.warn("읽기 복제본 커넥션 획득 실패, 주 DB에서 읽음: {}", e.getMessage());
+                if (lane != null) {
+                    lane.fallbackToPrimary();
+                }
+                return primary(replicaError);
+            }
+            toReplica.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+
+        /**
+         * 주 DB 커넥션도 기존처럼 읽기 전용으로 표시 (반납 시 Hikari가 원래 값으로 되돌림)
+         */
+        private Connection primary(Counter reason) throws SQLException {
+            reason.increment();
+            Connection connection = primary.getConnection();
+            try {
+                connection.setReadOnly(true);
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.community.config;
+
+import com.example.community.security.MemberDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * 인증된 회원의 쓰기 요청을 기록하고, 최근에 쓴 회원의 요청은 주 DB에서만 읽도록 지정하는 필터 (ReadYourWritesTracker 참고)
+ *
+ * Security 필터 체인 뒤에 등록되어 인증 정보를 볼 수 있습니다.
+ * 쓰기 요청(GET/HEAD/OPTIONS 외)은 처리 전후로 기록하여, 응답 직후의 다음 요청도 기한 안에 들어오게 합니다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadYourWritesFilter(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long memberId = currentMemberId();
+        if (memberId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (write) {
+            tracker.recordWrite(memberId);
+        }
+        if (write || tracker.isRecentWriter(memberId)) {
+            ReadYourWritesTracker.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesTracker.clear();
+            if (write) {
+                tracker.recordWrite(memberId);
+            }
+        }
+    }
+
+    private static Long currentMemberId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof MemberDetails md) {
+            return md.id();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.community.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근에 쓰기 요청을 보낸 회원 기록 (읽기 복제본 read-your-writes 보장)
+ *
+ * 회원이 글/댓글/추천 등을 변경하면 window 동안 그 회원의 요청은 읽기 전용 트랜잭션도 주 DB에서 읽습니다.
+ * (복제 지연 때문에 방금 쓴 내용이 안 보이는 문제 방지)
+ * 요청 단위 판정은 ReadYourWritesFilter가 요청 시작 시 정해 ThreadLocal에 두고, ReadWriteRoutingDataSource가 참조합니다.
+ *
+ * 기록은 인스턴스 메모리에만 있으므로, 여러 인스턴스를 두면 로드밸런서의 세션 고정 없이는 다른 인스턴스에서 보장되지 않습니다.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    // 회원 ID -> 주 DB에서 읽어야 하는 기한 (System.nanoTime)
+    private final ConcurrentHashMap<Long, Long> recentWriters = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * 현재 스레드의 요청을 주 DB에서만 읽도록 지정
+     */
+    public static void pinToPrimary() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_ONLY.get() != null;
+    }
+
+    public void recordWrite(long memberId) {
+        recentWriters.put(memberId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isRecentWriter(long memberId) {
+        Long until = recentWriters.get(memberId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        recentWriters.remove(memberId, until);
+        return false;
+    }
+
+    /**
+     * 기한이 지난 기록 주기적 정리
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+    }
+
+    int size() {
+        return recentWriters.size();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.community.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * S3 호환 저장소 클라이언트 설정 (app.storage.provider=s3)
+ *
+ * endpoint를 지정하면 MinIO 등 S3 호환 서버를 사용합니다. (이 경우 보통 path-style 접근 필요)
+ * access-key를 비워 두면 기본 자격 증명 체인(환경 변수, 인스턴스 역할 등)을 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.provider", havingValue = "s3")
+public class S3Config {
+
+    @Value("${app.storage.s3.region:ap-northeast-2}")
+    private String region;
+    @Value("${app.storage.s3.endpoint:}")
+    private String endpoint;
+    @Value("${app.storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+    @Value("${app.storage.s3.access-key:}")
+    private String accessKey;
+    @Value("${app.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .serviceConfiguration(serviceConfiguration());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .serviceConfiguration(serviceConfiguration());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder.build();
+    }
+
+    private S3Configuration serviceConfiguration() {
+        return S3Configuration.builder().pathStyleAccessEnabled(pathStyleAccess).build();
+    }
+
+    private AwsCredentialsProvider credentials() {
+        if (accessKey.isBlank()) {
+            return DefaultCredentialsProvider.create();
+        }
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+}
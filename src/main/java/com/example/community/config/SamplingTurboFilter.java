@@ -0,0 +1,91 @@
+package com.example.community.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 카테고리(로거 이름 접두사)별 로그 샘플링 (logback-spring.xml의 prod 프로필에서 등록)
+ *
+ * - WARN 이상이거나 예외가 붙은 로그는 항상 기록
+ * - INFO 이하는 가장 길게 일치하는 카테고리의 비율만큼만 기록 (예: com.example.community.web=0.1)
+ * - 판정은 요청마다 한 번 뽑은 값으로 하므로(LogSamplingFilter), 남은 요청은 그 요청의 로그가 모두 함께 남고
+ *   isInfoEnabled()와 실제 기록 시점의 판정이 어긋나지 않습니다.
+ * - 요청 밖(백그라운드 워커, 시작/종료)의 로그는 샘플링하지 않음
+ *
+ * 메시지 포맷팅/이벤트 생성 전에 판정하므로 버려지는 로그는 할당이 없습니다.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final ThreadLocal<Double> REQUEST_DRAW = new ThreadLocal<>();
+
+    private String[] prefixes = new String[0];
+    private double[] rates = new double[0];
+
+    /**
+     * 요청 시작 시 이번 요청의 표본 값 [0, 1)을 정함
+     */
+    public static void beginRequest() {
+        REQUEST_DRAW.set(ThreadLocalRandom.current().nextDouble());
+    }
+
+    public static void endRequest() {
+        REQUEST_DRAW.remove();
+    }
+
+    /**
+     * 카테고리별 기록 비율 (쉼표 구분, 로거접두사=비율, 비율은 0~1)
+     */
+    public void setCategories(String spec) {
+        List<String[]> parsed = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("로그 샘플링 형식 오류: " + part + " (예: com.example.community.web=0.1)");
+            }
+            double rate = Double.parseDouble(kv[1].trim());
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("로그 샘플링 비율은 0~1이어야 합니다: " + part);
+            }
+            parsed.add(new String[]{kv[0].trim(), kv[1].trim()});
+        }
+        // 더 구체적인(긴) 접두사가 먼저 일치하도록 정렬
+        parsed.sort(Comparator.comparingInt((String[] kv) -> kv[0].length()).reversed());
+        prefixes = parsed.stream().map(kv -> kv[0]).toArray(String[]::new);
+        rates = parsed.stream().mapToDouble(kv -> Double.parseDouble(kv[1])).toArray();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || t != null) {
+            return FilterReply.NEUTRAL;
+        }
+        Double draw = REQUEST_DRAW.get();
+        if (draw == null) {
+            return FilterReply.NEUTRAL;
+        }
+        double rate = rateFor(logger.getName());
+        return draw < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private double rateFor(String loggerName) {
+        for (int i = 0; i < prefixes.length; i++) {
+            String prefix = prefixes[i];
+            if (loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.')) {
+                return rates[i];
+            }
+        }
+        return 1.0;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.community.config;
 
 import com.example.community.security.JwtAuthenticationFilter;
+import com.example.community.security.OriginPolicy;
+import com.example.community.security.RateLimitFilter;
+import com.example.community.security.RateLimiter;
 import com.example.community.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -20,29 +25,50 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.web.cors.CorsConfiguration;                          // CORS
-import org.springframework.core.env.Environment;
-// CORS
 
 import java.util.List;
 
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
-    private final Environment env;
+    private final OriginPolicy originPolicy;
+    private final RateLimiter rateLimiter;
 
-    // 환경 변수 ALLOWED_ORIGINS를 우선 사용. 없으면 기본값.
-    private List<String> allowedOrigins() {
-        String raw = env.getProperty("ALLOWED_ORIGINS", "http://localhost:3000");
-        return java.util.Arrays.stream(raw.split(","))
+    // Prometheus 수집 서버 IP/CIDR (토큰 없이 스크레이프하므로 네트워크 위치로만 허용)
+    @Value("${app.metrics.scrape-allowed-ips:127.0.0.1/32,::1/128}")
+    private List<String> scrapeAllowedIps;
+
+    private WebExpressionAuthorizationManager scrapeAccess() {
+        return new WebExpressionAuthorizationManager(String.join(" or ", scrapeAllowedIps.stream()
                 .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .distinct()
-                .toList();
+                .map(ip -> "hasIpAddress('" + ip + "')")
+                .toList()));
+    }
+
+    /**
+     * CORS 설정 (애플리케이션 시작 시 한 번만 생성)
+     * Origin 허용 여부는 미리 파싱된 OriginPolicy에 위임하여 요청마다 설정을 다시 만들지 않음
+     */
+    private CorsConfiguration corsConfiguration() {
+        CorsConfiguration cfg = new CorsConfiguration() {
+            @Override
+            public String checkOrigin(String requestOrigin) {
+                return originPolicy.isAllowed(requestOrigin) ? requestOrigin : null;
+            }
+        };
+        cfg.setAllowedOrigins(List.copyOf(originPolicy.exactOrigins()));
+        cfg.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
+        cfg.setAllowedHeaders(List.of("Authorization","Content-Type","X-Requested-With","Accept"));
+        cfg.setAllowCredentials(true);
+        cfg.setMaxAge(java.time.Duration.ofSeconds(3600));
+        return cfg;
     }
 
     @Bean
@@ -72,16 +98,9 @@ public class SecurityConfig {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        CorsConfiguration cors = corsConfiguration();
         http
-                .cors(c -> c.configurationSource(request -> {
-                    CorsConfiguration cfg = new CorsConfiguration();
-                    cfg.setAllowedOrigins(allowedOrigins());
-                    cfg.setAllowedMethods(List.of("GET","POST","PUT","PATCH","DELETE","OPTIONS"));
-                    cfg.setAllowedHeaders(List.of("Authorization","Content-Type","X-Requested-With","Accept"));
-                    cfg.setAllowCredentials(true);
-                    cfg.setMaxAge(java.time.Duration.ofSeconds(3600));
-                    return cfg;
-                }))
+                .cors(c -> c.configurationSource(request -> cors))
                 .csrf(csrf -> csrf.disable())
         .headers(headers -> headers
             .contentSecurityPolicy(csp -> csp.policyDirectives("default-src 'self'; img-src 'self' data:; object-src 'none'; frame-ancestors 'none'; base-uri 'self'"))
@@ -98,9 +117,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // preflight
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/prometheus").access(scrapeAccess())
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN") // JFR 녹화 제어/덤프
                         .requestMatchers("/v3/api-docs/**", "/swagger/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/**", "/api/comments/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/files/**").permitAll()   // 정적 리소스 공개
+                        .requestMatchers(HttpMethod.HEAD, "/files/**").permitAll()
                         .requestMatchers("/api/files/**").authenticated()           // 파일 업로드/삭제는 인증 필요
                         .anyRequest().authenticated()
                 );
@@ -109,6 +131,11 @@ public class SecurityConfig {
                 new JwtAuthenticationFilter(jwtUtil, userDetailsService),
                 org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class
         );
+        // JWT 인증 이후에 배치하여 회원 ID 기준 제한이 가능하도록 함
+        http.addFilterAfter(
+                new RateLimitFilter(rateLimiter),
+                org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class
+        );
 
         return http.build();
     }
@@ -0,0 +1,102 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 요청별 SQL 예산 필터
+ *
+ * 요청 하나에서 실행된 SQL 문장 수/행 수를 기록하고, 예산을 넘거나 같은 형태의 문장이 반복되면(N+1 의심) 경고합니다.
+ * - sql.statements.per.request{method, uri}: 요청당 문장 수
+ * - sql.rows.per.request{method, uri}: 요청당 읽은/변경한 행 수
+ * - sql.budget.violations{method, uri, reason=statements|repeated}: 예산 초과 요청 수
+ * Security 필터보다 먼저 실행되므로 JWT 인증 필터의 조회도 포함됩니다.
+ */
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+
+    private final MeterRegistry registry;
+    private final int maxStatements;
+    private final int repeatThreshold;
+
+    public SqlStatementBudgetFilter(MeterRegistry registry, int maxStatements, int repeatThreshold) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementTracker.Scope scope = SqlStatementTracker.begin(req.getMethod() + " " + req.getRequestURI());
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            scope.close();
+            report(req, scope);
+        }
+    }
+
+    private void report(HttpServletRequest req, SqlStatementTracker.Scope scope) {
+        if (scope.statements() == 0) {
+            return;
+        }
+        String method = req.getMethod();
+        String uri = uriTag(req);
+        DistributionSummary.builder("sql.statements.per.request")
+                .description("요청 하나에서 실행된 SQL 문장 수")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(scope.statements());
+        DistributionSummary.builder("sql.rows.per.request")
+                .description("요청 하나에서 읽거나 변경한 행 수")
+                .tags("method", method, "uri", uri)
+                .register(registry)
+                .record(scope.rows());
+
+        if (scope.statements() > maxStatements) {
+            violation(method, uri, "statements");
+            log.warn("SQL 문장 예산 초과: {} {} 문장={} (예산 {}), 행={}, 시간={}ms",
+                    method, uri, scope.statements(), maxStatements, scope.rows(), scope.time().toMillis());
+        }
+        Map<String, Integer> repeated = scope.repeatedShapes(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            violation(method, uri, "repeated");
+            log.warn("같은 형태의 SQL 반복 실행 (N+1 의심): {} {}\n{}", method, uri, repeated.entrySet().stream()
+                    .map(e -> "  " + e.getValue() + "회: " + abbreviate(e.getKey()))
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private void violation(String method, String uri, String reason) {
+        Counter.builder("sql.budget.violations")
+                .description("SQL 예산을 초과한 요청 수")
+                .tags("method", method, "uri", uri, "reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    // 경로 변수 값으로 태그가 늘어나지 않도록 매핑 패턴을 사용 (핸들러를 찾지 못한 요청은 UNKNOWN)
+    private static String uriTag(HttpServletRequest req) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.community.config;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 스레드별 SQL 실행 집계
+ *
+ * StatementCountingDataSource가 실행한 문장 수/행 수/시간을 현재 스레드에서 열린 모든 Scope에 기록합니다.
+ * Scope는 중첩될 수 있습니다. (예: 테스트 전체 Scope 안에서 요청 필터의 Scope)
+ * 열린 Scope가 없으면 Statement를 감싸지 않으므로 요청 밖(스케줄러 등)에는 비용이 없습니다.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static volatile boolean instrumented;
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * 집계 시작 (반드시 close 해야 함, try-with-resources 권장)
+     */
+    public static Scope begin(String name) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>(2);
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    /**
+     * SQL 계측 DataSource가 하나라도 만들어졌는지 (테스트에서 집계가 0인 이유를 구분하기 위함)
+     */
+    public static boolean isInstrumented() {
+        return instrumented;
+    }
+
+    static void markInstrumented() {
+        instrumented = true;
+    }
+
+    static boolean isActive() {
+        Deque<Scope> scopes = SCOPES.get();
+        return scopes != null && !scopes.isEmpty();
+    }
+
+    static void executed(String sql, long nanos, long affectedRows) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (Scope scope : scopes) {
+                scope.onStatement(sql, nanos, affectedRows);
+            }
+        }
+    }
+
+    static void rowRead() {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (Scope scope : scopes) {
+                scope.rows++;
+            }
+        }
+    }
+
+    /**
+     * 같은 형태의 문장으로 묶기 위한 정규화 (공백 정리, 리터럴과 IN 목록 길이 제거)
+     */
+    static String shape(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String s = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        s = STRING_LITERAL.matcher(s).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        return IN_LIST.matcher(s).replaceAll("(?)");
+    }
+
+    /**
+     * 한 구간(요청, 테스트)의 SQL 집계
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final Map<String, Integer> bySql = new HashMap<>();
+        private int statements;
+        private long rows;
+        private long nanos;
+        private boolean closed;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void onStatement(String sql, long elapsed, long affectedRows) {
+            statements++;
+            nanos += elapsed;
+            rows += affectedRows;
+            bySql.merge(sql != null ? sql : "(unknown)", 1, Integer::sum);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** 실행한 문장 수 (배치는 한 번으로 계산) */
+        public int statements() {
+            return statements;
+        }
+
+        /** 읽은 행 수와 변경된 행 수의 합 */
+        public long rows() {
+            return rows;
+        }
+
+        public Duration time() {
+            return Duration.ofNanos(nanos);
+        }
+
+        /**
+         * 같은 형태로 threshold번 이상 실행된 문장 (N+1 의심), 많이 실행된 순
+         */
+        public Map<String, Integer> repeatedShapes(int threshold) {
+            Map<String, Integer> byShape = new HashMap<>();
+            bySql.forEach((sql, count) -> byShape.merge(shape(sql), count, Integer::sum));
+            Map<String, Integer> repeated = new LinkedHashMap<>();
+            byShape.entrySet().stream()
+                    .filter(e -> e.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+            return repeated;
+        }
+
+        public String summary() {
+            return String.format("%s: 문장=%d, 행=%d, 시간=%dms", name, statements, rows, time().toMillis());
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes != null) {
+                scopes.remove(this);
+                if (scopes.isEmpty()) {
+                    SCOPES.remove();
+                }
+            }
+        }
+    }
+}
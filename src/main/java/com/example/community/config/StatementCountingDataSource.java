@@ -0,0 +1,154 @@
+package com.example.community.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQL 실행 집계용 DataSource
+ *
+ * SqlStatementTracker에 열린 Scope가 있을 때 만든 Statement만 감싸서
+ * execute* 호출 수와 시간, ResultSet에서 읽은 행 수, 변경된 행 수를 기록합니다.
+ * 프록시는 모두 동일성 기반 equals/hashCode를 사용합니다. (Hibernate가 Statement/ResultSet을 키로 보관)
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource target) {
+        super(target);
+        SqlStatementTracker.markInstrumented();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Handler(connection) {
+                    @Override
+                    Object after(Method method, Object[] args, Object result) {
+                        if (result instanceof Statement statement && SqlStatementTracker.isActive()) {
+                            String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                            return Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                                    new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql));
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    private static ResultSet wrapResultSet(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, new Handler(resultSet) {
+                    @Override
+                    Object after(Method method, Object[] args, Object result) {
+                        if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                            SqlStatementTracker.rowRead();
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    /**
+     * 위임 + 동일성 기반 equals/hashCode
+     */
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    return after(method, args, call(method, args));
+                }
+            }
+        }
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        abstract Object after(Method method, Object[] args, Object result);
+    }
+
+    private static final class StatementHandler extends Handler {
+        private final String preparedSql;
+        private String batchSql;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            super(statement);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        Object call(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name) && args != null && args.length == 1) {
+                batchSql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return super.call(method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : batchSql;
+            long start = System.nanoTime();
+            Object result = super.call(method, args);
+            SqlStatementTracker.executed(sql, System.nanoTime() - start, affectedRows(result));
+            return result;
+        }
+
+        @Override
+        Object after(Method method, Object[] args, Object result) {
+            return result instanceof ResultSet rs ? wrapResultSet(rs) : result;
+        }
+
+        private static long affectedRows(Object result) {
+            if (result instanceof Integer count) {
+                return Math.max(count, 0);
+            }
+            if (result instanceof Long count) {
+                return Math.max(count, 0);
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int c : counts) {
+                    total += Math.max(c, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long c : counts) {
+                    total += Math.max(c, 0);
+                }
+            }
+            return total;
+        }
+    }
+}
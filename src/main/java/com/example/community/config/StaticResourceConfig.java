@@ -1,50 +1,71 @@
 package com.example.community.config;
 
+import com.example.community.storage.LocalFileServer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.*;
 
 import java.nio.file.Paths;
 import java.net.URI;
+import java.time.Duration;
 
 /**
  * 정적 리소스 서빙 설정
  * 업로드된 파일을 웹에서 접근할 수 있도록 매핑합니다.
  * publicBaseUrl의 경로와 자동으로 일치시켜 설정 오류를 방지합니다.
+ *
+ * 전용 파일 제공 핸들러(LocalFileServer, FileServingConfig)가 등록되어 있으면 그쪽이 처리하고,
+ * 없는 경우(슬라이스 테스트 등)에만 Spring 기본 리소스 핸들러를 사용합니다.
  */
 @Configuration
+@RequiredArgsConstructor
 public class StaticResourceConfig implements WebMvcConfigurer {
-    
+
+    // 슬라이스 테스트(@WebMvcTest)에서는 FileServingConfig가 로드되지 않으므로 ObjectProvider 사용
+    private final ObjectProvider<LocalFileServer> fileServer;
+
     @Value("${app.storage.local.base-path:uploads}")
     private String storagePath;
     
     @Value("${app.public-base-url}")
     private String publicBaseUrl; // 예: http://localhost:8080/uploads
-    
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String absolutePath = Paths.get(storagePath).toAbsolutePath().normalize().toString();
-        
-        // publicBaseUrl의 path만 추출 (예: /uploads)
+
+    @Value("${app.storage.provider:local}")
+    private String storageProvider;
+
+    /**
+     * publicBaseUrl의 path로 핸들러 경로 계산 (예: http://host/uploads → /uploads/)
+     */
+    public static String handlerPath(String publicBaseUrl) {
         String handlerPath = URI.create(publicBaseUrl).getPath();
-        if (handlerPath.isEmpty()) {
+        if (handlerPath == null || handlerPath.isEmpty()) {
             handlerPath = "/uploads"; // 기본값
         }
         if (!handlerPath.endsWith("/")) {
             handlerPath += "/";
         }
+        return handlerPath;
+    }
+    
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        if (fileServer.getIfAvailable() != null) {
+            return; // FileServingConfig의 핸들러 매핑이 같은 경로를 처리
+        }
+        if ("s3".equals(storageProvider)) {
+            return; // 버킷/CDN에서 직접 제공
+        }
+
+        String absolutePath = Paths.get(storagePath).toAbsolutePath().normalize().toString();
         
         // 추출된 경로로 정적 리소스 핸들러 설정 (예: '/uploads/**')
-        registry.addResourceHandler(handlerPath + "**")
+        // 키는 UUID로 바뀌지 않으므로 장기 캐싱
+        registry.addResourceHandler(handlerPath(publicBaseUrl) + "**")
                 .addResourceLocations("file:" + absolutePath + "/")
-                .setCachePeriod(3600) // 1시간 캐싱
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
                 .resourceChain(true);
-        
-        // 운영 환경에서는 Nginx 설정으로 대체 권장:
-        // location /uploads/ { 
-        //     alias /절대/경로/uploads/; 
-        //     expires 1d;
-        //     add_header Cache-Control "public";
-        // }
     }
 }
@@ -0,0 +1,91 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 가상 스레드 실행 모드의 DB 동시성 제한 구성
+ *
+ * spring.threads.virtual.enabled=true(Tomcat 요청을 가상 스레드로 처리)이면 기본으로 함께 켜지며,
+ * app.db-governor.enabled로 따로 켜고 끌 수 있습니다.
+ * 허가 수는 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size)에서 여유분(app.db-governor.headroom, 기본 2)을
+ * 뺀 값이 기본입니다. 허가를 받은 트랜잭션 안의 REQUIRES_NEW는 허가 없이 두 번째 커넥션을 쓰므로,
+ * 허가 수가 풀 크기와 같으면 모든 허가 보유자가 동시에 REQUIRES_NEW에 들어갈 때 풀이 바닥나 서로를 기다리게 됩니다.
+ * (여유분은 동시에 REQUIRES_NEW 안에 있을 수 있는 트랜잭션 수 이상으로 설정, app.db-governor.permits로 직접 지정 가능)
+ *
+ * 읽기 복제본이 있으면 복제본 풀 허가를 따로 둡니다. (복제본 풀 크기 - 여유분, app.db-governor.replica-permits로 직접 지정 가능)
+ * 주 DB 허가 수는 복제본과 관계없이 주 DB 풀 기준 그대로입니다. (GovernedTransactionManager 참고)
+ */
+@Configuration
+@ConditionalOnExpression("${app.db-governor.enabled:${spring.threads.virtual.enabled:false}}")
+public class VirtualThreadConfig {
+
+    @Bean
+    DbConcurrencyGovernor dbConcurrencyGovernor(
+            MeterRegistry registry,
+            @Value("${app.db-governor.permits:0}") int permits,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${app.db-governor.headroom:2}") int headroom,
+            @Value("${app.db-governor.max-wait:1s}") Duration maxWait) {
+        return new DbConcurrencyGovernor("primary", permits(permits, poolSize, headroom), maxWait, registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    DbConcurrencyGovernor replicaConcurrencyGovernor(
+            MeterRegistry registry,
+            @Value("${app.db-governor.replica-permits:0}") int permits,
+            @Value("${app.datasource.replica.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int poolSize,
+            @Value("${app.db-governor.headroom:2}") int headroom,
+            @Value("${app.db-governor.max-wait:1s}") Duration maxWait) {
+        return new DbConcurrencyGovernor("replica", permits(permits, poolSize, headroom), maxWait, registry);
+    }
+
+    /**
+     * 허가 수 결정 (직접 지정하지 않으면 풀 크기 - 여유분, 최소 1)
+     */
+    static int permits(int configured, int poolSize, int headroom) {
+        if (configured > 0) {
+            return configured;
+        }
+        return Math.max(1, poolSize - Math.max(0, headroom));
+    }
+
+    /**
+     * 트랜잭션 관리자를 DB 동시성 제한 래퍼로 감쌈 (읽기 복제본으로 라우팅하는 DataSource를 쓰면 복제본 허가도 함께)
+     */
+    @Bean
+    static BeanPostProcessor governedTransactionManagerPostProcessor(
+            @Qualifier("dbConcurrencyGovernor") ObjectProvider<DbConcurrencyGovernor> governor,
+            @Qualifier("replicaConcurrencyGovernor") ObjectProvider<DbConcurrencyGovernor> replicaGovernor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PlatformTransactionManager tm && !(bean instanceof GovernedTransactionManager)) {
+                    return new GovernedTransactionManager(tm, governor.getObject(),
+                            replicaGovernor.getIfAvailable(), routing(tm));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ReadWriteRoutingDataSource routing(PlatformTransactionManager tm) {
+        DataSource dataSource = tm instanceof JpaTransactionManager jpa ? jpa.getDataSource()
+                : tm instanceof DataSourceTransactionManager jdbc ? jdbc.getDataSource() : null;
+        return dataSource instanceof ReadWriteRoutingDataSource routing ? routing : null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.community.config;
+
+import com.example.community.security.OriginPolicy;
+import com.example.community.security.OriginValidationInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC 설정
+ * app.enable-origin-validation=true인 경우 상태 변경 API에 Origin 검증 인터셉터를 등록합니다.
+ * (CORS 자체는 SecurityConfig에서만 처리)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // 슬라이스 테스트(@WebMvcTest)에서는 OriginPolicy 빈이 없을 수 있으므로 ObjectProvider 사용
+    private final ObjectProvider<OriginPolicy> originPolicy;
+
+    @Value("${app.enable-origin-validation:false}")
+    private boolean originValidationEnabled;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OriginPolicy policy = originPolicy.getIfAvailable();
+        if (originValidationEnabled && policy != null) {
+            registry.addInterceptor(new OriginValidationInterceptor(policy))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
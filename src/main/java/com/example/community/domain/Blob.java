@@ -0,0 +1,33 @@
+package com.example.community.domain;
+
+import com.example.community.domain.support.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 내용 주소 기반(Content-addressed) 저장소의 실제 파일(blob)
+ * 같은 내용의 업로드는 SHA-256이 같으므로 하나의 blob을 공유하고,
+ * ref_count는 이 blob을 가리키는 파일 키(업로드) 수를 나타냅니다.
+ */
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Table(name = "blobs")
+public class Blob extends BaseTimeEntity {
+
+    @Id
+    @Column(length = 64)
+    private String hash;  // SHA-256 (16진수 소문자)
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private int refCount;
+}
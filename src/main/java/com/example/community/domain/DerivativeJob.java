@@ -0,0 +1,96 @@
+package com.example.community.domain;
+
+import com.example.community.domain.support.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 이미지 파생본(썸네일/중간 크기) 생성 작업
+ * 업로드 직후 PENDING으로 등록되고 백그라운드 워커가 처리합니다.
+ * 실패 시 지수 백오프로 재시도하며, 최대 횟수를 넘으면 FAILED로 남고 원본 이미지를 그대로 사용합니다.
+ */
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Table(
+    name = "derivative_jobs",
+    indexes = @Index(name = "idx_derivative_jobs_status_next", columnList = "status,next_attempt_at"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_derivative_jobs_source", columnNames = "source_key")
+)
+public class DerivativeJob extends BaseTimeEntity {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_key", nullable = false)
+    private String sourceKey;  // 원본 파일 키
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    private String thumbnailKey;  // 생성된 썸네일 키
+
+    private String mediumKey;  // 생성된 중간 크기 이미지 키
+
+    @Column(length = 500)
+    private String lastError;
+
+    public static DerivativeJob pending(String sourceKey, Instant now) {
+        return DerivativeJob.builder()
+                .sourceKey(sourceKey)
+                .status(Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    public void complete(String thumbnailKey, String mediumKey) {
+        this.status = Status.DONE;
+        this.thumbnailKey = thumbnailKey;
+        this.mediumKey = mediumKey;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패 기록: 재시도 가능하면 백오프 후 다시 PENDING, 아니면 FAILED
+     * @param retryable 재시도해도 결과가 같지 않은 오류인지 (디코딩 불가 형식 등은 false)
+     */
+    public void fail(String error, boolean retryable, int maxAttempts, Duration baseBackoff, Instant now) {
+        this.attempts++;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        if (!retryable || attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+            return;
+        }
+        this.status = Status.PENDING;
+        this.nextAttemptAt = now.plus(baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 10)));
+    }
+
+    /**
+     * 저장소 키 이동 시 원본/파생본 키 갱신
+     */
+    public void relocate(String sourceKey, String thumbnailKey, String mediumKey) {
+        this.sourceKey = sourceKey;
+        this.thumbnailKey = thumbnailKey;
+        this.mediumKey = mediumKey;
+    }
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+}
@@ -34,6 +34,31 @@ public class PostImage extends BaseTimeEntity {
     @Column(nullable = false)
     private String url;  // 접근 가능한 URL
 
+    @Column(length = 64)
+    private String blobHash;  // 내용 주소 저장소의 blob 해시 (해당 저장소가 아니면 null)
+
+    private String thumbnailUrl;  // 썸네일 URL (생성 전이면 null)
+
+    private String mediumUrl;  // 중간 크기 이미지 URL (생성 전이면 null)
+
+    private Integer width;  // 원본 이미지 너비 (판별하지 못했으면 null)
+
+    private Integer height;  // 원본 이미지 높이 (판별하지 못했으면 null)
+
+    // 저장소 키 이동 시 키와 URL 갱신
+    public void relocate(String fileKey, String url, String thumbnailUrl, String mediumUrl) {
+        this.fileKey = fileKey;
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+        this.mediumUrl = mediumUrl;
+    }
+
+    // 파생본 생성 완료 시 URL 반영
+    public void setDerivativeUrls(String thumbnailUrl, String mediumUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+        this.mediumUrl = mediumUrl;
+    }
+
     // 편의 메서드: 포스트 연결
     public void setPost(Post post) {
         this.post = post;
@@ -0,0 +1,76 @@
+package com.example.community.domain;
+
+import com.example.community.domain.support.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 저장소 파일 삭제 예정 항목 (트랜잭셔널 아웃박스)
+ * 게시글/이미지 삭제와 같은 트랜잭션에서 기록되고, 커밋 후 백그라운드 워커가 실제 파일을 삭제합니다.
+ * 삭제는 멱등이므로 같은 키가 여러 번 처리되어도 안전하며, 성공한 항목은 행을 지웁니다.
+ */
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Table(
+    name = "storage_deletions",
+    indexes = {
+        @Index(name = "idx_storage_deletions_status_next", columnList = "status,next_attempt_at"),
+        @Index(name = "idx_storage_deletions_claim", columnList = "claim_token")
+    }
+)
+public class StorageDeletion extends BaseTimeEntity {
+
+    public enum Status { PENDING, FAILED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_key", nullable = false)
+    private String fileKey;  // 삭제할 원본 파일 키 (파생본은 함께 정리)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // 다음 처리 가능 시각 (선점 시 임대 만료 시각으로 미뤄 두므로 워커가 죽어도 자동으로 다시 처리됨)
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;  // 마지막으로 선점한 워커 배치 식별자
+
+    @Column(length = 500)
+    private String lastError;
+
+    public static StorageDeletion pending(String fileKey, Instant now) {
+        return StorageDeletion.builder()
+                .fileKey(fileKey)
+                .status(Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    /**
+     * 실패 기록: 최대 횟수 전까지는 지수 백오프 후 다시 시도, 넘으면 FAILED로 남김 (운영자 확인용)
+     */
+    public void fail(String error, int maxAttempts, Duration baseBackoff, Instant now) {
+        this.attempts++;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        if (attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+            return;
+        }
+        this.nextAttemptAt = now.plus(baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 10)));
+    }
+}
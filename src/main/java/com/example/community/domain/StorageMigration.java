@@ -0,0 +1,53 @@
+package com.example.community.domain;
+
+import com.example.community.domain.support.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소 마이그레이션 진행 상태 (재시작 시 마지막 처리 지점부터 이어서 진행)
+ */
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Table(name = "storage_migrations")
+public class StorageMigration extends BaseTimeEntity {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private long lastId;  // 마지막으로 처리한 대상 행 ID
+
+    @Column(nullable = false)
+    private long migrated;  // 옮긴 파일 키 수
+
+    private LocalDateTime completedAt;
+
+    public static StorageMigration start(String name) {
+        return StorageMigration.builder()
+                .name(name)
+                .lastId(0)
+                .migrated(0)
+                .build();
+    }
+
+    public void advance(long lastId, long migrated) {
+        this.lastId = lastId;
+        this.migrated += migrated;
+    }
+
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+}
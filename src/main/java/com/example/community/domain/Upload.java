@@ -0,0 +1,67 @@
+package com.example.community.domain;
+
+import com.example.community.domain.support.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 업로드된 파일 메타데이터
+ * 업로드 시점에 한 번 기록하고, 게시글 작성/수정 시에는 스토리지 대신 이 테이블로 존재·소유권을 확인합니다.
+ * 게시글에 연결되기 전에는 TEMP, 연결되면 ATTACHED 상태입니다.
+ */
+@Getter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Table(
+    name = "uploads",
+    indexes = @Index(name = "idx_uploads_status_created", columnList = "status,created_at"),
+    uniqueConstraints = @UniqueConstraint(name = "uk_uploads_file_key", columnNames = "file_key")
+)
+public class Upload extends BaseTimeEntity {
+
+    public enum Status { TEMP, ATTACHED }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_key", nullable = false)
+    private String fileKey;
+
+    @Column(nullable = false)
+    private Long ownerId;  // 업로드한 회원 ID
+
+    @Column(nullable = false)
+    private String originalName;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;  // 시그니처로 판별한 MIME 타입
+
+    @Column(nullable = false)
+    private long size;
+
+    private Integer width;  // 판별할 수 없으면 null
+
+    private Integer height;
+
+    @Column(length = 64)
+    private String blobHash;  // 내용 주소 저장소의 blob 해시 (해당 저장소가 아니면 null)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    public void attach() {
+        this.status = Status.ATTACHED;
+    }
+
+    public void relocate(String fileKey) {
+        this.fileKey = fileKey;
+    }
+
+    public boolean isOwnedBy(Long memberId) {
+        return ownerId != null && ownerId.equals(memberId);
+    }
+}
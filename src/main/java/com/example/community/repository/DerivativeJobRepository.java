@@ -0,0 +1,74 @@
+package com.example.community.repository;
+
+import com.example.community.domain.DerivativeJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이미지 파생본 생성 작업 큐 리포지토리
+ */
+public interface DerivativeJobRepository extends JpaRepository<DerivativeJob, Long> {
+
+    @Query("SELECT j.id FROM DerivativeJob j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.id")
+    List<Long> findDueIds(@Param("status") DerivativeJob.Status status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * 작업 선점: PENDING인 경우에만 RUNNING으로 변경 (여러 워커/인스턴스 간 중복 처리 방지)
+     * @return 선점 성공 시 1
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DerivativeJob j SET j.status = :running, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = :pending")
+    int claim(@Param("id") Long id,
+              @Param("pending") DerivativeJob.Status pending,
+              @Param("running") DerivativeJob.Status running,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * 오래 RUNNING으로 남은 작업 중 이번 회수로 최대 시도 횟수에 도달하는 작업을 FAILED로 변경
+     * (워커를 죽이거나 멈추게 하는 이미지가 무한히 재시도되지 않도록, releaseStale보다 먼저 실행)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DerivativeJob j SET j.status = :failed, j.attempts = j.attempts + 1, " +
+           "j.lastError = '처리 중 중단됨 (워커 종료 또는 시간 초과)' " +
+           "WHERE j.status = :running AND j.updatedAt < :before AND j.attempts + 1 >= :maxAttempts")
+    int failStale(@Param("running") DerivativeJob.Status running,
+                  @Param("failed") DerivativeJob.Status failed,
+                  @Param("before") LocalDateTime before,
+                  @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 처리 중 서버가 종료되었거나 멈춰 RUNNING으로 남은 작업을 다시 대기 상태로 되돌림 (시도 횟수 1 증가)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE DerivativeJob j SET j.status = :pending, j.attempts = j.attempts + 1, " +
+           "j.lastError = '처리 중 중단됨 (워커 종료 또는 시간 초과)' " +
+           "WHERE j.status = :running AND j.updatedAt < :before")
+    int releaseStale(@Param("pending") DerivativeJob.Status pending,
+                     @Param("running") DerivativeJob.Status running,
+                     @Param("before") LocalDateTime before);
+
+    List<DerivativeJob> findBySourceKeyInAndStatus(Collection<String> sourceKeys, DerivativeJob.Status status);
+
+    Optional<DerivativeJob> findBySourceKey(String sourceKey);
+
+    List<DerivativeJob> findBySourceKeyIn(Collection<String> sourceKeys);
+
+    /**
+     * 주어진 파생본 키를 만든 작업 중 원본이 게시글에 연결된 작업 (고아 파일 수집기에서 배치 확인용)
+     */
+    @Query("SELECT j FROM DerivativeJob j WHERE (j.thumbnailKey IN :keys OR j.mediumKey IN :keys) " +
+           "AND EXISTS (SELECT 1 FROM PostImage pi WHERE pi.fileKey = j.sourceKey)")
+    List<DerivativeJob> findAttachedByDerivativeKeys(@Param("keys") Collection<String> keys);
+
+    boolean existsBySourceKey(String sourceKey);
+}
@@ -2,11 +2,13 @@ package com.example.community.repository;
 
 import com.example.community.domain.Post;
 import com.example.community.domain.PostImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,12 @@ public interface PostImageRepository extends JpaRepository<PostImage, Long> {
     
     @Query("SELECT pi FROM PostImage pi WHERE pi.post.id = :postId")
     List<PostImage> findByPostId(@Param("postId") Long postId);
+
+    /**
+     * 여러 게시글의 이미지 일괄 조회 (목록 응답에서 게시글마다 컬렉션을 초기화하지 않도록)
+     */
+    @Query("SELECT pi FROM PostImage pi WHERE pi.post.id IN :postIds ORDER BY pi.id")
+    List<PostImage> findByPostIdIn(@Param("postIds") Collection<Long> postIds);
     
     /**
      * 파일 키로 이미지 조회
@@ -27,6 +35,29 @@ public interface PostImageRepository extends JpaRepository<PostImage, Long> {
     @Query("SELECT pi FROM PostImage pi WHERE pi.fileKey = :fileKey")
     Optional<PostImage> findByFileKey(@Param("fileKey") String fileKey);
     
+    List<PostImage> findByFileKeyIn(Collection<String> fileKeys);
+
+    /**
+     * ID 순서 배치 조회 (저장소 마이그레이션용 키셋 페이지네이션)
+     */
+    @Query("SELECT pi FROM PostImage pi WHERE pi.id > :afterId ORDER BY pi.id")
+    List<PostImage> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 주어진 키 중 게시글에 연결된 키만 조회 (고아 파일 수집기에서 배치 확인용)
+     */
+    @Query("SELECT DISTINCT pi.fileKey FROM PostImage pi WHERE pi.fileKey IN :fileKeys")
+    List<String> findReferencedFileKeys(@Param("fileKeys") Collection<String> fileKeys);
+
+    /**
+     * 파생본 생성 완료 시 해당 키를 사용하는 이미지의 URL 갱신
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE PostImage pi SET pi.thumbnailUrl = :thumbnailUrl, pi.mediumUrl = :mediumUrl WHERE pi.fileKey = :fileKey")
+    int updateDerivativeUrls(@Param("fileKey") String fileKey,
+                             @Param("thumbnailUrl") String thumbnailUrl,
+                             @Param("mediumUrl") String mediumUrl);
+
     @Modifying
     @Query("DELETE FROM PostImage pi WHERE pi.post.id = :postId")
     void deleteByPostId(@Param("postId") Long postId);
@@ -0,0 +1,38 @@
+package com.example.community.repository;
+
+import com.example.community.domain.StorageDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 저장소 파일 삭제 아웃박스 리포지토리
+ */
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    @Query("SELECT d.id FROM StorageDeletion d WHERE d.status = :status AND d.nextAttemptAt <= :now ORDER BY d.id")
+    List<Long> findDueIds(@Param("status") StorageDeletion.Status status, @Param("now") Instant now, Pageable pageable);
+
+    /**
+     * 배치 선점: 아직 처리 가능한 항목만 임대 만료 시각까지 미루고 토큰 기록 (여러 인스턴스 간 중복 처리 방지)
+     * @return 선점한 항목 수
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE StorageDeletion d SET d.claimToken = :token, d.nextAttemptAt = :leaseUntil " +
+           "WHERE d.id IN :ids AND d.status = :status AND d.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("status") StorageDeletion.Status status,
+              @Param("now") Instant now,
+              @Param("leaseUntil") Instant leaseUntil,
+              @Param("token") String token);
+
+    List<StorageDeletion> findByClaimToken(String claimToken);
+
+    long countByStatus(StorageDeletion.Status status);
+}
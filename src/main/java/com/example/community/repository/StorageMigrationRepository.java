@@ -0,0 +1,10 @@
+package com.example.community.repository;
+
+import com.example.community.domain.StorageMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * 저장소 마이그레이션 진행 상태 리포지토리
+ */
+public interface StorageMigrationRepository extends JpaRepository<StorageMigration, String> {
+}
@@ -0,0 +1,25 @@
+package com.example.community.repository;
+
+import com.example.community.domain.Upload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 업로드 메타데이터 리포지토리
+ */
+public interface UploadRepository extends JpaRepository<Upload, Long> {
+
+    /**
+     * 여러 키를 한 번의 IN 쿼리로 조회
+     */
+    List<Upload> findByFileKeyIn(Collection<String> fileKeys);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Upload u WHERE u.fileKey IN :fileKeys")
+    int deleteByFileKeyIn(@Param("fileKeys") Collection<String> fileKeys);
+}
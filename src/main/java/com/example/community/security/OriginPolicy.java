@@ -0,0 +1,139 @@
+package com.example.community.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 허용 Origin 정책
+ * 환경 변수 ALLOWED_ORIGINS(쉼표 구분)를 애플리케이션 시작 시 한 번만 파싱/검증하여
+ * CORS 설정(SecurityConfig), 토큰 엔드포인트(AuthController), Origin 검증 인터셉터가 공유합니다.
+ *
+ * 지원 형식:
+ * - 정확한 Origin: https://example.com, http://localhost:3000
+ * - 서브도메인 와일드카드: https://*.example.com (example.com 자체는 포함하지 않음)
+ */
+@Slf4j
+@Component
+public class OriginPolicy {
+
+    static final String DEFAULT_ORIGINS = "http://localhost:3000";
+
+    private final Set<String> exactOrigins;
+    private final List<Pattern> wildcardPatterns;
+    private final List<String> rawPatterns;
+
+    public OriginPolicy(Environment env) {
+        this(env.getProperty("ALLOWED_ORIGINS", DEFAULT_ORIGINS));
+    }
+
+    OriginPolicy(String raw) {
+        Set<String> exact = new LinkedHashSet<>();
+        List<Pattern> patterns = new ArrayList<>();
+        List<String> patternSources = new ArrayList<>();
+
+        Arrays.stream(raw == null ? new String[0] : raw.split(","))
+                .map(String::trim)
+                .map(s -> s.endsWith("/") ? s.substring(0, s.length() - 1) : s) // 끝의 '/'는 허용
+                .filter(s -> !s.isBlank())
+                .distinct()
+                .forEach(origin -> {
+                    if (origin.contains("*")) {
+                        patterns.add(compileWildcard(origin));
+                        patternSources.add(origin);
+                    } else {
+                        exact.add(normalize(origin));
+                    }
+                });
+
+        this.exactOrigins = Set.copyOf(exact);
+        this.wildcardPatterns = List.copyOf(patterns);
+        this.rawPatterns = List.copyOf(patternSources);
+        log.info("허용 Origin 설정: 정확히 일치 {}개, 와일드카드 {}개", exactOrigins.size(), rawPatterns.size());
+    }
+
+    /**
+     * 요청 Origin 허용 여부
+     * @param origin Origin 헤더 값 (null이면 false)
+     */
+    public boolean isAllowed(String origin) {
+        if (origin == null || origin.isEmpty()) {
+            return false;
+        }
+        if (exactOrigins.contains(origin)) {
+            return true;
+        }
+        String normalized = origin.toLowerCase(Locale.ROOT);
+        if (!normalized.equals(origin) && exactOrigins.contains(normalized)) {
+            return true;
+        }
+        for (Pattern p : wildcardPatterns) {
+            if (p.matcher(normalized).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> exactOrigins() {
+        return exactOrigins;
+    }
+
+    public List<String> wildcardPatterns() {
+        return rawPatterns;
+    }
+
+    /**
+     * 정확한 Origin 검증 및 정규화: scheme://host[:port] 형태만 허용 (경로/쿼리 불가)
+     */
+    private static String normalize(String origin) {
+        URI uri = parseOrigin(origin);
+        if (uri.getHost() == null) {
+            throw new IllegalStateException("ALLOWED_ORIGINS에 잘못된 Origin이 포함되어 있습니다: " + origin);
+        }
+        return origin.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 와일드카드 Origin을 정규식으로 컴파일
+     * 예: https://*.example.com → ^https://[a-z0-9-]+(\.[a-z0-9-]+)*\.example\.com$
+     */
+    private static Pattern compileWildcard(String origin) {
+        String lower = origin.toLowerCase(Locale.ROOT);
+        int schemeEnd = lower.indexOf("://");
+        if (schemeEnd < 0 || !lower.startsWith("*.", schemeEnd + 3) || lower.indexOf('*', schemeEnd + 4) >= 0) {
+            throw new IllegalStateException("와일드카드 Origin은 scheme://*.domain 형식만 지원합니다: " + origin);
+        }
+        String scheme = lower.substring(0, schemeEnd);
+        String suffix = lower.substring(schemeEnd + 5); // "://*." 이후
+        // 나머지 부분이 유효한 Origin인지 검증
+        parseOrigin(scheme + "://" + suffix);
+        return Pattern.compile("^" + Pattern.quote(scheme + "://")
+                + "[a-z0-9-]+(\\.[a-z0-9-]+)*\\." + Pattern.quote(suffix) + "$");
+    }
+
+    private static URI parseOrigin(String origin) {
+        try {
+            URI uri = URI.create(origin);
+            String scheme = uri.getScheme();
+            boolean schemeOk = "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+            boolean pathOk = uri.getRawPath() == null || uri.getRawPath().isEmpty();
+            if (!schemeOk || !pathOk || uri.getRawQuery() != null || uri.getRawFragment() != null
+                    || uri.getRawUserInfo() != null) {
+                throw new IllegalStateException("ALLOWED_ORIGINS에 잘못된 Origin이 포함되어 있습니다: " + origin);
+            }
+            return uri;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("ALLOWED_ORIGINS에 잘못된 Origin이 포함되어 있습니다: " + origin, e);
+        }
+    }
+}
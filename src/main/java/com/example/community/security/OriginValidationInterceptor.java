@@ -0,0 +1,49 @@
+package com.example.community.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 상태 변경 요청의 Origin 헤더 검증 인터셉터 (CSRF 완화 보조 수단)
+ * - POST/PUT/PATCH/DELETE 요청에 Origin 헤더가 있으면 OriginPolicy로 허용 여부 확인
+ * - Origin 헤더가 없는 요청(서버 간 호출, 일부 비브라우저 클라이언트)은 통과
+ * 기본 비활성화이며 app.enable-origin-validation=true일 때만 WebMvcConfig에서 등록됩니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OriginValidationInterceptor implements HandlerInterceptor {
+
+    private final OriginPolicy originPolicy;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!isStateChanging(request.getMethod())) {
+            return true;
+        }
+
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (origin == null || originPolicy.isAllowed(origin)) {
+            return true;
+        }
+
+        log.warn("허용되지 않은 Origin의 요청 차단: origin={}, uri={}", origin, request.getRequestURI());
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(
+                "{\"error\":\"접근이 거부되었습니다\",\"details\":\"허용되지 않은 Origin입니다\"}"
+        );
+        return false;
+    }
+
+    private boolean isStateChanging(String method) {
+        return "POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+}
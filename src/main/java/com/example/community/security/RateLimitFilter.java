@@ -0,0 +1,77 @@
+package com.example.community.security;
+
+import com.example.community.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 빈도 제한 필터
+ * JWT 인증 필터 이후에 위치하여 회원 ID(없으면 클라이언트 IP) 기준으로 토큰 버킷을 적용합니다.
+ * 한도를 초과하면 429 Too Many Requests와 Retry-After 헤더를 반환합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        RateLimiter.CompiledPolicy policy = rateLimiter.match(req.getMethod(), req.getRequestURI());
+        if (policy == null) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryConsume(policy, resolveSubject(policy, req));
+        if (waitNanos == 0L) {
+            chain.doFilter(req, res);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        log.debug("요청 빈도 제한 초과: 정책={}, 경로={}, 재시도까지 {}초", policy.name(), req.getRequestURI(), retryAfterSeconds);
+
+        res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.setCharacterEncoding("UTF-8");
+        res.getWriter().write(
+                "{\"error\":\"요청이 너무 많습니다\",\"details\":\"" + retryAfterSeconds + "초 후 다시 시도해 주세요\"}"
+        );
+    }
+
+    /**
+     * 버킷 식별자 결정: MEMBER 정책은 인증된 회원 ID 우선, 그 외에는 클라이언트 IP
+     * (server.forward-headers-strategy 설정에 따라 getRemoteAddr는 프록시 뒤의 실제 IP를 반환)
+     */
+    private String resolveSubject(RateLimiter.CompiledPolicy policy, HttpServletRequest req) {
+        if (policy.keyType() == RateLimitProperties.KeyType.MEMBER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof MemberDetails md) {
+                return "m" + md.id();
+            }
+        }
+        return "ip" + req.getRemoteAddr();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.community.security;
+
+import com.example.community.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 경로별 정책에 따라 토큰 버킷을 관리하는 요청 빈도 제한기
+ *
+ * - 버킷은 "정책명:식별자" 키로 ConcurrentHashMap에 보관
+ * - 맵 크기는 max-keys로 제한하며, 유휴 버킷은 주기적으로 제거
+ * - 맵이 가득 차면 신규 식별자는 다음 정리 때까지 정책별 공용(overflow) 버킷을 함께 사용
+ *   (요청 스레드에서는 맵 전체를 훑는 정리를 하지 않음, 식별자를 바꿔 가며 보내는 요청이 정리 비용을 키우지 못하게)
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final String OVERFLOW_KEY = "*";
+
+    private final RateLimitProperties properties;
+    private final List<CompiledPolicy> policies;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final long idleNanos;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.idleNanos = properties.getIdleEviction().toNanos();
+        PathPatternParser parser = new PathPatternParser();
+        this.policies = properties.getPolicies().stream()
+                .map(p -> new CompiledPolicy(p, parser.parse(p.getPattern())))
+                .toList();
+        log.info("요청 빈도 제한 설정: 활성화={}, 정책 수={}", properties.isEnabled(), policies.size());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !policies.isEmpty();
+    }
+
+    /**
+     * 요청에 적용할 정책 조회 (처음 일치하는 정책)
+     * @return 일치하는 정책이 없으면 null
+     */
+    public CompiledPolicy match(String method, String path) {
+        PathContainer container = null;
+        for (CompiledPolicy policy : policies) {
+            if (policy.method() != null && !policy.method().equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (policy.pattern().matches(container)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 토큰 1개 소비 시도
+     * @param policy 적용할 정책
+     * @param subject 회원 ID 또는 IP
+     * @return 0이면 허용, 양수이면 재시도까지 대기해야 하는 나노초
+     */
+    public long tryConsume(CompiledPolicy policy, String subject) {
+        long now = System.nanoTime();
+        String key = policy.name() + ":" + subject;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxKeys()) {
+                key = policy.name() + ":" + OVERFLOW_KEY;
+            }
+            bucket = buckets.computeIfAbsent(key, k -> policy.newBucket(now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    /**
+     * 유휴 버킷 주기적 정리
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        int before = buckets.size();
+        evictIdle(System.nanoTime());
+        int removed = before - buckets.size();
+        if (removed > 0) {
+            log.debug("유휴 버킷 정리: {}개 제거, 남은 버킷 {}개", removed, buckets.size());
+        }
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(b -> b.isIdle(now, idleNanos));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * 패턴이 미리 파싱된 정책
+     */
+    public record CompiledPolicy(
+            String name,
+            String method,
+            PathPattern pattern,
+            RateLimitProperties.KeyType keyType,
+            int capacity,
+            int refillTokens,
+            long refillPeriodNanos
+    ) {
+        CompiledPolicy(RateLimitProperties.Policy p, PathPattern pattern) {
+            this(p.getName(),
+                    p.getMethod() == null || p.getMethod().isBlank() ? null : p.getMethod(),
+                    pattern,
+                    p.getKey(),
+                    p.getCapacity(),
+                    p.effectiveRefillTokens(),
+                    p.getRefillPeriod().toNanos());
+        }
+
+        TokenBucket newBucket(long nowNanos) {
+            return new TokenBucket(capacity, refillTokens, refillPeriodNanos, nowNanos);
+        }
+    }
+}
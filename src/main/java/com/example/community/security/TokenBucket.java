@@ -0,0 +1,59 @@
+package com.example.community.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는(lock-free) 토큰 버킷
+ *
+ * GCRA(Generic Cell Rate Algorithm) 방식으로 구현하여 상태를 long 하나(TAT: 이론적 도착 시각)로만 보관합니다.
+ * - 토큰 1개 = emissionIntervalNanos 만큼의 시간
+ * - 버킷이 가득 찬 상태 = TAT가 현재 시각 이하
+ * - CAS 한 번으로 상태를 갱신하므로 요청당 객체 할당과 락이 없습니다.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong tat;
+
+    /**
+     * @param capacity 최대 토큰 수 (버스트 허용량)
+     * @param refillTokens refillPeriodNanos 동안 채워지는 토큰 수
+     * @param refillPeriodNanos 충전 주기 (나노초)
+     * @param nowNanos 생성 시각 (버킷은 가득 찬 상태로 시작)
+     */
+    public TokenBucket(int capacity, int refillTokens, long refillPeriodNanos, long nowNanos) {
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriodNanos <= 0) {
+            throw new IllegalArgumentException("capacity, refillTokens, refillPeriod는 양수여야 합니다");
+        }
+        this.emissionIntervalNanos = Math.max(1L, refillPeriodNanos / refillTokens);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 1개 소비 시도
+     * @param nowNanos 현재 시각 (System.nanoTime 기준)
+     * @return 0이면 허용, 양수이면 다음 토큰까지 대기해야 하는 나노초
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long overflow = next - nowNanos - burstToleranceNanos;
+            if (overflow > 0) {
+                return overflow;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * 주어진 시간 이상 사용되지 않았는지 확인 (버킷이 가득 찬 뒤 idleNanos가 지남)
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - tat.get() > idleNanos;
+    }
+}
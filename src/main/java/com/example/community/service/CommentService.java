@@ -1,5 +1,6 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.Comment;
 import com.example.community.domain.Member;
 import com.example.community.domain.Post;
@@ -9,6 +10,7 @@ import com.example.community.repository.PostRepository;
 import com.example.community.repository.dto.CommentProjection;
 import com.example.community.service.exception.EntityNotFoundException;
 import com.example.community.util.PageableUtil;
+import com.example.community.web.dto.CommentRes;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,15 +23,21 @@ public class CommentService {
     private final CommentRepository comments;
     private final PostRepository posts;
     private final MemberRepository members;
+    private final AppMetrics metrics;
 
+    /**
+     * 댓글 작성 (응답 DTO는 트랜잭션 안에서 생성)
+     */
     @Transactional
-    public Comment add(Long postId, Long authorId, String content) {
+    public CommentRes add(Long postId, Long authorId, String content) {
         Post post = posts.findById(postId)
                 .orElseThrow(() -> new EntityNotFoundException("게시글", postId));
         Member author = members.findById(authorId)
                 .orElseThrow(() -> new EntityNotFoundException("작성자", authorId));
         Comment c = Comment.builder().post(post).author(author).content(content).build();
-        return comments.save(c);
+        CommentRes saved = CommentRes.of(comments.save(c));
+        metrics.commentCreated();
+        return saved;
     }
     
     /**
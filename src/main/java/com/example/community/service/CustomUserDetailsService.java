@@ -20,8 +20,13 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
     private final MemberRepository members;
 
+    /**
+     * 인증 정보 조회
+     * 가입 직후 로그인, 탈퇴, 비밀번호 변경이 바로 반영되어야 하므로 읽기 전용으로 두지 않습니다.
+     * (읽기 전용 트랜잭션은 읽기 복제본으로 갈 수 있고, 인증은 최근 쓰기 회원 판정 필터보다 먼저 실행됨)
+     */
     @Override
-    @Transactional(readOnly = true) 
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Member m = members.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
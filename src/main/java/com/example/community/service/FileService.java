@@ -2,12 +2,19 @@ package com.example.community.service;
 
 import com.example.community.common.FilePolicy;
 import com.example.community.domain.PostImage;
+import com.example.community.domain.Upload;
 import com.example.community.repository.PostImageRepository;
+import com.example.community.repository.UploadRepository;
+import com.example.community.service.dto.FileDtos;
 import com.example.community.service.dto.ImageMeta;
 import com.example.community.service.exception.AccessDeniedException;
 import com.example.community.service.exception.EntityNotFoundException;
+import com.example.community.storage.DirectUploadStorage;
 import com.example.community.storage.Storage;
-import com.example.community.util.FileTypeValidator;
+import com.example.community.storage.StorageException;
+import com.example.community.storage.StorageLayout;
+import com.example.community.storage.UploadRejectedException;
+import com.example.community.util.MultipartStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -28,56 +36,274 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class FileService {
 
+    // 스트리밍 업로드 시 파트 헤더/구분자 등 파일 내용 외 본문에 허용하는 여유분
+    public static final long STREAM_OVERHEAD_BYTES = 64 * 1024;
+
     private final Storage storage;
     private final PostImageRepository postImageRepository;
+    private final UploadRepository uploads;
+    private final UploadExecutor uploadExecutor;
+    private final ImageDerivativeService derivatives;
+    private final StorageLayout layout;
+    private final StorageDeletionOutbox deletions;
     
     /**
-     * 게시글용 이미지 업로드 (키만 반환)
+     * 게시글용 이미지 업로드
+     * 파일들을 가상 스레드에서 병렬로 검증/저장합니다. (동시 처리 수와 처리 중 바이트는 UploadExecutor가 제한)
+     * 실패한 파일은 건너뛰되, 파일별 결과에 실패 사유를 남깁니다.
+     *
      * @param files 업로드할 이미지 파일 목록
      * @param memberId 업로드 요청자 ID
-     * @return 업로드된 이미지 키 목록
+     * @return 성공한 이미지 키 목록과 파일별 결과 (모두 요청 순서 유지)
      */
-    public List<String> uploadPostImageKeys(List<MultipartFile> files, Long memberId) {
-        List<String> result = new ArrayList<>();
-        
+    public FileDtos.UploadResponse uploadPostImageKeys(List<MultipartFile> files, Long memberId) {
         // 전체 업로드 크기 체크
         long totalSize = files.stream().mapToLong(MultipartFile::getSize).sum();
         if (FilePolicy.isTotalSizeExceeded(totalSize)) {
             throw new IllegalArgumentException(
                 String.format(FilePolicy.ERR_TOTAL_SIZE_EXCEEDED, FilePolicy.MAX_TOTAL_SIZE_BYTES));
         }
-        
-        for (MultipartFile file : files) {
-            try {
-                // 파일 유효성 검사
-                validateImageFile(file);
-                
-                // 파일 저장 (멤버 ID를 포함한 키 생성)
-                String fileName = generateUniqueFileName(file.getOriginalFilename());
-                String fileKey = String.format("%s/%d/%s", FilePolicy.POST_IMAGES_PATH, memberId, fileName);
-                
-                // 경로 주입 공격 방지
-                if (!FilePolicy.isPathSafe(fileKey)) {
-                    throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
+
+        List<IndexedFile> indexed = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            indexed.add(new IndexedFile(i, files.get(i)));
+        }
+
+        List<FileDtos.UploadResult> results = uploadExecutor.map(
+                indexed,
+                f -> f.file().getSize(),
+                f -> storePostImage(f, memberId),
+                (f, e) -> {
+                    log.error("이미지 업로드 실패: 회원={}, 파일명={}, 오류={}",
+                            memberId, f.file().getOriginalFilename(), e.getMessage());
+                    return FileDtos.UploadResult.failure(f.index(), f.file().getOriginalFilename(), failureMessage(e));
+                });
+
+        return FileDtos.UploadResponse.of(results);
+    }
+
+    private FileDtos.UploadResult storePostImage(IndexedFile f, Long memberId) {
+        MultipartFile file = f.file();
+        // 파일 유효성 검사
+        validateImageFile(file);
+
+        // 파일 저장 (멤버 ID를 포함한 키 생성)
+        String fileKey = postImageKey(memberId, file.getOriginalFilename());
+        Storage.StoredFile stored = storage.store(file, FilePolicy.POST_IMAGES_PATH, fileKey);
+        registerUpload(stored, memberId);
+        derivatives.enqueue(stored.key());
+
+        log.debug("이미지 업로드 성공: 회원={}, 파일명={}, 키={}",
+                memberId, file.getOriginalFilename(), stored.key());
+        return FileDtos.UploadResult.success(f.index(), file.getOriginalFilename(), stored.key());
+    }
+
+    private record IndexedFile(int index, MultipartFile file) {}
+
+    /**
+     * 클라이언트에 돌려줄 실패 사유 (정책 위반 메시지만 노출하고 내부 오류는 일반 메시지로 대체)
+     */
+    private static String failureMessage(Throwable e) {
+        if (e instanceof UploadRejectedException || e instanceof IllegalArgumentException) {
+            return e.getMessage();
+        }
+        return "파일 저장 중 오류가 발생했습니다";
+    }
+
+    /**
+     * 게시글용 이미지 스트리밍 업로드 (키만 반환)
+     * multipart 본문을 임시 파일 없이 파트 단위로 읽어 곧바로 스토리지에 기록합니다.
+     * 파일별 크기(MAX_FILE_SIZE_BYTES)와 누적 크기(MAX_TOTAL_SIZE_BYTES)는 바이트가 도착하는 대로 검사합니다.
+     *
+     * @param body 요청 본문 스트림
+     * @param contentType 요청 Content-Type (boundary 포함)
+     * @param memberId 업로드 요청자 ID
+     * @return 성공한 이미지 키 목록과 파일별 결과 (모두 요청 순서 유지)
+     */
+    public FileDtos.UploadResponse streamPostImageKeys(InputStream body, String contentType, Long memberId) throws IOException {
+        String boundary = MultipartStream.boundaryOf(contentType);
+        if (boundary == null) {
+            throw new IllegalArgumentException("multipart/form-data 요청이 아닙니다");
+        }
+
+        // 파트 헤더/구분자 등 본문 오버헤드를 감안한 원시 요청 크기 상한
+        long rawLimit = FilePolicy.MAX_TOTAL_SIZE_BYTES + STREAM_OVERHEAD_BYTES;
+        MultipartStream multipart = new MultipartStream(body, boundary, rawLimit);
+        List<FileDtos.UploadResult> results = new ArrayList<>();
+        long totalSize = 0;
+
+        try {
+            MultipartStream.Part part;
+            while ((part = multipart.next()) != null) {
+                if (!part.isFile() || !"files".equals(part.name())) {
+                    continue; // 파일 외 파트는 건너뜀 (남은 본문은 next()에서 버려짐)
                 }
-                
-                Storage.StoredFile stored = storage.store(file, FilePolicy.POST_IMAGES_PATH, fileKey);
-                
-                // 파일 키만 반환 (클라이언트에서는 파일 키만 알면 됨)
-                result.add(stored.key());
-                log.debug("이미지 업로드 성공: 회원={}, 파일명={}, 키={}", 
-                        memberId, file.getOriginalFilename(), stored.key());
-                
-            } catch (Exception e) {
-                log.error("이미지 업로드 실패: 회원={}, 파일명={}, 오류={}", 
-                        memberId, file.getOriginalFilename(), e.getMessage());
-                // 실패한 파일은 건너뛰고 계속 진행
+
+                int index = results.size();
+                long remaining = FilePolicy.MAX_TOTAL_SIZE_BYTES - totalSize;
+                long maxBytes = Math.min(FilePolicy.MAX_FILE_SIZE_BYTES, remaining);
+
+                try {
+                    String fileKey = postImageKey(memberId, part.filename());
+                    Storage.StoredFile stored = storage.store(
+                            part.body(), fileKey, part.filename(), part.contentType(), maxBytes);
+                    totalSize += stored.size();
+                    registerUpload(stored, memberId);
+                    derivatives.enqueue(stored.key());
+                    results.add(FileDtos.UploadResult.success(index, part.filename(), stored.key()));
+                    log.debug("이미지 스트리밍 업로드 성공: 회원={}, 파일명={}, 키={}, 크기={}",
+                            memberId, part.filename(), stored.key(), stored.size());
+                } catch (UploadRejectedException e) {
+                    if (e.getReason() == UploadRejectedException.Reason.TOO_LARGE
+                            && maxBytes < FilePolicy.MAX_FILE_SIZE_BYTES) {
+                        // 전체 한도 때문에 잘린 경우 요청 전체를 거부
+                        throw new IllegalArgumentException(
+                                String.format(FilePolicy.ERR_TOTAL_SIZE_EXCEEDED, FilePolicy.MAX_TOTAL_SIZE_BYTES));
+                    }
+                    log.error("이미지 업로드 실패: 회원={}, 파일명={}, 오류={}",
+                            memberId, part.filename(), e.getMessage());
+                    results.add(FileDtos.UploadResult.failure(index, part.filename(), failureMessage(e)));
+                } catch (StorageException e) {
+                    log.error("이미지 업로드 실패: 회원={}, 파일명={}, 오류={}",
+                            memberId, part.filename(), e.getMessage());
+                    results.add(FileDtos.UploadResult.failure(index, part.filename(), failureMessage(e)));
+                    if (e.getCause() instanceof IOException io) {
+                        throw io; // 요청 본문 읽기 실패는 이후 파트도 읽을 수 없음
+                    }
+                } catch (IllegalArgumentException e) {
+                    log.error("이미지 업로드 실패: 회원={}, 파일명={}, 오류={}",
+                            memberId, part.filename(), e.getMessage());
+                    results.add(FileDtos.UploadResult.failure(index, part.filename(), failureMessage(e)));
+                }
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            // 요청이 중단되면 이미 저장한 파일은 게시글에 연결되지 않으므로 정리
+            deleteQuietly(FileDtos.UploadResponse.of(results).keys());
+            if (e instanceof MultipartStream.SizeLimitExceededException) {
+                throw new IllegalArgumentException(
+                        String.format(FilePolicy.ERR_TOTAL_SIZE_EXCEEDED, FilePolicy.MAX_TOTAL_SIZE_BYTES));
             }
+            throw e;
         }
-        
-        return result;
+
+        return FileDtos.UploadResponse.of(results);
     }
-    
+
+    /**
+     * 게시글 이미지 직접 업로드 URL 발급
+     * 클라이언트는 반환된 URL로 파일을 저장소에 직접 PUT 한 뒤 {@link #confirmPostImage(Long, String)}를 호출합니다.
+     * 크기와 선언 형식은 서명에 포함되므로 발급 후 바꿀 수 없습니다.
+     *
+     * @throws IllegalArgumentException 직접 업로드를 지원하지 않는 저장소이거나 정책에 맞지 않는 경우
+     */
+    public DirectUploadStorage.PresignedUpload presignPostImage(Long memberId, String filename,
+                                                                String contentType, long size) {
+        DirectUploadStorage direct = directUploadStorage();
+        if (size <= 0) {
+            throw new IllegalArgumentException(FilePolicy.ERR_FILE_EMPTY);
+        }
+        if (size > FilePolicy.MAX_FILE_SIZE_BYTES) {
+            throw new IllegalArgumentException(
+                String.format(FilePolicy.ERR_FILE_TOO_LARGE, FilePolicy.MAX_FILE_SIZE_BYTES));
+        }
+        if (contentType == null || !FilePolicy.isAllowedImageType(contentType.toLowerCase())) {
+            throw new IllegalArgumentException(
+                String.format(FilePolicy.ERR_INVALID_FILE_TYPE, String.join(", ", FilePolicy.ALLOWED_IMAGE_TYPES)));
+        }
+
+        String fileKey = postImageKey(memberId, filename);
+        DirectUploadStorage.PresignedUpload presigned = direct.presignUpload(fileKey, contentType.toLowerCase(), size);
+        log.debug("직접 업로드 URL 발급: 회원={}, 파일명={}, 키={}", memberId, filename, fileKey);
+        return presigned;
+    }
+
+    /**
+     * 게시글 이미지 직접 업로드 완료 확인
+     * 저장소의 객체 크기와 시그니처를 확인한 뒤 업로드 정보를 기록합니다. (같은 키로 다시 호출해도 안전)
+     * 검증에 실패한 객체는 저장소에서 삭제됩니다.
+     *
+     * @throws AccessDeniedException 본인에게 발급된 키가 아닌 경우
+     */
+    public FileDtos.UploadResult confirmPostImage(Long memberId, String key) {
+        DirectUploadStorage direct = directUploadStorage();
+        if (!FilePolicy.isPathSafe(key)) {
+            throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
+        }
+        String userDir = String.format("%s/%d/", FilePolicy.POST_IMAGES_PATH, memberId);
+        if (!key.startsWith(userDir)) {
+            throw new AccessDeniedException("본인이 업로드한 이미지만 확인할 수 있습니다");
+        }
+        String filename = key.substring(key.lastIndexOf('/') + 1);
+        if (!uploads.findByFileKeyIn(List.of(key)).isEmpty()) {
+            return FileDtos.UploadResult.success(0, filename, key); // 이미 확인됨
+        }
+
+        Storage.StoredFile stored = direct.confirmUpload(key, FilePolicy.MAX_FILE_SIZE_BYTES);
+        registerUpload(stored, memberId);
+        derivatives.enqueue(stored.key());
+        log.debug("직접 업로드 확인: 회원={}, 키={}, 크기={}", memberId, key, stored.size());
+        return FileDtos.UploadResult.success(0, filename, key);
+    }
+
+    private DirectUploadStorage directUploadStorage() {
+        if (storage instanceof DirectUploadStorage direct) {
+            return direct;
+        }
+        throw new IllegalArgumentException("현재 저장소는 직접 업로드를 지원하지 않습니다");
+    }
+
+    /**
+     * 업로드 메타데이터 기록
+     * 게시글 작성/수정 시 스토리지를 조회하지 않고 이 기록으로 존재·소유권·크기·형식을 확인합니다.
+     * 기록에 실패한 파일은 게시글에 연결할 수 없으므로 함께 삭제합니다.
+     */
+    private void registerUpload(Storage.StoredFile stored, Long memberId) {
+        try {
+            uploads.save(Upload.builder()
+                    .fileKey(stored.key())
+                    .ownerId(memberId)
+                    .originalName(stored.originalName() != null ? stored.originalName() : "")
+                    .contentType(stored.contentType())
+                    .size(stored.size())
+                    .width(stored.width())
+                    .height(stored.height())
+                    .blobHash(storage.contentHash(stored.key()).orElse(null))
+                    .status(Upload.Status.TEMP)
+                    .build());
+        } catch (RuntimeException e) {
+            deleteQuietly(List.of(stored.key()));
+            throw new StorageException("업로드 정보를 기록하지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(List<String> keys) {
+        try {
+            uploads.deleteAll(uploads.findByFileKeyIn(keys));
+        } catch (Exception ex) {
+            log.warn("중단된 업로드 정보 정리 실패: 키={}, 오류={}", keys, ex.getMessage());
+        }
+        for (String key : keys) {
+            try {
+                storage.delete(key);
+                derivatives.deleteFor(key);
+            } catch (Exception ex) {
+                log.warn("중단된 업로드 파일 정리 실패: 키={}, 오류={}", key, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 게시글 이미지 저장 키 생성: posts/{memberId}/[샤드 디렉토리/]{uuid.ext} (StorageLayout 참고)
+     */
+    private String postImageKey(Long memberId, String originalFilename) {
+        String fileKey = layout.postImageKey(memberId, generateUniqueFileName(originalFilename));
+        // 경로 주입 공격 방지
+        if (!FilePolicy.isPathSafe(fileKey)) {
+            throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
+        }
+        return fileKey;
+    }
+
     /**
      * 게시글용 이미지 업로드 (기존 메서드 유지)
      * @param files 업로드할 이미지 파일 목록
@@ -102,15 +328,11 @@ public class FileService {
                 validateImageFile(file);
                 
                 // 파일 저장 (멤버 ID를 포함한 키 생성)
-                String fileName = generateUniqueFileName(file.getOriginalFilename());
-                String fileKey = String.format("%s/%d/%s", FilePolicy.POST_IMAGES_PATH, memberId, fileName);
-                
-                // 경로 주입 공격 방지
-                if (!FilePolicy.isPathSafe(fileKey)) {
-                    throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
-                }
+                String fileKey = postImageKey(memberId, file.getOriginalFilename());
                 
                 Storage.StoredFile stored = storage.store(file, FilePolicy.POST_IMAGES_PATH, fileKey);
+                registerUpload(stored, memberId);
+                derivatives.enqueue(stored.key());
                 
                 // 메타데이터 생성
                 ImageMeta meta = new ImageMeta(
@@ -172,6 +394,7 @@ public class FileService {
                 
                 // DB에서 이미지 엔티티 삭제
                 postImageRepository.delete(image);
+                uploads.deleteByFileKeyIn(List.of(key));
                 log.debug("DB에서 이미지 정보 삭제 성공: 회원={}, 키={}", memberId, key);
             } else {
                 // DB에 이미지 정보가 없는 경우 - 사용자가 해당 키로 파일 업로드했는지 확인
@@ -181,15 +404,11 @@ public class FileService {
                     throw new AccessDeniedException("본인이 업로드한 이미지만 삭제할 수 있습니다");
                 }
                 log.warn("DB에 이미지 정보가 없지만 키 경로 확인으로 삭제 진행: 회원={}, 키={}", memberId, key);
+                uploads.deleteByFileKeyIn(List.of(key));
             }
             
-            // 스토리지에서 파일 삭제 시도 (파일이 없어도 예외 발생하지 않음)
-            if (storage.exists(key)) {
-                storage.delete(key);
-                log.debug("스토리지에서 이미지 파일 삭제 성공: 회원={}, 키={}", memberId, key);
-            } else {
-                log.warn("스토리지에 파일이 존재하지 않음: 키={}", key);
-            }
+            // 파일 삭제 예약 (커밋 후 아웃박스 워커가 파일과 파생본 삭제, 파일이 없어도 성공 처리)
+            deletions.enqueue(List.of(key));
             
         } catch (AccessDeniedException e) {
             // 접근 권한 없음 - 그대로 전파
@@ -231,7 +450,7 @@ public class FileService {
      * 이미지 파일 유효성 검사
      * 파일 크기와 타입을 검증합니다.
      */
-    private void validateImageFile(MultipartFile file) throws IOException {
+    private void validateImageFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new IllegalArgumentException(FilePolicy.ERR_FILE_EMPTY);
         }
@@ -241,8 +460,9 @@ public class FileService {
                 String.format(FilePolicy.ERR_FILE_TOO_LARGE, FilePolicy.MAX_FILE_SIZE_BYTES));
         }
         
-        // 파일 타입 검증
-        if (!FileTypeValidator.isAllowed(file, FilePolicy.ALLOWED_IMAGE_TYPES)) {
+        // 선언된 MIME 타입만 사전 확인 (시그니처 검사는 저장 시 스트리밍 중에 한 번만 수행)
+        String contentType = file.getContentType();
+        if (contentType == null || !FilePolicy.isAllowedImageType(contentType.toLowerCase())) {
             throw new IllegalArgumentException(
                 String.format(FilePolicy.ERR_INVALID_FILE_TYPE, String.join(", ", FilePolicy.ALLOWED_IMAGE_TYPES)));
         }
@@ -0,0 +1,259 @@
+package com.example.community.service;
+
+import com.example.community.domain.DerivativeJob;
+import com.example.community.repository.DerivativeJobRepository;
+import com.example.community.repository.PostImageRepository;
+import com.example.community.storage.Storage;
+import com.example.community.storage.StorageException;
+import com.example.community.storage.UploadRejectedException;
+import com.example.community.util.ImageResizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 이미지 파생본(썸네일/중간 크기) 생성 서비스
+ *
+ * - 업로드 성공 시 derivative_jobs에 작업 등록 (DB가 영속 작업 큐 역할)
+ * - 스케줄러가 주기적으로 대기 작업을 선점하여 고정 크기 워커 풀에서 처리
+ * - 실패 시 지수 백오프로 재시도, 디코딩 불가 형식은 즉시 FAILED (원본 이미지 사용)
+ * - 파생본은 원본 옆에 {원본키}_thumb.{ext}, {원본키}_medium.{ext} 로 Storage를 통해 저장
+ */
+@Slf4j
+@Service
+public class ImageDerivativeService implements DisposableBean {
+
+    static final String THUMBNAIL_SUFFIX = "_thumb";
+    static final String MEDIUM_SUFFIX = "_medium";
+
+    private final DerivativeJobRepository jobs;
+    private final PostImageRepository postImages;
+    private final Storage storage;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor workers;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Value("${app.derivatives.enabled:true}")
+    private boolean enabled;
+    @Value("${app.derivatives.thumbnail-size:320}")
+    private int thumbnailSize;
+    @Value("${app.derivatives.medium-size:1024}")
+    private int mediumSize;
+    @Value("${app.derivatives.max-pixels:40000000}")
+    private long maxPixels;
+    @Value("${app.derivatives.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${app.derivatives.retry-backoff:30s}")
+    private Duration retryBackoff;
+    @Value("${app.derivatives.stale-after:10m}")
+    private Duration staleAfter;
+
+    public ImageDerivativeService(DerivativeJobRepository jobs,
+                                  PostImageRepository postImages,
+                                  Storage storage,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.derivatives.workers:2}") int workerCount) {
+        this.jobs = jobs;
+        this.postImages = postImages;
+        this.storage = storage;
+        this.tx = new TransactionTemplate(transactionManager);
+        int size = Math.max(1, workerCount);
+        AtomicInteger seq = new AtomicInteger();
+        // 이미지 디코딩/인코딩은 CPU 작업이므로 고정 크기 플랫폼 스레드 풀 사용
+        this.workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(size),
+                r -> {
+                    Thread t = new Thread(r, "derivative-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * 파생본 생성 작업 등록 (이미 등록된 키는 무시)
+     */
+    public void enqueue(String sourceKey) {
+        if (!enabled || isDerivativeKey(sourceKey)) {
+            return;
+        }
+        try {
+            if (!jobs.existsBySourceKey(sourceKey)) {
+                jobs.save(DerivativeJob.pending(sourceKey, Instant.now()));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("이미 등록된 파생본 작업: 키={}", sourceKey);
+        } catch (Exception e) {
+            // 파생본은 부가 기능이므로 업로드 자체는 실패시키지 않음
+            log.warn("파생본 작업 등록 실패: 키={}, 오류={}", sourceKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 생성이 끝난 작업 조회 (한 번의 IN 쿼리)
+     * @return 원본 키 → 작업
+     */
+    public Map<String, DerivativeJob> findReady(Collection<String> sourceKeys) {
+        if (sourceKeys.isEmpty()) {
+            return Map.of();
+        }
+        return jobs.findBySourceKeyInAndStatus(sourceKeys, DerivativeJob.Status.DONE).stream()
+                .collect(Collectors.toMap(DerivativeJob::getSourceKey, Function.identity(), (a, b) -> a));
+    }
+
+    /**
+     * 원본 삭제 시 파생본 파일과 작업 정리 (실패해도 예외를 던지지 않음)
+     */
+    public void deleteFor(String sourceKey) {
+        try {
+            jobs.findBySourceKey(sourceKey).ifPresent(job -> {
+                for (String key : new String[] {job.getThumbnailKey(), job.getMediumKey()}) {
+                    if (key != null) {
+                        storage.delete(key);
+                    }
+                }
+                jobs.delete(job);
+            });
+        } catch (Exception e) {
+            log.warn("파생본 정리 실패: 원본={}, 오류={}", sourceKey, e.getMessage());
+        }
+    }
+
+    /**
+     * 대기 작업 선점 및 워커 풀 제출
+     */
+    @Scheduled(fixedDelayString = "${app.derivatives.poll-interval-ms:2000}",
+               initialDelayString = "${app.derivatives.poll-interval-ms:2000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        int free = workers.getMaximumPoolSize() - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        // 중단된 작업 회수도 시도 횟수에 포함 (워커를 죽이는 이미지도 max-attempts 후 FAILED)
+        tx.executeWithoutResult(status -> {
+            LocalDateTime before = LocalDateTime.now().minus(staleAfter);
+            int failed = jobs.failStale(DerivativeJob.Status.RUNNING, DerivativeJob.Status.FAILED, before, maxAttempts);
+            if (failed > 0) {
+                log.warn("처리 중 반복해서 중단된 파생본 작업 {}개를 FAILED로 변경 (원본 이미지 사용)", failed);
+            }
+            jobs.releaseStale(DerivativeJob.Status.PENDING, DerivativeJob.Status.RUNNING, before);
+        });
+
+        List<Long> due = jobs.findDueIds(DerivativeJob.Status.PENDING, Instant.now(), PageRequest.of(0, free));
+        for (Long id : due) {
+            Integer claimed = tx.execute(status -> jobs.claim(id, DerivativeJob.Status.PENDING,
+                    DerivativeJob.Status.RUNNING, LocalDateTime.now()));
+            if (claimed == null || claimed == 0) {
+                continue; // 다른 워커가 선점
+            }
+            inFlight.incrementAndGet();
+            try {
+                workers.execute(() -> {
+                    try {
+                        process(id);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                tx.executeWithoutResult(status -> jobs.findById(id).ifPresent(job ->
+                        job.fail("작업 제출 실패", true, maxAttempts, retryBackoff, Instant.now())));
+            }
+        }
+    }
+
+    /**
+     * 작업 하나 처리 (워커 스레드)
+     */
+    void process(Long jobId) {
+        DerivativeJob job = jobs.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        String sourceKey = job.getSourceKey();
+        try {
+            BufferedImage image;
+            try (InputStream in = storage.open(sourceKey)) {
+                image = ImageResizer.decode(in, mediumSize, maxPixels);
+            }
+            String thumbnailKey = storeDerivative(sourceKey, THUMBNAIL_SUFFIX, ImageResizer.resize(image, thumbnailSize));
+            String mediumKey = storeDerivative(sourceKey, MEDIUM_SUFFIX, ImageResizer.resize(image, mediumSize));
+
+            tx.executeWithoutResult(status -> {
+                jobs.findById(jobId).ifPresent(j -> j.complete(thumbnailKey, mediumKey));
+                postImages.updateDerivativeUrls(sourceKey, storage.url(thumbnailKey), storage.url(mediumKey));
+            });
+            log.debug("파생본 생성 완료: 원본={}, 썸네일={}, 중간={}", sourceKey, thumbnailKey, mediumKey);
+        } catch (Exception e) {
+            boolean retryable = isRetryable(e);
+            log.warn("파생본 생성 실패: 원본={}, 재시도={}, 오류={}", sourceKey, retryable, e.getMessage());
+            tx.executeWithoutResult(status -> jobs.findById(jobId).ifPresent(j ->
+                    j.fail(e.getMessage(), retryable, maxAttempts, retryBackoff, Instant.now())));
+        }
+    }
+
+    private String storeDerivative(String sourceKey, String suffix, ImageResizer.Encoded encoded) {
+        String key = derivativeKey(sourceKey, suffix, encoded.extension());
+        storage.store(new ByteArrayInputStream(encoded.bytes()), key,
+                key.substring(key.lastIndexOf('/') + 1), encoded.contentType(), encoded.bytes().length);
+        return key;
+    }
+
+    /**
+     * 파생본 키: 원본 키의 확장자를 제거하고 접미사와 파생본 확장자를 붙임
+     * 예: posts/1/abc.webp → posts/1/abc_thumb.jpg
+     */
+    static String derivativeKey(String sourceKey, String suffix, String extension) {
+        int slash = sourceKey.lastIndexOf('/');
+        int dot = sourceKey.lastIndexOf('.');
+        String stem = dot > slash ? sourceKey.substring(0, dot) : sourceKey;
+        return stem + suffix + "." + extension;
+    }
+
+    private static boolean isDerivativeKey(String key) {
+        int slash = key.lastIndexOf('/');
+        int dot = key.lastIndexOf('.');
+        String stem = dot > slash ? key.substring(0, dot) : key;
+        return stem.endsWith(THUMBNAIL_SUFFIX) || stem.endsWith(MEDIUM_SUFFIX);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof ImageResizer.UnsupportedImageException || e instanceof UploadRejectedException) {
+            return false;
+        }
+        // 원본이 이미 삭제된 경우
+        return !(e instanceof StorageException && e.getCause() instanceof NoSuchFileException);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
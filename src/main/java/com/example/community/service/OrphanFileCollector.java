@@ -0,0 +1,279 @@
+package com.example.community.service;
+
+import com.example.community.common.FilePolicy;
+import com.example.community.domain.DerivativeJob;
+import com.example.community.repository.DerivativeJobRepository;
+import com.example.community.repository.PostImageRepository;
+import com.example.community.repository.UploadRepository;
+import com.example.community.storage.Storage;
+import com.example.community.storage.UploadPipeline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고아 업로드 파일 수집기
+ *
+ * 게시글에 연결되지 않은 업로드와, 커밋 후 삭제에 실패해 남은 파일을 정리합니다.
+ * - 스토리지 디렉토리를 Files.walkFileTree로 순회하며 batch-size 단위로만 후보를 모음 (메모리 사용량 고정)
+ * - 후보 키는 post_images에 IN 쿼리로 일괄 확인 (파생본은 원본이 연결되어 있는지 확인)
+ * - grace-period보다 오래된 파일만 대상, 삭제 속도는 max-deletes-per-second로 제한
+ * - dry-run이면 삭제하지 않고 대상만 기록
+ */
+@Slf4j
+@Service
+public class OrphanFileCollector {
+
+    private final Storage storage;
+    private final PostImageRepository postImages;
+    private final DerivativeJobRepository derivativeJobs;
+    private final UploadRepository uploads;
+    private final ImageDerivativeService derivatives;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter scannedCounter;
+    private final Counter orphanCounter;
+    private final Counter deletedCounter;
+    private final Counter deletedBytesCounter;
+    private final Counter errorCounter;
+    private final Timer runTimer;
+
+    @Value("${app.storage.local.base-path:uploads}")
+    private String basePath;
+    @Value("${app.storage.gc.enabled:false}")
+    private boolean enabled;
+    @Value("${app.storage.gc.dry-run:true}")
+    private boolean dryRun;
+    @Value("${app.storage.gc.grace-period:24h}")
+    private Duration gracePeriod;
+    @Value("${app.storage.gc.batch-size:500}")
+    private int batchSize;
+    @Value("${app.storage.gc.max-deletes-per-second:50}")
+    private int maxDeletesPerSecond;
+
+    public OrphanFileCollector(Storage storage,
+                               PostImageRepository postImages,
+                               DerivativeJobRepository derivativeJobs,
+                               UploadRepository uploads,
+                               ImageDerivativeService derivatives,
+                               MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.postImages = postImages;
+        this.derivativeJobs = derivativeJobs;
+        this.uploads = uploads;
+        this.derivatives = derivatives;
+        this.scannedCounter = meterRegistry.counter("storage.gc.files.scanned");
+        this.orphanCounter = meterRegistry.counter("storage.gc.files.orphaned");
+        this.deletedCounter = meterRegistry.counter("storage.gc.files.deleted");
+        this.deletedBytesCounter = meterRegistry.counter("storage.gc.bytes.deleted");
+        this.errorCounter = meterRegistry.counter("storage.gc.errors");
+        this.runTimer = meterRegistry.timer("storage.gc.duration");
+    }
+
+    /**
+     * 수집 결과
+     * @param orphaned 삭제 대상으로 판정된 파일 수 (dry-run이면 삭제하지 않음)
+     */
+    public record Report(long scanned, long orphaned, long deleted, long deletedBytes, long errors, boolean dryRun) {}
+
+    // 매일 새벽 3시 30분(한국 시간)
+    @Scheduled(cron = "${app.storage.gc.cron:0 30 3 * * ?}", zone = "Asia/Seoul")
+    public void scheduledCollect() {
+        if (enabled) {
+            collect(dryRun);
+        }
+    }
+
+    /**
+     * 고아 파일 수집 (수동 실행용, 이미 실행 중이면 null)
+     */
+    public Report collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("고아 파일 수집이 이미 실행 중입니다");
+            return null;
+        }
+        try {
+            Path base = Path.of(basePath).toAbsolutePath().normalize();
+            Path root = base.resolve(FilePolicy.POST_IMAGES_PATH);
+            if (!Files.isDirectory(root)) {
+                return new Report(0, 0, 0, 0, 0, dryRun);
+            }
+            log.info("고아 파일 수집 시작: 경로={}, 유예 기간={}, dry-run={}", root, gracePeriod, dryRun);
+            Sweep sweep = new Sweep(base, Instant.now().minus(gracePeriod), dryRun);
+            runTimer.record(() -> sweep.run(root));
+            Report report = sweep.report();
+            log.info("고아 파일 수집 완료: 검사={}, 고아={}, 삭제={}, 삭제 바이트={}, 오류={}, dry-run={}",
+                    report.scanned(), report.orphaned(), report.deleted(), report.deletedBytes(),
+                    report.errors(), report.dryRun());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 한 번의 순회 상태 (후보는 batch-size까지만 보관)
+     */
+    private final class Sweep extends SimpleFileVisitor<Path> {
+
+        private final Path base;
+        private final Instant cutoff;
+        private final boolean dryRun;
+        private final List<Candidate> batch = new ArrayList<>();
+        private final long deleteIntervalNanos;
+        private long nextDeleteAt = System.nanoTime();
+
+        private long scanned;
+        private long orphaned;
+        private long deleted;
+        private long deletedBytes;
+        private long errors;
+
+        Sweep(Path base, Instant cutoff, boolean dryRun) {
+            this.base = base;
+            this.cutoff = cutoff;
+            this.dryRun = dryRun;
+            this.deleteIntervalNanos = maxDeletesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond : 0;
+        }
+
+        void run(Path root) {
+            try {
+                Files.walkFileTree(root, this);
+                flush();
+            } catch (IOException e) {
+                errors++;
+                errorCounter.increment();
+                log.error("고아 파일 수집 중 디렉토리 순회 실패: 오류={}", e.getMessage());
+            }
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            // 심볼릭 링크(내용 주소 저장소의 키)도 링크 자체의 속성으로 판단
+            if (attrs.isDirectory()) {
+                return FileVisitResult.CONTINUE;
+            }
+            scanned++;
+            scannedCounter.increment();
+            if (attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                return FileVisitResult.CONTINUE; // 유예 기간 내 (작성 중인 게시글의 업로드일 수 있음)
+            }
+
+            String key = base.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            if (key.endsWith(UploadPipeline.PART_SUFFIX)) {
+                // 중단된 업로드의 임시 파일은 DB 확인 없이 정리
+                remove(new Candidate(key, attrs.size()), true);
+                return FileVisitResult.CONTINUE;
+            }
+
+            batch.add(new Candidate(key, attrs.size()));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+            errors++;
+            errorCounter.increment();
+            log.warn("고아 파일 수집 중 파일 확인 실패: 경로={}, 오류={}", file, e.getMessage());
+            return FileVisitResult.CONTINUE;
+        }
+
+        /**
+         * 모인 후보를 한 번에 확인하고 참조되지 않는 파일 삭제
+         */
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<String> keys = batch.stream().map(Candidate::key).toList();
+            Set<String> referenced = new HashSet<>(postImages.findReferencedFileKeys(keys));
+            for (DerivativeJob job : derivativeJobs.findAttachedByDerivativeKeys(keys)) {
+                referenced.add(job.getThumbnailKey());
+                referenced.add(job.getMediumKey());
+            }
+
+            List<String> removed = new ArrayList<>();
+            for (Candidate candidate : batch) {
+                if (!referenced.contains(candidate.key()) && remove(candidate, false)) {
+                    removed.add(candidate.key());
+                }
+            }
+            if (!removed.isEmpty()) {
+                uploads.deleteAll(uploads.findByFileKeyIn(removed));
+            }
+            batch.clear();
+        }
+
+        private boolean remove(Candidate candidate, boolean partial) {
+            orphaned++;
+            orphanCounter.increment();
+            if (dryRun) {
+                log.info("[dry-run] 고아 파일: 키={}, 크기={}", candidate.key(), candidate.size());
+                return false;
+            }
+            throttle();
+            try {
+                if (partial) {
+                    Files.deleteIfExists(base.resolve(candidate.key()));
+                } else {
+                    storage.delete(candidate.key());
+                    derivatives.deleteFor(candidate.key());
+                }
+                deleted++;
+                deletedBytes += candidate.size();
+                deletedCounter.increment();
+                deletedBytesCounter.increment(candidate.size());
+                log.debug("고아 파일 삭제: 키={}, 크기={}", candidate.key(), candidate.size());
+                return true;
+            } catch (Exception e) {
+                errors++;
+                errorCounter.increment();
+                log.warn("고아 파일 삭제 실패: 키={}, 오류={}", candidate.key(), e.getMessage());
+                return false;
+            }
+        }
+
+        /**
+         * 초당 삭제 수 제한 (스토리지 I/O가 서비스 요청과 경쟁하지 않도록)
+         */
+        private void throttle() {
+            if (deleteIntervalNanos <= 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (nextDeleteAt > now) {
+                LockSupport.parkNanos(nextDeleteAt - now);
+            }
+            nextDeleteAt = Math.max(now, nextDeleteAt) + deleteIntervalNanos;
+        }
+
+        Report report() {
+            return new Report(scanned, orphaned, deleted, deletedBytes, errors, dryRun);
+        }
+    }
+
+    private record Candidate(String key, long size) {}
+}
@@ -1,5 +1,6 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.Member;
 import com.example.community.domain.Post;
 import com.example.community.domain.PostLike;
@@ -20,6 +21,7 @@ public class PostLikeService {
     private final PostLikeRepository postLikes;
     private final PostRepository posts;
     private final MemberRepository members;
+    private final AppMetrics metrics;
 
     @Transactional
     public boolean toggleLike(Long postId, Long memberId) {
@@ -34,6 +36,7 @@ public class PostLikeService {
             // 좋아요 취소
             postLikes.delete(existingLike.get());
             post.decrementLikeCount();
+            metrics.postLikeToggled(false);
             return false;
         } else {
             // 좋아요 추가
@@ -44,6 +47,7 @@ public class PostLikeService {
                         .build();
                 postLikes.save(like);
                 post.incrementLikeCount();  // 저장 성공 후에만 증가
+                metrics.postLikeToggled(true);
                 return true;
             } catch (DataIntegrityViolationException e) {
                 //  동시 요청으로 인한 중복 좋아요 시도 시 안전 처리
@@ -1,48 +1,99 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.common.FilePolicy;
 import com.example.community.domain.BoardType;
+import com.example.community.domain.DerivativeJob;
 import com.example.community.domain.Member;
 import com.example.community.domain.Post;
 import com.example.community.domain.PostImage;
+import com.example.community.domain.Upload;
 import com.example.community.repository.MemberRepository;
 import com.example.community.repository.PostImageRepository;
 import com.example.community.repository.PostRepository;
+import com.example.community.repository.UploadRepository;
 import com.example.community.service.dto.PostDtos;
 import com.example.community.service.exception.EntityNotFoundException;
 import com.example.community.storage.Storage;
 import com.example.community.util.PageableUtil;
-import lombok.RequiredArgsConstructor;
+import com.example.community.web.dto.PostRes;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
-import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 게시글 관련 비즈니스 로직 처리 서비스
+ *
+ * OSIV가 꺼져 있으므로 컨트롤러로 나가는 값은 트랜잭션 안에서 만든 응답 DTO입니다.
+ * (목록: 작성자는 EntityGraph, 이미지는 페이지 단위 일괄 조회 / 상세: 작성자와 이미지 fetch join)
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class PostService {
     private final PostRepository posts;
     private final MemberRepository members;
-    private final PostImageRepository postImages; // 사용될 가능성이 있으므로 유지
+    private final PostImageRepository postImages;
     private final Storage storage;
+    private final ImageDerivativeService derivatives;
+    private final UploadRepository uploads;
+    private final StorageDeletionOutbox deletions;
+    private final AppMetrics metrics;
+    private final TransactionTemplate tx;
+
+    public PostService(PostRepository posts,
+                       MemberRepository members,
+                       PostImageRepository postImages,
+                       Storage storage,
+                       ImageDerivativeService derivatives,
+                       UploadRepository uploads,
+                       StorageDeletionOutbox deletions,
+                       AppMetrics metrics,
+                       PlatformTransactionManager transactionManager) {
+        this.posts = posts;
+        this.members = members;
+        this.postImages = postImages;
+        this.storage = storage;
+        this.derivatives = derivatives;
+        this.uploads = uploads;
+        this.deletions = deletions;
+        this.metrics = metrics;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * 게시글 생성
      * 공지사항(NOTICE)은 관리자만 작성 가능하도록 서비스 레이어에서도 검증
+     *
+     * 1. 트랜잭션 전: 이미지 키 검증과 URL 계산 (커넥션을 잡지 않음)
+     * 2. 짧은 트랜잭션: 작성자/업로드 기록 조회와 저장만 수행
+     * 3. 커밋 후: 로그 기록 (파생본은 업로드 시점에 이미 예약됨)
      */
-    @Transactional
-    public Post create(Long authorId, PostDtos.Create req) {
+    public PostRes create(Long authorId, PostDtos.Create req) {
+        // 소유권 검증을 위한 경로 패턴 (작성자 ID 기반)
+        String ownerPrefix = FilePolicy.POST_IMAGES_PATH + "/" + authorId + "/";
+        Map<String, String> imageUrls = prepareImages(req.imageKeys(), ownerPrefix);
+
+        PostRes created = tx.execute(status -> insert(authorId, req, imageUrls));
+
+        log.debug("게시글 생성 커밋: 게시글 ID={}, 이미지 수={}", created.id(), imageUrls.size());
+        return created;
+    }
+
+    private PostRes insert(Long authorId, PostDtos.Create req, Map<String, String> imageUrls) {
         Member author = members.findById(authorId)
                 .orElseThrow(() -> new EntityNotFoundException("작성자", authorId));
         
@@ -61,67 +112,68 @@ public class PostService {
                 .boardType(req.boardType())
                 .build();
         
-        // 이미지 처리 - key 값만 사용하여 처리
-        if (req.imageKeys() != null && !req.imageKeys().isEmpty()) {
-            // 소유권 검증을 위한 경로 패턴 (작성자 ID 기반)
-            String ownerPrefix = FilePolicy.POST_IMAGES_PATH + "/" + author.getId() + "/";
+        if (!imageUrls.isEmpty()) {
+            // 업로드 메타데이터 일괄 조회 (키 수와 무관하게 쿼리 1회, 스토리지 I/O 없음)
+            Map<String, Upload> registered = findUploads(imageUrls.keySet());
             
-            // 중복 키 감지를 위한 처리 세트
-            List<String> processedKeys = new ArrayList<>();
-            
-            for (String key : req.imageKeys()) {
+            for (Map.Entry<String, String> image : imageUrls.entrySet()) {
+                String key = image.getKey();
                 try {
-                    // 중복 키 확인 (같은 요청 내에서 중복 방지)
-                    if (processedKeys.contains(key)) {
-                        log.debug("중복 이미지 키 무시: {}", key);
-                        continue;
-                    }
-                    
-                    // 키 유효성 검증
-                    if (!FilePolicy.isPathSafe(key)) {
-                        throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
-                    }
-                    
-                    // 소유권 검증 - 작성자 ID 기반 경로 확인
-                    if (!key.startsWith(ownerPrefix)) {
-                        throw new IllegalArgumentException("이미지 소유권 검증 실패: 작성자 ID와 파일 경로가 일치하지 않습니다");
-                    }
-                    
-                    // 파일 존재 확인
-                    if (!storage.exists(key)) {
+                    // 업로드 기록 확인 (존재 및 업로더 일치)
+                    Upload upload = registered.get(key);
+                    if (upload == null) {
                         throw new IllegalArgumentException("존재하지 않는 이미지: " + key);
                     }
-                    
-                    // 파일 메타데이터 조회
-                    String url = storage.url(key);
-                    String originalName = key.substring(key.lastIndexOf('/') + 1);
-                    
-                    // URL에서 파일 확장자 추출
-                    String contentType = determineContentTypeFromKey(key);
-                    long size = 0; // 실제로는 파일 크기를 얻는 메서드가 필요할 수 있음
+                    if (!upload.isOwnedBy(author.getId())) {
+                        throw new IllegalArgumentException("이미지 소유권 검증 실패: 업로드한 회원과 작성자가 일치하지 않습니다");
+                    }
                     
                     // 이미지 엔티티 생성 및 연결
-                    PostImage image = PostImage.builder()
-                            .post(p)
-                            .fileKey(key)
-                            .originalName(originalName)
-                            .contentType(contentType)
-                            .size(size)
-                            .url(url)
-                            .build();
-                    
-                    p.addImage(image);
-                    
-                    // 처리 완료된 키 기록
-                    processedKeys.add(key);
+                    p.addImage(toPostImage(p, upload, image.getValue()));
+                    upload.attach();
                 } catch (Exception e) {
                     log.error("이미지 처리 중 오류: 파일키={}, 오류={}", key, e.getMessage());
                     throw new RuntimeException("이미지 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
                 }
             }
+            applyDerivatives(p.getImages());
         }
         
-        return posts.save(p);
+        return PostRes.of(posts.save(p));
+    }
+
+    /**
+     * 트랜잭션 전 이미지 키 검증과 URL 계산 (DB에 접근하지 않음)
+     * @param ownerPrefix 키가 시작해야 하는 경로 (null이면 경로 안전성만 확인)
+     * @return 중복을 제거한 키 → 공개 URL (요청 순서 유지)
+     */
+    private Map<String, String> prepareImages(Collection<String> keys, String ownerPrefix) {
+        if (keys == null || keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String key : keys) {
+            // 중복 키 확인 (같은 요청 내에서 중복 방지)
+            if (urls.containsKey(key)) {
+                log.debug("중복 이미지 키 무시: {}", key);
+                continue;
+            }
+            try {
+                // 키 유효성 검증
+                if (!FilePolicy.isPathSafe(key)) {
+                    throw new IllegalArgumentException(FilePolicy.ERR_PATH_TRAVERSAL);
+                }
+                // 소유권 검증 - 작성자 ID 기반 경로 확인
+                if (ownerPrefix != null && !key.startsWith(ownerPrefix)) {
+                    throw new IllegalArgumentException("이미지 소유권 검증 실패: 작성자 ID와 파일 경로가 일치하지 않습니다");
+                }
+            } catch (IllegalArgumentException e) {
+                log.error("이미지 처리 중 오류: 파일키={}, 오류={}", key, e.getMessage());
+                throw new RuntimeException("이미지 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+            }
+            urls.put(key, storage.url(key));
+        }
+        return urls;
     }
 
     /**
@@ -132,13 +184,13 @@ public class PostService {
      * @return 검색된 게시글 페이지
      */
     @Transactional(readOnly = true)
-    public Page<Post> search(String q, Pageable pageable) {
+    public Page<PostRes> search(String q, Pageable pageable) {
         // 정렬 필드 화이트리스트 검증 (이미 컨트롤러에서 적용되었을 수 있으나, 서비스 단에서도 보안 강화)
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        return (q == null || q.isBlank())
+        return toRes((q == null || q.isBlank())
                 ? posts.findAll(safePageable)
-                : posts.findByTitleOrContentContainingIgnoreCaseWithAuthor(q, safePageable);
+                : posts.findByTitleOrContentContainingIgnoreCaseWithAuthor(q, safePageable));
     }
     
     /**
@@ -150,29 +202,29 @@ public class PostService {
      * @return 검색된 게시글 페이지
      */
     @Transactional(readOnly = true)
-    public Page<Post> searchWithMinLikes(String q, long minLikes, Pageable pageable) {
+    public Page<PostRes> searchWithMinLikes(String q, long minLikes, Pageable pageable) {
         // 정렬 필드 화이트리스트 검증
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        return (q == null || q.isBlank())
+        return toRes((q == null || q.isBlank())
                 ? posts.findByLikeCountGreaterThanEqual(minLikes, safePageable)
-                : posts.findByLikeCountGreaterThanEqualAndTitleOrContentContaining(minLikes, q, safePageable);
+                : posts.findByLikeCountGreaterThanEqualAndTitleOrContentContaining(minLikes, q, safePageable));
     }
     
     // 인기 게시글만 조회 (추천수 10 이상)
     @Transactional(readOnly = true)
-    public Page<Post> getPopularPosts(Pageable pageable) {
+    public Page<PostRes> getPopularPosts(Pageable pageable) {
         // 정렬 필드 화이트리스트 검증
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
-        return posts.findByLikeCountGreaterThanEqual(10L, safePageable);
+        return toRes(posts.findByLikeCountGreaterThanEqual(10L, safePageable));
     }
     
     // 베스트 게시글만 조회 (추천수 30 이상)
     @Transactional(readOnly = true)
-    public Page<Post> getBestPosts(Pageable pageable) {
+    public Page<PostRes> getBestPosts(Pageable pageable) {
         // 정렬 필드 화이트리스트 검증
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
-        return posts.findByLikeCountGreaterThanEqual(30L, safePageable);
+        return toRes(posts.findByLikeCountGreaterThanEqual(30L, safePageable));
     }
 
     @Transactional(readOnly = true)
@@ -182,46 +234,89 @@ public class PostService {
     }
 
     @Transactional
-    public Post getAndIncrementViewCount(Long id) {
+    public PostRes getAndIncrementViewCount(Long id) {
         // 이미지를 함께 로드하는 새 메서드 사용
         Post post = posts.findByIdWithAuthorAndImages(id)
                 .orElseThrow(() -> new EntityNotFoundException("게시글", id));
         
         // 별도 쿼리로 조회수 증가 (낙관적 락 충돌 방지)
         posts.incrementViews(id);
+        metrics.postViewed();
         
         // 메모리상 객체도 증가 (응답 일관성 보장)
         post.incrementViewCount();
         
-        return post;
+        return PostRes.of(post);
+    }
+
+    /**
+     * 업로드 메타데이터 일괄 조회
+     * @return 파일 키 → 업로드 기록 (기록이 없는 키는 포함되지 않음)
+     */
+    private Map<String, Upload> findUploads(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        return uploads.findByFileKeyIn(new LinkedHashSet<>(keys)).stream()
+                .collect(Collectors.toMap(Upload::getFileKey, Function.identity()));
     }
 
     /**
-     * 파일 키에서 Content-Type 유추
-     * 실제 환경에서는 더 정확한 방법이 필요할 수 있음
+     * 업로드 기록으로 게시글 이미지 생성 (업로드 시점에 판별한 크기/형식 사용)
      */
-    private String determineContentTypeFromKey(String key) {
-        String lowerKey = key.toLowerCase();
-        if (lowerKey.endsWith(".jpg") || lowerKey.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (lowerKey.endsWith(".png")) {
-            return "image/png";
-        } else if (lowerKey.endsWith(".gif")) {
-            return "image/gif";
-        } else if (lowerKey.endsWith(".webp")) {
-            return "image/webp";
-        } else {
-            // 기본값
-            return "application/octet-stream";
+    private PostImage toPostImage(Post post, Upload upload, String url) {
+        return PostImage.builder()
+                .post(post)
+                .fileKey(upload.getFileKey())
+                .originalName(upload.getOriginalName().isBlank()
+                        ? upload.getFileKey().substring(upload.getFileKey().lastIndexOf('/') + 1)
+                        : upload.getOriginalName())
+                .contentType(upload.getContentType())
+                .size(upload.getSize())
+                .url(url)
+                .blobHash(upload.getBlobHash())
+                .width(upload.getWidth())
+                .height(upload.getHeight())
+                .build();
+    }
+
+    /**
+     * 이미 생성된 파생본(썸네일/중간 크기) URL 반영
+     * 아직 생성 전이면 워커가 완료 시점에 post_images를 직접 갱신합니다.
+     */
+    private void applyDerivatives(List<PostImage> images) {
+        List<String> pending = images.stream()
+                .filter(img -> img.getThumbnailUrl() == null)
+                .map(PostImage::getFileKey)
+                .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, DerivativeJob> ready = derivatives.findReady(pending);
+        for (PostImage image : images) {
+            DerivativeJob job = ready.get(image.getFileKey());
+            if (job != null) {
+                image.setDerivativeUrls(storage.url(job.getThumbnailKey()), storage.url(job.getMediumKey()));
+            }
         }
     }
 
     /**
      * 게시글 업데이트
      * 게시글 내용과 이미지를 함께 업데이트합니다.
+     * 생성과 같이 키 검증/URL 계산은 트랜잭션 전에, 빠진 이미지의 파일 삭제는 커밋 후 아웃박스 워커가 처리합니다.
      */
-    @Transactional
-    public Post update(Long id, PostDtos.Update req) {
+    public PostRes update(Long id, PostDtos.Update req) {
+        // 작성자는 DB를 봐야 알 수 있으므로 여기서는 경로 안전성만 확인 (소유 경로는 트랜잭션 안에서 확인)
+        Map<String, String> imageUrls = prepareImages(req.imageKeys(), null);
+
+        PostRes updated = tx.execute(status -> applyUpdate(id, req, imageUrls));
+
+        log.debug("게시글 수정 커밋: 게시글 ID={}", id);
+        return updated;
+    }
+
+    private PostRes applyUpdate(Long id, PostDtos.Update req, Map<String, String> imageUrls) {
         Post p = posts.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("수정할 게시글", id));
         
@@ -238,7 +333,7 @@ public class PostService {
             for (PostImage oldImage : oldImages) {
                 try {
                     // 새 이미지 목록에 포함되어 있는지 확인 (유지 여부)
-                    boolean shouldKeep = req.imageKeys().contains(oldImage.getFileKey());
+                    boolean shouldKeep = imageUrls.containsKey(oldImage.getFileKey());
                     
                     if (!shouldKeep) {
                         // 유지하지 않을 이미지는 DB에서 연결 해제하고 삭제 목록에 추가
@@ -252,70 +347,48 @@ public class PostService {
             }
             
             // 새 이미지 추가 (기존에 없는 이미지만)
-            for (String key : req.imageKeys()) {
-                // 이미 연결되어 있는 이미지인지 확인
-                boolean alreadyLinked = p.getImages().stream()
-                        .anyMatch(img -> img.getFileKey().equals(key));
-                
-                if (!alreadyLinked) {
-                    try {
-                        // 소유권 검증 - 게시글 작성자 ID로 파일 경로 확인
-                        String expectedPathPattern = FilePolicy.POST_IMAGES_PATH + "/" + p.getAuthor().getId() + "/";
-                        if (!key.startsWith(expectedPathPattern)) {
-                            throw new RuntimeException("이미지 소유권 검증 실패: 작성자 ID와 파일 경로가 일치하지 않습니다");
-                        }
-                        
-                        // 파일 존재 확인
-                        if (!storage.exists(key)) {
-                            throw new IllegalArgumentException("존재하지 않는 이미지: " + key);
-                        }
-                        
-                        // 파일 메타데이터 조회
-                        String url = storage.url(key);
-                        String originalName = key.substring(key.lastIndexOf('/') + 1);
-                        
-                        // URL에서 파일 확장자 추출
-                        String contentType = determineContentTypeFromKey(key);
-                        long size = 0; // 실제로는 파일 크기를 얻는 메서드가 필요할 수 있음
-                        
-                        // 이미지 엔티티 생성 및 연결
-                        PostImage image = PostImage.builder()
-                                .post(p)
-                                .fileKey(key)
-                                .originalName(originalName)
-                                .contentType(contentType)
-                                .size(size)
-                                .url(url)
-                                .build();
-                        
-                        p.addImage(image);
-                    } catch (Exception e) {
-                        log.error("새 이미지 추가 실패: 파일키={}, 오류={}", key, e.getMessage());
-                        throw new RuntimeException("이미지 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+            List<String> newKeys = imageUrls.keySet().stream()
+                    .filter(key -> p.getImages().stream().noneMatch(img -> img.getFileKey().equals(key)))
+                    .toList();
+            // 업로드 메타데이터 일괄 조회 (키 수와 무관하게 쿼리 1회, 스토리지 I/O 없음)
+            Map<String, Upload> registered = findUploads(newKeys);
+            
+            for (String key : newKeys) {
+                try {
+                    // 소유권 검증 - 게시글 작성자 ID로 파일 경로 확인
+                    String expectedPathPattern = FilePolicy.POST_IMAGES_PATH + "/" + p.getAuthor().getId() + "/";
+                    if (!key.startsWith(expectedPathPattern)) {
+                        throw new RuntimeException("이미지 소유권 검증 실패: 작성자 ID와 파일 경로가 일치하지 않습니다");
                     }
+                    
+                    // 업로드 기록 확인 (존재 및 업로더 일치)
+                    Upload upload = registered.get(key);
+                    if (upload == null) {
+                        throw new IllegalArgumentException("존재하지 않는 이미지: " + key);
+                    }
+                    if (!upload.isOwnedBy(p.getAuthor().getId())) {
+                        throw new IllegalArgumentException("이미지 소유권 검증 실패: 업로드한 회원과 작성자가 일치하지 않습니다");
+                    }
+                    
+                    // 이미지 엔티티 생성 및 연결
+                    p.addImage(toPostImage(p, upload, imageUrls.get(key)));
+                    upload.attach();
+                } catch (Exception e) {
+                    log.error("새 이미지 추가 실패: 파일키={}, 오류={}", key, e.getMessage());
+                    throw new RuntimeException("이미지 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
                 }
             }
             
-            // 트랜잭션 커밋 후 파일 실제 삭제 수행
+            applyDerivatives(p.getImages());
+            
+            // 업로드 기록 삭제와 파일 삭제 예약을 같은 트랜잭션에서 기록 (실제 파일은 커밋 후 아웃박스 워커가 삭제)
             if (!keysToDelete.isEmpty()) {
-                final List<String> finalKeysToDelete = new ArrayList<>(keysToDelete);
-                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        for (String key : finalKeysToDelete) {
-                            try {
-                                storage.delete(key);
-                                log.debug("트랜잭션 커밋 후 이미지 삭제 성공: 이미지키={}", key);
-                            } catch (Exception e) {
-                                log.error("트랜잭션 커밋 후 이미지 삭제 실패: 이미지키={}, 오류={}", key, e.getMessage());
-                            }
-                        }
-                    }
-                });
+                uploads.deleteByFileKeyIn(keysToDelete);
+                deletions.enqueue(keysToDelete);
             }
         }
         
-        return p;
+        return PostRes.of(p);
     }
 
     @Transactional
@@ -332,22 +405,10 @@ public class PostService {
         // 게시글 삭제 (이미지는 CASCADE로 자동 삭제)
         posts.deleteById(id);
         
-        // 트랜잭션 커밋 후 파일 실제 삭제 수행
+        // 업로드 기록 삭제와 파일 삭제 예약을 같은 트랜잭션에서 기록 (실제 파일은 커밋 후 아웃박스 워커가 삭제)
         if (!keysToDelete.isEmpty()) {
-            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
-                @Override
-                public void afterCommit() {
-                    for (String key : keysToDelete) {
-                        try {
-                            storage.delete(key);
-                            log.debug("트랜잭션 커밋 후 이미지 삭제 성공: 게시글ID={}, 이미지키={}", id, key);
-                        } catch (Exception e) {
-                            log.error("트랜잭션 커밋 후 이미지 삭제 실패: 게시글ID={}, 이미지키={}, 오류={}", 
-                                    id, key, e.getMessage());
-                        }
-                    }
-                }
-            });
+            uploads.deleteByFileKeyIn(keysToDelete);
+            deletions.enqueue(keysToDelete);
         }
     }
     
@@ -358,7 +419,7 @@ public class PostService {
      * @return 추천순 게시글 목록
      */
     @Transactional(readOnly = true)
-    public Page<Post> getRecentRecommended(int days, Pageable pageable) {
+    public Page<PostRes> getRecentRecommended(int days, Pageable pageable) {
         // 날짜 범위 검증
         if (days < 1 || days > 365) {
             throw new IllegalArgumentException("days must be between 1 and 365, but was: " + days);
@@ -368,7 +429,7 @@ public class PostService {
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
         LocalDateTime from = LocalDateTime.now().minusDays(days);
-        return posts.findRecentOrderByLikes(from, safePageable);
+        return toRes(posts.findRecentOrderByLikes(from, safePageable));
     }
     
     /**
@@ -379,12 +440,26 @@ public class PostService {
      * @return 게시글 페이지
      */
     @Transactional(readOnly = true)
-    public Page<Post> searchByBoardType(BoardType boardType, String q, Pageable pageable) {
+    public Page<PostRes> searchByBoardType(BoardType boardType, String q, Pageable pageable) {
         // 정렬 필드 화이트리스트 검증
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        return (q == null || q.isBlank())
+        return toRes((q == null || q.isBlank())
                 ? posts.findByBoardType(boardType, safePageable)
-                : posts.findByBoardTypeAndTitleOrContentContainingIgnoreCase(boardType, q, safePageable);
+                : posts.findByBoardTypeAndTitleOrContentContainingIgnoreCase(boardType, q, safePageable));
+    }
+
+    /**
+     * 게시글 페이지를 응답 DTO 페이지로 변환 (트랜잭션 안에서 호출)
+     * 작성자는 EntityGraph로 이미 로드되어 있고, 이미지는 페이지 전체를 쿼리 1회로 조회합니다.
+     */
+    private Page<PostRes> toRes(Page<Post> page) {
+        if (page.isEmpty()) {
+            return page.map(p -> PostRes.of(p, List.of()));
+        }
+        List<Long> ids = page.getContent().stream().map(Post::getId).toList();
+        Map<Long, List<PostImage>> imagesByPost = postImages.findByPostIdIn(ids).stream()
+                .collect(Collectors.groupingBy(img -> img.getPost().getId()));
+        return page.map(p -> PostRes.of(p, imagesByPost.getOrDefault(p.getId(), List.of())));
     }
 }
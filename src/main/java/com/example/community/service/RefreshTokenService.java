@@ -1,5 +1,6 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.Member;
 import com.example.community.domain.auth.RefreshToken;
 import com.example.community.repository.RefreshTokenRepository;
@@ -19,6 +20,7 @@ import java.util.UUID;
 public class RefreshTokenService {
 
     private final RefreshTokenRepository repo;
+    private final AppMetrics metrics;
 
     @Value("${refresh.exp-ms}")
     private long refreshExpMs;
@@ -58,6 +60,7 @@ public class RefreshTokenService {
     public String rotate(RefreshToken oldToken) {
         oldToken.revoke();  // 💡 비즈니스 메서드 사용
         repo.save(oldToken);
+        metrics.refreshRotated();
         return issue(oldToken.getUser());
     }
     
@@ -77,7 +80,8 @@ public class RefreshTokenService {
         repo.bulkRevokeByUserId(user.getId());
     }
 
-    private String hashToken(String rawToken) {
+    // 인스턴스 상태를 쓰지 않음 (JMH 벤치마크에서 같은 패키지로 직접 호출)
+    static String hashToken(String rawToken) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hashBytes = digest.digest(rawToken.getBytes(StandardCharsets.UTF_8));
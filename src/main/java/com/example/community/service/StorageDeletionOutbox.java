@@ -0,0 +1,160 @@
+package com.example.community.service;
+
+import com.example.community.domain.StorageDeletion;
+import com.example.community.repository.StorageDeletionRepository;
+import com.example.community.storage.Storage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 저장소 파일 삭제 아웃박스
+ *
+ * - 게시글/이미지 삭제 트랜잭션 안에서 삭제할 키를 storage_deletions에 기록 (롤백되면 기록도 사라짐)
+ * - 스케줄러가 처리 가능한 항목을 배치로 선점(임대)하여 파일과 파생본 삭제
+ * - 실패하면 지수 백오프로 재시도, 최대 횟수를 넘으면 FAILED로 남김
+ * - 파일 삭제는 멱등이므로 임대가 만료되어 다시 처리되어도 안전
+ *
+ * 요청 스레드는 파일 I/O를 기다리지 않으므로 이미지 수와 무관하게 응답 시간이 일정합니다.
+ */
+@Slf4j
+@Service
+public class StorageDeletionOutbox {
+
+    // 한 번의 폴링에서 처리하는 최대 배치 수 (적체 시 스케줄러 스레드를 오래 붙잡지 않도록)
+    private static final int MAX_BATCHES_PER_POLL = 10;
+
+    private final StorageDeletionRepository deletions;
+    private final Storage storage;
+    private final ImageDerivativeService derivatives;
+    private final TransactionTemplate tx;
+    private final Counter deletedCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${app.storage.deletions.enabled:true}")
+    private boolean enabled;
+    @Value("${app.storage.deletions.batch-size:100}")
+    private int batchSize;
+    @Value("${app.storage.deletions.max-attempts:8}")
+    private int maxAttempts;
+    @Value("${app.storage.deletions.retry-backoff:30s}")
+    private Duration retryBackoff;
+    @Value("${app.storage.deletions.lease:5m}")
+    private Duration lease;
+
+    public StorageDeletionOutbox(StorageDeletionRepository deletions,
+                                 Storage storage,
+                                 ImageDerivativeService derivatives,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.deletions = deletions;
+        this.storage = storage;
+        this.derivatives = derivatives;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.deletedCounter = meterRegistry.counter("storage.deletions.completed");
+        this.retryCounter = meterRegistry.counter("storage.deletions.retried");
+        this.failedCounter = meterRegistry.counter("storage.deletions.failed");
+    }
+
+    /**
+     * 삭제할 파일 키 기록 (호출자 트랜잭션 안에서만 호출 가능, 커밋되어야 삭제됨)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Collection<String> fileKeys) {
+        if (fileKeys.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        deletions.saveAll(new LinkedHashSet<>(fileKeys).stream()
+                .map(key -> StorageDeletion.pending(key, now))
+                .toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.deletions.poll-interval-ms:1000}",
+               initialDelayString = "${app.storage.deletions.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < MAX_BATCHES_PER_POLL; i++) {
+            if (drainBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 배치 하나 선점 후 처리
+     * @return 선점한 항목 수
+     */
+    int drainBatch() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> due = deletions.findDueIds(StorageDeletion.Status.PENDING, now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        String token = UUID.randomUUID().toString();
+        Integer claimed = tx.execute(status -> deletions.claim(due, StorageDeletion.Status.PENDING,
+                now, now.plus(lease), token));
+        if (claimed == null || claimed == 0) {
+            return 0; // 다른 인스턴스가 선점
+        }
+
+        List<StorageDeletion> batch = deletions.findByClaimToken(token);
+        List<Long> done = new ArrayList<>(batch.size());
+        Map<Long, String> failed = new LinkedHashMap<>();
+        for (StorageDeletion deletion : batch) {
+            try {
+                storage.delete(deletion.getFileKey());
+                derivatives.deleteFor(deletion.getFileKey());
+                done.add(deletion.getId());
+            } catch (Exception e) {
+                log.warn("파일 삭제 실패 (재시도 예정): 키={}, 시도={}, 오류={}",
+                        deletion.getFileKey(), deletion.getAttempts() + 1, e.getMessage());
+                failed.put(deletion.getId(), String.valueOf(e.getMessage()));
+            }
+        }
+
+        tx.executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                deletions.deleteAllByIdInBatch(done);
+            }
+            if (!failed.isEmpty()) {
+                Instant failedAt = Instant.now();
+                for (StorageDeletion deletion : deletions.findAllById(failed.keySet())) {
+                    deletion.fail(failed.get(deletion.getId()), maxAttempts, retryBackoff, failedAt);
+                    if (deletion.getStatus() == StorageDeletion.Status.FAILED) {
+                        failedCounter.increment();
+                        log.error("파일 삭제 최종 실패 (고아 파일 수집기 또는 수동 확인 필요): 키={}, 오류={}",
+                                deletion.getFileKey(), deletion.getLastError());
+                    } else {
+                        retryCounter.increment();
+                    }
+                }
+            }
+        });
+        deletedCounter.increment(done.size());
+        log.debug("파일 삭제 배치 처리: 선점={}, 삭제={}, 실패={}", batch.size(), done.size(), failed.size());
+        return claimed;
+    }
+}
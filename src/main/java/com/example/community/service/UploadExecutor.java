@@ -0,0 +1,107 @@
+package com.example.community.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 업로드 파일 병렬 처리기 (가상 스레드)
+ *
+ * - 요청 하나가 동시에 처리하는 파일 수는 max-concurrency-per-request로 제한
+ * - 서버 전체에서 동시에 처리 중인 업로드 바이트는 max-in-flight-bytes로 제한 (KB 단위 세마포어)
+ * - 결과는 입력 순서를 유지하며, 실패한 항목도 onError 결과로 채워 반환
+ */
+@Slf4j
+@Component
+public class UploadExecutor implements DisposableBean {
+
+    private static final long PERMIT_UNIT_BYTES = 1024;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upload-", 0).factory());
+    private final int maxConcurrencyPerRequest;
+    private final Semaphore inFlightPermits;
+    private final int maxPermits;
+
+    public UploadExecutor(
+            @Value("${app.upload.max-concurrency-per-request:4}") int maxConcurrencyPerRequest,
+            @Value("${app.upload.max-in-flight-bytes:67108864}") long maxInFlightBytes) {
+        this.maxConcurrencyPerRequest = Math.max(1, maxConcurrencyPerRequest);
+        this.maxPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxInFlightBytes / PERMIT_UNIT_BYTES));
+        this.inFlightPermits = new Semaphore(maxPermits, true);
+        log.info("업로드 병렬 처리 설정: 요청당 동시 처리={}, 전체 처리 중 바이트 상한={}",
+                this.maxConcurrencyPerRequest, maxInFlightBytes);
+    }
+
+    /**
+     * 항목들을 병렬로 처리하고 입력 순서대로 결과 반환
+     * @param items 처리할 항목 (예: 업로드 파일)
+     * @param size 항목 크기(바이트) - 전체 처리 중 바이트 상한 계산에 사용
+     * @param work 항목별 작업
+     * @param onError 작업 실패 시 결과 생성
+     */
+    public <I, R> List<R> map(List<I> items, ToLongFunction<I> size,
+                              Function<I, R> work, BiFunction<I, Throwable, R> onError) {
+        Semaphore requestSlots = new Semaphore(maxConcurrencyPerRequest);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        try {
+            for (I item : items) {
+                requestSlots.acquire();
+                int permits = permitsFor(size.applyAsLong(item));
+                futures.add(executor.submit(() -> {
+                    try {
+                        inFlightPermits.acquire(permits);
+                        try {
+                            return work.apply(item);
+                        } finally {
+                            inFlightPermits.release(permits);
+                        }
+                    } catch (Exception e) {
+                        return onError.apply(item, e);
+                    } finally {
+                        requestSlots.release();
+                    }
+                }));
+            }
+
+            List<R> results = new ArrayList<>(items.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(onError.apply(items.get(i), e.getCause()));
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("업로드 처리가 중단되었습니다", e);
+        }
+    }
+
+    /**
+     * 바이트 크기를 세마포어 허가 수로 변환 (상한을 넘으면 상한으로 제한하여 교착 방지)
+     */
+    private int permitsFor(long bytes) {
+        long permits = (Math.max(0, bytes) + PERMIT_UNIT_BYTES - 1) / PERMIT_UNIT_BYTES;
+        return (int) Math.max(1, Math.min(maxPermits, permits));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
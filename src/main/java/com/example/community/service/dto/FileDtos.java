@@ -0,0 +1,62 @@
+package com.example.community.service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+public class FileDtos {
+
+    /**
+     * 파일별 업로드 결과
+     * @param index 요청 내 파일 순서 (0부터)
+     * @param filename 원본 파일명
+     * @param key 저장된 파일 키 (실패 시 null)
+     * @param error 실패 사유 (성공 시 null)
+     */
+    public record UploadResult(int index, String filename, String key, String error) {
+        public static UploadResult success(int index, String filename, String key) {
+            return new UploadResult(index, filename, key, null);
+        }
+
+        public static UploadResult failure(int index, String filename, String error) {
+            return new UploadResult(index, filename, null, error);
+        }
+
+        public boolean uploaded() {
+            return key != null;
+        }
+    }
+
+    /**
+     * 다중 업로드 응답
+     * @param keys 성공한 파일 키 (요청 순서 유지, 게시글 생성/수정 시 그대로 사용)
+     * @param results 파일별 결과 (요청 순서와 동일)
+     */
+    public record UploadResponse(List<String> keys, List<UploadResult> results) {
+        public static UploadResponse of(List<UploadResult> results) {
+            return new UploadResponse(
+                    results.stream().filter(UploadResult::uploaded).map(UploadResult::key).toList(),
+                    results
+            );
+        }
+    }
+
+    /**
+     * 직접 업로드 URL 발급 요청
+     * @param filename 원본 파일명 (확장자 유지용)
+     * @param contentType 업로드할 MIME 타입 (업로드 시 같은 값을 보내야 함)
+     * @param size 업로드할 바이트 수 (업로드 시 같은 값을 보내야 함)
+     */
+    public record PresignRequest(
+            @NotBlank String filename,
+            @NotBlank String contentType,
+            @Positive long size
+    ) {}
+
+    /**
+     * 직접 업로드 완료 확인 요청
+     * @param key 발급받은 파일 키
+     */
+    public record ConfirmRequest(@NotBlank String key) {}
+}
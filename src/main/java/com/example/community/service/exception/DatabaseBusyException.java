@@ -0,0 +1,18 @@
+package com.example.community.service.exception;
+
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * DB 동시성 제한(DbConcurrencyGovernor)에서 대기 한도 안에 트랜잭션 시작 허가를 받지 못한 경우 발생하는 예외
+ * 커넥션 풀 시간 초과까지 기다리지 않고 바로 거절하며, 503으로 응답합니다.
+ */
+public class DatabaseBusyException extends CannotCreateTransactionException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+
+    public DatabaseBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
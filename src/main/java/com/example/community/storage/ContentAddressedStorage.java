@@ -0,0 +1,275 @@
+package com.example.community.storage;
+
+import com.example.community.common.FilePolicy;
+import com.example.community.domain.Blob;
+import com.example.community.repository.BlobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 내용 주소 기반(Content-addressed) 중복 제거 저장소
+ * app.storage.provider=cas 일 때 LocalStorageService 대신 사용됩니다.
+ *
+ * 디렉토리 구조 (base-path 기준):
+ * - blobs/ab/cd/{sha256}      : 실제 파일 내용 (같은 내용은 한 번만 저장)
+ * - posts/{memberId}/{uuid}.x : blob을 가리키는 심볼릭 링크 (사용자에게 노출되는 키)
+ *
+ * 키 형식, URL, 소유권 검증(키 경로 기반)은 로컬 저장소와 동일합니다.
+ * blobs 테이블의 ref_count는 blob을 가리키는 키 수이며, 키 삭제로 0이 되면 blob 파일과 행을 삭제합니다.
+ * 같은 해시에 대한 생성/삭제는 blobs 행 잠금으로 직렬화합니다. (여러 인스턴스가 같은 저장소를 공유해도 안전)
+ * - 참조 증가/감소는 단일 UPDATE로 처리하고, blob 파일의 배치와 삭제는 그 UPDATE(또는 INSERT/DELETE)가 잡은
+ *   행 잠금을 쥔 트랜잭션 안에서 합니다. 다른 인스턴스의 같은 해시 작업은 커밋까지 기다립니다.
+ * - 처음 올라온 내용을 두 인스턴스가 동시에 등록하면 한쪽 INSERT가 기본 키 충돌로 실패하며, 참조 증가로 한 번 다시 시도합니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.provider", havingValue = "cas")
+public class ContentAddressedStorage implements Storage {
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String TMP_DIR = ".tmp";
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final BlobRepository blobs;
+    private final TransactionTemplate tx;
+
+    @Value("${app.storage.local.base-path:uploads}")
+    private String basePath;
+    @Value("${app.public-base-url}")
+    private String publicBaseUrl;
+
+    private Path base;
+
+    public ContentAddressedStorage(BlobRepository blobs, PlatformTransactionManager transactionManager) {
+        this.blobs = blobs;
+        // 호출 측 트랜잭션(또는 afterCommit 콜백)과 무관하게 참조 카운트를 즉시 반영
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void init() {
+        base = Path.of(basePath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(base.resolve(BLOB_DIR));
+            Files.createDirectories(base.resolve(TMP_DIR));
+            Files.createDirectories(base.resolve(FilePolicy.POST_IMAGES_PATH));
+            log.info("내용 주소 저장소 설정 완료: 기본 경로={}", base);
+        } catch (IOException e) {
+            throw new StorageException("스토리지 기본 경로를 생성할 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file, String directory) throws StorageException {
+        String safeName = LocalStorageService.sanitize(file.getOriginalFilename());
+        String ext = FilePolicy.getExtension(safeName);
+        String key = (directory != null && !directory.isBlank() ? directory + "/" : "")
+                + UUID.randomUUID() + (ext.isEmpty() ? "" : "." + ext);
+        return store(file, directory, key);
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file, String directory, String key) throws StorageException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, key, file.getOriginalFilename(), file.getContentType(), FilePolicy.MAX_FILE_SIZE_BYTES);
+        } catch (IOException e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredFile store(InputStream in, String key, String originalName, String contentType, long maxBytes)
+            throws StorageException {
+        Path link = LocalStorageService.resolveSafe(base, key);
+        Path tmp = base.resolve(TMP_DIR).resolve(UUID.randomUUID() + ".upload");
+        try {
+            // 1. 임시 파일에 기록하면서 해시 계산
+            UploadPipeline.Result written = UploadPipeline.write(in, tmp, contentType,
+                    FilePolicy.ALLOWED_IMAGE_TYPES, maxBytes);
+            String hash = written.sha256();
+            Path blob = blobPath(hash);
+
+            // 2. blob 등록 (이미 있으면 참조만 증가) 후 키 링크 생성
+            try {
+                acquireReference(hash, written, tmp);
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 같은 내용을 먼저 등록함 - 이제는 행이 있으므로 참조 증가로 처리됨
+                acquireReference(hash, written, tmp);
+            }
+            try {
+                Files.createDirectories(link.getParent());
+                Files.createSymbolicLink(link, link.getParent().relativize(blob));
+            } catch (IOException | RuntimeException e) {
+                releaseReference(hash);
+                throw e;
+            }
+
+            log.debug("blob 저장: 키={}, 해시={}, 크기={}", key, hash, written.size());
+            return new StoredFile(key, LocalStorageService.sanitize(originalName), written.contentType(),
+                    written.size(), url(key), hash, written.width(), written.height());
+        } catch (UploadRejectedException e) {
+            throw e;
+        } catch (FileAlreadyExistsException e) {
+            throw new StorageException("이미 존재하는 파일 키입니다: " + key, e);
+        } catch (UncheckedIOException e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // 임시 파일 정리 실패는 무시 (다음 정리 작업에서 제거)
+            }
+        }
+    }
+
+    @Override
+    public void delete(String key) throws StorageException {
+        Path link = LocalStorageService.resolveSafe(base, key);
+        try {
+            Optional<String> hash = hashOf(link);
+            if (hash.isEmpty()) {
+                // 링크가 아닌 일반 파일(이전 로컬 저장소에서 옮겨온 파일 등)은 그대로 삭제
+                Files.deleteIfExists(link);
+                return;
+            }
+            if (Files.deleteIfExists(link)) {
+                releaseReference(hash.get());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new StorageException("파일 삭제 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws StorageException {
+        try {
+            return Files.newInputStream(LocalStorageService.resolveSafe(base, key));
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException("파일 읽기 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        if (key == null || !FilePolicy.isPathSafe(key)) {
+            return "";
+        }
+        return publicBaseUrl.replaceAll("/+$", "") + "/" + key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            return Files.exists(LocalStorageService.resolveSafe(base, key));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Optional<String> contentHash(String key) {
+        try {
+            return hashOf(LocalStorageService.resolveSafe(base, key));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 키 링크가 가리키는 blob의 해시 (링크가 아니면 빈 값)
+     */
+    private Optional<String> hashOf(Path link) throws IOException {
+        if (!Files.isSymbolicLink(link)) {
+            return Optional.empty();
+        }
+        String name = Files.readSymbolicLink(link).getFileName().toString();
+        return SHA256_HEX.matcher(name).matches() ? Optional.of(name) : Optional.empty();
+    }
+
+    /**
+     * blob 참조 증가 (없으면 ref_count=1로 생성)
+     * UPDATE/INSERT가 잡은 행 잠금을 쥔 채로 blob 파일이 없으면 임시 파일을 제자리로 옮깁니다.
+     * (같은 해시를 삭제 중인 트랜잭션이 있으면 그 커밋 뒤에 진행하므로 삭제된 파일을 가리키지 않음)
+     */
+    private void acquireReference(String hash, UploadPipeline.Result written, Path tmp) {
+        tx.executeWithoutResult(status -> {
+            if (blobs.incrementRefCount(hash) == 0) {
+                blobs.saveAndFlush(Blob.builder()
+                        .hash(hash)
+                        .size(written.size())
+                        .contentType(written.contentType())
+                        .refCount(1)
+                        .build());
+            }
+            Path blob = blobPath(hash);
+            try {
+                if (!Files.exists(blob)) {
+                    Files.createDirectories(blob.getParent());
+                    moveIntoPlace(tmp, blob);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * blob 참조 감소, 0이 되면 행과 파일 삭제
+     * 파일은 행을 삭제한 트랜잭션 안(행 잠금을 쥔 상태)에서 지우므로, 같은 해시를 새로 등록하는 쪽은
+     * 이 커밋 뒤에 파일이 없는 것을 보고 다시 배치합니다.
+     * 파일 삭제 후 커밋이 실패하면 참조가 남은 채 파일이 없을 수 있으나, 같은 내용이 다시 올라오면 복구됩니다.
+     */
+    private void releaseReference(String hash) {
+        tx.executeWithoutResult(status -> {
+            blobs.decrementRefCount(hash);
+            if (blobs.deleteIfUnreferenced(hash) > 0) {
+                try {
+                    Files.deleteIfExists(blobPath(hash));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                log.debug("참조가 없는 blob 삭제: 해시={}", hash);
+            }
+        });
+    }
+
+    /**
+     * blob 경로: blobs/ab/cd/{hash} (디렉토리당 파일 수 분산)
+     */
+    private Path blobPath(String hash) {
+        return base.resolve(BLOB_DIR).resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void moveIntoPlace(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to);
+        }
+    }
+}
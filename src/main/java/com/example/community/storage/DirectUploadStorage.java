@@ -0,0 +1,33 @@
+package com.example.community.storage;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * 클라이언트가 애플리케이션을 거치지 않고 저장소에 직접 업로드할 수 있는 저장소
+ * (서버는 사전 서명 URL 발급과 업로드 후 확인만 담당)
+ */
+public interface DirectUploadStorage {
+
+    /**
+     * 사전 서명된 업로드 요청
+     * @param url 업로드 URL
+     * @param method HTTP 메서드 (PUT)
+     * @param headers 요청에 그대로 포함해야 하는 헤더 (서명에 포함됨)
+     * @param expiresAt 만료 시각
+     */
+    record PresignedUpload(String key, String url, String method, Map<String, String> headers, Instant expiresAt) {}
+
+    /**
+     * 지정된 키로 업로드할 수 있는 사전 서명 URL 발급
+     * Content-Type과 Content-Length가 서명에 포함되므로 다른 형식/크기로는 업로드할 수 없습니다.
+     */
+    PresignedUpload presignUpload(String key, String contentType, long contentLength) throws StorageException;
+
+    /**
+     * 직접 업로드된 객체 확인 (크기, 선언 형식, 파일 시그니처)
+     * 검증에 실패한 객체는 삭제합니다.
+     * @throws UploadRejectedException 객체가 없거나 정책에 맞지 않는 경우
+     */
+    Storage.StoredFile confirmUpload(String key, long maxBytes) throws StorageException;
+}
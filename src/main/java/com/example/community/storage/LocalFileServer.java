@@ -0,0 +1,238 @@
+package com.example.community.storage;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 로컬/내용 주소 저장소 파일 제공 핸들러 (public-base-url 경로)
+ *
+ * - Tomcat sendfile을 지원하면 파일 전송을 커넥터에 넘겨 커널에서 직접 복사 (zero-copy)
+ *   그 외에는 FileChannel.transferTo로 응답 스트림에 전송
+ * - 단일 Range 요청(206/416), If-Range 지원
+ * - ETag는 내용 해시(내용 주소 저장소) 또는 크기/수정 시각 기반, If-None-Match 시 304
+ * - 키는 UUID로 바뀌지 않으므로 Cache-Control: immutable (1년)
+ * - 열린 파일 채널과 메타데이터는 OpenFileCache로 재사용
+ */
+@Slf4j
+public class LocalFileServer implements HttpRequestHandler, DisposableBean {
+
+    static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Tomcat NIO 커넥터의 sendfile 요청 속성
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    private final Storage storage;
+    private final Path base;
+    private final OpenFileCache openFiles;
+    private final long sendfileThreshold;
+
+    /**
+     * @param basePath 저장소 기본 경로 (app.storage.local.base-path)
+     * @param maxOpenFiles 캐시할 열린 파일 수 (0이면 캐시하지 않음)
+     * @param openFileTtl 열린 파일 캐시 유지 시간
+     * @param sendfileThreshold 이 크기 이상이면 sendfile 사용 (작은 파일은 복사 비용이 더 작음)
+     */
+    public LocalFileServer(Storage storage, String basePath, int maxOpenFiles, Duration openFileTtl,
+                           long sendfileThreshold) {
+        this.storage = storage;
+        this.base = Path.of(basePath).toAbsolutePath().normalize();
+        this.openFiles = new OpenFileCache(maxOpenFiles, openFileTtl.toNanos());
+        this.sendfileThreshold = sendfileThreshold;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean head = "HEAD".equals(request.getMethod());
+        if (!head && !"GET".equals(request.getMethod())) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String key = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        Path path;
+        try {
+            path = LocalStorageService.resolveSafe(base, key);
+        } catch (StorageException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        OpenFileCache.Entry file;
+        try {
+            file = openFiles.acquire(key, path, p -> etagOf(key, p));
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try {
+            serve(request, response, file, head);
+        } finally {
+            file.release();
+        }
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response,
+                       OpenFileCache.Entry file, boolean head) throws IOException {
+        String etag = "\"" + file.etag + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesAny(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = file.size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] parsed = parseRange(range, file.size);
+            if (parsed == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed != null) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + file.size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(file.path.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(Math.max(0, length));
+        if (head || length <= 0) {
+            return;
+        }
+
+        if (length >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 서블릿 반환 후 커넥터가 sendfile로 직접 전송
+            request.setAttribute(SENDFILE_FILENAME, file.path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        ServletOutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = start;
+        long remaining = length;
+        while (remaining > 0) {
+            long sent = file.channel.transferTo(position, remaining, target);
+            if (sent <= 0) {
+                break; // 파일이 중간에 잘린 경우
+            }
+            position += sent;
+            remaining -= sent;
+        }
+        out.flush();
+    }
+
+    /**
+     * ETag: 내용 주소 저장소는 SHA-256, 그 외에는 크기와 수정 시각 (키가 바뀌지 않으므로 충분)
+     */
+    private String etagOf(String key, Path path) {
+        return storage.contentHash(key).orElseGet(() -> {
+            try {
+                return Long.toHexString(Files.size(path)) + "-"
+                        + Long.toHexString(Files.getLastModifiedTime(path).toMillis());
+            } catch (IOException e) {
+                throw new StorageException("파일 정보를 읽을 수 없습니다: " + key, e);
+            }
+        });
+    }
+
+    /**
+     * 단일 바이트 범위 해석 (여러 범위나 잘못된 형식은 null → 전체 응답)
+     * @return [start, end] (end 포함), 만족할 수 없으면 UNSATISFIABLE
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 접미사 범위: 마지막 N바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                if (end < start) {
+                    return start >= size ? UNSATISFIABLE : null;
+                }
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * If-None-Match 비교 (약한 비교, "*" 및 여러 태그 허용)
+     */
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        openFiles.close();
+    }
+}
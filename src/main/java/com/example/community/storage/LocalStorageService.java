@@ -1,9 +1,10 @@
 package com.example.community.storage;
 
 import com.example.community.common.FilePolicy;
-import com.example.community.util.FileTypeValidator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,8 +13,10 @@ import jakarta.annotation.PostConstruct;
 import java.io.InputStream;
 import java.nio.file.*;
 
+@Slf4j
 @Service
 @Profile({"default","local","prod","test"}) // test 프로필 추가
+@ConditionalOnProperty(name = "app.storage.provider", havingValue = "local", matchIfMissing = true)
 @RequiredArgsConstructor
 public class LocalStorageService implements Storage {
 
@@ -31,33 +34,30 @@ public class LocalStorageService implements Storage {
             // 기본 디렉토리 존재 확인 및 생성
             if (!Files.exists(base)) {
                 Files.createDirectories(base);
-                System.out.println("스토리지 기본 경로 생성됨: " + base);
+                log.info("스토리지 기본 경로 생성됨: {}", base);
             } else {
-                System.out.println("스토리지 기본 경로 이미 존재함: " + base);
+                log.info("스토리지 기본 경로 이미 존재함: {}", base);
             }
             
             // 디렉토리 쓰기 권한 확인 (권한 변경은 런타임에서 시도하지 않음)
             if (!Files.isWritable(base)) {
-                System.err.println("경고: 스토리지 기본 경로에 쓰기 권한이 없습니다: " + base + " (컨테이너/호스트의 소유자 및 권한 설정 확인 필요)");
+                log.warn("스토리지 기본 경로에 쓰기 권한이 없습니다: {} (컨테이너/호스트의 소유자 및 권한 설정 확인 필요)", base);
             }
             
             // posts 서브디렉토리 확인 및 생성
             Path postsDir = base.resolve("posts");
             if (!Files.exists(postsDir)) {
                 Files.createDirectories(postsDir);
-                System.out.println("posts 디렉토리 생성됨: " + postsDir);
+                log.info("posts 디렉토리 생성됨: {}", postsDir);
             }
             
             // 확인된 경로 및 권한 정보 출력
-            System.out.println("스토리지 설정 완료:");
-            System.out.println("- 기본 경로: " + base);
-            System.out.println("- 쓰기 가능: " + Files.isWritable(base));
-            System.out.println("- 읽기 가능: " + Files.isReadable(base));
-            System.out.println("- 실행 가능: " + Files.isExecutable(base));
+            log.info("스토리지 설정 완료: 기본 경로={}, 쓰기={}, 읽기={}, 실행={}",
+                    base, Files.isWritable(base), Files.isReadable(base), Files.isExecutable(base));
             
         } catch (Exception e) {
             String message = "스토리지 기본 경로를 생성할 수 없습니다: " + e.getMessage();
-            System.err.println(message);
+            log.error(message, e);
             throw new StorageException(message, e);
         }
     }
@@ -71,6 +71,16 @@ public class LocalStorageService implements Storage {
      * @throws StorageException 안전하지 않은 경로인 경우 발생
      */
     private void assertSafeKey(String key) {
+        resolveSafe(base, key);
+    }
+
+    /**
+     * 키를 base 하위의 실제 경로로 변환 (안전성 검증 포함)
+     * 같은 디렉토리 구조를 쓰는 다른 파일 시스템 저장소 구현체와 공유합니다.
+     *
+     * @throws StorageException 안전하지 않은 경로인 경우 발생
+     */
+    static Path resolveSafe(Path base, String key) {
         if (key == null) {
             throw new StorageException("파일 키가 null입니다");
         }
@@ -83,20 +93,12 @@ public class LocalStorageService implements Storage {
         if (!target.startsWith(base)) {
             throw new StorageException("저장소 외부 접근은 금지됩니다: " + key);
         }
+        return target;
     }
 
     @Override
     public StoredFile store(MultipartFile file, String directory) throws StorageException {
         try {
-            // 업로드 타입 사전 검증 (선택 적용 지점)
-            try {
-                if (!FileTypeValidator.isAllowed(file, FilePolicy.ALLOWED_IMAGE_TYPES)) {
-                    throw new StorageException("허용되지 않은 파일 유형입니다.");
-                }
-            } catch (Exception e) {
-                throw new StorageException("파일 유형 검사 중 오류: " + e.getMessage(), e);
-            }
-
             String safeName = sanitize(file.getOriginalFilename());
             String ext = getExt(safeName);
             String key = (directory != null && !directory.isBlank() ? directory + "/" : "")
@@ -108,12 +110,18 @@ public class LocalStorageService implements Storage {
             Path target = base.resolve(key).normalize();
             Files.createDirectories(target.getParent());
 
+            // 시그니처 검사/해시/크기 제한을 한 번의 읽기로 처리
+            UploadPipeline.Result written;
             try (InputStream in = file.getInputStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                written = UploadPipeline.write(in, target, file.getContentType(),
+                        FilePolicy.ALLOWED_IMAGE_TYPES, FilePolicy.MAX_FILE_SIZE_BYTES);
             }
 
             String url = publicBaseUrl.replaceAll("/+$", "") + "/" + key.replace("\\", "/");
-            return new StoredFile(key, safeName, contentType(file), file.getSize(), url);
+            return new StoredFile(key, safeName, written.contentType(), written.size(), url, written.sha256(),
+                    written.width(), written.height());
+        } catch (UploadRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
@@ -122,15 +130,6 @@ public class LocalStorageService implements Storage {
     @Override
     public StoredFile store(MultipartFile file, String directory, String key) throws StorageException {
         try {
-            // 업로드 타입 사전 검증 (선택 적용 지점)
-            try {
-                if (!FileTypeValidator.isAllowed(file, FilePolicy.ALLOWED_IMAGE_TYPES)) {
-                    throw new StorageException("허용되지 않은 파일 유형입니다.");
-                }
-            } catch (Exception e) {
-                throw new StorageException("파일 유형 검사 중 오류: " + e.getMessage(), e);
-            }
-
             // 안전성 검증
             assertSafeKey(key);
             
@@ -140,12 +139,41 @@ public class LocalStorageService implements Storage {
             // 디렉토리 생성
             Files.createDirectories(target.getParent());
 
+            // 시그니처 검사/해시/크기 제한을 한 번의 읽기로 처리
+            UploadPipeline.Result written;
             try (InputStream in = file.getInputStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                written = UploadPipeline.write(in, target, file.getContentType(),
+                        FilePolicy.ALLOWED_IMAGE_TYPES, FilePolicy.MAX_FILE_SIZE_BYTES);
             }
 
             String url = publicBaseUrl.replaceAll("/+$", "") + "/" + key.replace("\\", "/");
-            return new StoredFile(key, safeName, contentType(file), file.getSize(), url);
+            return new StoredFile(key, safeName, written.contentType(), written.size(), url, written.sha256(),
+                    written.width(), written.height());
+        } catch (UploadRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredFile store(InputStream in, String key, String originalName, String contentType, long maxBytes)
+            throws StorageException {
+        try {
+            // 안전성 검증
+            assertSafeKey(key);
+
+            Path target = base.resolve(key).normalize();
+            Files.createDirectories(target.getParent());
+
+            UploadPipeline.Result written = UploadPipeline.write(in, target, contentType,
+                    FilePolicy.ALLOWED_IMAGE_TYPES, maxBytes);
+
+            String url = publicBaseUrl.replaceAll("/+$", "") + "/" + key.replace("\\", "/");
+            return new StoredFile(key, sanitize(originalName), written.contentType(), written.size(), url, written.sha256(),
+                    written.width(), written.height());
+        } catch (UploadRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
@@ -164,6 +192,20 @@ public class LocalStorageService implements Storage {
         }
     }
 
+    @Override
+    public InputStream open(String key) throws StorageException {
+        try {
+            // 안전성 검증
+            assertSafeKey(key);
+            
+            return Files.newInputStream(base.resolve(key).normalize());
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException("파일 읽기 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public String url(String key) {
         // 키가 null이면 빈 문자열 반환
@@ -196,10 +238,6 @@ public class LocalStorageService implements Storage {
         }
     }
 
-    private String contentType(MultipartFile f) {
-        return f.getContentType() == null ? "application/octet-stream" : f.getContentType();
-    }
-
     /**
      * 파일 이름 정제 (안전성 처리)
      * 1. 경로 구분자 처리 (백슬래시를 슬래시로 변환)
@@ -209,7 +247,7 @@ public class LocalStorageService implements Storage {
      * @param name 원본 파일명
      * @return 정제된 파일명
      */
-    private String sanitize(String name) {
+    static String sanitize(String name) {
         if (name == null) return "unnamed";
         String n = name.replace("\\", "/");
         n = n.substring(n.lastIndexOf('/') + 1);   // 경로 제거
@@ -0,0 +1,110 @@
+package com.example.community.storage;
+
+import com.example.community.common.ProfilingEvents;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소 연산 계측 프록시
+ *
+ * - storage.operations{operation, provider, outcome}: 연산별 소요 시간 (open은 스트림을 여는 데까지)
+ * - storage.upload.bytes{provider}: 저장/직접 업로드 확인된 파일 크기
+ * 저장(store)/삭제(delete)는 JFR 이벤트(community.StorageOperation)로도 기록합니다. (녹화 중일 때만)
+ *
+ * 구현체가 DirectUploadStorage도 구현하면 프록시도 함께 구현하므로 instanceof 분기는 그대로 동작합니다.
+ */
+public final class MeteredStorage implements InvocationHandler {
+
+    // I/O 없이 계산만 하는 메서드는 계측하지 않음
+    private static final Set<String> UNMETERED = Set.of("url", "equals", "hashCode", "toString");
+
+    private final Object target;
+    private final MeterRegistry registry;
+    private final String provider;
+    private final DistributionSummary uploadBytes;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private MeteredStorage(Object target, MeterRegistry registry, String provider) {
+        this.target = target;
+        this.registry = registry;
+        this.provider = provider;
+        this.uploadBytes = DistributionSummary.builder("storage.upload.bytes")
+                .description("저장된 업로드 파일 크기")
+                .baseUnit("bytes")
+                .tag("provider", provider)
+                .register(registry);
+    }
+
+    /**
+     * 저장소를 계측 프록시로 감쌈
+     * @param provider 지표 태그에 쓸 저장소 종류 (local, cas, s3)
+     */
+    public static Storage wrap(Storage target, MeterRegistry registry, String provider) {
+        Class<?>[] interfaces = target instanceof DirectUploadStorage
+                ? new Class<?>[]{Storage.class, DirectUploadStorage.class}
+                : new Class<?>[]{Storage.class};
+        return (Storage) Proxy.newProxyInstance(Storage.class.getClassLoader(), interfaces,
+                new MeteredStorage(target, registry, provider));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (UNMETERED.contains(method.getName())) {
+            return call(method, args);
+        }
+        ProfilingEvents.StorageOperation event = new ProfilingEvents.StorageOperation();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "error";
+        long bytes = 0;
+        try {
+            Object result = call(method, args);
+            if (result instanceof Storage.StoredFile stored) {
+                bytes = stored.size();
+                uploadBytes.record(bytes);
+            }
+            outcome = "success";
+            return result;
+        } finally {
+            timer(method.getName(), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(event, method.getName(), bytes, "success".equals(outcome));
+        }
+    }
+
+    private void commit(ProfilingEvents.StorageOperation event, String operation, long bytes, boolean success) {
+        if (("store".equals(operation) || "delete".equals(operation)) && event.shouldCommit()) {
+            event.operation = operation;
+            event.provider = provider;
+            event.bytes = bytes;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    private Object call(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + ':' + outcome, k -> Timer.builder("storage.operations")
+                .description("저장소 연산 소요 시간")
+                .tag("operation", operation)
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.community.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 열린 파일 채널 캐시 (LRU + TTL)
+ *
+ * 자주 요청되는 파일은 매 요청마다 open/stat/close 하지 않고 열린 채널과 메타데이터를 재사용합니다.
+ * 채널은 위치 지정 전송(transferTo(position, ...))으로만 읽으므로 여러 요청이 공유해도 안전합니다.
+ * 참조 카운트로 관리하여, 전송 중인 채널은 캐시에서 밀려나도 전송이 끝난 뒤에 닫힙니다.
+ * 키는 바뀌지 않으므로 삭제된 파일만 TTL 이내에서 계속 제공될 수 있습니다.
+ */
+final class OpenFileCache implements AutoCloseable {
+
+    /**
+     * 캐시된 파일 (사용 후 반드시 release)
+     */
+    static final class Entry {
+        final FileChannel channel;
+        final Path path;
+        final long size;
+        final long lastModified;
+        final String etag;
+        final long loadedAtNanos;
+        private final AtomicInteger refs = new AtomicInteger(1); // 캐시 자신의 참조
+
+        private Entry(FileChannel channel, Path path, long size, long lastModified, String etag) {
+            this.channel = channel;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.loadedAtNanos = System.nanoTime();
+        }
+
+        private boolean retain() {
+            while (true) {
+                int r = refs.get();
+                if (r <= 0) {
+                    return false; // 이미 닫힘
+                }
+                if (refs.compareAndSet(r, r + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            if (refs.decrementAndGet() == 0) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // 읽기 전용 채널 닫기 실패는 무시
+                }
+            }
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    OpenFileCache(int maxEntries, long ttlNanos) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * 캐시된 파일을 얻거나 새로 엽니다.
+     * @param etagOf 새로 열 때 ETag 계산 (path → 따옴표 없는 태그)
+     * @throws java.nio.file.NoSuchFileException 파일이 없는 경우
+     */
+    Entry acquire(String key, Path path, Function<Path, String> etagOf) throws IOException {
+        List<Entry> expired = new ArrayList<>(1);
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null) {
+                if (System.nanoTime() - cached.loadedAtNanos < ttlNanos && cached.retain()) {
+                    return cached;
+                }
+                entries.remove(key);
+                expired.add(cached);
+            }
+        }
+        expired.forEach(Entry::release);
+
+        // 열기/stat은 락 밖에서 수행 (느린 디스크가 다른 요청을 막지 않도록)
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        Entry loaded;
+        try {
+            loaded = new Entry(channel, path, channel.size(),
+                    Files.getLastModifiedTime(path).toMillis(), etagOf.apply(path));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        loaded.retain(); // 호출자 참조
+        if (maxEntries == 0) {
+            loaded.release(); // 캐시하지 않음: 호출자 참조만 남김
+            return loaded;
+        }
+
+        List<Entry> evicted = new ArrayList<>(2);
+        synchronized (entries) {
+            Entry previous = entries.put(key, loaded);
+            if (previous != null) {
+                evicted.add(previous);
+            }
+            var it = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                evicted.add(it.next().getValue());
+                it.remove();
+            }
+        }
+        evicted.forEach(Entry::release);
+        return loaded;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Entry> all;
+        synchronized (entries) {
+            all = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        all.forEach(Entry::release);
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.community.storage;
+
+import com.example.community.common.FilePolicy;
+import com.example.community.util.FileTypeValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.file.NoSuchFileException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * S3 호환 객체 저장소 (app.storage.provider=s3)
+ *
+ * - 서버 경유 업로드: 최대 파트 크기까지 메모리에 모아 시그니처 검사/해시/크기 제한을 한 번의 읽기로 처리
+ *   (버퍼는 파일 크기만큼만 늘리고 복사 없이 전송, 한 파트에 들어가면 PutObject,
+ *    넘으면 같은 버퍼를 재사용하는 멀티파트 업로드 - 실패 시 업로드 중단으로 조각 정리)
+ * - 직접 업로드: Content-Type/Content-Length를 서명에 포함한 PUT URL 발급 후,
+ *   confirmUpload에서 HEAD와 앞부분 Range GET만으로 크기와 시그니처 확인
+ *
+ * 키는 로컬 저장소와 같은 '{directory}/{memberId}/...' 형식을 객체 키로 그대로 사용합니다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.provider", havingValue = "s3")
+public class S3Storage implements Storage, DirectUploadStorage {
+
+    // S3 멀티파트 업로드의 최소 파트 크기 (마지막 파트 제외)
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final String publicBaseUrl;
+    private final int partSize;
+    private final Duration presignExpiry;
+
+    public S3Storage(S3Client s3,
+                     S3Presigner presigner,
+                     @Value("${app.storage.s3.bucket}") String bucket,
+                     @Value("${app.public-base-url}") String publicBaseUrl,
+                     @Value("${app.storage.s3.part-size:8MB}") DataSize partSize,
+                     @Value("${app.storage.s3.presign-expiry:10m}") Duration presignExpiry) {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.publicBaseUrl = publicBaseUrl.replaceAll("/+$", "");
+        this.partSize = (int) Math.max(MIN_PART_SIZE, partSize.toBytes());
+        this.presignExpiry = presignExpiry;
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file, String directory) throws StorageException {
+        String name = LocalStorageService.sanitize(file.getOriginalFilename());
+        int dot = name.lastIndexOf('.');
+        String key = (directory != null && !directory.isBlank() ? directory + "/" : "")
+                + java.util.UUID.randomUUID() + (dot >= 0 ? name.substring(dot) : "");
+        return store(file, directory, key);
+    }
+
+    @Override
+    public StoredFile store(MultipartFile file, String directory, String key) throws StorageException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in, key, file.getOriginalFilename(), file.getContentType(), FilePolicy.MAX_FILE_SIZE_BYTES,
+                    file.getSize());
+        } catch (IOException e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredFile store(InputStream in, String key, String originalName, String contentType, long maxBytes)
+            throws StorageException {
+        long sizeHint;
+        try {
+            // 바이트 배열/임시 파일 스트림은 남은 크기를 그대로 알려줌 (모르면 0)
+            sizeHint = in.available() > 0 ? in.available() : -1;
+        } catch (IOException e) {
+            sizeHint = -1;
+        }
+        return store(in, key, originalName, contentType, maxBytes, sizeHint);
+    }
+
+    /**
+     * @param sizeHint 예상 크기 (첫 버퍼 크기를 정하는 데만 사용, 모르면 -1)
+     */
+    private StoredFile store(InputStream in, String key, String originalName, String contentType, long maxBytes,
+                             long sizeHint) throws StorageException {
+        assertSafeKey(key);
+        String declared = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (!FilePolicy.ALLOWED_IMAGE_TYPES.contains(declared)) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                    String.format(FilePolicy.ERR_INVALID_FILE_TYPE, String.join(", ", FilePolicy.ALLOWED_IMAGE_TYPES)));
+        }
+
+        try {
+            MessageDigest digest = sha256();
+            // 크기 제한 바로 위까지만 읽어 초과 여부를 판단 (파트 크기와는 별개)
+            int limit = (int) Math.min(partSize, maxBytes + 1);
+            PartBuffer part = new PartBuffer(initialCapacity(sizeHint, limit), partSize);
+            int filled = part.fill(in, limit);
+            if (filled == 0) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.EMPTY, FilePolicy.ERR_FILE_EMPTY);
+            }
+            if (!FileTypeValidator.matches(declared, part.bytes(), Math.min(filled, FileTypeValidator.HEAD_LENGTH))) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                        FilePolicy.ERR_FILE_CONTENT_MISMATCH);
+            }
+            if (filled > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+            // 첫 파트를 이미 메모리에 읽었으므로 앞부분 제한 없이 헤더 해석 (SOF가 뒤에 있는 JPEG 포함)
+            long dimensions = FileTypeValidator.dimensions(declared, part.bytes(), filled);
+
+            long size;
+            PushbackInputStream rest = new PushbackInputStream(in, 1);
+            int next = part.isFull() ? rest.read() : -1;
+            if (next < 0) {
+                // 한 파트에 들어가는 파일 (대부분의 이미지)
+                digest.update(part.bytes(), 0, filled);
+                s3.putObject(PutObjectRequest.builder()
+                                .bucket(bucket).key(key).contentType(declared).contentLength((long) filled)
+                                .build(),
+                        part.body(declared));
+                size = filled;
+            } else {
+                if (filled >= maxBytes) {
+                    throw tooLarge(maxBytes);
+                }
+                rest.unread(next);
+                size = multipartUpload(rest, key, declared, part, maxBytes, digest);
+            }
+            return new StoredFile(key, LocalStorageService.sanitize(originalName), declared, size, url(key),
+                    HexFormat.of().formatHex(digest.digest()), width(dimensions), height(dimensions));
+        } catch (UploadRejectedException | StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new StorageException("파일 저장 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 파트 단위 업로드 (첫 파트는 이미 part에 채워진 상태, 이후 파트도 같은 버퍼에 읽음)
+     * 크기 제한 초과나 오류 시 업로드를 중단하여 업로드된 파트를 정리합니다.
+     */
+    private long multipartUpload(InputStream in, String key, String contentType, PartBuffer part,
+                                 long maxBytes, MessageDigest digest) throws IOException {
+        String uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket).key(key).contentType(contentType).build()).uploadId();
+        List<CompletedPart> parts = new ArrayList<>();
+        long size = 0;
+        boolean completed = false;
+        try {
+            int n = part.length();
+            while (n > 0) {
+                size += n;
+                if (size > maxBytes) {
+                    throw tooLarge(maxBytes);
+                }
+                digest.update(part.bytes(), 0, n);
+                int partNumber = parts.size() + 1;
+                String etag = s3.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket).key(key).uploadId(uploadId)
+                                .partNumber(partNumber).contentLength((long) n)
+                                .build(),
+                        part.body(contentType)).eTag();
+                parts.add(CompletedPart.builder().partNumber(partNumber).eTag(etag).build());
+                // 제한을 한 바이트 넘는 곳까지만 읽어 초과를 감지
+                n = part.fill(in, (int) Math.min(partSize, maxBytes - size + 1));
+            }
+            s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                    .build());
+            completed = true;
+            return size;
+        } finally {
+            if (!completed) {
+                abortQuietly(key, uploadId);
+            }
+        }
+    }
+
+    /**
+     * 첫 버퍼 크기 (크기를 알면 그만큼, 모르면 업로드 파이프라인 버퍼 크기에서 시작해 필요할 때 늘림)
+     */
+    static int initialCapacity(long sizeHint, int limit) {
+        long initial = sizeHint >= 0 ? sizeHint + 1 : UploadPipeline.BUFFER_SIZE;
+        return (int) Math.max(FileTypeValidator.HEAD_LENGTH, Math.min(limit, initial));
+    }
+
+    /**
+     * 파트 하나를 모으는 버퍼
+     * 읽은 만큼만 두 배씩 늘리고 파트 크기를 넘지 않으며, 전송 시 배열을 복사하지 않고 그대로 넘깁니다.
+     * (동기 클라이언트는 요청이 끝난 뒤 반환하므로 다음 파트에 재사용해도 안전)
+     */
+    static final class PartBuffer {
+
+        private final int capacity;
+        private byte[] bytes;
+        private int length;
+
+        PartBuffer(int initialCapacity, int capacity) {
+            this.capacity = capacity;
+            this.bytes = new byte[Math.max(1, Math.min(initialCapacity, capacity))];
+        }
+
+        /**
+         * 스트림 끝이나 limit(파트 크기 이하)까지 읽음
+         * @return 읽은 바이트 수 (0이면 스트림 끝)
+         */
+        int fill(InputStream in, int limit) throws IOException {
+            int max = Math.min(limit, capacity);
+            length = 0;
+            while (length < max) {
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(max, 2L * bytes.length));
+                }
+                int n = in.read(bytes, length, Math.min(bytes.length, max) - length);
+                if (n < 0) {
+                    break;
+                }
+                length += n;
+            }
+            return length;
+        }
+
+        boolean isFull() {
+            return length == capacity;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        int length() {
+            return length;
+        }
+
+        RequestBody body(String contentType) {
+            byte[] content = bytes;
+            int n = length;
+            return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(content, 0, n), n, contentType);
+        }
+    }
+
+    private void abortQuietly(String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket).key(key).uploadId(uploadId).build());
+        } catch (Exception e) {
+            // 버킷 수명 주기 규칙(AbortIncompleteMultipartUpload)이 남은 조각을 정리
+            log.warn("멀티파트 업로드 중단 실패: 키={}, 오류={}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public PresignedUpload presignUpload(String key, String contentType, long contentLength) throws StorageException {
+        assertSafeKey(key);
+        try {
+            PresignedPutObjectRequest presigned = presigner.presignPutObject(b -> b
+                    .signatureDuration(presignExpiry)
+                    .putObjectRequest(PutObjectRequest.builder()
+                            .bucket(bucket).key(key)
+                            .contentType(contentType)
+                            .contentLength(contentLength)
+                            .build()));
+            Map<String, String> headers = new LinkedHashMap<>();
+            presigned.signedHeaders().forEach((name, values) -> {
+                if (!"host".equalsIgnoreCase(name)) {
+                    headers.put(name, String.join(",", values));
+                }
+            });
+            return new PresignedUpload(key, presigned.url().toString(), presigned.httpRequest().method().name(),
+                    headers, presigned.expiration());
+        } catch (Exception e) {
+            throw new StorageException("업로드 URL 발급 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StoredFile confirmUpload(String key, long maxBytes) throws StorageException {
+        assertSafeKey(key);
+        HeadObjectResponse head;
+        try {
+            head = s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException e) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.EMPTY, "업로드된 파일을 찾을 수 없습니다");
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.EMPTY, "업로드된 파일을 찾을 수 없습니다");
+            }
+            throw new StorageException("업로드 확인 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+
+        String declared = head.contentType() == null ? "" : head.contentType().toLowerCase(Locale.ROOT);
+        long size = head.contentLength() == null ? 0 : head.contentLength();
+        try {
+            if (size == 0) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.EMPTY, FilePolicy.ERR_FILE_EMPTY);
+            }
+            if (size > maxBytes) {
+                throw tooLarge(maxBytes);
+            }
+            if (!FilePolicy.ALLOWED_IMAGE_TYPES.contains(declared)) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                        String.format(FilePolicy.ERR_INVALID_FILE_TYPE, String.join(", ", FilePolicy.ALLOWED_IMAGE_TYPES)));
+            }
+            byte[] bytes = readHead(key);
+            if (!FileTypeValidator.matches(declared, bytes, Math.min(bytes.length, FileTypeValidator.HEAD_LENGTH))) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                        FilePolicy.ERR_FILE_CONTENT_MISMATCH);
+            }
+            long dimensions = FileTypeValidator.dimensions(declared, bytes, bytes.length);
+            return new StoredFile(key, key.substring(key.lastIndexOf('/') + 1), declared, size, url(key), null,
+                    width(dimensions), height(dimensions));
+        } catch (UploadRejectedException e) {
+            delete(key); // 정책 위반 객체는 남기지 않음
+            throw e;
+        }
+    }
+
+    /**
+     * 시그니처와 이미지 크기 판별에 필요한 앞부분만 Range 요청으로 읽기
+     */
+    private byte[] readHead(String key) {
+        try (ResponseInputStream<GetObjectResponse> in = s3.getObject(GetObjectRequest.builder()
+                .bucket(bucket).key(key)
+                .range("bytes=0-" + (FileTypeValidator.DIMENSION_PROBE_LENGTH - 1))
+                .build())) {
+            return in.readNBytes(FileTypeValidator.DIMENSION_PROBE_LENGTH);
+        } catch (Exception e) {
+            throw new StorageException("업로드 확인 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws StorageException {
+        assertSafeKey(key);
+        try {
+            // 없는 키를 삭제해도 성공 응답
+            s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (Exception e) {
+            throw new StorageException("파일 삭제 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String url(String key) {
+        if (key == null || !FilePolicy.isPathSafe(key)) {
+            return "";
+        }
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            assertSafeKey(key);
+            s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws StorageException {
+        assertSafeKey(key);
+        try {
+            return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException e) {
+            // 로컬 저장소와 같이 '파일 없음'으로 판별할 수 있도록 원인 지정
+            throw new StorageException("파일 읽기 중 오류가 발생했습니다: " + key, new NoSuchFileException(key));
+        } catch (Exception e) {
+            throw new StorageException("파일 읽기 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static void assertSafeKey(String key) {
+        if (key == null) {
+            throw new StorageException("파일 키가 null입니다");
+        }
+        if (!FilePolicy.isPathSafe(key)) {
+            throw new StorageException("잘못된 경로입니다: " + key);
+        }
+    }
+
+    private static Integer width(long dimensions) {
+        return dimensions == FileTypeValidator.UNKNOWN_DIMENSIONS ? null : FileTypeValidator.width(dimensions);
+    }
+
+    private static Integer height(long dimensions) {
+        return dimensions == FileTypeValidator.UNKNOWN_DIMENSIONS ? null : FileTypeValidator.height(dimensions);
+    }
+
+    private static UploadRejectedException tooLarge(long maxBytes) {
+        return new UploadRejectedException(UploadRejectedException.Reason.TOO_LARGE,
+                String.format(FilePolicy.ERR_FILE_TOO_LARGE, maxBytes));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    }
+}
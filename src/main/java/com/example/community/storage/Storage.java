@@ -2,6 +2,9 @@ package com.example.community.storage;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.Optional;
+
 /**
  * 파일 저장소 인터페이스
  * 로컬, S3 등 다양한 스토리지 구현체를 지원합니다.
@@ -30,6 +33,20 @@ public interface Storage {
      */
     StoredFile store(MultipartFile file, String directory, String key) throws StorageException;
     
+    /**
+     * 스트림 저장 (지정된 키 사용)
+     * 스트림을 한 번만 읽으면서 시그니처 검사, 해시 계산, 크기 제한을 적용합니다.
+     * 임시 파일로 먼저 모으지 않으므로 스트리밍 multipart 업로드에서 사용합니다.
+     * @param in 파일 내용 스트림 (호출자가 닫음)
+     * @param key 저장 파일 키 (전체 경로를 포함한 고유 식별자)
+     * @param originalName 원본 파일명
+     * @param contentType 클라이언트가 선언한 MIME 타입
+     * @param maxBytes 최대 허용 바이트 수 (초과 시 UploadRejectedException)
+     * @return 저장된 파일 정보
+     */
+    StoredFile store(InputStream in, String key, String originalName, String contentType, long maxBytes)
+            throws StorageException;
+
     /**
      * 파일 삭제
      * @param key 삭제할 파일 키 (전체 경로를 포함한 고유 식별자)
@@ -38,6 +55,7 @@ public interface Storage {
     
     /**
      * 파일 URL 생성
+     * 키만으로 계산하며 I/O를 하지 않아야 합니다. (DB 트랜잭션 안에서 호출될 수 있음)
      * @param key 파일 키 (전체 경로를 포함한 고유 식별자)
      * @return 접근 가능한 URL
      */
@@ -50,6 +68,23 @@ public interface Storage {
      */
     boolean exists(String key);
 
+    /**
+     * 파일 내용 읽기
+     * @param key 파일 키 (전체 경로를 포함한 고유 식별자)
+     * @return 파일 내용 스트림 (호출자가 닫아야 함)
+     */
+    InputStream open(String key) throws StorageException;
+
+    /**
+     * 파일 내용 해시 조회
+     * 내용 주소 기반 저장소처럼 키별 해시를 알고 있는 구현체만 값을 반환합니다.
+     * @param key 파일 키
+     * @return SHA-256 (16진수), 알 수 없으면 빈 값
+     */
+    default Optional<String> contentHash(String key) {
+        return Optional.empty();
+    }
+
     /**
      * 저장된 파일 정보
      * 
@@ -58,6 +93,18 @@ public interface Storage {
      * @param contentType 파일 MIME 타입
      * @param size 파일 크기 (바이트)
      * @param url 파일 접근 URL
+     * @param sha256 파일 내용의 SHA-256 (16진수, 계산하지 않은 경우 null)
+     * @param width 헤더로 판별한 이미지 너비 (판별하지 못한 경우 null)
+     * @param height 헤더로 판별한 이미지 높이 (판별하지 못한 경우 null)
      */
-    record StoredFile(String key, String originalName, String contentType, long size, String url) {}
+    record StoredFile(String key, String originalName, String contentType, long size, String url, String sha256,
+                      Integer width, Integer height) {
+        public StoredFile(String key, String originalName, String contentType, long size, String url) {
+            this(key, originalName, contentType, size, url, null, null, null);
+        }
+
+        public StoredFile(String key, String originalName, String contentType, long size, String url, String sha256) {
+            this(key, originalName, contentType, size, url, sha256, null, null);
+        }
+    }
 }
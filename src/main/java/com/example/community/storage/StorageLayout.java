@@ -0,0 +1,93 @@
+package com.example.community.storage;
+
+import com.example.community.common.FilePolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 이미지 키 배치 규칙
+ *
+ * - shard-levels=0: posts/{memberId}/{uuid}.ext (기존 평면 구조)
+ * - shard-levels=2: posts/{memberId}/3f/a8/{uuid}.ext
+ *
+ * 파일명(UUID) 앞의 16진수 두 글자씩을 하위 디렉토리로 사용하여, 업로드가 많은 회원도
+ * 디렉토리당 항목 수가 수백 개 이하로 유지되도록 합니다. (ext4/overlay 디렉토리 조회, 백업 비용 감소)
+ * 소유권 검증에 쓰이는 posts/{memberId}/ 접두사는 그대로 유지됩니다.
+ */
+@Component
+public class StorageLayout {
+
+    private static final int MAX_LEVELS = 3;
+
+    private final int levels;
+
+    public StorageLayout(@Value("${app.storage.layout.shard-levels:0}") int levels) {
+        this.levels = Math.max(0, Math.min(MAX_LEVELS, levels));
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * 새 게시글 이미지 키 생성
+     * @param fileName 고유 파일명 (예: UUID.ext)
+     */
+    public String postImageKey(Long memberId, String fileName) {
+        return FilePolicy.POST_IMAGES_PATH + "/" + memberId + "/" + shardPrefix(fileName) + fileName;
+    }
+
+    /**
+     * 기존 키를 현재 배치 규칙의 키로 변환 (이미 규칙에 맞으면 그대로 반환)
+     * posts/{memberId}/{파일명} 형식이 아닌 키도 그대로 반환합니다.
+     */
+    public String relocate(String key) {
+        String prefix = FilePolicy.POST_IMAGES_PATH + "/";
+        if (key == null || !key.startsWith(prefix)) {
+            return key;
+        }
+        String[] parts = key.substring(prefix.length()).split("/");
+        if (parts.length != 2) {
+            return key; // 이미 샤딩된 키 (또는 알 수 없는 형식)
+        }
+        try {
+            return postImageKey(Long.valueOf(parts[0]), parts[1]);
+        } catch (NumberFormatException e) {
+            return key;
+        }
+    }
+
+    private String shardPrefix(String fileName) {
+        if (levels == 0) {
+            return "";
+        }
+        String hex = hexDigits(fileName);
+        StringBuilder sb = new StringBuilder(levels * 3);
+        for (int i = 0; i < levels; i++) {
+            sb.append(hex, i * 2, i * 2 + 2).append('/');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 파일명 앞부분의 16진수 (UUID가 아니면 파일명 해시로 대체)
+     */
+    private String hexDigits(String fileName) {
+        int need = levels * 2;
+        StringBuilder sb = new StringBuilder(need);
+        for (int i = 0; i < fileName.length() && sb.length() < need; i++) {
+            char c = Character.toLowerCase(fileName.charAt(i));
+            if (c == '-') {
+                continue;
+            }
+            if (Character.digit(c, 16) < 0) {
+                break;
+            }
+            sb.append(c);
+        }
+        if (sb.length() < need) {
+            return String.format("%08x", fileName.hashCode());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.community.storage;
+
+import com.example.community.domain.DerivativeJob;
+import com.example.community.domain.PostImage;
+import com.example.community.domain.StorageMigration;
+import com.example.community.repository.DerivativeJobRepository;
+import com.example.community.repository.PostImageRepository;
+import com.example.community.repository.StorageMigrationRepository;
+import com.example.community.repository.UploadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 게시글 이미지 키를 현재 StorageLayout(샤딩 디렉토리)으로 옮기는 온라인 마이그레이션
+ *
+ * post_images를 ID 순서로 batch-size씩 처리합니다.
+ * 1. 새 경로에 링크 생성 (일반 파일은 하드 링크, 내용 주소 저장소의 키는 새 위치 기준 심볼릭 링크)
+ *    - 커밋 전까지 기존 URL도 계속 동작
+ *    - 새 링크의 수정 시각을 갱신하여 커밋 전 고아 파일 수집 대상에서 제외
+ * 2. 한 트랜잭션에서 post_images 키/URL, uploads, derivative_jobs 갱신 및 진행 지점 기록
+ * 3. 커밋 후 기존 경로 삭제
+ *
+ * 어느 단계에서 중단되어도 재실행하면 마지막 진행 지점부터 이어서 처리합니다.
+ * (이미 새 경로가 있으면 링크를 건너뛰고, 커밋 후 남은 기존 경로는 고아 파일 수집기가 정리)
+ */
+@Slf4j
+@Service
+public class StorageLayoutMigrator {
+
+    static final String MIGRATION_NAME = "post-images-sharded-layout";
+
+    private final PostImageRepository postImages;
+    private final UploadRepository uploads;
+    private final DerivativeJobRepository derivativeJobs;
+    private final StorageMigrationRepository migrations;
+    private final Storage storage;
+    private final StorageLayout layout;
+    private final TransactionTemplate tx;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.storage.local.base-path:uploads}")
+    private String basePath;
+    @Value("${app.storage.layout.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+    @Value("${app.storage.layout.migration-batch-size:200}")
+    private int batchSize;
+    @Value("${app.storage.layout.migration-pause:200ms}")
+    private Duration pause;
+
+    public StorageLayoutMigrator(PostImageRepository postImages,
+                                 UploadRepository uploads,
+                                 DerivativeJobRepository derivativeJobs,
+                                 StorageMigrationRepository migrations,
+                                 Storage storage,
+                                 StorageLayout layout,
+                                 PlatformTransactionManager transactionManager) {
+        this.postImages = postImages;
+        this.uploads = uploads;
+        this.derivativeJobs = derivativeJobs;
+        this.migrations = migrations;
+        this.storage = storage;
+        this.layout = layout;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 이동할 키 하나 (원본과 파생본)
+     */
+    private record Move(String oldKey, String newKey,
+                        String oldThumbnail, String newThumbnail,
+                        String oldMedium, String newMedium) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (migrateOnStartup && layout.levels() > 0) {
+            Thread.ofVirtual().name("storage-layout-migration").start(this::migrate);
+        }
+    }
+
+    /**
+     * 마이그레이션 실행 (이미 실행 중이면 즉시 반환)
+     * @return 이번 실행에서 옮긴 키 수
+     */
+    public long migrate() {
+        if (layout.levels() == 0 || !running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            StorageMigration checkpoint = tx.execute(status -> migrations.findById(MIGRATION_NAME)
+                    .orElseGet(() -> migrations.save(StorageMigration.start(MIGRATION_NAME))));
+            if (checkpoint.isCompleted()) {
+                return 0;
+            }
+            Path base = Path.of(basePath).toAbsolutePath().normalize();
+            long lastId = checkpoint.getLastId();
+            long total = 0;
+            log.info("저장소 디렉토리 구조 마이그레이션 시작: 샤드 단계={}, 시작 ID={}", layout.levels(), lastId);
+
+            while (true) {
+                List<PostImage> batch = postImages.findBatchAfter(lastId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    tx.executeWithoutResult(status -> migrations.findById(MIGRATION_NAME)
+                            .ifPresent(StorageMigration::complete));
+                    log.info("저장소 디렉토리 구조 마이그레이션 완료: 이번 실행에서 옮긴 키={}", total);
+                    return total;
+                }
+                long batchLastId = batch.get(batch.size() - 1).getId();
+                List<Move> moves = linkBatch(base, batch);
+
+                tx.executeWithoutResult(status -> {
+                    rewrite(moves);
+                    migrations.findById(MIGRATION_NAME).ifPresent(m -> m.advance(batchLastId, moves.size()));
+                });
+                moves.forEach(move -> removeOld(base, move));
+
+                total += moves.size();
+                lastId = batchLastId;
+                log.debug("저장소 마이그레이션 진행: 마지막 ID={}, 누적 키={}", lastId, total);
+                Thread.sleep(pause.toMillis()); // 서비스 I/O와 경쟁하지 않도록 배치 사이 대기
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("저장소 마이그레이션 중단됨 (다음 실행 시 이어서 진행)");
+            return 0;
+        } catch (Exception e) {
+            log.error("저장소 마이그레이션 실패 (다음 실행 시 이어서 진행): 오류={}", e.getMessage(), e);
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 배치의 키마다 새 경로에 링크 생성 (DB는 아직 변경하지 않음)
+     */
+    private List<Move> linkBatch(Path base, List<PostImage> batch) throws IOException {
+        Map<String, String> targets = new LinkedHashMap<>();
+        for (PostImage image : batch) {
+            String newKey = layout.relocate(image.getFileKey());
+            if (!newKey.equals(image.getFileKey())) {
+                targets.putIfAbsent(image.getFileKey(), newKey);
+            }
+        }
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, DerivativeJob> jobs = new LinkedHashMap<>();
+        derivativeJobs.findBySourceKeyIn(targets.keySet()).forEach(j -> jobs.put(j.getSourceKey(), j));
+
+        List<Move> moves = new ArrayList<>(targets.size());
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            String oldKey = target.getKey();
+            String newKey = target.getValue();
+            if (!link(base, oldKey, newKey)) {
+                log.warn("저장소 마이그레이션: 파일이 없어 건너뜀: 키={}", oldKey);
+                continue;
+            }
+            DerivativeJob job = jobs.get(oldKey);
+            String oldThumbnail = job != null ? job.getThumbnailKey() : null;
+            String oldMedium = job != null ? job.getMediumKey() : null;
+            String newThumbnail = linkDerivative(base, oldThumbnail);
+            String newMedium = linkDerivative(base, oldMedium);
+            moves.add(new Move(oldKey, newKey, oldThumbnail, newThumbnail, oldMedium, newMedium));
+        }
+        return moves;
+    }
+
+    private String linkDerivative(Path base, String oldKey) throws IOException {
+        if (oldKey == null) {
+            return null;
+        }
+        String newKey = layout.relocate(oldKey);
+        return link(base, oldKey, newKey) ? newKey : null;
+    }
+
+    /**
+     * 새 경로에 링크 생성
+     * 링크는 기존 파일의 수정 시각을 이어받으므로(하드 링크는 같은 inode) 커밋 전에 고아 파일 수집기가
+     * 오래된 미참조 파일로 보고 지우지 않도록 새 경로의 수정 시각을 지금으로 갱신합니다.
+     * @return 새 경로에 파일이 있으면 true (이전 실행에서 이미 만든 경우 포함)
+     */
+    private static boolean link(Path base, String oldKey, String newKey) throws IOException {
+        Path from = LocalStorageService.resolveSafe(base, oldKey);
+        Path to = LocalStorageService.resolveSafe(base, newKey);
+        if (Files.exists(to, LinkOption.NOFOLLOW_LINKS)) {
+            touch(to); // 중단된 실행이 남긴 링크도 유예 기간을 새로 시작
+            return true;
+        }
+        if (!Files.exists(from, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        Files.createDirectories(to.getParent());
+        try {
+            if (Files.isSymbolicLink(from)) {
+                // 내용 주소 저장소: 상대 경로 링크이므로 새 위치 기준으로 다시 계산 (blob 참조 수는 변하지 않음)
+                Path blob = from.getParent().resolve(Files.readSymbolicLink(from)).normalize();
+                Files.createSymbolicLink(to, to.getParent().relativize(blob));
+            } else {
+                Files.createLink(to, from);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // 동시에 다른 인스턴스가 만든 경우
+        }
+        touch(to);
+        return true;
+    }
+
+    /**
+     * 링크 자체의 수정 시각 갱신 (심볼릭 링크는 따라가지 않으므로 공유 blob의 시각은 그대로)
+     */
+    private static void touch(Path path) throws IOException {
+        Files.getFileAttributeView(path, BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+                .setTimes(FileTime.from(Instant.now()), null, null);
+    }
+
+    /**
+     * 옮긴 키로 DB 갱신 (트랜잭션 안에서 호출)
+     */
+    private void rewrite(List<Move> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        Map<String, Move> byOldKey = new LinkedHashMap<>();
+        moves.forEach(m -> byOldKey.put(m.oldKey(), m));
+
+        for (PostImage image : postImages.findByFileKeyIn(byOldKey.keySet())) {
+            Move m = byOldKey.get(image.getFileKey());
+            image.relocate(m.newKey(), storage.url(m.newKey()),
+                    m.newThumbnail() != null ? storage.url(m.newThumbnail()) : image.getThumbnailUrl(),
+                    m.newMedium() != null ? storage.url(m.newMedium()) : image.getMediumUrl());
+        }
+        uploads.findByFileKeyIn(byOldKey.keySet())
+                .forEach(u -> u.relocate(byOldKey.get(u.getFileKey()).newKey()));
+        for (DerivativeJob job : derivativeJobs.findBySourceKeyIn(byOldKey.keySet())) {
+            Move m = byOldKey.get(job.getSourceKey());
+            job.relocate(m.newKey(),
+                    m.newThumbnail() != null ? m.newThumbnail() : job.getThumbnailKey(),
+                    m.newMedium() != null ? m.newMedium() : job.getMediumKey());
+        }
+    }
+
+    /**
+     * 커밋 후 기존 경로 삭제 (링크만 제거하므로 내용 주소 저장소의 참조 수는 그대로)
+     */
+    private static void removeOld(Path base, Move move) {
+        for (String key : new String[] {move.oldKey(),
+                move.newThumbnail() != null ? move.oldThumbnail() : null,
+                move.newMedium() != null ? move.oldMedium() : null}) {
+            if (key == null) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(LocalStorageService.resolveSafe(base, key));
+            } catch (Exception e) {
+                log.warn("저장소 마이그레이션: 기존 경로 삭제 실패 (고아 파일 수집기가 정리): 키={}, 오류={}",
+                        key, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.community.storage;
+
+import com.example.community.common.FilePolicy;
+import com.example.community.util.FileTypeValidator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드 스트림 단일 패스 처리기
+ *
+ * 입력 스트림을 한 번만 읽으면서 다음을 동시에 수행합니다.
+ * 1. 첫 바이트로 파일 시그니처(매직 넘버) 판별 및 선언된 MIME 타입과 비교, 헤더로 이미지 크기 판별
+ *    (JPEG은 SOF 세그먼트를 만날 때까지 기록하는 버퍼를 따라가며 판별)
+ * 2. SHA-256 해시와 크기 계산
+ * 3. 최대 크기 초과 시 즉시 중단
+ * 4. 임시 파일(.part)에 기록 후 원자적 이동
+ *
+ * 위반이 발생하면 임시 파일을 삭제하고 UploadRejectedException을 던집니다.
+ * 읽기 버퍼와 JPEG 스캐너는 재사용 가능한 풀에서 함께 빌려 쓰므로, 헤더 검사는 업로드마다 객체를 할당하지 않습니다.
+ * (가상 스레드에서도 사용하므로 ThreadLocal 대신 공용 풀 사용)
+ */
+public final class UploadPipeline {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 32;
+    public static final String PART_SUFFIX = ".part";
+
+    private static final ConcurrentLinkedQueue<Slot> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private UploadPipeline() {
+        throw new IllegalStateException("유틸리티 클래스는 인스턴스화할 수 없습니다");
+    }
+
+    /**
+     * 풀에서 빌려 쓰는 다이렉트 읽기 버퍼와 JPEG 스캐너
+     */
+    private record Slot(ByteBuffer buf, FileTypeValidator.JpegScanner jpeg) {}
+
+    /**
+     * 처리 결과
+     * @param contentType 시그니처로 판별된 MIME 타입
+     * @param size 기록된 바이트 수
+     * @param sha256 내용의 SHA-256 (16진수 소문자)
+     * @param width 헤더로 판별한 이미지 너비 (판별하지 못하면 null)
+     * @param height 헤더로 판별한 이미지 높이 (판별하지 못하면 null)
+     */
+    public record Result(String contentType, long size, String sha256, Integer width, Integer height) {}
+
+    /**
+     * 스트림을 대상 경로에 기록
+     * @param in 업로드 입력 스트림 (호출자가 닫음)
+     * @param target 최종 저장 경로 (상위 디렉토리는 존재해야 함)
+     * @param declaredType 클라이언트가 선언한 Content-Type (null 허용)
+     * @param allowedTypes 허용 MIME 타입 목록
+     * @param maxBytes 최대 허용 바이트 수
+     */
+    public static Result write(InputStream in, Path target, String declaredType,
+                               Set<String> allowedTypes, long maxBytes) throws IOException {
+        String declared = declaredType == null ? "" : declaredType.toLowerCase(Locale.ROOT);
+        if (!allowedTypes.contains(declared)) {
+            throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                    String.format(FilePolicy.ERR_INVALID_FILE_TYPE, String.join(", ", allowedTypes)));
+        }
+
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        MessageDigest digest = sha256();
+        Slot slot = acquire();
+        ByteBuffer buf = slot.buf();
+        boolean completed = false;
+        try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ReadableByteChannel src = Channels.newChannel(in);
+
+            // 1. 시그니처/크기 판별에 필요한 헤더를 먼저 채움 (첫 버퍼 안에서만 해석하므로 추가 복사 없음)
+            while (buf.position() < FileTypeValidator.DIMENSION_PROBE_LENGTH && src.read(buf) >= 0) {
+                // 헤더 길이만큼 모이거나 스트림이 끝날 때까지 읽기
+            }
+            long size = buf.position();
+            if (size == 0) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.EMPTY, FilePolicy.ERR_FILE_EMPTY);
+            }
+            if (!FileTypeValidator.matches(declared, buf, (int) size)) {
+                throw new UploadRejectedException(UploadRejectedException.Reason.TYPE_MISMATCH,
+                        FilePolicy.ERR_FILE_CONTENT_MISMATCH);
+            }
+            // JPEG은 SOF가 앞부분 밖에 있을 수 있으므로 기록하는 버퍼마다 스캐너에 전달
+            FileTypeValidator.JpegScanner jpeg = "image/jpeg".equals(declared) ? slot.jpeg() : null;
+            long dimensions = jpeg == null
+                    ? FileTypeValidator.dimensions(declared, buf, (int) size)
+                    : FileTypeValidator.UNKNOWN_DIMENSIONS;
+
+            // 2. 버퍼 단위로 해시 갱신 + (JPEG 크기 판별) + 기록 + 크기 제한 확인
+            do {
+                if (size > maxBytes) {
+                    throw new UploadRejectedException(UploadRejectedException.Reason.TOO_LARGE,
+                            String.format(FilePolicy.ERR_FILE_TOO_LARGE, maxBytes));
+                }
+                if (jpeg != null && !jpeg.isDone()) {
+                    jpeg.feed(buf, 0, buf.position());
+                }
+                buf.flip();
+                digest.update(buf.duplicate());
+                while (buf.hasRemaining()) {
+                    out.write(buf);
+                }
+                buf.clear();
+                int n = src.read(buf);
+                if (n < 0) {
+                    break;
+                }
+                size += n;
+            } while (true);
+
+            out.force(false);
+            out.close();
+            moveIntoPlace(part, target);
+            completed = true;
+            if (jpeg != null) {
+                dimensions = jpeg.dimensions();
+            }
+            boolean known = dimensions != FileTypeValidator.UNKNOWN_DIMENSIONS;
+            return new Result(declared, size, HexFormat.of().formatHex(digest.digest()),
+                    known ? FileTypeValidator.width(dimensions) : null,
+                    known ? FileTypeValidator.height(dimensions) : null);
+        } finally {
+            release(slot);
+            if (!completed) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path part, Path target) throws IOException {
+        try {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    }
+
+    private static Slot acquire() {
+        Slot slot = POOL.poll();
+        if (slot == null) {
+            return new Slot(ByteBuffer.allocateDirect(BUFFER_SIZE), new FileTypeValidator.JpegScanner());
+        }
+        POOLED.decrementAndGet();
+        return slot;
+    }
+
+    private static void release(Slot slot) {
+        slot.buf().clear();
+        slot.jpeg().reset();
+        if (POOLED.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            POOL.offer(slot);
+        } else {
+            POOLED.decrementAndGet();
+        }
+    }
+}
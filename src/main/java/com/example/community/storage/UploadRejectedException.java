@@ -0,0 +1,25 @@
+package com.example.community.storage;
+
+/**
+ * 업로드 내용이 파일 정책을 위반하여 저장이 중단된 경우의 예외
+ * (스트리밍 중 크기 초과, 시그니처 불일치 등 클라이언트 요청 오류)
+ */
+public class UploadRejectedException extends StorageException {
+
+    public enum Reason {
+        EMPTY,
+        TOO_LARGE,
+        TYPE_MISMATCH
+    }
+
+    private final Reason reason;
+
+    public UploadRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Set;
 
 /**
@@ -11,6 +12,23 @@ import java.util.Set;
  * MIME 타입과 파일 시그니처(매직 넘버)를 모두 검사하여 안전성 강화
  */
 public final class FileTypeValidator {
+
+    /**
+     * 시그니처 판별에 필요한 최소 헤더 길이 (WebP: RIFF....WEBP 12바이트)
+     */
+    public static final int HEAD_LENGTH = 12;
+
+    /**
+     * 이미지 크기 판별을 위해 읽는 최대 헤더 길이
+     * (JPEG은 EXIF 등 앞 세그먼트 뒤에 SOF가 오므로 여유 있게 잡음, 넘으면 판별 실패로 처리)
+     */
+    public static final int DIMENSION_PROBE_LENGTH = 16 * 1024;
+
+    /**
+     * 크기를 판별하지 못한 경우의 {@link #dimensions} 반환값
+     */
+    public static final long UNKNOWN_DIMENSIONS = -1L;
+
     private FileTypeValidator() {
         throw new IllegalStateException("유틸리티 클래스는 인스턴스화할 수 없습니다");
     }
@@ -29,24 +47,322 @@ public final class FileTypeValidator {
         if (!allowedMime.contains(ct)) return false;
 
         // 2. 파일 시그니처(매직 넘버) 검증
-        byte[] head = readHead(file, 32);
-        return switch (ct) {
-            case "image/png" -> isPng(head);
-            case "image/jpeg" -> isJpeg(head);
-            case "image/webp" -> isWebp(head);
-            case "image/gif" -> isGif(head);
+        byte[] head = readHead(file, HEAD_LENGTH);
+        return matches(ct, head, head.length);
+    }
+
+    /**
+     * 파일 헤더 바이트로 실제 이미지 타입 판별
+     * 스트림을 다시 열지 않고 이미 읽은 버퍼로 검사할 때 사용합니다.
+     * @param head 파일 시작 부분 바이트
+     * @param len head 중 유효한 길이
+     * @return 판별된 MIME 타입 (알 수 없으면 null)
+     */
+    public static String detect(byte[] head, int len) {
+        ByteBuffer b = ByteBuffer.wrap(head);
+        int n = Math.min(len, head.length);
+        if (isPng(b, n)) return "image/png";
+        if (isJpeg(b, n)) return "image/jpeg";
+        if (isGif(b, n)) return "image/gif";
+        if (isWebp(b, n)) return "image/webp";
+        return null;
+    }
+
+    /**
+     * 선언된 MIME 타입과 파일 헤더 시그니처 일치 여부
+     * @param mime 선언된 MIME 타입 (소문자)
+     * @param head 파일 시작 부분 바이트
+     * @param len head 중 유효한 길이
+     */
+    public static boolean matches(String mime, byte[] head, int len) {
+        return matches(mime, ByteBuffer.wrap(head), Math.min(len, head.length));
+    }
+
+    /**
+     * 선언된 MIME 타입과 버퍼 헤더 시그니처 일치 여부
+     * 업로드 경로에서 매번 호출되므로 절대 위치 읽기만 사용하고 객체를 할당하지 않습니다.
+     * @param mime 선언된 MIME 타입 (소문자)
+     * @param head 파일 시작 부분 (인덱스 0부터, position/limit은 사용하지 않음)
+     * @param len head 중 유효한 길이
+     */
+    public static boolean matches(String mime, ByteBuffer head, int len) {
+        return switch (mime) {
+            case "image/png" -> isPng(head, len);
+            case "image/jpeg" -> isJpeg(head, len);
+            case "image/webp" -> isWebp(head, len);
+            case "image/gif" -> isGif(head, len);
             default -> false;
         };
     }
 
+    /**
+     * 헤더만 읽어 이미지 크기 판별 (픽셀 디코딩 없음)
+     * PNG IHDR, JPEG SOFn, GIF 논리 화면, WebP VP8/VP8L/VP8X 헤더를 해석합니다.
+     * 업로드 경로에서 매번 호출되므로 절대 위치 읽기만 사용하고 객체를 할당하지 않습니다.
+     * (결과는 너비와 높이를 하나의 long에 담아 반환, EXIF 회전은 반영하지 않음)
+     *
+     * @param mime 시그니처 검사를 통과한 MIME 타입 (소문자)
+     * @param head 파일 시작 부분 (인덱스 0부터, position/limit은 사용하지 않음)
+     * @param len head 중 유효한 길이
+     * @return {@link #width(long)}/{@link #height(long)}로 꺼낼 수 있는 값, 판별 실패 시 {@link #UNKNOWN_DIMENSIONS}
+     */
+    public static long dimensions(String mime, ByteBuffer head, int len) {
+        return switch (mime) {
+            case "image/png" -> pngDimensions(head, len);
+            case "image/jpeg" -> jpegDimensions(head, len);
+            case "image/gif" -> gifDimensions(head, len);
+            case "image/webp" -> webpDimensions(head, len);
+            default -> UNKNOWN_DIMENSIONS;
+        };
+    }
+
+    /**
+     * 바이트 배열 헤더로 이미지 크기 판별 ({@link #dimensions(String, ByteBuffer, int)} 참고)
+     */
+    public static long dimensions(String mime, byte[] head, int len) {
+        return dimensions(mime, ByteBuffer.wrap(head), Math.min(len, head.length));
+    }
+
+    public static int width(long dimensions) {
+        return (int) (dimensions >>> 32);
+    }
+
+    public static int height(long dimensions) {
+        return (int) dimensions;
+    }
+
+    private static long pack(long width, long height) {
+        if (width <= 0 || height <= 0 || width > Integer.MAX_VALUE || height > Integer.MAX_VALUE) {
+            return UNKNOWN_DIMENSIONS;
+        }
+        return (width << 32) | height;
+    }
+
+    /**
+     * PNG: 시그니처(8) + IHDR 길이(4) + "IHDR"(4) + 너비(4, BE) + 높이(4, BE)
+     */
+    private static long pngDimensions(ByteBuffer b, int len) {
+        if (len < 24 || b.get(12) != 'I' || b.get(13) != 'H' || b.get(14) != 'D' || b.get(15) != 'R') {
+            return UNKNOWN_DIMENSIONS;
+        }
+        return pack(u32be(b, 16), u32be(b, 20));
+    }
+
+    /**
+     * GIF: "GIF89a"(6) + 논리 화면 너비(2, LE) + 높이(2, LE)
+     */
+    private static long gifDimensions(ByteBuffer b, int len) {
+        if (len < 10) {
+            return UNKNOWN_DIMENSIONS;
+        }
+        return pack(u16le(b, 6), u16le(b, 8));
+    }
+
+    /**
+     * WebP: RIFF 헤더(12) 뒤 첫 청크 종류에 따라 해석
+     * - VP8 (손실): 프레임 태그(3) + 시작 코드 9D 01 2A + 너비/높이(각 14비트, LE)
+     * - VP8L (무손실): 시그니처 0x2F + (너비-1, 높이-1) 각 14비트 비트 필드
+     * - VP8X (확장): 플래그(4) + (캔버스 너비-1, 높이-1) 각 24비트 LE
+     */
+    private static long webpDimensions(ByteBuffer b, int len) {
+        if (len < 30 || b.get(12) != 'V' || b.get(13) != 'P' || b.get(14) != '8') {
+            return UNKNOWN_DIMENSIONS;
+        }
+        byte kind = b.get(15);
+        if (kind == ' ') {
+            if ((b.get(23) & 0xFF) != 0x9D || (b.get(24) & 0xFF) != 0x01 || (b.get(25) & 0xFF) != 0x2A) {
+                return UNKNOWN_DIMENSIONS;
+            }
+            return pack(u16le(b, 26) & 0x3FFF, u16le(b, 28) & 0x3FFF);
+        }
+        if (kind == 'L') {
+            if ((b.get(20) & 0xFF) != 0x2F) {
+                return UNKNOWN_DIMENSIONS;
+            }
+            long bits = u16le(b, 21) | ((long) u16le(b, 23) << 16);
+            return pack((bits & 0x3FFF) + 1, ((bits >>> 14) & 0x3FFF) + 1);
+        }
+        if (kind == 'X') {
+            return pack(u24le(b, 24) + 1, u24le(b, 27) + 1);
+        }
+        return UNKNOWN_DIMENSIONS;
+    }
+
+    /**
+     * JPEG: SOI 이후 세그먼트 길이로 건너뛰며 SOFn(C0~CF, C4/C8/CC 제외) 탐색
+     * SOFn: 마커(2) + 길이(2) + 정밀도(1) + 높이(2, BE) + 너비(2, BE)
+     */
+    private static long jpegDimensions(ByteBuffer b, int len) {
+        int i = 2;
+        while (i + 1 < len) {
+            if ((b.get(i) & 0xFF) != 0xFF) {
+                return UNKNOWN_DIMENSIONS; // 세그먼트 경계가 어긋남
+            }
+            int marker = b.get(i + 1) & 0xFF;
+            if (marker == 0xFF) {
+                i++; // 채움 바이트
+                continue;
+            }
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                i += 2; // 길이 없는 단독 마커
+                continue;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                return UNKNOWN_DIMENSIONS; // SOF 없이 이미지 끝/스캔 시작
+            }
+            if (i + 3 >= len) {
+                return UNKNOWN_DIMENSIONS;
+            }
+            int segmentLength = u16be(b, i + 2);
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                if (i + 8 >= len) {
+                    return UNKNOWN_DIMENSIONS;
+                }
+                return pack(u16be(b, i + 7), u16be(b, i + 5));
+            }
+            if (segmentLength < 2) {
+                return UNKNOWN_DIMENSIONS;
+            }
+            i += 2 + segmentLength;
+        }
+        return UNKNOWN_DIMENSIONS;
+    }
+
+    /**
+     * 스트림을 버퍼 단위로 받으며 JPEG SOFn을 찾는 스캐너
+     * SOF가 앞부분({@link #DIMENSION_PROBE_LENGTH}) 밖에 있는 JPEG(큰 EXIF 썸네일, ICC 프로파일 등)도
+     * 기록 중인 버퍼로 크기를 판별하여, 저장 후 파일을 다시 읽지 않게 합니다.
+     * 세그먼트 본문은 길이만큼 건너뛰고 마커 헤더(최대 9바이트)만 모으며, SOS/EOI를 만나면 판별을 끝냅니다.
+     * 판별 중에는 객체를 할당하지 않으며, {@link #reset()} 후 다음 업로드에 재사용할 수 있습니다.
+     */
+    public static final class JpegScanner {
+
+        private final byte[] header = new byte[9];
+        private int headerLength;
+        private long skip;
+        private long result;
+        private boolean done;
+
+        public JpegScanner() {
+            reset();
+        }
+
+        /**
+         * 새 스트림의 처음부터 판별하도록 초기화
+         */
+        public void reset() {
+            headerLength = 0;
+            skip = 2; // SOI
+            result = UNKNOWN_DIMENSIONS;
+            done = false;
+        }
+
+        /**
+         * 다음 바이트 전달 (절대 위치 읽기만 사용, position/limit은 바꾸지 않음)
+         * @param b 스트림의 다음 부분
+         * @param from b에서 읽기 시작할 인덱스
+         * @param to b에서 읽기를 마칠 인덱스 (제외)
+         */
+        public void feed(ByteBuffer b, int from, int to) {
+            int i = from;
+            while (!done && i < to) {
+                if (skip > 0) {
+                    int n = (int) Math.min(skip, to - i);
+                    skip -= n;
+                    i += n;
+                    continue;
+                }
+                header[headerLength++] = b.get(i++);
+                step();
+            }
+        }
+
+        /**
+         * 판별을 마쳤는지 여부 (더 전달할 필요 없음)
+         */
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * {@link #width(long)}/{@link #height(long)}로 꺼낼 수 있는 값, 판별하지 못했으면 {@link #UNKNOWN_DIMENSIONS}
+         */
+        public long dimensions() {
+            return result;
+        }
+
+        private void step() {
+            if ((header[0] & 0xFF) != 0xFF) {
+                finish(UNKNOWN_DIMENSIONS); // 세그먼트 경계가 어긋남
+                return;
+            }
+            if (headerLength < 2) {
+                return;
+            }
+            int marker = header[1] & 0xFF;
+            if (marker == 0xFF) {
+                headerLength = 1; // 채움 바이트
+                return;
+            }
+            if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                headerLength = 0; // 길이 없는 단독 마커
+                return;
+            }
+            if (marker == 0xD9 || marker == 0xDA) {
+                finish(UNKNOWN_DIMENSIONS); // SOF 없이 이미지 끝/스캔 시작
+                return;
+            }
+            boolean sof = marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC;
+            if (headerLength < (sof ? 9 : 4)) {
+                return;
+            }
+            if (sof) {
+                finish(pack(u16be(header, 7), u16be(header, 5)));
+                return;
+            }
+            int segmentLength = u16be(header, 2);
+            if (segmentLength < 2) {
+                finish(UNKNOWN_DIMENSIONS);
+                return;
+            }
+            skip = segmentLength - 2;
+            headerLength = 0;
+        }
+
+        private void finish(long dimensions) {
+            result = dimensions;
+            done = true;
+        }
+    }
+
+    private static int u16be(ByteBuffer b, int i) {
+        return ((b.get(i) & 0xFF) << 8) | (b.get(i + 1) & 0xFF);
+    }
+
+    private static int u16be(byte[] b, int i) {
+        return ((b[i] & 0xFF) << 8) | (b[i + 1] & 0xFF);
+    }
+
+    private static int u16le(ByteBuffer b, int i) {
+        return (b.get(i) & 0xFF) | ((b.get(i + 1) & 0xFF) << 8);
+    }
+
+    private static long u24le(ByteBuffer b, int i) {
+        return (b.get(i) & 0xFF) | ((b.get(i + 1) & 0xFF) << 8) | ((long) (b.get(i + 2) & 0xFF) << 16);
+    }
+
+    private static long u32be(ByteBuffer b, int i) {
+        return ((long) (b.get(i) & 0xFF) << 24) | ((b.get(i + 1) & 0xFF) << 16)
+                | ((b.get(i + 2) & 0xFF) << 8) | (b.get(i + 3) & 0xFF);
+    }
+
     /**
      * 파일 헤더(시작 부분) 읽기
      */
     private static byte[] readHead(MultipartFile file, int n) throws IOException {
         try (InputStream in = file.getInputStream()) {
             byte[] buf = new byte[n];
-            int r = in.read(buf);
-            if (r < 0) return new byte[0];
+            int r = in.readNBytes(buf, 0, n);
             if (r < n) {
                 byte[] small = new byte[r];
                 System.arraycopy(buf, 0, small, 0, r);
@@ -59,40 +375,44 @@ public final class FileTypeValidator {
     /**
      * PNG 파일 시그니처 검증
      */
-    private static boolean isPng(byte[] b) {
-        return startsWith(b, new byte[]{(byte)0x89,'P','N','G',0x0D,0x0A,0x1A,0x0A});
+    private static boolean isPng(ByteBuffer b, int len) {
+        return startsWith(b, len, PNG);
     }
     
     /**
      * JPEG 파일 시그니처 검증
      */
-    private static boolean isJpeg(byte[] b) {
-        return startsWith(b, new byte[]{(byte)0xFF,(byte)0xD8,(byte)0xFF});
+    private static boolean isJpeg(ByteBuffer b, int len) {
+        return startsWith(b, len, JPEG);
     }
     
     /**
      * WebP 파일 시그니처 검증
      */
-    private static boolean isWebp(byte[] b) {
+    private static boolean isWebp(ByteBuffer b, int len) {
         // RIFF....WEBP header
-        return b.length >= 12 && b[0]=='R' && b[1]=='I' && b[2]=='F' && b[3]=='F'
-                && b[8]=='W' && b[9]=='E' && b[10]=='B' && b[11]=='P';
+        return len >= 12 && b.get(0)=='R' && b.get(1)=='I' && b.get(2)=='F' && b.get(3)=='F'
+                && b.get(8)=='W' && b.get(9)=='E' && b.get(10)=='B' && b.get(11)=='P';
     }
     
     /**
      * GIF 파일 시그니처 검증
      */
-    private static boolean isGif(byte[] b) {
-        return (startsWith(b, new byte[]{'G', 'I', 'F', '8', '7', 'a'}) || 
-                startsWith(b, new byte[]{'G', 'I', 'F', '8', '9', 'a'}));
+    private static boolean isGif(ByteBuffer b, int len) {
+        return startsWith(b, len, GIF87A) || startsWith(b, len, GIF89A);
     }
 
     /**
      * 바이트 배열이 특정 프리픽스로 시작하는지 확인
      */
-    private static boolean startsWith(byte[] data, byte[] prefix) {
-        if (data.length < prefix.length) return false;
-        for (int i = 0; i < prefix.length; i++) if (data[i] != prefix[i]) return false;
+    private static boolean startsWith(ByteBuffer data, int len, byte[] prefix) {
+        if (len < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) if (data.get(i) != prefix[i]) return false;
         return true;
     }
+
+    private static final byte[] PNG = {(byte)0x89,'P','N','G',0x0D,0x0A,0x1A,0x0A};
+    private static final byte[] JPEG = {(byte)0xFF,(byte)0xD8,(byte)0xFF};
+    private static final byte[] GIF87A = {'G','I','F','8','7','a'};
+    private static final byte[] GIF89A = {'G','I','F','8','9','a'};
 }
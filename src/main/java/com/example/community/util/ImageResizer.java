@@ -0,0 +1,138 @@
+package com.example.community.util;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 이미지 축소 유틸리티 (순수 Java ImageIO)
+ *
+ * - 디코딩 시 서브샘플링으로 필요한 해상도까지만 읽어 메모리 사용을 줄임
+ * - 투명도가 있으면 PNG, 없으면 JPEG로 인코딩
+ * - 원본보다 크게 확대하지 않음
+ */
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageResizer() {
+        throw new IllegalStateException("유틸리티 클래스는 인스턴스화할 수 없습니다");
+    }
+
+    /**
+     * 인코딩된 결과
+     */
+    public record Encoded(byte[] bytes, String contentType, String extension, int width, int height) {}
+
+    /**
+     * ImageIO로 읽을 수 없는 형식 (재시도해도 결과가 같음)
+     */
+    public static class UnsupportedImageException extends IOException {
+        public UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 이미지 디코딩
+     * 긴 변이 minLongSide 이상으로 유지되는 범위에서 정수 배율로 서브샘플링합니다.
+     *
+     * @param in 원본 이미지 스트림
+     * @param minLongSide 이후 축소에 필요한 최소 긴 변 길이
+     * @param maxPixels 허용 최대 픽셀 수 (압축 폭탄 방지)
+     */
+    public static BufferedImage decode(InputStream in, int minLongSide, long maxPixels) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                throw new UnsupportedImageException("이미지 스트림을 열 수 없습니다");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new UnsupportedImageException("지원하지 않는 이미지 형식입니다");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new UnsupportedImageException("이미지 해상도가 너무 큽니다: " + width + "x" + height);
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / Math.max(1, minLongSide));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 긴 변이 maxSide 이하가 되도록 축소 후 인코딩 (이미 작으면 크기 유지)
+     */
+    public static Encoded resize(BufferedImage source, int maxSide) throws IOException {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * scale));
+        int th = Math.max(1, (int) Math.round(h * scale));
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(tw, th, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+
+        return alpha
+                ? new Encoded(encodePng(target), "image/png", "png", tw, th)
+                : new Encoded(encodeJpeg(target), "image/jpeg", "jpg", tw, th);
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("PNG 인코더를 찾을 수 없습니다");
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("JPEG 인코더를 찾을 수 없습니다");
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.community.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 스트리밍 multipart/form-data 파서
+ * 요청 본문을 임시 파일이나 메모리에 모으지 않고 고정 크기 버퍼 하나로 파트를 순서대로 읽습니다.
+ *
+ * 사용 방법:
+ * <pre>
+ * MultipartStream mp = new MultipartStream(in, MultipartStream.boundaryOf(contentType), maxBytes);
+ * MultipartStream.Part part;
+ * while ((part = mp.next()) != null) {
+ *     part.body() 를 읽음 (다음 next() 호출 시 남은 내용은 자동으로 버려짐)
+ * }
+ * </pre>
+ *
+ * 읽은 원시 바이트 수가 maxBytes를 넘으면 {@link SizeLimitExceededException}을 던집니다.
+ */
+public final class MultipartStream {
+
+    static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final InputStream in;
+    private final byte[] delimiter; // "\r\n--" + boundary
+    private final byte[] buf;
+    private final long maxBytes;
+
+    private int head;   // 다음에 읽을 위치
+    private int tail;   // 유효 데이터 끝
+    private boolean eof;
+    private boolean started;
+    private boolean finished;
+    private long totalRead;
+    private PartInputStream current;
+
+    public MultipartStream(InputStream in, String boundary, long maxBytes) {
+        if (boundary == null || boundary.isEmpty() || boundary.length() > 70) {
+            throw new IllegalArgumentException("multipart boundary가 올바르지 않습니다");
+        }
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.buf = new byte[BUFFER_SIZE];
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Content-Type 헤더에서 boundary 추출
+     * @return boundary (없으면 null)
+     */
+    public static String boundaryOf(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            return null;
+        }
+        return parameter(contentType, "boundary");
+    }
+
+    /**
+     * 다음 파트로 이동
+     * 이전 파트 본문 중 읽지 않은 부분은 버립니다.
+     * @return 다음 파트 (마지막 파트 이후에는 null)
+     */
+    public Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            skipPreamble();
+            started = true;
+        } else if (current != null) {
+            current.skipAll();
+        }
+        current = null;
+
+        // 구분자 다음 2바이트: "--"면 종료, "\r\n"이면 헤더 시작
+        ensure(2);
+        if (buf[head] == '-' && buf[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        if (buf[head] != '\r' || buf[head + 1] != '\n') {
+            throw new IOException("잘못된 multipart 형식입니다");
+        }
+        head += 2;
+
+        String disposition = null;
+        String contentType = null;
+        int headerBytes = 0;
+        String line;
+        while (!(line = readHeaderLine()).isEmpty()) {
+            headerBytes += line.length() + 2;
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new IOException("multipart 헤더가 너무 깁니다");
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (name.equals("content-disposition")) {
+                disposition = value;
+            } else if (name.equals("content-type")) {
+                contentType = value;
+            }
+        }
+
+        current = new PartInputStream();
+        return new Part(
+                disposition == null ? null : parameter(disposition, "name"),
+                disposition == null ? null : parameter(disposition, "filename"),
+                contentType,
+                current
+        );
+    }
+
+    /**
+     * 첫 구분자("--boundary")까지의 프리앰블 건너뛰기
+     */
+    private void skipPreamble() throws IOException {
+        // 대부분 본문이 곧바로 "--boundary"로 시작 (선행 CRLF 없음)
+        int first = delimiter.length - CRLF.length;
+        ensure(first);
+        if (indexOf(delimiter, CRLF.length, head, head + first) == head) {
+            head += first;
+            return;
+        }
+        // 프리앰블이 있으면 CRLF를 포함한 정식 구분자까지 건너뜀
+        skipToDelimiter();
+    }
+
+    /**
+     * 다음 구분자 직후로 이동 (그 사이의 데이터는 버림)
+     */
+    private void skipToDelimiter() throws IOException {
+        while (true) {
+            int idx = indexOf(delimiter, 0, head, tail);
+            if (idx >= 0) {
+                head = idx + delimiter.length;
+                return;
+            }
+            head = Math.max(head, tail - (delimiter.length - 1));
+            if (!fill()) {
+                throw new IOException("multipart 구분자를 찾을 수 없습니다");
+            }
+        }
+    }
+
+    private String readHeaderLine() throws IOException {
+        while (true) {
+            int idx = indexOf(CRLF, 0, head, tail);
+            if (idx >= 0) {
+                String line = new String(buf, head, idx - head, StandardCharsets.UTF_8);
+                head = idx + 2;
+                return line;
+            }
+            if (tail - head >= MAX_HEADER_BYTES || !fill()) {
+                throw new IOException("잘못된 multipart 헤더입니다");
+            }
+        }
+    }
+
+    /**
+     * 버퍼에 최소 n바이트가 남도록 채움
+     */
+    private void ensure(int n) throws IOException {
+        while (tail - head < n) {
+            if (!fill()) {
+                throw new IOException("multipart 본문이 예기치 않게 끝났습니다");
+            }
+        }
+    }
+
+    /**
+     * 남은 데이터를 버퍼 앞으로 옮기고 입력 스트림에서 추가로 읽음
+     * @return 더 읽을 데이터가 없으면 false
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (head > 0) {
+            System.arraycopy(buf, head, buf, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+        if (tail == buf.length) {
+            throw new IOException("multipart 버퍼가 가득 찼습니다");
+        }
+        int n = in.read(buf, tail, buf.length - tail);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        totalRead += n;
+        if (totalRead > maxBytes) {
+            throw new SizeLimitExceededException(maxBytes);
+        }
+        tail += n;
+        return true;
+    }
+
+    /**
+     * buf[from, to) 에서 pattern[offset..] 검색
+     */
+    private int indexOf(byte[] pattern, int offset, int from, int to) {
+        int len = pattern.length - offset;
+        outer:
+        for (int i = from; i <= to - len; i++) {
+            for (int j = 0; j < len; j++) {
+                if (buf[i + j] != pattern[offset + j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 헤더 값에서 파라미터 추출 (예: form-data; name="files"; filename="a.png")
+     */
+    static String parameter(String header, String name) {
+        String lower = header.toLowerCase(Locale.ROOT);
+        int pos = 0;
+        while (true) {
+            int idx = lower.indexOf(name, pos);
+            if (idx < 0) {
+                return null;
+            }
+            pos = idx + name.length();
+            boolean startOk = idx > 0 && (lower.charAt(idx - 1) == ';' || lower.charAt(idx - 1) == ' ');
+            int eq = pos;
+            while (eq < header.length() && header.charAt(eq) == ' ') eq++;
+            if (!startOk || eq >= header.length() || header.charAt(eq) != '=') {
+                continue;
+            }
+            int start = eq + 1;
+            while (start < header.length() && header.charAt(start) == ' ') start++;
+            if (start < header.length() && header.charAt(start) == '"') {
+                StringBuilder sb = new StringBuilder();
+                for (int i = start + 1; i < header.length(); i++) {
+                    char c = header.charAt(i);
+                    if (c == '\\' && i + 1 < header.length()) {
+                        sb.append(header.charAt(++i));
+                    } else if (c == '"') {
+                        break;
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                return sb.toString();
+            }
+            int end = header.indexOf(';', start);
+            return header.substring(start, end < 0 ? header.length() : end).trim();
+        }
+    }
+
+    /**
+     * 파트 정보
+     * @param name 폼 필드명
+     * @param filename 파일명 (파일 파트가 아니면 null)
+     * @param contentType 파트 Content-Type (없으면 null)
+     * @param body 파트 본문 스트림 (다음 파트로 이동하면 더 이상 읽을 수 없음)
+     */
+    public record Part(String name, String filename, String contentType, InputStream body) {
+        public boolean isFile() {
+            return filename != null;
+        }
+    }
+
+    /**
+     * 요청 본문 전체 크기 제한 초과
+     */
+    public static class SizeLimitExceededException extends IOException {
+        public SizeLimitExceededException(long maxBytes) {
+            super("multipart 요청 크기가 제한(" + maxBytes + " 바이트)을 초과했습니다");
+        }
+    }
+
+    /**
+     * 현재 파트의 본문을 다음 구분자 직전까지 읽는 스트림
+     */
+    private final class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done || current != this) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int idx = indexOf(delimiter, 0, head, tail);
+                int available;
+                if (idx >= 0) {
+                    available = idx - head;
+                    if (available == 0) {
+                        head = idx + delimiter.length;
+                        done = true;
+                        return -1;
+                    }
+                } else {
+                    // 구분자 일부가 버퍼 끝에 걸쳐 있을 수 있으므로 그만큼은 남겨 둠
+                    available = tail - head - (delimiter.length - 1);
+                }
+                if (available > 0) {
+                    int n = Math.min(len, available);
+                    System.arraycopy(buf, head, b, off, n);
+                    head += n;
+                    return n;
+                }
+                if (!fill()) {
+                    throw new IOException("multipart 본문이 예기치 않게 끝났습니다");
+                }
+            }
+        }
+
+        void skipAll() throws IOException {
+            if (!done) {
+                skipToDelimiter();
+                done = true;
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.community.web;
 
+import com.example.community.common.ProfilingEvents;
 import com.example.community.config.JwtUtil;
 import com.example.community.domain.Member;
 import com.example.community.domain.auth.RefreshToken;
 import com.example.community.repository.MemberRepository;
+import com.example.community.security.OriginPolicy;
 import com.example.community.service.MemberService;
 import com.example.community.service.dto.AuthDtos;
 import com.example.community.service.RefreshTokenService;
@@ -21,10 +23,6 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Duration;
-import java.util.List;
-import java.util.Arrays;
-
 import java.time.Duration;
 
 @RestController
@@ -37,6 +35,7 @@ public class AuthController {
     private final MemberRepository members;
     private final RefreshTokenService refreshTokenService;
     private final MemberService memberService;
+    private final OriginPolicy originPolicy;                         // 허용 Origin (시작 시 1회 파싱)
 
     @Value("${refresh.exp-ms}") private long refreshExpMs;
     @Value("${refresh.cookie.name}") private String cookieName;      // 예: "refresh_token"
@@ -44,16 +43,6 @@ public class AuthController {
     @Value("${refresh.cookie.secure}") private boolean cookieSecure; // dev=false, prod=true
     @Value("${refresh.cookie.same-site}") private String sameSite;   // "Lax" | "None" | "Strict"
     @Value("${refresh.cookie.domain:}") private String cookieDomain; // ★ 선택(없으면 빈 문자열)
-    @Value("${ALLOWED_ORIGINS:http://localhost:3000}") private String allowedOriginsStr;
-    
-    // 허용된 Origin 목록 가져오기
-    private List<String> getAllowedOrigins() {
-        return Arrays.stream(allowedOriginsStr.split(","))
-                .map(String::trim)
-                .filter(s -> !s.isBlank())
-                .distinct()
-                .toList();
-    }
 
     /* 회원가입 */
     @PostMapping("/signup")
@@ -99,7 +88,18 @@ public class AuthController {
 
     /* 리프레시: 새 Access + (회전된) 새 Refresh 쿠키 */
     @PostMapping("/refresh")
-    public ResponseEntity<TokenRes> refresh(HttpServletRequest req) { // ★ @CookieValue → Request 직접 읽기
+    public ResponseEntity<TokenRes> refresh(HttpServletRequest req) {
+        ProfilingEvents.TokenRefresh event = new ProfilingEvents.TokenRefresh();
+        event.begin();
+        ResponseEntity<TokenRes> res = rotateRefresh(req);
+        if (event.shouldCommit()) {
+            event.status = res.getStatusCode().value();
+            event.commit();
+        }
+        return res;
+    }
+
+    private ResponseEntity<TokenRes> rotateRefresh(HttpServletRequest req) { // ★ @CookieValue → Request 직접 읽기
         // CSRF 완화: 커스텀 헤더 강제(X-Requested-With)
         String xrw = req.getHeader("X-Requested-With");
         if (xrw == null || !"XMLHttpRequest".equalsIgnoreCase(xrw)) {
@@ -107,9 +107,7 @@ public class AuthController {
         }
         
         // Origin 헤더 검증
-        String origin = req.getHeader("Origin");
-        List<String> allowedOrigins = getAllowedOrigins();
-        if (origin == null || !allowedOrigins.contains(origin)) {
+        if (!originPolicy.isAllowed(req.getHeader("Origin"))) {
             return ResponseEntity.status(403).body(new TokenRes("Invalid origin"));
         }
         
@@ -146,9 +144,7 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<String> logout(HttpServletRequest req) {   // ★ @CookieValue 제거
         // Origin 헤더 검증
-        String origin = req.getHeader("Origin");
-        List<String> allowedOrigins = getAllowedOrigins();
-        if (origin == null || !allowedOrigins.contains(origin)) {
+        if (!originPolicy.isAllowed(req.getHeader("Origin"))) {
             return ResponseEntity.status(403).body("Invalid origin");
         }
         
@@ -1,6 +1,5 @@
 package com.example.community.web;
 
-import com.example.community.domain.Comment;
 import com.example.community.repository.dto.CommentProjection;
 import com.example.community.security.MemberDetails;
 import com.example.community.service.CommentService;
@@ -45,9 +44,9 @@ public class CommentController {
             @AuthenticationPrincipal MemberDetails me,
             @RequestBody @Valid CreateReq req
     ) {
-        Comment saved = commentService.add(postId, me.id(), req.content());
-        return ResponseEntity.created(URI.create("/api/comments/" + saved.getId()))
-                .body(CommentRes.of(saved));
+        CommentRes saved = commentService.add(postId, me.id(), req.content());
+        return ResponseEntity.created(URI.create("/api/comments/" + saved.id()))
+                .body(saved);
     }
 
     /**
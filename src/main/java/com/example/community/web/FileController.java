@@ -1,8 +1,13 @@
 package com.example.community.web;
 
 import com.example.community.common.FilePolicy;
+import com.example.community.config.MultipartConfig;
 import com.example.community.security.MemberDetails;
 import com.example.community.service.FileService;
+import com.example.community.service.dto.FileDtos;
+import com.example.community.storage.DirectUploadStorage;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +16,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -31,11 +37,12 @@ public class FileController {
      * 한 번에 여러 이미지를 업로드할 수 있습니다.
      * 로그인한 사용자만 이용 가능합니다.
      * 
-     * @return 업로드된 이미지의 키 목록 (클라이언트는 이 키를 사용하여 게시글 생성/수정)
+     * @return 업로드된 이미지의 키 목록(keys, 클라이언트는 이 키를 사용하여 게시글 생성/수정)과
+     *         파일별 결과(results, 요청 순서 유지, 실패 시 error 포함)
      */
     @PreAuthorize("isAuthenticated()")
     @PostMapping(value = "/posts/images", consumes = "multipart/form-data")
-    public ResponseEntity<List<String>> uploadPostImages(
+    public ResponseEntity<FileDtos.UploadResponse> uploadPostImages(
             @RequestParam("files") List<MultipartFile> files,
             @AuthenticationPrincipal MemberDetails me
     ) {
@@ -48,12 +55,72 @@ public class FileController {
                 String.format(FilePolicy.ERR_TOTAL_SIZE_EXCEEDED, FilePolicy.MAX_TOTAL_SIZE_BYTES));
         }
         
-        List<String> uploaded = fileService.uploadPostImageKeys(files, me.id());
-        log.info("게시글 이미지 업로드 완료: 업로드 수={}", uploaded.size());
+        FileDtos.UploadResponse uploaded = fileService.uploadPostImageKeys(files, me.id());
+        log.info("게시글 이미지 업로드 완료: 업로드 수={}/{}", uploaded.keys().size(), files.size());
         
         return ResponseEntity.ok(uploaded);
     }
     
+    /**
+     * 게시글용 이미지 스트리밍 업로드 API
+     * 요청 형식은 /posts/images와 같지만(files 파트), 본문을 임시 파일로 모으지 않고
+     * 파트별로 곧바로 스토리지에 기록합니다. (MultipartConfig에서 이 경로의 multipart 사전 해석을 생략)
+     *
+     * @return 업로드된 이미지의 키 목록과 파일별 결과 (/posts/images와 동일한 형식)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping(value = MultipartConfig.STREAMING_UPLOAD_PATH, consumes = "multipart/form-data")
+    public ResponseEntity<FileDtos.UploadResponse> streamPostImages(
+            HttpServletRequest request,
+            @AuthenticationPrincipal MemberDetails me
+    ) throws IOException {
+        log.info("게시글 이미지 스트리밍 업로드 요청: 크기={}, 사용자ID={}", request.getContentLengthLong(), me.id());
+
+        // Content-Length가 있으면 본문을 읽기 전에 전체 크기 제한 검증
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0 && FilePolicy.isTotalSizeExceeded(contentLength - FileService.STREAM_OVERHEAD_BYTES)) {
+            throw new IllegalArgumentException(
+                String.format(FilePolicy.ERR_TOTAL_SIZE_EXCEEDED, FilePolicy.MAX_TOTAL_SIZE_BYTES));
+        }
+
+        FileDtos.UploadResponse uploaded = fileService.streamPostImageKeys(
+                request.getInputStream(), request.getContentType(), me.id());
+        log.info("게시글 이미지 스트리밍 업로드 완료: 업로드 수={}/{}", uploaded.keys().size(), uploaded.results().size());
+
+        return ResponseEntity.ok(uploaded);
+    }
+    
+    /**
+     * 게시글 이미지 직접 업로드 URL 발급 API (S3 저장소 사용 시)
+     * 클라이언트는 응답의 url로 method/headers를 그대로 사용해 파일을 업로드한 뒤
+     * /posts/images/confirm 을 호출해야 게시글에 사용할 수 있습니다.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/posts/images/presign")
+    public ResponseEntity<DirectUploadStorage.PresignedUpload> presignPostImage(
+            @Valid @RequestBody FileDtos.PresignRequest req,
+            @AuthenticationPrincipal MemberDetails me
+    ) {
+        log.info("게시글 이미지 직접 업로드 URL 요청: 파일명={}, 크기={}, 사용자ID={}", req.filename(), req.size(), me.id());
+        return ResponseEntity.ok(fileService.presignPostImage(me.id(), req.filename(), req.contentType(), req.size()));
+    }
+
+    /**
+     * 게시글 이미지 직접 업로드 완료 확인 API
+     * 크기와 파일 시그니처를 확인한 뒤 업로드를 등록합니다. (실패 시 업로드된 객체는 삭제)
+     *
+     * @return 등록된 이미지 키 (/posts/images 응답의 results 항목과 같은 형식)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/posts/images/confirm")
+    public ResponseEntity<FileDtos.UploadResult> confirmPostImage(
+            @Valid @RequestBody FileDtos.ConfirmRequest req,
+            @AuthenticationPrincipal MemberDetails me
+    ) {
+        log.info("게시글 이미지 직접 업로드 확인 요청: 키={}, 사용자ID={}", req.key(), me.id());
+        return ResponseEntity.ok(fileService.confirmPostImage(me.id(), req.key()));
+    }
+
     /**
      * 게시글 이미지 삭제 API
      * 이미지 키를 기준으로 이미지를 삭제합니다.
@@ -1,7 +1,7 @@
 package com.example.community.web;
 
+import com.example.community.common.ProfilingEvents;
 import com.example.community.domain.BoardType;
-import com.example.community.domain.Post;
 import com.example.community.security.MemberDetails;
 import com.example.community.service.PostService;
 import com.example.community.service.PostLikeService;
@@ -22,6 +22,11 @@ import org.springframework.web.bind.annotation.*;
 import java.net.URI;
 import java.util.Map;
 
+/**
+ * 게시글 API
+ * 요청 로그는 DEBUG, 완료 로그는 INFO 한 번만 남기고(운영에서는 SamplingTurboFilter로 샘플링),
+ * 인자를 계산하거나 박싱해야 하는 로그는 레벨 확인 후에만 만듭니다.
+ */
 @Slf4j
 @RequiredArgsConstructor
 @RestController
@@ -39,14 +44,14 @@ public class PostController {
             @AuthenticationPrincipal MemberDetails me,
             @Valid @RequestBody PostDtos.Create req
     ) {
-        log.info("게시글 생성 요청: 작성자 ID={}, 게시판 유형={}", me.id(), req.boardType());
+        log.debug("게시글 생성 요청: 작성자 ID={}, 게시판 유형={}", me.id(), req.boardType());
         
         try {
-            Post saved = postService.create(me.id(), req);
-            log.info("게시글 생성 완료: 게시글 ID={}, 제목={}", saved.getId(), saved.getTitle());
+            PostRes saved = postService.create(me.id(), req);
+            log.info("게시글 생성 완료: 게시글 ID={}, 작성자 ID={}", saved.id(), me.id());
             
-            return ResponseEntity.created(URI.create("/api/posts/" + saved.getId()))
-                    .body(PostRes.of(saved));
+            return ResponseEntity.created(URI.create("/api/posts/" + saved.id()))
+                    .body(saved);
         } catch (Exception e) {
             log.error("게시글 생성 실패: 작성자 ID={}, 오류={}", me.id(), e.getMessage());
             throw e;
@@ -55,13 +60,18 @@ public class PostController {
 
     @GetMapping
     public ResponseEntity<Page<PostRes>> list(@RequestParam(required = false) String q, Pageable pageable) {
-        log.info("게시글 목록 조회 요청: 검색어={} (제목 또는 내용)", q);
+        log.debug("게시글 목록 조회 요청: 검색어={} (제목 또는 내용)", q);
+        ProfilingEvents.PostSearch event = new ProfilingEvents.PostSearch();
+        event.begin();
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> body = postService.search(q, safePageable).map(PostRes::of);
-        log.info("게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        Page<PostRes> body = postService.search(q, safePageable);
+        searched(event, "list", q, safePageable, body);
+        if (log.isInfoEnabled()) {
+            log.info("게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        }
         
         return ResponseEntity.ok(body);
     }
@@ -73,13 +83,19 @@ public class PostController {
             @RequestParam(defaultValue = "30") long minLikes,
             Pageable pageable
     ) {
-        log.info("추천수 기반 게시글 목록 조회 요청: 검색어={} (제목 또는 내용), 최소추천수={}", q, minLikes);
+        log.debug("추천수 기반 게시글 목록 조회 요청: 검색어={} (제목 또는 내용), 최소추천수={}", q, minLikes);
+        
+        ProfilingEvents.PostSearch event = new ProfilingEvents.PostSearch();
+        event.begin();
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> body = postService.searchWithMinLikes(q, minLikes, safePageable).map(PostRes::of);
-        log.info("추천수 기반 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        Page<PostRes> body = postService.searchWithMinLikes(q, minLikes, safePageable);
+        searched(event, "minLikes", q, safePageable, body);
+        if (log.isInfoEnabled()) {
+            log.info("추천수 기반 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        }
         
         return ResponseEntity.ok(body);
     }
@@ -87,13 +103,15 @@ public class PostController {
     // 인기 게시글 (추천수 10 이상)
     @GetMapping("/popular")
     public ResponseEntity<Page<PostRes>> getPopular(Pageable pageable) {
-        log.info("인기 게시글 목록 조회 요청");
+        log.debug("인기 게시글 목록 조회 요청");
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> body = postService.getPopularPosts(safePageable).map(PostRes::of);
-        log.info("인기 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        Page<PostRes> body = postService.getPopularPosts(safePageable);
+        if (log.isInfoEnabled()) {
+            log.info("인기 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        }
         
         return ResponseEntity.ok(body);
     }
@@ -101,27 +119,35 @@ public class PostController {
     // 베스트 게시글 (추천수 30 이상)
     @GetMapping("/best")
     public ResponseEntity<Page<PostRes>> getBest(Pageable pageable) {
-        log.info("베스트 게시글 목록 조회 요청");
+        log.debug("베스트 게시글 목록 조회 요청");
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> body = postService.getBestPosts(safePageable).map(PostRes::of);
-        log.info("베스트 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        Page<PostRes> body = postService.getBestPosts(safePageable);
+        if (log.isInfoEnabled()) {
+            log.info("베스트 게시글 목록 조회 완료: 총 {}건", body.getTotalElements());
+        }
         
         return ResponseEntity.ok(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<PostRes> get(@PathVariable Long id) {
-        log.info("게시글 상세 조회 요청: 게시글 ID={}", id);
+        log.debug("게시글 상세 조회 요청: 게시글 ID={}", id);
+        ProfilingEvents.PostDetailLoad event = new ProfilingEvents.PostDetailLoad();
+        event.begin();
         
         try {
             // 조회수 증가와 함께 게시글 조회
-            Post p = postService.getAndIncrementViewCount(id);
-            log.info("게시글 상세 조회 완료: 게시글 ID={}, 제목={}", id, p.getTitle());
+            PostRes p = postService.getAndIncrementViewCount(id);
+            if (event.shouldCommit()) {
+                event.postId = id;
+                event.commit();
+            }
+            log.info("게시글 상세 조회 완료: 게시글 ID={}", id);
             
-            return ResponseEntity.ok(PostRes.of(p));
+            return ResponseEntity.ok(p);
         } catch (Exception e) {
             log.error("게시글 상세 조회 실패: 게시글 ID={}, 오류={}", id, e.getMessage());
             throw e;
@@ -144,13 +170,13 @@ public class PostController {
             @Valid @RequestBody PostDtos.Update req,
             @AuthenticationPrincipal MemberDetails me
     ) {
-        log.info("게시글 수정 요청: 게시글 ID={}, 요청자 ID={}", id, me.id());
+        log.debug("게시글 수정 요청: 게시글 ID={}, 요청자 ID={}", id, me.id());
         
         try {
-            Post updated = postService.update(id, req);
-            log.info("게시글 수정 완료: 게시글 ID={}, 제목={}", updated.getId(), updated.getTitle());
+            PostRes updated = postService.update(id, req);
+            log.info("게시글 수정 완료: 게시글 ID={}, 요청자 ID={}", updated.id(), me.id());
             
-            return ResponseEntity.ok(PostRes.of(updated));
+            return ResponseEntity.ok(updated);
         } catch (Exception e) {
             log.error("게시글 수정 실패: 게시글 ID={}, 오류={}", id, e.getMessage());
             throw e;
@@ -170,7 +196,7 @@ public class PostController {
             @PathVariable Long id,
             @AuthenticationPrincipal MemberDetails me
     ) {
-        log.info("게시글 삭제 요청: 게시글 ID={}, 요청자 ID={}", id, me.id());
+        log.debug("게시글 삭제 요청: 게시글 ID={}, 요청자 ID={}", id, me.id());
         
         try {
             postService.delete(id);
@@ -192,13 +218,22 @@ public class PostController {
             @PathVariable Long id,
             @AuthenticationPrincipal MemberDetails me
     ) {
-        log.info("게시글 좋아요 토글 요청: 게시글 ID={}, 회원 ID={}", id, me.id());
+        log.debug("게시글 좋아요 토글 요청: 게시글 ID={}, 회원 ID={}", id, me.id());
+        ProfilingEvents.LikeToggle event = new ProfilingEvents.LikeToggle();
+        event.begin();
         
         try {
             boolean liked = postLikeService.toggleLike(id, me.id());
+            if (event.shouldCommit()) {
+                event.postId = id;
+                event.liked = liked;
+                event.commit();
+            }
             long likeCount = postLikeService.getLikeCount(id);
             
-            log.info("게시글 좋아요 토글 완료: 게시글 ID={}, 좋아요 상태={}, 좋아요 수={}", id, liked, likeCount);
+            if (log.isInfoEnabled()) {
+                log.info("게시글 좋아요 토글 완료: 게시글 ID={}, 좋아요 상태={}, 좋아요 수={}", id, liked, likeCount);
+            }
             
             return ResponseEntity.ok(Map.of(
                     "liked", liked,
@@ -215,12 +250,14 @@ public class PostController {
             @PathVariable Long id,
             @AuthenticationPrincipal MemberDetails me
     ) {
-        log.info("게시글 좋아요 상태 조회 요청: 게시글 ID={}, 회원 ID={}", id, me != null ? me.id() : null);
+        log.debug("게시글 좋아요 상태 조회 요청: 게시글 ID={}, 회원 ID={}", id, me != null ? me.id() : null);
         
         long likeCount = postLikeService.getLikeCount(id);
         boolean liked = me != null && postLikeService.isLikedByMember(id, me.id());
         
-        log.info("게시글 좋아요 상태 조회 완료: 게시글 ID={}, 좋아요 상태={}, 좋아요 수={}", id, liked, likeCount);
+        if (log.isDebugEnabled()) {
+            log.debug("게시글 좋아요 상태 조회 완료: 게시글 ID={}, 좋아요 상태={}, 좋아요 수={}", id, liked, likeCount);
+        }
         
         return ResponseEntity.ok(Map.of(
                 "liked", liked,
@@ -237,15 +274,16 @@ public class PostController {
             @RequestParam(defaultValue = "7") int days,
             Pageable pageable
     ) {
-        log.info("최근 {}일 내 추천순 게시글 조회 요청", days);
+        log.debug("최근 {}일 내 추천순 게시글 조회 요청", days);
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> posts = postService.getRecentRecommended(days, safePageable)
-                .map(PostRes::of);
+        Page<PostRes> posts = postService.getRecentRecommended(days, safePageable);
         
-        log.info("최근 {}일 내 추천순 게시글 조회 완료: 총 {}건", days, posts.getTotalElements());
+        if (log.isInfoEnabled()) {
+            log.info("최근 {}일 내 추천순 게시글 조회 완료: 총 {}건", days, posts.getTotalElements());
+        }
         
         return ResponseEntity.ok(posts);
     }
@@ -260,16 +298,35 @@ public class PostController {
             @RequestParam(required = false) String q,
             Pageable pageable
     ) {
-        log.info("게시판 타입별 게시글 목록 조회 요청: 게시판 타입={}, 검색어={} (제목 또는 내용)", boardType, q);
+        log.debug("게시판 타입별 게시글 목록 조회 요청: 게시판 타입={}, 검색어={} (제목 또는 내용)", boardType, q);
+        
+        ProfilingEvents.PostSearch event = new ProfilingEvents.PostSearch();
+        event.begin();
         
         // 안전한 정렬 적용
         Pageable safePageable = PageableUtil.getSafePostPageable(pageable);
         
-        Page<PostRes> posts = postService.searchByBoardType(boardType, q, safePageable)
-                .map(PostRes::of);
+        Page<PostRes> posts = postService.searchByBoardType(boardType, q, safePageable);
+        searched(event, "board", q, safePageable, posts);
         
-        log.info("게시판 타입별 게시글 목록 조회 완료: 게시판 타입={}, 총 {}건", boardType, posts.getTotalElements());
+        if (log.isInfoEnabled()) {
+            log.info("게시판 타입별 게시글 목록 조회 완료: 게시판 타입={}, 총 {}건", boardType, posts.getTotalElements());
+        }
         
         return ResponseEntity.ok(posts);
     }
+
+    /**
+     * 목록/검색 JFR 이벤트 기록 (녹화 중이 아니면 아무 일도 하지 않음)
+     */
+    private static void searched(ProfilingEvents.PostSearch event, String kind, String q, Pageable pageable,
+                                 Page<PostRes> result) {
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.queryLength = q != null ? q.length() : 0;
+            event.pageSize = pageable.getPageSize();
+            event.resultCount = result.getTotalElements();
+            event.commit();
+        }
+    }
 }
@@ -4,7 +4,11 @@ import com.example.community.domain.PostImage;
 
 public record PostImageRes(
     String fileKey,
-    String url
+    String url,
+    String thumbnailUrl,  // 파생본이 아직 없으면 원본 URL
+    String mediumUrl,     // 파생본이 아직 없으면 원본 URL
+    Integer width,        // 원본 크기 (레이아웃 공간 확보용, 알 수 없으면 null)
+    Integer height
 ) {
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PostImageRes.class);
     
@@ -17,7 +21,11 @@ public record PostImageRes(
         try {
             return new PostImageRes(
                 image.getFileKey(),
-                image.getUrl()
+                image.getUrl(),
+                image.getThumbnailUrl() != null ? image.getThumbnailUrl() : image.getUrl(),
+                image.getMediumUrl() != null ? image.getMediumUrl() : image.getUrl(),
+                image.getWidth(),
+                image.getHeight()
             );
         } catch (Exception e) {
             log.error("이미지 변환 오류: {}", e.getMessage());
@@ -2,49 +2,41 @@ package com.example.community.web.dto;
 
 import com.example.community.domain.BoardType;
 import com.example.community.domain.Post;
+import com.example.community.domain.PostImage;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 public record PostRes(
-        Long id, 
-        String title, 
-        String content, 
-        MemberRes author, 
-        long viewCount, 
-        long likeCount, 
-        BoardType boardType, 
+        Long id,
+        String title,
+        String content,
+        MemberRes author,
+        long viewCount,
+        long likeCount,
+        BoardType boardType,
         String boardTypeDescription,
         List<PostImageRes> images,
         LocalDateTime createdAt
 ) {
-    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PostRes.class);
-    
+    /**
+     * 게시글 엔티티로부터 응답 DTO 생성 (작성자와 이미지가 로드된 상태에서 트랜잭션 안에서 호출)
+     */
     public static PostRes of(Post p) {
-        List<PostImageRes> imageList = new ArrayList<>();
-        try {
-            if (p.getImages() != null && !p.getImages().isEmpty()) {
-                imageList = p.getImages().stream()
-                    .map(img -> {
-                        try {
-                            return PostImageRes.of(img);
-                        } catch (Exception e) {
-                            // 개별 이미지 변환 중 오류 발생 시 로깅하고 해당 이미지는 건너뜀
-                            log.warn("이미지 변환 오류 (게시글 ID={}): {}", p.getId(), e.getMessage());
-                            return null;
-                        }
-                    })
-                    .filter(img -> img != null)
-                    .collect(Collectors.toList());
-            }
-        } catch (Exception e) {
-            // 이미지 목록 처리 중 예외 발생 시 빈 목록 사용
-            log.error("이미지 목록 처리 중 오류 (게시글 ID={}): {}", p.getId(), e.getMessage());
-            imageList = new ArrayList<>();
-        }
-        
+        return of(p, p.getImages());
+    }
+
+    /**
+     * 별도로 조회한 이미지 목록으로 응답 DTO 생성 (목록 조회에서 이미지를 일괄 조회한 경우)
+     * 지연 로딩 예외는 삼키지 않고 그대로 전파합니다. (빈 이미지 목록으로 응답하면 누락을 알아챌 수 없음)
+     */
+    public static PostRes of(Post p, List<PostImage> images) {
+        List<PostImageRes> imageList = images == null ? List.of() : images.stream()
+                .map(PostImageRes::of)
+                .filter(Objects::nonNull)
+                .toList();
+
         return new PostRes(
                 p.getId(),
                 p.getTitle(),
@@ -58,4 +50,4 @@ public record PostRes(
                 p.getCreatedAt()
         );
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,16 @@
 package com.example.community.web.exception;
 
 import com.example.community.service.exception.AccessDeniedException;
+import com.example.community.service.exception.DatabaseBusyException;
 import com.example.community.service.exception.EntityNotFoundException;
 import com.example.community.service.exception.TokenReuseDetectedException;
 import com.example.community.service.exception.WithdrawalException;
 import com.example.community.storage.StorageException;
+import com.example.community.storage.UploadRejectedException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -119,6 +122,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
     }
     
+    /**
+     * 업로드 정책 위반 예외 처리 (스트리밍 저장 중 크기 초과/시그니처 불일치)
+     * 크기 초과는 413, 그 외는 400을 반환합니다.
+     */
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadRejected(UploadRejectedException e) {
+        HttpStatus status = e.getReason() == UploadRejectedException.Reason.TOO_LARGE
+                ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.BAD_REQUEST;
+        Map<String, Object> body = base(status, "upload_rejected");
+        body.put("message", e.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
     /**
      * 스토리지 관련 예외 처리
      */
@@ -161,6 +177,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * DB 동시성 제한 초과 예외 처리
+     * 커넥션 풀 대기 시간 초과까지 기다리지 않고 바로 503을 반환하며, 클라이언트는 Retry-After 이후 재시도합니다.
+     */
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleDatabaseBusy(DatabaseBusyException e) {
+        Map<String, Object> body = base(HttpStatus.SERVICE_UNAVAILABLE, "database_busy");
+        body.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     /**
      * 데이터 무결성 위반 예외 처리
      * 보통 고유 제약 조건 위반이나 외래 키 제약 조건 위반 시 발생
@@ -0,0 +1,17 @@
+-- V12__add_blobs.sql
+-- 내용 주소 기반(SHA-256) 중복 제거 저장소용 blob 테이블
+-- ref_count: 이 blob을 가리키는 파일 키 수 (0이 되면 blob 파일과 행을 삭제)
+
+CREATE TABLE blobs (
+    hash CHAR(64) NOT NULL PRIMARY KEY,
+    size BIGINT NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    ref_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL
+);
+
+-- 게시글 이미지가 가리키는 blob (기존 로컬 저장소 파일은 NULL)
+-- 참조 카운트 감소가 별도 트랜잭션에서 일어나므로 FK 대신 인덱스만 둠
+ALTER TABLE post_images ADD blob_hash CHAR(64) NULL;
+CREATE INDEX idx_post_images_blob ON post_images (blob_hash);
@@ -0,0 +1,22 @@
+-- V13__add_derivative_jobs.sql
+-- 이미지 파생본(썸네일/중간 크기) 생성 작업 큐와 게시글 이미지의 파생본 URL
+
+CREATE TABLE derivative_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source_key VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    thumbnail_key VARCHAR(255) NULL,
+    medium_key VARCHAR(255) NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+
+    CONSTRAINT uk_derivative_jobs_source UNIQUE (source_key),
+    INDEX idx_derivative_jobs_status_next (status, next_attempt_at)
+);
+
+-- 파생본이 준비되기 전에는 NULL (응답에서는 원본 URL로 대체)
+ALTER TABLE post_images ADD thumbnail_url VARCHAR(255) NULL;
+ALTER TABLE post_images ADD medium_url VARCHAR(255) NULL;
@@ -0,0 +1,28 @@
+-- V14__add_uploads.sql
+-- 업로드 시점에 기록하는 파일 메타데이터 (게시글 작성 시 스토리지 조회 대신 사용)
+
+CREATE TABLE uploads (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_key VARCHAR(255) NOT NULL,
+    owner_id BIGINT NOT NULL,
+    original_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size BIGINT NOT NULL,
+    width INT NULL,
+    height INT NULL,
+    blob_hash CHAR(64) NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+
+    CONSTRAINT uk_uploads_file_key UNIQUE (file_key),
+    INDEX idx_uploads_status_created (status, created_at)
+);
+
+-- 이미 게시글에 연결된 이미지는 ATTACHED로 등록 (게시글 수정 시 기존 키 재사용 대비)
+INSERT INTO uploads (file_key, owner_id, original_name, content_type, size, blob_hash, status, created_at, updated_at)
+SELECT pi.file_key, MIN(p.author_id), MIN(pi.original_name), MIN(pi.content_type), MAX(pi.size),
+       MIN(pi.blob_hash), 'ATTACHED', MIN(pi.created_at), NOW(6)
+FROM post_images pi
+JOIN posts p ON p.id = pi.post_id
+GROUP BY pi.file_key;
@@ -0,0 +1,11 @@
+-- V15__add_storage_migrations.sql
+-- 저장소 디렉토리 구조 변경 등 장시간 마이그레이션의 진행 지점 (중단 후 재시작 시 이어서 진행)
+
+CREATE TABLE storage_migrations (
+    name VARCHAR(100) NOT NULL PRIMARY KEY,
+    last_id BIGINT NOT NULL,
+    migrated BIGINT NOT NULL,
+    completed_at DATETIME(6) NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL
+);
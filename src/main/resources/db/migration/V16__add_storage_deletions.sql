@@ -0,0 +1,17 @@
+-- V16__add_storage_deletions.sql
+-- 게시글/이미지 삭제 트랜잭션에서 기록하는 파일 삭제 아웃박스 (커밋 후 백그라운드 워커가 처리)
+
+CREATE TABLE storage_deletions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    file_key VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36) NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+
+    INDEX idx_storage_deletions_status_next (status, next_attempt_at),
+    INDEX idx_storage_deletions_claim (claim_token)
+);
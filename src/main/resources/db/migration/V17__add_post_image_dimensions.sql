@@ -0,0 +1,11 @@
+-- V17__add_post_image_dimensions.sql
+-- 게시글 이미지의 원본 크기 (클라이언트가 이미지 로딩 전에 레이아웃 공간을 확보할 수 있도록)
+
+ALTER TABLE post_images ADD width INT NULL;
+ALTER TABLE post_images ADD height INT NULL;
+
+-- 업로드 기록에 크기가 있는 이미지는 그대로 복사 (기존 이미지는 알 수 없으므로 NULL 유지)
+UPDATE post_images pi
+JOIN uploads u ON u.file_key = pi.file_key
+SET pi.width = u.width, pi.height = u.height
+WHERE u.width IS NOT NULL;
@@ -0,0 +1,85 @@
+package com.example.community.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionHoldTimeDataSourceTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final DataSource target = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private ConnectionHoldTimeDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        ObjectProvider<MeterRegistry> registry =
+                new StaticListableBeanFactory(Map.of("meterRegistry", meters))
+                        .getBeanProvider(MeterRegistry.class);
+        dataSource = new ConnectionHoldTimeDataSource(target, registry, Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("커넥션을 요청한 메서드 이름으로 점유 시간을 한 번만 기록")
+    void records_hold_time_once_per_connection() throws Exception {
+        borrowAndClose();
+
+        Timer timer = meters.find(ConnectionHoldTimeDataSource.METRIC_NAME)
+                .tag("method", "ConnectionHoldTimeDataSourceTest.borrowAndClose").tag("pool", "primary").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        verify(connection, times(2)).close(); // 두 번째 close도 위임하되 기록은 하지 않음
+    }
+
+    @Test
+    @DisplayName("람다 안에서 빌린 커넥션은 람다를 감싼 메서드로 집계")
+    void lambda_frames_are_attributed_to_enclosing_method() throws Exception {
+        Runnable borrow = () -> {
+            try (Connection c = dataSource.getConnection()) {
+                c.isValid(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        borrow.run();
+
+        assertThat(meters.find(ConnectionHoldTimeDataSource.METRIC_NAME)
+                .tag("method", "ConnectionHoldTimeDataSourceTest.lambda_frames_are_attributed_to_enclosing_method")
+                .timer()).isNotNull();
+        verify(connection).isValid(1);
+    }
+
+    @Test
+    @DisplayName("프록시 커넥션은 자기 자신과만 같음")
+    void proxy_uses_identity_equality() throws Exception {
+        Connection a = dataSource.getConnection();
+        Connection b = dataSource.getConnection();
+
+        assertThat(a).isEqualTo(a).isNotEqualTo(b);
+        assertThat(a.hashCode()).isEqualTo(System.identityHashCode(a));
+    }
+
+    private void borrowAndClose() throws SQLException {
+        Connection c = dataSource.getConnection();
+        c.close();
+        c.close();
+    }
+}
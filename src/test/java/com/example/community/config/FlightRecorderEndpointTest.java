@@ -0,0 +1,98 @@
+package com.example.community.config;
+
+import com.example.community.common.ProfilingEvents;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    Path dir;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @AfterEach
+    void tearDown() {
+        endpoint.control("stop", null, null, null); // 실패한 테스트가 녹화를 남기지 않도록
+    }
+
+    @Test
+    @DisplayName("녹화를 시작/중지하고 덤프하면 애플리케이션 JFR 이벤트가 포함됨")
+    void records_application_events() throws Exception {
+        endpoint = new FlightRecorderEndpoint(dir);
+
+        WebEndpointResponse<Map<String, Object>> started = endpoint.control("start", "default", Duration.ofMinutes(1), null);
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(started.getBody()).containsEntry("state", "RUNNING");
+        assertThat(endpoint.control("start", null, null, null).getStatus()).isEqualTo(409);
+
+        ProfilingEvents.PostSearch event = new ProfilingEvents.PostSearch();
+        event.begin();
+        event.kind = "list";
+        event.queryLength = 5;
+        event.resultCount = 42;
+        event.commit();
+
+        assertThat(endpoint.control("stop", null, null, null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        WebEndpointResponse<Resource> dump = endpoint.dump("dump");
+        assertThat(dump.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump.getBody().getFile().toPath());
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("community.PostSearch"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getString("kind")).isEqualTo("list");
+                    assertThat(e.getLong("resultCount")).isEqualTo(42);
+                });
+    }
+
+    @Test
+    @DisplayName("덤프마다 다른 파일에 기록하여 앞선 응답을 덮어쓰지 않고, 응답을 다 읽으면 삭제")
+    void each_dump_gets_its_own_file() throws Exception {
+        endpoint = new FlightRecorderEndpoint(dir);
+        endpoint.control("start", "default", Duration.ofMinutes(1), null);
+
+        Resource first = endpoint.dump("dump").getBody();
+        Path firstFile = first.getFile().toPath();
+        long firstSize = Files.size(firstFile);
+        try (InputStream in = first.getInputStream()) {
+            in.readNBytes(16); // 첫 응답을 쓰는 도중에 두 번째 덤프 요청
+            Resource second = endpoint.dump("dump").getBody();
+
+            assertThat(second.getFile().toPath()).isNotEqualTo(firstFile);
+            assertThat(16 + in.readAllBytes().length).isEqualTo(firstSize);
+            try (InputStream secondIn = second.getInputStream()) {
+                secondIn.readAllBytes();
+            }
+            assertThat(second.getFile()).doesNotExist();
+        }
+        assertThat(firstFile).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("녹화가 없으면 덤프/중지는 404, 알 수 없는 동작은 400")
+    void rejects_without_recording() {
+        endpoint = new FlightRecorderEndpoint(dir);
+
+        assertThat(endpoint.status()).containsEntry("state", "NONE");
+        assertThat(endpoint.dump("dump").getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.control("stop", null, null, null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+        assertThat(endpoint.control("restart", null, null, null).getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.community.config;
+
+import com.example.community.service.exception.DatabaseBusyException;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GovernedTransactionManagerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DbConcurrencyGovernor governor = new DbConcurrencyGovernor(1, Duration.ofMillis(100), registry);
+    private final GovernedTransactionManager tm = new GovernedTransactionManager(
+            new DataSourceTransactionManager(new DriverManagerDataSource("jdbc:h2:mem:governor;DB_CLOSE_DELAY=-1")),
+            governor);
+
+    @Test
+    @DisplayName("안쪽 트랜잭션(REQUIRED 참여, REQUIRES_NEW)은 허가를 다시 받지 않고, 바깥 트랜잭션이 끝나면 반납")
+    void only_outermost_transaction_takes_permit() {
+        TransactionTemplate outer = new TransactionTemplate(tm);
+        TransactionTemplate requiresNew = new TransactionTemplate(tm);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(s -> {
+            assertThat(active()).isEqualTo(1);
+            outer.executeWithoutResult(inner -> assertThat(active()).isEqualTo(1));
+            requiresNew.executeWithoutResult(inner -> assertThat(active()).isEqualTo(1));
+        });
+
+        assertThat(active()).isZero();
+        assertThat(registry.get("db.governor.wait").tag("outcome", "admitted").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("롤백이나 실제 트랜잭션이 없는 전파에서도 허가를 반납")
+    void releases_on_rollback_and_non_transactional() {
+        assertThatThrownBy(() -> new TransactionTemplate(tm).executeWithoutResult(s -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(active()).isZero();
+
+        DefaultTransactionDefinition supports = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_SUPPORTS);
+        TransactionStatus status = tm.getTransaction(supports);
+        assertThat(active()).isZero();
+        tm.commit(status);
+        assertThat(active()).isZero();
+    }
+
+    @Test
+    @DisplayName("허가가 모두 사용 중이면 max-wait 후 DatabaseBusyException으로 거절")
+    void rejects_after_max_wait() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(tm).executeWithoutResult(s -> {
+                    holding.countDown();
+                    await(done);
+                }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> new TransactionTemplate(tm).executeWithoutResult(s -> {
+        })).isInstanceOf(DatabaseBusyException.class);
+        assertThat(registry.get("db.governor.wait").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+
+        done.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(active()).isZero();
+    }
+
+    @Test
+    @DisplayName("허가 수 기본값은 풀 크기에서 여유분을 뺀 값 (최소 1), 직접 지정하면 그 값")
+    void permits_leave_headroom() {
+        assertThat(VirtualThreadConfig.permits(0, 10, 2)).isEqualTo(8);
+        assertThat(VirtualThreadConfig.permits(0, 2, 5)).isEqualTo(1);
+        assertThat(VirtualThreadConfig.permits(12, 10, 2)).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("REQUIRES_NEW는 허가 없이 두 번째 커넥션을 쓰므로 여유분이 있어야 허가 보유자가 모두 진행")
+    void requires_new_uses_headroom_connections() throws Exception {
+        // 풀 4, 여유분 2 → 허가 2: 두 트랜잭션이 동시에 REQUIRES_NEW에 들어가도 커넥션 4개로 충분
+        try (HikariDataSource pool = pool("governor-headroom", 4)) {
+            DbConcurrencyGovernor governor = new DbConcurrencyGovernor(VirtualThreadConfig.permits(0, 4, 2),
+                    Duration.ofSeconds(5), new SimpleMeterRegistry());
+            GovernedTransactionManager governed =
+                    new GovernedTransactionManager(new DataSourceTransactionManager(pool), governor);
+            CyclicBarrier insideRequiresNew = new CyclicBarrier(2);
+
+            List<Throwable> failures = runConcurrentlyWithRequiresNew(governed, 2, () -> {
+                insideRequiresNew.await(5, TimeUnit.SECONDS); // 두 트랜잭션이 동시에 두 번째 커넥션을 쥔 상태
+                assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isEqualTo(4);
+                return null;
+            });
+
+            assertThat(failures).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("여유분 없이 허가 수를 풀 크기와 같게 두면 REQUIRES_NEW가 커넥션을 얻지 못함")
+    void requires_new_without_headroom_exhausts_pool() throws Exception {
+        try (HikariDataSource pool = pool("governor-no-headroom", 2)) {
+            DbConcurrencyGovernor governor = new DbConcurrencyGovernor(VirtualThreadConfig.permits(0, 2, 0),
+                    Duration.ofSeconds(5), new SimpleMeterRegistry());
+            GovernedTransactionManager governed =
+                    new GovernedTransactionManager(new DataSourceTransactionManager(pool), governor);
+
+            List<Throwable> failures = runConcurrentlyWithRequiresNew(governed, 2, () -> null);
+
+            assertThat(failures).isNotEmpty()
+                    .allMatch(CannotCreateTransactionException.class::isInstance);
+        }
+    }
+
+    @Test
+    @DisplayName("읽기 복제본이 있으면 읽기 전용 트랜잭션은 복제본 허가, 쓰기 트랜잭션은 주 DB 허가")
+    void read_only_transactions_take_replica_permits() {
+        Lanes lanes = lanes("governor-lanes");
+        TransactionTemplate readOnly = new TransactionTemplate(lanes.tm());
+        readOnly.setReadOnly(true);
+
+        assertThat(readOnly.execute(s -> {
+            assertThat(lanes.active("primary")).isZero();
+            assertThat(lanes.active("replica")).isEqualTo(1);
+            return lanes.node();
+        })).isEqualTo("replica");
+        assertThat(new TransactionTemplate(lanes.tm()).execute(s -> {
+            assertThat(lanes.active("primary")).isEqualTo(1);
+            assertThat(lanes.active("replica")).isZero();
+            return lanes.node();
+        })).isEqualTo("primary");
+
+        assertThat(lanes.active("primary")).isZero();
+        assertThat(lanes.active("replica")).isZero();
+    }
+
+    @Test
+    @DisplayName("복제본 커넥션을 얻지 못하면 주 DB 허가로 바꾼 뒤 주 DB에서 읽음")
+    void replica_failure_moves_to_primary_permit() {
+        Lanes lanes = lanes("governor-lane-fallback");
+        TransactionTemplate readOnly = new TransactionTemplate(lanes.tm());
+        readOnly.setReadOnly(true);
+        lanes.replicaDown().set(true);
+
+        assertThat(readOnly.execute(s -> {
+            String node = lanes.node();
+            assertThat(lanes.active("primary")).isEqualTo(1);
+            assertThat(lanes.active("replica")).isZero();
+            return node;
+        })).isEqualTo("primary");
+
+        assertThat(lanes.active("primary")).isZero();
+    }
+
+    @Test
+    @DisplayName("복제본 커넥션을 얻지 못했는데 주 DB 허가도 없으면 주 DB 풀을 넘겨 읽지 않고 DatabaseBusyException")
+    void replica_failure_without_primary_permit_is_rejected() {
+        Lanes lanes = lanes("governor-lane-busy");
+        TransactionTemplate readOnly = new TransactionTemplate(lanes.tm());
+        readOnly.setReadOnly(true);
+        lanes.replicaDown().set(true);
+
+        lanes.primary().acquire(); // 주 DB 허가를 모두 사용 중
+        try {
+            assertThatThrownBy(() -> readOnly.execute(s -> lanes.node())).isInstanceOf(DatabaseBusyException.class);
+            assertThat(lanes.active("replica")).isZero();
+        } finally {
+            lanes.primary().release();
+        }
+    }
+
+    /**
+     * 주 DB와 복제본을 서로 다른 H2 DB로 두고 각각 허가 1개 (node 테이블에 어느 쪽인지 기록)
+     */
+    private static Lanes lanes(String name) {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DataSource primary = node(name + "-primary", "primary");
+        AtomicBoolean replicaDown = new AtomicBoolean();
+        DataSource replicaPool = new DelegatingDataSource(node(name + "-replica", "replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown.get()) {
+                    throw new SQLException("replica down");
+                }
+                return super.getConnection();
+            }
+        };
+        ReadReplica replica = new ReadReplica(replicaPool, "SELECT 0", Duration.ofSeconds(2),
+                Duration.ofMinutes(10), registry);
+        replica.check();
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicaPool, replica, registry);
+        DbConcurrencyGovernor primaryGovernor =
+                new DbConcurrencyGovernor("primary", 1, Duration.ofMillis(100), registry);
+        DbConcurrencyGovernor replicaGovernor =
+                new DbConcurrencyGovernor("replica", 1, Duration.ofMillis(100), registry);
+        GovernedTransactionManager governed = new GovernedTransactionManager(
+                new DataSourceTransactionManager(routing), primaryGovernor, replicaGovernor, routing);
+        return new Lanes(governed, new JdbcTemplate(routing), primaryGovernor, replicaDown, registry);
+    }
+
+    private static DataSource node(String database, String node) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private record Lanes(GovernedTransactionManager tm, JdbcTemplate jdbc, DbConcurrencyGovernor primary,
+                         AtomicBoolean replicaDown, SimpleMeterRegistry registry) {
+
+        String node() {
+            return jdbc.queryForObject("SELECT name FROM node", String.class);
+        }
+
+        double active(String pool) {
+            return registry.get("db.governor.active").tag("pool", pool).gauge().value();
+        }
+    }
+
+    /**
+     * 허가를 받은 바깥 트랜잭션 n개가 모두 커넥션을 쥔 뒤 각자 REQUIRES_NEW 트랜잭션에서 inner 실행
+     * @return 실패한 트랜잭션의 예외
+     */
+    private static List<Throwable> runConcurrentlyWithRequiresNew(GovernedTransactionManager governed, int n,
+                                                                  Callable<?> inner) throws Exception {
+        TransactionTemplate outer = new TransactionTemplate(governed);
+        TransactionTemplate requiresNew = new TransactionTemplate(governed);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CyclicBarrier allAdmitted = new CyclicBarrier(n);
+
+        List<Throwable> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Throwable>> results = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        outer.executeWithoutResult(s -> {
+                            try {
+                                allAdmitted.await(5, TimeUnit.SECONDS);
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                            requiresNew.execute(innerStatus -> {
+                                try {
+                                    return inner.call();
+                                } catch (Exception e) {
+                                    throw new IllegalStateException(e);
+                                }
+                            });
+                        });
+                        return null;
+                    } catch (Throwable t) {
+                        return t;
+                    }
+                }, executor));
+            }
+            for (CompletableFuture<Throwable> result : results) {
+                Throwable failure = result.get(10, TimeUnit.SECONDS);
+                if (failure != null) {
+                    failures.add(failure);
+                }
+            }
+        }
+        return failures;
+    }
+
+    private static HikariDataSource pool(String name, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(size);
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+
+    private double active() {
+        return registry.get("db.governor.active").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.community.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 본문에서 실행되는 SQL 문장 수 상한 (@BeforeEach/@AfterEach의 준비/정리 쿼리는 제외)
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;MaxQueries(3)
+ * void list_has_no_n_plus_one() throws Exception {
+ *     mockMvc.perform(get("/api/posts"));
+ * }
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface MaxQueries {
+
+    int value();
+}
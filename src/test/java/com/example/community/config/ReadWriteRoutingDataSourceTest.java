@@ -0,0 +1,181 @@
+package com.example.community.config;
+
+import com.example.community.domain.Member;
+import com.example.community.repository.MemberRepository;
+import com.example.community.service.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 주 DB와 복제본을 서로 다른 H2 인메모리 DB로 두고, JpaConfig 계측 체인과 JpaTransactionManager(Hibernate)를 거쳐
+ * 어느 쪽에서 읽었는지 확인
+ *
+ * 복제는 주 DB의 SCRIPT 결과를 복제본에 그대로 실행하는 것으로 흉내내며, 그 뒤 주 DB에만 쓴 변경은 복제 지연에 해당합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "ALLOWED_ORIGINS=http://localhost:3000",
+        "spring.datasource.url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "app.datasource.replica.lag-query=SELECT lag_seconds FROM replica_status",
+        "app.datasource.replica.check-interval-ms=600000"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate primaryAdmin = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replicaAdmin = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired private MemberRepository members;
+    @Autowired private CustomUserDetailsService userDetails;
+    @Autowired private ReadReplica replica;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        readWrite.executeWithoutResult(s -> members.save(member("reader@example.com", "original")));
+        replicate(0);
+        // 복제 이후 주 DB에만 반영된 변경
+        readWrite.executeWithoutResult(s -> members.findByEmail("reader@example.com").orElseThrow()
+                .updateUsername("renamed"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesTracker.clear();
+        readWrite.executeWithoutResult(s -> members.deleteAll());
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본, 쓰기 트랜잭션과 그 안에 참여한 읽기는 주 DB")
+    void routes_read_only_transactions_to_replica() {
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("original");
+        assertThat(readWrite.execute(s -> username("reader@example.com"))).isEqualTo("renamed");
+        assertThat(readWrite.execute(s -> readOnly.execute(inner -> username("reader@example.com"))))
+                .isEqualTo("renamed");
+    }
+
+    @Test
+    @DisplayName("인증 정보 조회는 주 DB (가입 직후 로그인, 탈퇴가 바로 반영)")
+    void authentication_reads_primary() {
+        readWrite.executeWithoutResult(s -> members.save(member("new@example.com", "newbie")));
+        assertThat(readOnly.execute(s -> members.findByEmail("new@example.com"))).isEmpty(); // 복제본에는 아직 없음
+
+        assertThat(userDetails.loadUserByUsername("new@example.com").getUsername()).isEqualTo("new@example.com");
+
+        readWrite.executeWithoutResult(s -> members.findByEmail("reader@example.com").orElseThrow().withdraw());
+        assertThatThrownBy(() -> userDetails.loadUserByUsername("reader@example.com"))
+                .isInstanceOf(DisabledException.class);
+    }
+
+    @Test
+    @DisplayName("복제 지연이 max-lag를 넘거나 복제가 중단되면 주 DB에서 읽고, 회복되면 다시 복제본")
+    void falls_back_to_primary_when_lagging() {
+        replicaAdmin.update("UPDATE replica_status SET lag_seconds = 5");
+        replica.check();
+        assertThat(replica.isAvailable()).isFalse();
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("renamed");
+
+        replicaAdmin.update("UPDATE replica_status SET lag_seconds = NULL");
+        replica.check();
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("renamed");
+
+        replicaAdmin.update("UPDATE replica_status SET lag_seconds = 1");
+        replica.check();
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("original");
+    }
+
+    @Test
+    @DisplayName("지연 확인이 실패하면 주 DB에서 읽음")
+    void falls_back_to_primary_when_check_fails() {
+        replicaAdmin.execute("DROP TABLE replica_status");
+        replica.check();
+
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("renamed");
+    }
+
+    @Test
+    @DisplayName("최근에 쓴 회원의 요청은 읽기 전용 트랜잭션도 주 DB")
+    void pinned_requests_read_from_primary() {
+        ReadYourWritesTracker.pinToPrimary();
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("renamed");
+
+        ReadYourWritesTracker.clear();
+        assertThat(readOnly.execute(s -> username("reader@example.com"))).isEqualTo("original");
+    }
+
+    @Test
+    @DisplayName("쓰기 기록은 기한 동안만 유지")
+    void read_your_writes_window() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        tracker.recordWrite(1L);
+        assertThat(tracker.isRecentWriter(1L)).isTrue();
+        assertThat(tracker.isRecentWriter(2L)).isFalse();
+
+        ReadYourWritesTracker expired = new ReadYourWritesTracker(Duration.ZERO);
+        expired.recordWrite(1L);
+        expired.recordWrite(2L);
+        assertThat(expired.isRecentWriter(1L)).isFalse();
+        expired.evictExpired();
+        assertThat(expired.size()).isZero();
+    }
+
+    private String username(String email) {
+        return members.findByEmail(email).map(Member::getUsername).orElse(null);
+    }
+
+    /**
+     * 주 DB의 현재 스키마와 데이터를 복제본에 복사하고 복제 지연을 기록
+     */
+    private void replicate(int lagSeconds) {
+        replicaAdmin.execute("DROP ALL OBJECTS");
+        for (String statement : primaryAdmin.queryForList("SCRIPT", String.class)) {
+            if (!statement.startsWith("--")) {
+                replicaAdmin.execute(statement);
+            }
+        }
+        replicaAdmin.execute("CREATE TABLE replica_status (lag_seconds INT)");
+        replicaAdmin.update("INSERT INTO replica_status VALUES (?)", lagSeconds);
+        replica.check();
+        assertThat(replica.isAvailable()).isTrue();
+    }
+
+    private static Member member(String email, String username) {
+        return Member.builder()
+                .email(email)
+                .username(username)
+                .password("password")
+                .roles(Set.of("ROLE_USER"))
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.community.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger web = context.getLogger("com.example.community.web.PostController");
+    private final Logger service = context.getLogger("com.example.community.service.PostService");
+    private final Logger storage = context.getLogger("com.example.community.storage.LocalStorageService");
+    private final SamplingTurboFilter filter = new SamplingTurboFilter();
+
+    @AfterEach
+    void tearDown() {
+        SamplingTurboFilter.endRequest();
+    }
+
+    @Test
+    @DisplayName("요청 안의 INFO 로그는 카테고리 비율만큼만 남고, 같은 요청 안에서는 판정이 일정함")
+    void samples_info_per_request() {
+        filter.setCategories("com.example.community.web=0.1, com.example.community=0.5");
+
+        int kept = 0;
+        int requests = 20_000;
+        for (int i = 0; i < requests; i++) {
+            SamplingTurboFilter.beginRequest();
+            FilterReply first = decide(web, Level.INFO, null);
+            assertThat(decide(web, Level.INFO, null)).isEqualTo(first);
+            if (first == FilterReply.NEUTRAL) {
+                kept++;
+                // 더 낮은 비율의 카테고리에서 남은 요청은 상위 카테고리에서도 남음
+                assertThat(decide(service, Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+            }
+            SamplingTurboFilter.endRequest();
+        }
+        assertThat(kept / (double) requests).isBetween(0.08, 0.12);
+    }
+
+    @Test
+    @DisplayName("WARN 이상, 예외가 붙은 로그, 요청 밖의 로그, 일치하지 않는 카테고리는 항상 기록")
+    void keeps_errors_and_unmatched() {
+        filter.setCategories("com.example.community.web=0");
+
+        assertThat(decide(web, Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+
+        SamplingTurboFilter.beginRequest();
+        assertThat(decide(web, Level.INFO, null)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(web, Level.DEBUG, null)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(web, Level.WARN, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(web, Level.ERROR, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(web, Level.INFO, new IllegalStateException())).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(storage, Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("접두사는 패키지 경계에서만 일치")
+    void matches_on_package_boundary() {
+        filter.setCategories("com.example.community.web=0");
+        Logger lookalike = context.getLogger("com.example.community.webhook.Sender");
+
+        SamplingTurboFilter.beginRequest();
+        assertThat(decide(lookalike, Level.INFO, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    @DisplayName("형식이 잘못되었거나 비율이 0~1을 벗어나면 설정 오류")
+    void rejects_invalid_categories() {
+        assertThatThrownBy(() -> filter.setCategories("com.example.community.web"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> filter.setCategories("com.example.community.web=1.5"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private FilterReply decide(Logger logger, Level level, Throwable t) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{1}, t);
+    }
+}
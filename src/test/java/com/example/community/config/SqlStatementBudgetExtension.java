@@ -0,0 +1,53 @@
+package com.example.community.config;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * {@link MaxQueries} 처리
+ * 테스트 본문 실행 동안 SqlStatementTracker 구간을 열고, 상한을 넘으면 실행된 SQL 형태와 횟수를 담아 실패시킵니다.
+ * MockMvc 요청은 같은 스레드에서 처리되므로 요청 안의 쿼리도 함께 집계됩니다.
+ */
+public class SqlStatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        maxQueries(context).ifPresent(max -> context.getStore(NAMESPACE)
+                .put(context.getUniqueId(), SqlStatementTracker.begin(context.getDisplayName())));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        SqlStatementTracker.Scope scope = context.getStore(NAMESPACE)
+                .remove(context.getUniqueId(), SqlStatementTracker.Scope.class);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        if (!SqlStatementTracker.isInstrumented()) {
+            fail("SQL 집계 DataSource가 없습니다. JpaConfig가 로드되는 테스트(@SpringBootTest 등)에서 사용하세요.");
+        }
+        int max = maxQueries(context).orElseThrow().value();
+        if (scope.statements() > max) {
+            fail("SQL 문장 수 초과 (최대 " + max + ") " + scope.summary() + "\n"
+                    + scope.repeatedShapes(1).entrySet().stream()
+                    .map(e -> "  " + e.getValue() + "회: " + e.getKey())
+                    .collect(Collectors.joining("\n")));
+        }
+    }
+
+    private static Optional<MaxQueries> maxQueries(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxQueries.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), MaxQueries.class));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.community.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementCountingDataSourceTest {
+
+    private final StatementCountingDataSource dataSource = new StatementCountingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:sql-budget;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+        jdbc.update("INSERT INTO items VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE items");
+    }
+
+    @Test
+    @DisplayName("열린 구간 안의 문장 수, 읽은 행 수, 변경 행 수를 집계")
+    void counts_statements_and_rows_inside_scope() {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.begin("test")) {
+            jdbc.queryForList("SELECT name FROM items ORDER BY id", String.class);
+            jdbc.update("UPDATE items SET name = ? WHERE id IN (?, ?)", "x", 1, 2);
+
+            assertThat(scope.statements()).isEqualTo(2);
+            assertThat(scope.rows()).isEqualTo(3 + 2);
+        }
+    }
+
+    @Test
+    @DisplayName("구간 밖의 문장은 집계하지 않고 Statement도 감싸지 않음")
+    void does_not_track_outside_scope() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThat(statement.getClass().getName()).doesNotContain("$Proxy");
+        }
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.begin("empty")) {
+            assertThat(scope.statements()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("리터럴과 IN 목록 길이만 다른 문장을 같은 형태로 묶어 반복을 찾음")
+    void groups_repeated_statement_shapes() {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.begin("n+1")) {
+            for (int id = 1; id <= 3; id++) {
+                jdbc.queryForObject("SELECT name FROM items WHERE id = " + id, String.class);
+            }
+            jdbc.queryForList("SELECT name FROM items WHERE id IN (?, ?)", String.class, 1, 2);
+            jdbc.queryForList("SELECT name FROM items WHERE id IN (?, ?, ?)", String.class, 1, 2, 3);
+
+            assertThat(scope.repeatedShapes(3))
+                    .containsExactly(Map.entry("SELECT name FROM items WHERE id = ?", 3));
+            assertThat(scope.repeatedShapes(2))
+                    .containsEntry("SELECT name FROM items WHERE id IN (?)", 2);
+        }
+    }
+
+    @Test
+    @DisplayName("중첩 구간은 바깥 구간에도 함께 집계")
+    void nested_scopes_both_record() {
+        try (SqlStatementTracker.Scope outer = SqlStatementTracker.begin("outer")) {
+            jdbc.queryForList("SELECT id FROM items", Long.class);
+            try (SqlStatementTracker.Scope inner = SqlStatementTracker.begin("inner")) {
+                jdbc.queryForList("SELECT id FROM items", Long.class);
+                assertThat(inner.statements()).isEqualTo(1);
+            }
+            assertThat(outer.statements()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("형태 정규화: 공백, 문자열/숫자 리터럴, IN 목록")
+    void shape_normalizes_literals() {
+        assertThat(SqlStatementTracker.shape("select p1_0.id  from posts p1_0\n where p1_0.title = 'it''s' and p1_0.id in (?,?, ?) limit 20"))
+                .isEqualTo("select p1_0.id from posts p1_0 where p1_0.title = ? and p1_0.id in (?) limit ?");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.community.repository;
+
+import com.example.community.domain.DerivativeJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@org.springframework.test.context.ActiveProfiles("test")
+class DerivativeJobRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired private DerivativeJobRepository jobs;
+
+    @Test
+    @DisplayName("중단된 작업 회수는 시도 횟수를 늘리고, 최대 횟수에 도달하면 FAILED")
+    void stale_release_counts_attempts() {
+        Long id = jobs.saveAndFlush(DerivativeJob.pending("posts/1/a.png", Instant.now())).getId();
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            claimAndAbandon(id);
+            DerivativeJob job = jobs.findById(id).orElseThrow();
+            assertThat(job.getStatus()).isEqualTo(DerivativeJob.Status.PENDING);
+            assertThat(job.getAttempts()).isEqualTo(attempt);
+        }
+
+        claimAndAbandon(id);
+        DerivativeJob job = jobs.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(DerivativeJob.Status.FAILED);
+        assertThat(job.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(job.getLastError()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("최근에 선점된 작업은 회수하지 않음")
+    void keeps_recent_running_jobs() {
+        Long id = jobs.saveAndFlush(DerivativeJob.pending("posts/1/b.png", Instant.now())).getId();
+        LocalDateTime now = LocalDateTime.now();
+        jobs.claim(id, DerivativeJob.Status.PENDING, DerivativeJob.Status.RUNNING, now);
+
+        LocalDateTime before = now.minusMinutes(10);
+        assertThat(jobs.failStale(DerivativeJob.Status.RUNNING, DerivativeJob.Status.FAILED, before, 1)).isZero();
+        assertThat(jobs.releaseStale(DerivativeJob.Status.PENDING, DerivativeJob.Status.RUNNING, before)).isZero();
+        assertThat(jobs.findById(id).orElseThrow().getStatus()).isEqualTo(DerivativeJob.Status.RUNNING);
+    }
+
+    /**
+     * 워커가 선점한 뒤 끝내지 못한 상황 (선점 시각을 1시간 전으로 두고 poll()과 같은 순서로 회수)
+     */
+    private void claimAndAbandon(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(jobs.claim(id, DerivativeJob.Status.PENDING, DerivativeJob.Status.RUNNING, now.minusHours(1)))
+                .isEqualTo(1);
+        LocalDateTime before = now.minusMinutes(10);
+        jobs.failStale(DerivativeJob.Status.RUNNING, DerivativeJob.Status.FAILED, before, MAX_ATTEMPTS);
+        jobs.releaseStale(DerivativeJob.Status.PENDING, DerivativeJob.Status.RUNNING, before);
+    }
+}
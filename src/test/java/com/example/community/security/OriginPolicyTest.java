@@ -0,0 +1,49 @@
+package com.example.community.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OriginPolicyTest {
+
+    @Test
+    @DisplayName("정확한 Origin은 대소문자와 끝의 '/'를 무시하고 일치")
+    void exact_origin_matches() {
+        OriginPolicy policy = new OriginPolicy(" https://Example.com/ , http://localhost:3000");
+
+        assertThat(policy.isAllowed("https://example.com")).isTrue();
+        assertThat(policy.isAllowed("https://EXAMPLE.com")).isTrue();
+        assertThat(policy.isAllowed("http://localhost:3000")).isTrue();
+        assertThat(policy.isAllowed("http://localhost:3001")).isFalse();
+        assertThat(policy.isAllowed("http://example.com")).isFalse();
+        assertThat(policy.isAllowed(null)).isFalse();
+        assertThat(policy.exactOrigins()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("서브도메인 와일드카드는 하위 도메인만 허용")
+    void wildcard_matches_subdomains_only() {
+        OriginPolicy policy = new OriginPolicy("https://*.example.com");
+
+        assertThat(policy.isAllowed("https://app.example.com")).isTrue();
+        assertThat(policy.isAllowed("https://a.b.example.com")).isTrue();
+        assertThat(policy.isAllowed("https://example.com")).isFalse();
+        assertThat(policy.isAllowed("https://evilexample.com")).isFalse();
+        assertThat(policy.isAllowed("https://app.example.com.evil.io")).isFalse();
+        assertThat(policy.isAllowed("http://app.example.com")).isFalse();
+        assertThat(policy.wildcardPatterns()).containsExactly("https://*.example.com");
+    }
+
+    @Test
+    @DisplayName("잘못된 Origin 설정은 시작 시점에 실패")
+    void invalid_origin_fails_fast() {
+        assertThatThrownBy(() -> new OriginPolicy("https://example.com/path"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new OriginPolicy("ftp://example.com"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new OriginPolicy("https://app.*.example.com"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.community.security;
+
+import com.example.community.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setName("auth-login");
+        login.setMethod("POST");
+        login.setPattern("/api/auth/login");
+        login.setCapacity(2);
+        login.setRefillPeriod(Duration.ofMinutes(1));
+        login.setKey(RateLimitProperties.KeyType.IP);
+
+        RateLimitProperties.Policy like = new RateLimitProperties.Policy();
+        like.setName("post-like");
+        like.setMethod("POST");
+        like.setPattern("/api/posts/*/like");
+        like.setCapacity(1);
+        like.setRefillPeriod(Duration.ofMinutes(1));
+        like.setKey(RateLimitProperties.KeyType.MEMBER);
+
+        RateLimitProperties props = new RateLimitProperties();
+        props.setPolicies(List.of(login, like));
+        filter = new RateLimitFilter(new RateLimiter(props));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("용량을 초과한 요청은 429와 Retry-After 헤더를 반환")
+    void exceeding_capacity_returns_429() throws Exception {
+        assertThat(perform("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = perform("POST", "/api/auth/login", "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(limited.getHeader("Retry-After"))).isBetween(1L, 60L);
+
+        // 다른 IP는 별도 버킷
+        assertThat(perform("POST", "/api/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("정책에 해당하지 않는 요청은 제한하지 않음")
+    void unmatched_requests_pass() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(perform("GET", "/api/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+            assertThat(perform("GET", "/api/posts", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("MEMBER 정책은 같은 IP라도 회원 ID별로 버킷을 분리")
+    void member_policy_keys_by_member_id() throws Exception {
+        authenticate(1L);
+        assertThat(perform("POST", "/api/posts/7/like", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/api/posts/7/like", "10.0.0.1").getStatus()).isEqualTo(429);
+
+        authenticate(2L);
+        assertThat(perform("POST", "/api/posts/7/like", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("토큰은 충전 주기에 따라 다시 채워짐")
+    void bucket_refills_over_time() {
+        long period = TimeUnit.SECONDS.toNanos(10);
+        TokenBucket bucket = new TokenBucket(2, 2, period, 0L);
+
+        assertThat(bucket.tryConsume(0L)).isZero();
+        assertThat(bucket.tryConsume(0L)).isZero();
+        assertThat(bucket.tryConsume(0L)).isPositive();
+        // 토큰 1개 충전 시간(5초) 경과 후 다시 허용
+        assertThat(bucket.tryConsume(TimeUnit.SECONDS.toNanos(5))).isZero();
+        assertThat(bucket.isIdle(TimeUnit.SECONDS.toNanos(100), period)).isTrue();
+    }
+
+    @Test
+    @DisplayName("버킷 맵이 가득 차면 신규 식별자는 정리 없이 정책별 공용 버킷을 사용")
+    void full_map_uses_overflow_bucket() {
+        RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+        login.setName("auth-login");
+        login.setMethod("POST");
+        login.setPattern("/api/auth/login");
+        login.setCapacity(1);
+        login.setRefillPeriod(Duration.ofMinutes(1));
+        login.setKey(RateLimitProperties.KeyType.IP);
+        RateLimitProperties props = new RateLimitProperties();
+        props.setMaxKeys(2);
+        props.setPolicies(List.of(login));
+        RateLimiter limiter = new RateLimiter(props);
+        RateLimiter.CompiledPolicy policy = limiter.match("POST", "/api/auth/login");
+
+        assertThat(limiter.tryConsume(policy, "ip10.0.0.1")).isZero();
+        assertThat(limiter.tryConsume(policy, "ip10.0.0.2")).isZero();
+
+        // 새 식별자들은 공용 버킷 하나를 나눠 씀 (맵 크기는 max-keys + 정책별 공용 버킷 1개로 고정)
+        assertThat(limiter.tryConsume(policy, "ip10.0.0.3")).isZero();
+        for (int i = 4; i < 100; i++) {
+            assertThat(limiter.tryConsume(policy, "ip10.0.0." + i)).isPositive();
+        }
+        assertThat(limiter.size()).isEqualTo(3);
+
+        // 기존 식별자의 버킷은 그대로 유지
+        assertThat(limiter.tryConsume(policy, "ip10.0.0.1")).isPositive();
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String ip) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest(method, uri);
+        req.setRemoteAddr(ip);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+        return res;
+    }
+
+    private void authenticate(Long memberId) {
+        MemberDetails md = new MemberDetails(memberId, "m" + memberId + "@test.com", null, Set.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(md, null, md.getAuthorities()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.Comment;
 import com.example.community.domain.Member;
 import com.example.community.domain.Post;
@@ -39,6 +40,9 @@ class CommentServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private AppMetrics metrics;
+
     @InjectMocks
     private CommentService commentService;
 
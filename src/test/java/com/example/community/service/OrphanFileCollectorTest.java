@@ -0,0 +1,101 @@
+package com.example.community.service;
+
+import com.example.community.repository.DerivativeJobRepository;
+import com.example.community.repository.PostImageRepository;
+import com.example.community.repository.UploadRepository;
+import com.example.community.storage.Storage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrphanFileCollectorTest {
+
+    @TempDir
+    Path dir;
+
+    private final Storage storage = mock(Storage.class);
+    private final PostImageRepository postImages = mock(PostImageRepository.class);
+    private final DerivativeJobRepository derivativeJobs = mock(DerivativeJobRepository.class);
+    private final UploadRepository uploads = mock(UploadRepository.class);
+    private final ImageDerivativeService derivatives = mock(ImageDerivativeService.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private OrphanFileCollector collector;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        collector = new OrphanFileCollector(storage, postImages, derivativeJobs, uploads, derivatives, meters);
+        ReflectionTestUtils.setField(collector, "basePath", dir.toString());
+        ReflectionTestUtils.setField(collector, "gracePeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "maxDeletesPerSecond", 0);
+
+        when(postImages.findReferencedFileKeys(any())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            return keys.stream().filter(k -> k.endsWith("attached.png")).toList();
+        });
+        when(derivativeJobs.findAttachedByDerivativeKeys(any())).thenReturn(List.of());
+        doAnswer(inv -> Files.deleteIfExists(dir.resolve((String) inv.getArgument(0))))
+                .when(storage).delete(anyString());
+
+        file("posts/1/attached.png", Duration.ofDays(2));
+        file("posts/1/orphan-a.png", Duration.ofDays(2));
+        file("posts/2/orphan-b.png", Duration.ofDays(2));
+        file("posts/2/fresh.png", Duration.ZERO);
+        file("posts/2/stale.png.part", Duration.ofDays(2));
+    }
+
+    @Test
+    @DisplayName("dry-run은 대상만 집계하고 삭제하지 않음")
+    void dry_run_reports_without_deleting() {
+        OrphanFileCollector.Report report = collector.collect(true);
+
+        assertThat(report.scanned()).isEqualTo(5);
+        assertThat(report.orphaned()).isEqualTo(3);
+        assertThat(report.deleted()).isZero();
+        verify(storage, never()).delete(anyString());
+        assertThat(dir.resolve("posts/2/stale.png.part")).exists();
+    }
+
+    @Test
+    @DisplayName("유예 기간이 지난 미참조 파일만 배치 확인 후 삭제")
+    void deletes_only_old_unreferenced_files() {
+        OrphanFileCollector.Report report = collector.collect(false);
+
+        assertThat(report.deleted()).isEqualTo(3);
+        assertThat(dir.resolve("posts/1/attached.png")).exists();
+        assertThat(dir.resolve("posts/2/fresh.png")).exists();
+        assertThat(dir.resolve("posts/1/orphan-a.png")).doesNotExist();
+        assertThat(dir.resolve("posts/2/orphan-b.png")).doesNotExist();
+        assertThat(dir.resolve("posts/2/stale.png.part")).doesNotExist();
+        verify(derivatives).deleteFor("posts/1/orphan-a.png");
+        assertThat(meters.counter("storage.gc.files.deleted").count()).isEqualTo(3.0);
+    }
+
+    private void file(String key, Duration age) throws IOException {
+        Path path = dir.resolve(key);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[]{1, 2, 3});
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+}
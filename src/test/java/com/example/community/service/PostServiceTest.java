@@ -1,14 +1,18 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.BoardType;
 import com.example.community.domain.Member;
 import com.example.community.domain.Post;
+import com.example.community.domain.Upload;
 import com.example.community.repository.MemberRepository;
 import com.example.community.repository.PostImageRepository;
 import com.example.community.repository.PostRepository;
+import com.example.community.repository.UploadRepository;
 import com.example.community.service.dto.PostDtos;
 import com.example.community.service.exception.EntityNotFoundException;
 import com.example.community.storage.Storage;
+import com.example.community.web.dto.PostRes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +24,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -30,7 +35,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +56,21 @@ class PostServiceTest {
     @Mock
     private Storage storage;
 
+    @Mock
+    private ImageDerivativeService derivatives;
+
+    @Mock
+    private UploadRepository uploadRepository;
+
+    @Mock
+    private StorageDeletionOutbox deletions;
+
+    @Mock
+    private AppMetrics metrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private PostService postService;
 
@@ -103,17 +126,17 @@ class PostServiceTest {
         });
 
         // when
-        Post result = postService.create(authorId, createDto);
+        PostRes result = postService.create(authorId, createDto);
 
         // then
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(5L);
-        assertThat(result.getTitle()).isEqualTo("테스트 제목");
-        assertThat(result.getContent()).isEqualTo("테스트 내용입니다.");
-        assertThat(result.getBoardType()).isEqualTo(BoardType.FREE);
-        assertThat(result.getAuthor()).isEqualTo(testMember);
-        assertThat(result.getImages()).isEmpty();
-        assertThat(result.getViewCount()).isEqualTo(0);
+        assertThat(result.id()).isEqualTo(5L);
+        assertThat(result.title()).isEqualTo("테스트 제목");
+        assertThat(result.content()).isEqualTo("테스트 내용입니다.");
+        assertThat(result.boardType()).isEqualTo(BoardType.FREE);
+        assertThat(result.author().id()).isEqualTo(testMember.getId());
+        assertThat(result.images()).isEmpty();
+        assertThat(result.viewCount()).isEqualTo(0);
 
         verify(memberRepository).findById(authorId);
         verify(postRepository).save(any(Post.class));
@@ -191,20 +214,91 @@ class PostServiceTest {
         });
 
         // when
-        Post result = postService.create(adminId, createDto);
+        PostRes result = postService.create(adminId, createDto);
 
         // then
         assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(6L);
-        assertThat(result.getTitle()).isEqualTo("공지사항 제목");
-        assertThat(result.getContent()).isEqualTo("공지사항 내용입니다.");
-        assertThat(result.getBoardType()).isEqualTo(BoardType.NOTICE);
-        assertThat(result.getAuthor()).isEqualTo(adminMember);
+        assertThat(result.id()).isEqualTo(6L);
+        assertThat(result.title()).isEqualTo("공지사항 제목");
+        assertThat(result.content()).isEqualTo("공지사항 내용입니다.");
+        assertThat(result.boardType()).isEqualTo(BoardType.NOTICE);
+        assertThat(result.author().id()).isEqualTo(adminMember.getId());
 
         verify(memberRepository).findById(adminId);
         verify(postRepository).save(any(Post.class));
     }
 
+    @Test
+    @DisplayName("다른 회원 경로의 이미지 키는 트랜잭션을 시작하기 전에 거부")
+    void createRejectsForeignImageKeyBeforeTransaction() {
+        // given
+        PostDtos.Create createDto = new PostDtos.Create(
+                "제목",
+                "내용",
+                BoardType.FREE,
+                List.of("posts/2/other.png")
+        );
+
+        // when & then
+        assertThatThrownBy(() -> postService.create(1L, createDto))
+                .hasMessageContaining("이미지 소유권 검증 실패");
+        verifyNoInteractions(transactionManager, memberRepository, uploadRepository);
+    }
+
+    @Test
+    @DisplayName("본인 경로의 키라도 다른 회원이 업로드한 기록이면 거부")
+    void createRejectsImageUploadedByAnotherMember() {
+        // given
+        String key = "posts/1/a.png";
+        PostDtos.Create createDto = new PostDtos.Create("제목", "내용", BoardType.FREE, List.of(key));
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(uploadRepository.findByFileKeyIn(Set.of(key))).thenReturn(List.of(upload(key, 2L)));
+
+        // when & then
+        assertThatThrownBy(() -> postService.create(1L, createDto))
+                .hasMessageContaining("이미지 소유권 검증 실패");
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    @DisplayName("업로드 기록이 없는 키는 거부")
+    void createRejectsUnregisteredImage() {
+        // given
+        String key = "posts/1/missing.png";
+        PostDtos.Create createDto = new PostDtos.Create("제목", "내용", BoardType.FREE, List.of(key));
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(uploadRepository.findByFileKeyIn(Set.of(key))).thenReturn(List.of());
+
+        // when & then
+        assertThatThrownBy(() -> postService.create(1L, createDto))
+                .hasMessageContaining("존재하지 않는 이미지: " + key);
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
+    @Test
+    @DisplayName("중복 이미지 키는 한 번만 조회하고 한 번만 연결")
+    void createDeduplicatesImageKeys() {
+        // given
+        String first = "posts/1/a.png";
+        String second = "posts/1/b.png";
+        PostDtos.Create createDto = new PostDtos.Create(
+                "제목", "내용", BoardType.FREE, List.of(first, second, first));
+        Upload a = upload(first, 1L);
+        Upload b = upload(second, 1L);
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(uploadRepository.findByFileKeyIn(Set.of(first, second))).thenReturn(List.of(a, b));
+        when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        PostRes result = postService.create(1L, createDto);
+
+        // then
+        assertThat(result.images()).hasSize(2);
+        assertThat(a.getStatus()).isEqualTo(Upload.Status.ATTACHED);
+        assertThat(b.getStatus()).isEqualTo(Upload.Status.ATTACHED);
+        verify(uploadRepository, times(1)).findByFileKeyIn(any());
+    }
+
     @Test
     @DisplayName("게시글 조회수 증가 확인")
     void getAndIncrementViewCount() {
@@ -222,14 +316,15 @@ class PostServiceTest {
         when(postRepository.findByIdWithAuthorAndImages(postId)).thenReturn(Optional.of(post));
 
         // when
-        Post result = postService.getAndIncrementViewCount(postId);
+        PostRes result = postService.getAndIncrementViewCount(postId);
 
         // then
         assertThat(result).isNotNull();
-        assertThat(result.getViewCount()).isEqualTo(11); // 조회수 증가 확인
+        assertThat(result.viewCount()).isEqualTo(11); // 조회수 증가 확인
         
         verify(postRepository).findByIdWithAuthorAndImages(postId);
         verify(postRepository).incrementViews(postId);
+        verify(metrics).postViewed();
     }
     
     @Test
@@ -264,15 +359,27 @@ class PostServiceTest {
                 .thenReturn(postPage);
                 
         // when
-        Page<Post> result = postService.search(searchQuery, pageable);
+        Page<PostRes> result = postService.search(searchQuery, pageable);
         
         // then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
         assertThat(result.getTotalElements()).isEqualTo(2);
-        assertThat(result.getContent().get(0).getTitle()).isEqualTo("테스트 게시글 1");
-        assertThat(result.getContent().get(1).getContent()).contains("테스트");
+        assertThat(result.getContent().get(0).title()).isEqualTo("테스트 게시글 1");
+        assertThat(result.getContent().get(1).content()).contains("테스트");
         
         verify(postRepository).findByTitleOrContentContainingIgnoreCaseWithAuthor(eq(searchQuery), any(Pageable.class));
+        verify(postImageRepository).findByPostIdIn(List.of(1L, 2L)); // 이미지는 페이지 단위로 한 번만 조회
+    }
+
+    private static Upload upload(String key, Long ownerId) {
+        return Upload.builder()
+                .fileKey(key)
+                .ownerId(ownerId)
+                .originalName("")
+                .contentType("image/png")
+                .size(100)
+                .status(Upload.Status.TEMP)
+                .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.example.community.service;
 
+import com.example.community.common.AppMetrics;
 import com.example.community.domain.Member;
 import com.example.community.domain.auth.RefreshToken;
 import com.example.community.repository.RefreshTokenRepository;
@@ -32,6 +33,9 @@ class RefreshTokenServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private AppMetrics metrics;
+
     @InjectMocks
     private RefreshTokenService refreshTokenService;
 
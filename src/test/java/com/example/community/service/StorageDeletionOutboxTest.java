@@ -0,0 +1,103 @@
+package com.example.community.service;
+
+import com.example.community.domain.StorageDeletion;
+import com.example.community.repository.StorageDeletionRepository;
+import com.example.community.storage.Storage;
+import com.example.community.storage.StorageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StorageDeletionOutboxTest {
+
+    private final StorageDeletionRepository repository = mock(StorageDeletionRepository.class);
+    private final Storage storage = mock(Storage.class);
+    private final ImageDerivativeService derivatives = mock(ImageDerivativeService.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private StorageDeletionOutbox outbox;
+
+    private StorageDeletion ok;
+    private StorageDeletion broken;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new StorageDeletionOutbox(repository, storage, derivatives,
+                mock(PlatformTransactionManager.class), meters);
+        ReflectionTestUtils.setField(outbox, "enabled", true);
+        ReflectionTestUtils.setField(outbox, "batchSize", 10);
+        ReflectionTestUtils.setField(outbox, "maxAttempts", 2);
+        ReflectionTestUtils.setField(outbox, "retryBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outbox, "lease", Duration.ofMinutes(5));
+
+        ok = deletion(1L, "posts/1/ok.png");
+        broken = deletion(2L, "posts/1/broken.png");
+        when(repository.findDueIds(eq(StorageDeletion.Status.PENDING), any(), any())).thenReturn(List.of(1L, 2L));
+        when(repository.claim(anyCollection(), eq(StorageDeletion.Status.PENDING), any(), any(), anyString()))
+                .thenReturn(2);
+        when(repository.findByClaimToken(anyString())).thenReturn(List.of(ok, broken));
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of(broken));
+        doThrow(new StorageException("디스크 오류")).when(storage).delete("posts/1/broken.png");
+    }
+
+    @Test
+    @DisplayName("삭제에 성공한 항목은 행을 지우고, 실패한 항목은 백오프 후 재시도")
+    void deletes_successful_and_reschedules_failed() {
+        Instant before = Instant.now();
+
+        int claimed = outbox.drainBatch();
+
+        assertThat(claimed).isEqualTo(2);
+        verify(derivatives).deleteFor("posts/1/ok.png");
+        verify(derivatives, never()).deleteFor("posts/1/broken.png");
+        verify(repository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getStatus()).isEqualTo(StorageDeletion.Status.PENDING);
+        assertThat(broken.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(meters.counter("storage.deletions.completed").count()).isEqualTo(1.0);
+        assertThat(meters.counter("storage.deletions.retried").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수를 넘으면 FAILED로 남김")
+    void marks_failed_after_max_attempts() {
+        outbox.drainBatch();
+        outbox.drainBatch();
+
+        assertThat(broken.getStatus()).isEqualTo(StorageDeletion.Status.FAILED);
+        assertThat(broken.getLastError()).contains("디스크 오류");
+        assertThat(meters.counter("storage.deletions.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 먼저 선점하면 처리하지 않음")
+    void skips_batch_claimed_elsewhere() {
+        when(repository.claim(anyCollection(), any(), any(), any(), anyString())).thenReturn(0);
+
+        assertThat(outbox.drainBatch()).isZero();
+        verify(storage, never()).delete(anyString());
+    }
+
+    private static StorageDeletion deletion(Long id, String key) {
+        StorageDeletion deletion = StorageDeletion.pending(key, Instant.now());
+        ReflectionTestUtils.setField(deletion, "id", id);
+        return deletion;
+    }
+}
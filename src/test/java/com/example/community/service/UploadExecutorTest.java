@@ -0,0 +1,86 @@
+package com.example.community.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadExecutorTest {
+
+    private UploadExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("결과는 처리 완료 순서와 관계없이 입력 순서대로 반환되고 실패도 포함")
+    void keeps_input_order_and_reports_failures() {
+        executor = new UploadExecutor(4, 1024 * 1024);
+        List<Integer> items = IntStream.range(0, 20).boxed().toList();
+
+        List<String> results = executor.map(items, i -> 1024L,
+                i -> {
+                    sleep(ThreadLocalRandom.current().nextInt(5));
+                    if (i % 5 == 0) {
+                        throw new IllegalArgumentException("bad " + i);
+                    }
+                    return "ok " + i;
+                },
+                (i, e) -> "fail " + e.getMessage());
+
+        assertThat(results).hasSize(20);
+        assertThat(results.get(0)).isEqualTo("fail bad 0");
+        assertThat(results.get(1)).isEqualTo("ok 1");
+        assertThat(results.get(19)).isEqualTo("ok 19");
+        assertThat(results.get(15)).isEqualTo("fail bad 15");
+    }
+
+    @Test
+    @DisplayName("요청당 동시 처리 수와 전체 처리 중 바이트를 제한")
+    void limits_concurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // 요청당 4개까지 허용하지만 바이트 상한(2KB)으로 1KB 파일은 동시에 2개까지만 처리
+        executor = new UploadExecutor(4, 2048);
+        executor.map(IntStream.range(0, 12).boxed().toList(), i -> 1024L,
+                i -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                    return i;
+                },
+                (i, e) -> -1);
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+
+        // 바이트 여유가 충분하면 요청당 상한(3)까지 동시 처리
+        executor.destroy();
+        executor = new UploadExecutor(3, 1024 * 1024);
+        peak.set(0);
+        executor.map(IntStream.range(0, 12).boxed().toList(), i -> 1024L,
+                i -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                    return i;
+                },
+                (i, e) -> -1);
+        assertThat(peak.get()).isLessThanOrEqualTo(3);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.community.storage;
+
+import com.example.community.domain.Blob;
+import com.example.community.repository.BlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentAddressedStorageTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3, 4};
+
+    @TempDir
+    Path dir;
+
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    // 커밋 시점마다 blob 파일 수 (파일 배치/삭제가 행 잠금을 쥔 트랜잭션 안에서 일어나는지 확인)
+    private final List<Integer> blobFilesAtCommit = new ArrayList<>();
+    private BlobRepository blobs;
+    private ContentAddressedStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        // blobs 테이블을 메모리 맵으로 대체
+        blobs = mock(BlobRepository.class);
+        when(blobs.incrementRefCount(anyString())).thenAnswer(inv ->
+                refCounts.computeIfPresent(inv.getArgument(0), (k, v) -> v + 1) == null ? 0 : 1);
+        when(blobs.decrementRefCount(anyString())).thenAnswer(inv ->
+                refCounts.computeIfPresent(inv.getArgument(0), (k, v) -> v > 0 ? v - 1 : v) == null ? 0 : 1);
+        when(blobs.deleteIfUnreferenced(anyString())).thenAnswer(inv ->
+                refCounts.remove(inv.getArgument(0), 0) ? 1 : 0);
+        when(blobs.saveAndFlush(any(Blob.class))).thenAnswer(inv -> {
+            Blob b = inv.getArgument(0);
+            refCounts.put(b.getHash(), b.getRefCount());
+            return b;
+        });
+
+        PlatformTransactionManager tm = mock(PlatformTransactionManager.class);
+        doAnswer(inv -> blobFilesAtCommit.add(blobFiles().size())).when(tm).commit(any());
+        storage = new ContentAddressedStorage(blobs, tm);
+        TestUtil.setField(storage, "basePath", dir.toString());
+        TestUtil.setField(storage, "publicBaseUrl", "http://localhost:8080/files");
+        storage.init();
+    }
+
+    @Test
+    @DisplayName("같은 내용은 blob 하나를 공유하고 마지막 참조가 삭제될 때만 blob 삭제")
+    void deduplicates_and_reference_counts() throws Exception {
+        Storage.StoredFile a = storage.store(png("a.png"), "posts", "posts/1/a.png");
+        Storage.StoredFile b = storage.store(png("b.png"), "posts", "posts/2/b.png");
+
+        assertThat(a.sha256()).isEqualTo(b.sha256());
+        assertThat(storage.contentHash("posts/1/a.png")).contains(a.sha256());
+        assertThat(refCounts).containsEntry(a.sha256(), 2);
+        assertThat(blobFiles()).hasSize(1);
+        assertThat(Files.readAllBytes(dir.resolve("posts/2/b.png"))).isEqualTo(PNG);
+        assertThat(a.url()).isEqualTo("http://localhost:8080/files/posts/1/a.png");
+
+        storage.delete("posts/1/a.png");
+        assertThat(storage.exists("posts/1/a.png")).isFalse();
+        assertThat(storage.exists("posts/2/b.png")).isTrue();
+        assertThat(refCounts).containsEntry(a.sha256(), 1);
+
+        storage.delete("posts/2/b.png");
+        assertThat(refCounts).doesNotContainKey(a.sha256());
+        assertThat(blobFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("blob 파일 배치와 삭제는 참조 카운트 트랜잭션의 커밋 전에 끝남")
+    void places_and_deletes_blob_inside_transaction() {
+        storage.store(png("a.png"), "posts", "posts/1/a.png");
+        assertThat(blobFilesAtCommit).containsExactly(1);
+
+        storage.delete("posts/1/a.png");
+        assertThat(blobFilesAtCommit).containsExactly(1, 0);
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 같은 내용을 먼저 등록해 INSERT가 충돌하면 참조 증가로 다시 시도")
+    void retries_with_increment_on_concurrent_insert() throws Exception {
+        when(blobs.saveAndFlush(any(Blob.class))).thenAnswer(inv -> {
+            Blob b = inv.getArgument(0);
+            refCounts.put(b.getHash(), 1); // 다른 인스턴스의 커밋된 행
+            throw new DataIntegrityViolationException("duplicate key");
+        });
+
+        Storage.StoredFile a = storage.store(png("a.png"), "posts", "posts/1/a.png");
+
+        assertThat(refCounts).containsEntry(a.sha256(), 2);
+        assertThat(Files.readAllBytes(dir.resolve("posts/1/a.png"))).isEqualTo(PNG);
+    }
+
+    private List<Path> blobFiles() throws IOException {
+        try (Stream<Path> s = Files.walk(dir.resolve("blobs"))) {
+            return s.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private static MockMultipartFile png(String name) {
+        return new MockMultipartFile("files", name, "image/png", PNG);
+    }
+}
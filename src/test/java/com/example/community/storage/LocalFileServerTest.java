@@ -0,0 +1,100 @@
+package com.example.community.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalFileServerTest {
+
+    @TempDir
+    Path dir;
+
+    private final byte[] content = new byte[1000];
+    private LocalFileServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.createDirectories(dir.resolve("posts/1"));
+        Files.write(dir.resolve("posts/1/a.png"), content);
+
+        Storage storage = mock(Storage.class);
+        when(storage.contentHash("posts/1/a.png")).thenReturn(Optional.of("abc123"));
+        server = new LocalFileServer(storage, dir.toString(), 16, Duration.ofMinutes(1), Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("전체 파일을 immutable 캐시 헤더와 내용 해시 ETag로 제공")
+    void serves_full_file_with_immutable_caching() throws Exception {
+        MockHttpServletResponse res = get("posts/1/a.png", null, null);
+
+        assertThat(res.getStatus()).isEqualTo(200);
+        assertThat(res.getContentAsByteArray()).isEqualTo(content);
+        assertThat(res.getHeader("ETag")).isEqualTo("\"abc123\"");
+        assertThat(res.getHeader("Cache-Control")).contains("immutable");
+        assertThat(res.getContentType()).isEqualTo("image/png");
+        assertThat(res.getContentLengthLong()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 일치하면 304")
+    void returns_not_modified_for_matching_etag() throws Exception {
+        MockHttpServletResponse res = get("posts/1/a.png", "\"abc123\"", null);
+
+        assertThat(res.getStatus()).isEqualTo(304);
+        assertThat(res.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Range 요청은 206과 요청 구간만 전송, 범위를 벗어나면 416")
+    void serves_byte_ranges() throws Exception {
+        MockHttpServletResponse partial = get("posts/1/a.png", null, "bytes=100-199");
+        assertThat(partial.getStatus()).isEqualTo(206);
+        assertThat(partial.getHeader("Content-Range")).isEqualTo("bytes 100-199/1000");
+        assertThat(partial.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+
+        MockHttpServletResponse suffix = get("posts/1/a.png", null, "bytes=-10");
+        assertThat(suffix.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 990, 1000));
+
+        MockHttpServletResponse outOfRange = get("posts/1/a.png", null, "bytes=5000-");
+        assertThat(outOfRange.getStatus()).isEqualTo(416);
+        assertThat(outOfRange.getHeader("Content-Range")).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    @DisplayName("없는 파일과 경로 탈출 시도는 404")
+    void missing_or_unsafe_keys_are_not_found() throws Exception {
+        assertThat(get("posts/1/missing.png", null, null).getStatus()).isEqualTo(404);
+        assertThat(get("../etc/passwd", null, null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(String key, String ifNoneMatch, String range) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/files/" + key);
+        req.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, key);
+        if (ifNoneMatch != null) {
+            req.addHeader("If-None-Match", ifNoneMatch);
+        }
+        if (range != null) {
+            req.addHeader("Range", range);
+        }
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        server.handleRequest(req, res);
+        return res;
+    }
+}
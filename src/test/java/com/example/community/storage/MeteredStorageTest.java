@@ -0,0 +1,64 @@
+package com.example.community.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+class MeteredStorageTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("저장 연산 시간과 업로드 바이트를 기록")
+    void records_store_latency_and_bytes() {
+        Storage target = mock(Storage.class);
+        when(target.store(any(InputStream.class), anyString(), anyString(), anyString(), anyLong()))
+                .thenReturn(new Storage.StoredFile("posts/1/a.png", "a.png", "image/png", 1234, "/files/posts/1/a.png"));
+        when(target.url("posts/1/a.png")).thenReturn("/files/posts/1/a.png");
+        Storage storage = MeteredStorage.wrap(target, meters, "local");
+
+        storage.store(InputStream.nullInputStream(), "posts/1/a.png", "a.png", "image/png", 10_000);
+        storage.url("posts/1/a.png");
+
+        assertThat(meters.get("storage.operations").tags("operation", "store", "provider", "local", "outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meters.get("storage.upload.bytes").tag("provider", "local").summary().totalAmount()).isEqualTo(1234);
+        assertThat(meters.find("storage.operations").tag("operation", "url").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("실패한 연산은 outcome=error로 기록하고 원래 예외를 그대로 전파")
+    void records_errors_and_rethrows_original_exception() {
+        Storage target = mock(Storage.class);
+        doThrow(new StorageException("삭제 실패")).when(target).delete("posts/1/a.png");
+        Storage storage = MeteredStorage.wrap(target, meters, "local");
+
+        assertThatThrownBy(() -> storage.delete("posts/1/a.png"))
+                .isInstanceOf(StorageException.class).hasMessage("삭제 실패");
+        assertThat(meters.get("storage.operations").tags("operation", "delete", "outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("직접 업로드 저장소는 프록시도 DirectUploadStorage를 구현")
+    void keeps_direct_upload_capability() {
+        Storage plain = MeteredStorage.wrap(mock(Storage.class), meters, "local");
+        Storage direct = MeteredStorage.wrap(
+                mock(Storage.class, withSettings().extraInterfaces(DirectUploadStorage.class)), meters, "s3");
+
+        assertThat(plain).isNotInstanceOf(DirectUploadStorage.class);
+        assertThat(direct).isInstanceOf(DirectUploadStorage.class);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.community.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MinIO 컨테이너로 S3Storage 확인 (Docker가 없으면 건너뜀)
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3StorageTest {
+
+    private static final String BUCKET = "community-test";
+    private static final byte[] PNG_HEAD = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+
+    @Container
+    static final MinIOContainer MINIO = new MinIOContainer("minio/minio:RELEASE.2024-06-13T22-53-53Z");
+
+    private static S3Client s3;
+    private static S3Presigner presigner;
+    private static S3Storage storage;
+
+    @BeforeAll
+    static void setUp() {
+        var credentials = StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(MINIO.getUserName(), MINIO.getPassword()));
+        var config = S3Configuration.builder().pathStyleAccessEnabled(true).build();
+        URI endpoint = URI.create(MINIO.getS3URL());
+        s3 = S3Client.builder().region(Region.US_EAST_1).credentialsProvider(credentials)
+                .serviceConfiguration(config).endpointOverride(endpoint).build();
+        presigner = S3Presigner.builder().region(Region.US_EAST_1).credentialsProvider(credentials)
+                .serviceConfiguration(config).endpointOverride(endpoint).build();
+        s3.createBucket(b -> b.bucket(BUCKET));
+        storage = new S3Storage(s3, presigner, BUCKET, "https://cdn.example.com/",
+                DataSize.ofMegabytes(5), Duration.ofMinutes(5));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        presigner.close();
+        s3.close();
+    }
+
+    @Test
+    @DisplayName("한 파트에 들어가는 파일은 PutObject로 저장하고 다시 읽을 수 있음")
+    void stores_small_file_and_reads_it_back() throws Exception {
+        byte[] content = png(1000);
+
+        Storage.StoredFile stored = storage.store(new ByteArrayInputStream(content),
+                "posts/1/small.png", "small.png", "image/png", 5_000_000);
+
+        assertThat(stored.size()).isEqualTo(1000);
+        assertThat(stored.sha256()).hasSize(64);
+        assertThat(stored.url()).isEqualTo("https://cdn.example.com/posts/1/small.png");
+        try (InputStream in = storage.open("posts/1/small.png")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        assertThat(storage.exists("posts/1/small.png")).isTrue();
+
+        storage.delete("posts/1/small.png");
+        assertThat(storage.exists("posts/1/small.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("파트 크기를 넘는 파일은 멀티파트 업로드, 크기 제한 초과 시 업로드 중단")
+    void uses_multipart_for_large_files_and_aborts_over_limit() throws Exception {
+        byte[] content = png(6 * 1024 * 1024);
+
+        Storage.StoredFile stored = storage.store(new ByteArrayInputStream(content),
+                "posts/1/large.png", "large.png", "image/png", 10L * 1024 * 1024);
+        assertThat(stored.size()).isEqualTo(content.length);
+        assertThat(s3.headObject(b -> b.bucket(BUCKET).key("posts/1/large.png")).contentLength())
+                .isEqualTo(content.length);
+
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream(content),
+                "posts/1/too-large.png", "too-large.png", "image/png", 5_500_000))
+                .isInstanceOf(UploadRejectedException.class);
+        assertThat(storage.exists("posts/1/too-large.png")).isFalse();
+        assertThat(s3.listMultipartUploads(b -> b.bucket(BUCKET)).uploads()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("크기 제한을 올리면 여러 파트에 걸친 파일도 같은 버퍼로 나눠 올리고 해시는 전체 내용 기준")
+    void streams_large_file_across_part_boundaries() throws Exception {
+        byte[] content = png(11 * 1024 * 1024); // 5MB 파트 3개 (5 + 5 + 1)
+
+        Storage.StoredFile stored = storage.store(new ByteArrayInputStream(content),
+                "posts/1/huge.png", "huge.png", "image/png", 20L * 1024 * 1024);
+
+        assertThat(stored.size()).isEqualTo(content.length);
+        assertThat(stored.sha256()).isEqualTo(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(content)));
+        // 멀티파트 객체의 ETag는 "...-파트 수"
+        assertThat(s3.headObject(b -> b.bucket(BUCKET).key("posts/1/huge.png")).eTag()).endsWith("-3\"");
+        try (InputStream in = storage.open("posts/1/huge.png")) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("파트 크기와 정확히 같은 파일은 스트림 끝을 확인하고 PutObject로 저장")
+    void stores_exact_part_size_file_in_one_request() throws Exception {
+        byte[] content = png(5 * 1024 * 1024);
+
+        Storage.StoredFile stored = storage.store(new ByteArrayInputStream(content),
+                "posts/1/exact.png", "exact.png", "image/png", content.length);
+
+        assertThat(stored.size()).isEqualTo(content.length);
+        assertThat(s3.headObject(b -> b.bucket(BUCKET).key("posts/1/exact.png")).eTag()).doesNotContain("-");
+    }
+
+    @Test
+    @DisplayName("시그니처가 선언 형식과 다르면 저장하지 않음")
+    void rejects_signature_mismatch() {
+        assertThatThrownBy(() -> storage.store(new ByteArrayInputStream("not an image".getBytes()),
+                "posts/1/fake.png", "fake.png", "image/png", 5_000_000))
+                .isInstanceOf(UploadRejectedException.class);
+        assertThat(storage.exists("posts/1/fake.png")).isFalse();
+    }
+
+    @Test
+    @DisplayName("사전 서명 URL로 직접 업로드 후 확인")
+    void presigned_upload_then_confirm() throws Exception {
+        byte[] content = png(2048);
+        DirectUploadStorage.PresignedUpload presigned =
+                storage.presignUpload("posts/2/direct.png", "image/png", content.length);
+
+        assertThat(put(presigned, content)).isEqualTo(200);
+        Storage.StoredFile confirmed = storage.confirmUpload("posts/2/direct.png", 5_000_000);
+
+        assertThat(confirmed.contentType()).isEqualTo("image/png");
+        assertThat(confirmed.size()).isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("확인 시 시그니처가 맞지 않는 직접 업로드 객체는 삭제")
+    void confirm_deletes_mismatched_object() throws Exception {
+        byte[] content = new byte[512];
+        DirectUploadStorage.PresignedUpload presigned =
+                storage.presignUpload("posts/2/fake.png", "image/png", content.length);
+        assertThat(put(presigned, content)).isEqualTo(200);
+
+        assertThatThrownBy(() -> storage.confirmUpload("posts/2/fake.png", 5_000_000))
+                .isInstanceOf(UploadRejectedException.class);
+        assertThat(storage.exists("posts/2/fake.png")).isFalse();
+        assertThatThrownBy(() -> storage.confirmUpload("posts/2/missing.png", 5_000_000))
+                .isInstanceOf(UploadRejectedException.class);
+    }
+
+    private static int put(DirectUploadStorage.PresignedUpload presigned, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(presigned.url()))
+                .method(presigned.method(), HttpRequest.BodyPublishers.ofByteArray(body));
+        // Content-Length는 HttpClient가 본문 길이로 설정 (제한 헤더)
+        Set<String> restricted = Set.of("content-length", "host");
+        presigned.headers().forEach((name, value) -> {
+            if (!restricted.contains(name.toLowerCase())) {
+                request.header(name, value);
+            }
+        });
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        System.arraycopy(PNG_HEAD, 0, content, 0, PNG_HEAD.length);
+        for (int i = PNG_HEAD.length; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+}
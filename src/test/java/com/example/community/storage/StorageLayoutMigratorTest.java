@@ -0,0 +1,251 @@
+package com.example.community.storage;
+
+import com.example.community.domain.DerivativeJob;
+import com.example.community.domain.PostImage;
+import com.example.community.domain.StorageMigration;
+import com.example.community.domain.Upload;
+import com.example.community.repository.DerivativeJobRepository;
+import com.example.community.repository.PostImageRepository;
+import com.example.community.repository.StorageMigrationRepository;
+import com.example.community.repository.UploadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * post_images/uploads/derivative_jobs/storage_migrations를 메모리 목록으로 대체하고 임시 디렉토리에서 실행
+ */
+class StorageLayoutMigratorTest {
+
+    private static final String FILE = "3fa85f64-5717-4562-b3fc-2c963f66afa6";
+    private static final String OTHER_FILE = "9c1e2d3f-0000-4000-8000-000000000001";
+    private static final Instant LONG_AGO = Instant.now().minus(3, ChronoUnit.DAYS);
+
+    @TempDir
+    Path dir;
+
+    private final List<PostImage> images = new ArrayList<>();
+    private final List<Upload> uploadRows = new ArrayList<>();
+    private final List<DerivativeJob> jobs = new ArrayList<>();
+    private final Map<String, StorageMigration> checkpoints = new HashMap<>();
+    // 이 횟수만큼 DB 재작성을 통과시킨 뒤 실패시켜 링크 생성 후 커밋 전 중단을 흉내냄 (음수면 중단 없음)
+    private int rewritesBeforeCrash = -1;
+
+    private PostImageRepository postImages;
+    private final StorageLayout layout = new StorageLayout(2);
+    private StorageLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        postImages = mock(PostImageRepository.class);
+        when(postImages.findBatchAfter(anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long afterId = inv.getArgument(0);
+            Pageable page = inv.getArgument(1);
+            return images.stream()
+                    .filter(i -> i.getId() > afterId)
+                    .sorted(Comparator.comparing(PostImage::getId))
+                    .limit(page.getPageSize())
+                    .toList();
+        });
+        when(postImages.findByFileKeyIn(any())).thenAnswer(inv -> {
+            if (rewritesBeforeCrash-- == 0) {
+                throw new IllegalStateException("커밋 전 중단");
+            }
+            Collection<String> keys = inv.getArgument(0);
+            return images.stream().filter(i -> keys.contains(i.getFileKey())).toList();
+        });
+
+        UploadRepository uploads = mock(UploadRepository.class);
+        when(uploads.findByFileKeyIn(any())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            return uploadRows.stream().filter(u -> keys.contains(u.getFileKey())).toList();
+        });
+
+        DerivativeJobRepository derivativeJobs = mock(DerivativeJobRepository.class);
+        when(derivativeJobs.findBySourceKeyIn(any())).thenAnswer(inv -> {
+            Collection<String> keys = inv.getArgument(0);
+            return jobs.stream().filter(j -> keys.contains(j.getSourceKey())).toList();
+        });
+
+        StorageMigrationRepository migrations = mock(StorageMigrationRepository.class);
+        when(migrations.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(checkpoints.get(inv.getArgument(0))));
+        when(migrations.save(any(StorageMigration.class))).thenAnswer(inv -> {
+            StorageMigration m = inv.getArgument(0);
+            checkpoints.put(m.getName(), m);
+            return m;
+        });
+
+        Storage storage = mock(Storage.class);
+        when(storage.url(anyString())).thenAnswer(inv -> "http://localhost:8080/files/" + inv.getArgument(0));
+
+        migrator = new StorageLayoutMigrator(postImages, uploads, derivativeJobs, migrations, storage, layout,
+                mock(PlatformTransactionManager.class));
+        TestUtil.setField(migrator, "basePath", dir.toString());
+        TestUtil.setField(migrator, "batchSize", 1);
+        TestUtil.setField(migrator, "pause", Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("새 경로에 링크를 만들고 DB를 갱신한 뒤 기존 경로 삭제")
+    void links_rewrites_and_removes_old_paths() throws Exception {
+        String key = "posts/1/" + FILE + ".png";
+        String thumbnail = "posts/1/" + FILE + "_thumb.jpg";
+        String medium = "posts/1/" + FILE + "_medium.jpg";
+        PostImage image = image(1L, key);
+        image.setDerivativeUrls("http://localhost:8080/files/" + thumbnail, "http://localhost:8080/files/" + medium);
+        Upload upload = Upload.builder().fileKey(key).ownerId(1L).originalName("a.png").contentType("image/png")
+                .size(3).status(Upload.Status.ATTACHED).build();
+        uploadRows.add(upload);
+        DerivativeJob job = DerivativeJob.pending(key, Instant.now());
+        job.complete(thumbnail, medium);
+        jobs.add(job);
+        write(key, thumbnail, medium);
+
+        assertThat(migrator.migrate()).isEqualTo(1);
+
+        String newKey = layout.relocate(key);
+        String newThumbnail = layout.relocate(thumbnail);
+        assertThat(newKey).isEqualTo("posts/1/3f/a8/" + FILE + ".png");
+        assertThat(Files.readString(dir.resolve(newKey))).isEqualTo(key);
+        assertThat(Files.readString(dir.resolve(newThumbnail))).isEqualTo(thumbnail);
+        assertThat(dir.resolve(key)).doesNotExist();
+        assertThat(dir.resolve(thumbnail)).doesNotExist();
+        assertThat(dir.resolve(medium)).doesNotExist();
+
+        assertThat(image.getFileKey()).isEqualTo(newKey);
+        assertThat(image.getUrl()).isEqualTo("http://localhost:8080/files/" + newKey);
+        assertThat(image.getThumbnailUrl()).isEqualTo("http://localhost:8080/files/" + newThumbnail);
+        assertThat(upload.getFileKey()).isEqualTo(newKey);
+        assertThat(job.getSourceKey()).isEqualTo(newKey);
+        assertThat(job.getMediumKey()).isEqualTo(layout.relocate(medium));
+        assertThat(checkpoints.get(StorageLayoutMigrator.MIGRATION_NAME).isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("새 링크는 수정 시각을 갱신하여 고아 파일 수집 유예 기간을 새로 시작")
+    void new_links_get_fresh_mtime() throws Exception {
+        String key = "posts/1/" + FILE + ".png";
+        image(1L, key);
+        write(key);
+        rewritesBeforeCrash = 0; // 링크만 만들고 DB 갱신 전 중단 (수집기가 새 경로를 미참조로 보는 구간)
+
+        Instant before = Instant.now().minusSeconds(1);
+        migrator.migrate();
+
+        Path newPath = dir.resolve(layout.relocate(key));
+        assertThat(newPath).exists();
+        assertThat(Files.getLastModifiedTime(newPath).toInstant()).isAfter(before);
+    }
+
+    @Test
+    @DisplayName("커밋 전에 중단되면 다음 실행이 진행 지점부터 이어서 처리")
+    void resumes_after_crash() throws Exception {
+        String first = "posts/1/" + FILE + ".png";
+        String second = "posts/2/" + OTHER_FILE + ".png";
+        PostImage firstImage = image(1L, first);
+        PostImage secondImage = image(2L, second);
+        write(first, second);
+
+        rewritesBeforeCrash = 1; // 첫 배치는 커밋, 두 번째 배치는 링크 생성 후 커밋 전에 중단
+        assertThat(migrator.migrate()).isZero();
+
+        assertThat(firstImage.getFileKey()).isEqualTo(layout.relocate(first));
+        assertThat(secondImage.getFileKey()).isEqualTo(second);
+        assertThat(dir.resolve(second)).exists();
+        assertThat(dir.resolve(layout.relocate(second))).exists(); // 남은 링크는 재실행 시 그대로 사용
+        StorageMigration checkpoint = checkpoints.get(StorageLayoutMigrator.MIGRATION_NAME);
+        assertThat(checkpoint.getLastId()).isEqualTo(1L);
+        assertThat(checkpoint.isCompleted()).isFalse();
+
+        assertThat(migrator.migrate()).isEqualTo(1);
+
+        verify(postImages, times(1)).findBatchAfter(eq(0L), any(Pageable.class)); // 처음부터 다시 읽지 않음
+        assertThat(secondImage.getFileKey()).isEqualTo(layout.relocate(second));
+        assertThat(Files.readString(dir.resolve(layout.relocate(second)))).isEqualTo(second);
+        assertThat(dir.resolve(second)).doesNotExist();
+        assertThat(checkpoint.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("내용 주소 저장소의 심볼릭 링크는 새 위치 기준으로 다시 만들고 blob은 건드리지 않음")
+    void relinks_content_addressed_symlinks() throws Exception {
+        String key = "posts/1/" + FILE + ".png";
+        Path blob = dir.resolve("blobs/ab/cd/abcd");
+        Files.createDirectories(blob.getParent());
+        Files.writeString(blob, "blob");
+        Files.setLastModifiedTime(blob, FileTime.from(LONG_AGO));
+        FileTime blobTime = Files.getLastModifiedTime(blob);
+        Path oldLink = dir.resolve(key);
+        Files.createDirectories(oldLink.getParent());
+        Files.createSymbolicLink(oldLink, oldLink.getParent().relativize(blob));
+        image(1L, key);
+
+        assertThat(migrator.migrate()).isEqualTo(1);
+
+        Path newLink = dir.resolve(layout.relocate(key));
+        assertThat(Files.isSymbolicLink(newLink)).isTrue();
+        assertThat(Files.readSymbolicLink(newLink).isAbsolute()).isFalse();
+        assertThat(newLink.toRealPath()).isEqualTo(blob.toRealPath());
+        assertThat(Files.readString(newLink)).isEqualTo("blob");
+        assertThat(Files.exists(oldLink, LinkOption.NOFOLLOW_LINKS)).isFalse();
+        assertThat(blob).exists();
+        // 링크 자체의 시각만 갱신 (공유 blob의 시각은 그대로)
+        assertThat(Files.getLastModifiedTime(newLink, LinkOption.NOFOLLOW_LINKS).toInstant())
+                .isAfter(LONG_AGO.plusSeconds(60));
+        assertThat(Files.getLastModifiedTime(blob)).isEqualTo(blobTime);
+    }
+
+    private PostImage image(Long id, String key) {
+        PostImage image = PostImage.builder()
+                .id(id)
+                .fileKey(key)
+                .originalName("a.png")
+                .contentType("image/png")
+                .size(3)
+                .url("http://localhost:8080/files/" + key)
+                .build();
+        images.add(image);
+        return image;
+    }
+
+    /**
+     * 키마다 키 문자열을 내용으로 하는 오래된 파일 생성
+     */
+    private void write(String... keys) throws IOException {
+        for (String key : keys) {
+            Path path = dir.resolve(key);
+            Files.createDirectories(path.getParent());
+            Files.writeString(path, key);
+            Files.setLastModifiedTime(path, FileTime.from(LONG_AGO));
+        }
+    }
+}
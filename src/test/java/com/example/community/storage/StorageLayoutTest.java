@@ -0,0 +1,42 @@
+package com.example.community.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StorageLayoutTest {
+
+    private static final String NAME = "3fa85f64-5717-4562-b3fc-2c963f66afa6.png";
+
+    @Test
+    @DisplayName("샤드 단계 0이면 기존 평면 키 유지")
+    void flat_layout_keeps_existing_keys() {
+        StorageLayout layout = new StorageLayout(0);
+
+        assertThat(layout.postImageKey(7L, NAME)).isEqualTo("posts/7/" + NAME);
+        assertThat(layout.relocate("posts/7/" + NAME)).isEqualTo("posts/7/" + NAME);
+    }
+
+    @Test
+    @DisplayName("UUID 앞 16진수로 하위 디렉토리를 만들고 회원 접두사는 유지")
+    void sharded_layout_fans_out_under_member_prefix() {
+        StorageLayout layout = new StorageLayout(2);
+
+        assertThat(layout.postImageKey(7L, NAME)).isEqualTo("posts/7/3f/a8/" + NAME);
+        assertThat(layout.relocate("posts/7/" + NAME)).isEqualTo("posts/7/3f/a8/" + NAME);
+        // 이미 샤딩된 키와 알 수 없는 형식은 그대로
+        assertThat(layout.relocate("posts/7/3f/a8/" + NAME)).isEqualTo("posts/7/3f/a8/" + NAME);
+        assertThat(layout.relocate("avatars/7.png")).isEqualTo("avatars/7.png");
+    }
+
+    @Test
+    @DisplayName("파생본 키는 원본과 같은 샤드 디렉토리로 이동")
+    void derivative_keys_follow_their_source() {
+        StorageLayout layout = new StorageLayout(2);
+
+        assertThat(layout.relocate("posts/7/3fa85f64-5717-4562-b3fc-2c963f66afa6_thumb.jpg"))
+                .startsWith("posts/7/3f/a8/");
+        assertThat(layout.postImageKey(7L, "photo.png")).matches("posts/7/[0-9a-f]{2}/[0-9a-f]{2}/photo\\.png");
+    }
+}
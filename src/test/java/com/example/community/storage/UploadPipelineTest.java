@@ -0,0 +1,106 @@
+package com.example.community.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UploadPipelineTest {
+
+    private static final Set<String> ALLOWED = Set.of("image/png", "image/jpeg");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("한 번의 읽기로 저장하면서 크기와 SHA-256을 계산")
+    void writes_file_with_size_and_hash() throws Exception {
+        byte[] png = png(UploadPipeline.BUFFER_SIZE * 2 + 17); // 버퍼 경계를 넘는 크기
+        Path target = dir.resolve("a.png");
+
+        UploadPipeline.Result result = UploadPipeline.write(
+                new ByteArrayInputStream(png), target, "IMAGE/PNG", ALLOWED, png.length);
+
+        assertThat(result.contentType()).isEqualTo("image/png");
+        assertThat(result.size()).isEqualTo(png.length);
+        assertThat(result.sha256()).isEqualTo(
+                HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png)));
+        assertThat(Files.readAllBytes(target)).isEqualTo(png);
+        assertThat(dir.resolve("a.png.part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 중단하고 임시 파일을 정리")
+    void aborts_when_too_large() {
+        byte[] png = png(1024);
+        Path target = dir.resolve("big.png");
+
+        assertThatThrownBy(() -> UploadPipeline.write(
+                new ByteArrayInputStream(png), target, "image/png", ALLOWED, 1023))
+                .isInstanceOf(UploadRejectedException.class)
+                .extracting("reason").isEqualTo(UploadRejectedException.Reason.TOO_LARGE);
+        assertThat(target).doesNotExist();
+        assertThat(dir.resolve("big.png.part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("선언된 타입과 시그니처가 다르면 거부")
+    void rejects_signature_mismatch() {
+        byte[] png = png(64);
+        Path target = dir.resolve("fake.jpg");
+
+        assertThatThrownBy(() -> UploadPipeline.write(
+                new ByteArrayInputStream(png), target, "image/jpeg", ALLOWED, 1024))
+                .isInstanceOf(UploadRejectedException.class)
+                .extracting("reason").isEqualTo(UploadRejectedException.Reason.TYPE_MISMATCH);
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("SOF가 첫 버퍼 밖에 있는 JPEG도 기록하면서 크기를 판별")
+    void reads_jpeg_dimensions_beyond_first_buffer() throws Exception {
+        BufferedImage image = new BufferedImage(320, 200, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", encoded);
+        byte[] plain = encoded.toByteArray();
+
+        // SOI 뒤에 큰 APP1 세그먼트 두 개를 넣어 SOF를 버퍼 경계 너머로 밀어냄
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        jpeg.write(plain, 0, 2);
+        for (int i = 0; i < 2; i++) {
+            int length = 60_000;
+            jpeg.write(new byte[]{(byte) 0xFF, (byte) 0xE1, (byte) (length >>> 8), (byte) length});
+            jpeg.write(new byte[length - 2]);
+        }
+        jpeg.write(plain, 2, plain.length - 2);
+        byte[] data = jpeg.toByteArray();
+
+        UploadPipeline.Result result = UploadPipeline.write(
+                new ByteArrayInputStream(data), dir.resolve("a.jpg"), "image/jpeg", ALLOWED, data.length);
+
+        assertThat(result.width()).isEqualTo(320);
+        assertThat(result.height()).isEqualTo(200);
+    }
+
+    private static byte[] png(int size) {
+        byte[] b = new byte[size];
+        byte[] sig = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+        System.arraycopy(sig, 0, b, 0, sig.length);
+        for (int i = sig.length; i < size; i++) {
+            b[i] = (byte) i;
+        }
+        return b;
+    }
+}
@@ -6,7 +6,11 @@ import org.springframework.mock.web.MockMultipartFile;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Set;
 
@@ -39,4 +43,99 @@ class FileTypeValidatorTest {
         Set<String> allowed = Set.of("image/png","image/jpeg","image/gif","image/webp");
         assertThat(FileTypeValidator.isAllowed(fake, allowed)).isFalse();
     }
+
+    @Test
+    @DisplayName("PNG, JPEG, GIF 헤더에서 이미지 크기 판별")
+    void reads_dimensions_from_headers() throws IOException {
+        assertDimensions("image/png", encode("png", 640, 480), 640, 480);
+        assertDimensions("image/jpeg", encode("jpeg", 1200, 800), 1200, 800);
+        assertDimensions("image/gif", encode("gif", 33, 17), 33, 17);
+    }
+
+    @Test
+    @DisplayName("WebP VP8, VP8L, VP8X 헤더에서 이미지 크기 판별")
+    void reads_webp_dimensions() {
+        byte[] vp8 = webp("VP8 ");
+        vp8[23] = (byte) 0x9D; vp8[24] = 0x01; vp8[25] = 0x2A;
+        vp8[26] = (byte) (800 & 0xFF); vp8[27] = (byte) (800 >> 8);
+        vp8[28] = (byte) (600 & 0xFF); vp8[29] = (byte) (600 >> 8);
+        assertDimensions("image/webp", vp8, 800, 600);
+
+        byte[] vp8l = webp("VP8L");
+        int bits = (300 - 1) | ((200 - 1) << 14);
+        vp8l[20] = 0x2F;
+        vp8l[21] = (byte) bits; vp8l[22] = (byte) (bits >> 8); vp8l[23] = (byte) (bits >> 16); vp8l[24] = (byte) (bits >> 24);
+        assertDimensions("image/webp", vp8l, 300, 200);
+
+        byte[] vp8x = webp("VP8X");
+        int w = 4000 - 1, h = 3000 - 1;
+        vp8x[24] = (byte) w; vp8x[25] = (byte) (w >> 8); vp8x[26] = (byte) (w >> 16);
+        vp8x[27] = (byte) h; vp8x[28] = (byte) (h >> 8); vp8x[29] = (byte) (h >> 16);
+        assertDimensions("image/webp", vp8x, 4000, 3000);
+    }
+
+    @Test
+    @DisplayName("헤더가 잘렸거나 SOF가 판별 범위 밖이면 크기를 알 수 없음")
+    void unknown_when_header_truncated() throws IOException {
+        byte[] png = encode("png", 10, 10);
+        assertThat(FileTypeValidator.dimensions("image/png", png, 20)).isEqualTo(FileTypeValidator.UNKNOWN_DIMENSIONS);
+
+        // SOI 뒤에 판별 범위보다 긴 APP1 세그먼트
+        byte[] jpeg = new byte[FileTypeValidator.DIMENSION_PROBE_LENGTH];
+        jpeg[0] = (byte) 0xFF; jpeg[1] = (byte) 0xD8; jpeg[2] = (byte) 0xFF; jpeg[3] = (byte) 0xE1;
+        jpeg[4] = (byte) 0xFF; jpeg[5] = (byte) 0xF0;
+        assertThat(FileTypeValidator.dimensions("image/jpeg", jpeg, jpeg.length))
+                .isEqualTo(FileTypeValidator.UNKNOWN_DIMENSIONS);
+    }
+
+    @Test
+    @DisplayName("다이렉트 버퍼는 position과 관계없이 인덱스 0부터 시그니처 검사")
+    void matches_direct_buffer_by_absolute_index() throws IOException {
+        byte[] png = encode("png", 4, 4);
+        ByteBuffer buf = ByteBuffer.allocateDirect(64);
+        buf.put(png, 0, 40); // 읽기 직후처럼 position이 끝에 있는 상태
+
+        assertThat(FileTypeValidator.matches("image/png", buf, buf.position())).isTrue();
+        assertThat(FileTypeValidator.matches("image/jpeg", buf, buf.position())).isFalse();
+        assertThat(FileTypeValidator.matches("image/png", buf, 4)).isFalse(); // 시그니처보다 짧음
+        assertThat(buf.position()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("JPEG 스캐너는 reset 후 다른 이미지에 재사용")
+    void jpeg_scanner_is_reusable() throws IOException {
+        FileTypeValidator.JpegScanner scanner = new FileTypeValidator.JpegScanner();
+        for (int[] size : new int[][]{{120, 80}, {33, 17}}) {
+            byte[] jpeg = encode("jpeg", size[0], size[1]);
+            scanner.feed(ByteBuffer.wrap(jpeg), 0, jpeg.length);
+            assertThat(scanner.isDone()).isTrue();
+            assertThat(FileTypeValidator.width(scanner.dimensions())).isEqualTo(size[0]);
+            assertThat(FileTypeValidator.height(scanner.dimensions())).isEqualTo(size[1]);
+            scanner.reset();
+            assertThat(scanner.isDone()).isFalse();
+        }
+    }
+
+    private static void assertDimensions(String mime, byte[] data, int width, int height) {
+        long dimensions = FileTypeValidator.dimensions(mime, data, data.length);
+        assertThat(dimensions).isNotEqualTo(FileTypeValidator.UNKNOWN_DIMENSIONS);
+        assertThat(FileTypeValidator.width(dimensions)).isEqualTo(width);
+        assertThat(FileTypeValidator.height(dimensions)).isEqualTo(height);
+    }
+
+    private static byte[] encode(String format, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height,
+                "gif".equals(format) ? BufferedImage.TYPE_BYTE_INDEXED : BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] webp(String chunk) {
+        byte[] data = new byte[40];
+        System.arraycopy("RIFF".getBytes(StandardCharsets.US_ASCII), 0, data, 0, 4);
+        System.arraycopy("WEBP".getBytes(StandardCharsets.US_ASCII), 0, data, 8, 4);
+        System.arraycopy(chunk.getBytes(StandardCharsets.US_ASCII), 0, data, 12, 4);
+        return data;
+    }
 }
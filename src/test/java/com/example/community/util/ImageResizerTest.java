@@ -0,0 +1,74 @@
+package com.example.community.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageResizerTest {
+
+    @Test
+    @DisplayName("불투명 이미지는 긴 변 기준으로 축소하여 JPEG로 인코딩")
+    void resizes_opaque_image_to_jpeg() throws IOException {
+        BufferedImage decoded = ImageResizer.decode(
+                new ByteArrayInputStream(png(2000, 1000, BufferedImage.TYPE_INT_RGB)), 1024, 40_000_000);
+
+        ImageResizer.Encoded thumb = ImageResizer.resize(decoded, 320);
+
+        assertThat(thumb.contentType()).isEqualTo("image/jpeg");
+        assertThat(thumb.extension()).isEqualTo("jpg");
+        assertThat(thumb.width()).isEqualTo(320);
+        assertThat(thumb.height()).isEqualTo(160);
+        BufferedImage read = ImageIO.read(new ByteArrayInputStream(thumb.bytes()));
+        assertThat(read.getWidth()).isEqualTo(320);
+    }
+
+    @Test
+    @DisplayName("서브샘플링 디코딩은 요청한 긴 변 이상을 유지")
+    void subsampled_decode_keeps_requested_long_side() throws IOException {
+        BufferedImage decoded = ImageResizer.decode(
+                new ByteArrayInputStream(png(3000, 1500, BufferedImage.TYPE_INT_RGB)), 1024, 40_000_000);
+
+        assertThat(decoded.getWidth()).isBetween(1024, 3000);
+        assertThat(decoded.getWidth()).isLessThan(3000);
+    }
+
+    @Test
+    @DisplayName("투명도가 있으면 PNG, 원본보다 확대하지 않음")
+    void keeps_alpha_and_never_upscales() throws IOException {
+        BufferedImage decoded = ImageResizer.decode(
+                new ByteArrayInputStream(png(200, 100, BufferedImage.TYPE_INT_ARGB)), 1024, 40_000_000);
+
+        ImageResizer.Encoded medium = ImageResizer.resize(decoded, 1024);
+
+        assertThat(medium.contentType()).isEqualTo("image/png");
+        assertThat(medium.width()).isEqualTo(200);
+        assertThat(medium.height()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 형식과 과도한 해상도는 UnsupportedImageException")
+    void rejects_unsupported_and_oversized_images() throws IOException {
+        assertThatThrownBy(() -> ImageResizer.decode(
+                new ByteArrayInputStream("not an image".getBytes()), 1024, 40_000_000))
+                .isInstanceOf(ImageResizer.UnsupportedImageException.class);
+
+        byte[] image = png(500, 500, BufferedImage.TYPE_INT_RGB);
+        assertThatThrownBy(() -> ImageResizer.decode(new ByteArrayInputStream(image), 1024, 100_000))
+                .isInstanceOf(ImageResizer.UnsupportedImageException.class);
+    }
+
+    private static byte[] png(int width, int height, int type) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
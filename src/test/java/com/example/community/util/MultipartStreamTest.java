@@ -0,0 +1,95 @@
+package com.example.community.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartStreamTest {
+
+    private static final String BOUNDARY = "----TestBoundary7MA4YWxkTrZu0gW";
+
+    @Test
+    @DisplayName("버퍼보다 큰 파트도 고정 버퍼로 순서대로 읽음")
+    void reads_parts_larger_than_buffer() throws IOException {
+        byte[] big = new byte[MultipartStream.BUFFER_SIZE * 3 + 5];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = (byte) (i % 251);
+        }
+        byte[] body = body(
+                part("title", null, null, "hello".getBytes(StandardCharsets.UTF_8)),
+                part("files", "a.png", "image/png", big),
+                part("files", "b \"x\".gif", "image/gif", new byte[]{'G', 'I', 'F'})
+        );
+
+        MultipartStream mp = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, body.length);
+
+        MultipartStream.Part title = mp.next();
+        assertThat(title.isFile()).isFalse();
+        assertThat(title.name()).isEqualTo("title");
+        // 읽지 않은 본문은 다음 파트로 넘어갈 때 버려짐
+
+        MultipartStream.Part a = mp.next();
+        assertThat(a.filename()).isEqualTo("a.png");
+        assertThat(a.contentType()).isEqualTo("image/png");
+        assertThat(a.body().readAllBytes()).isEqualTo(big);
+
+        MultipartStream.Part b = mp.next();
+        assertThat(b.filename()).isEqualTo("b \"x\".gif");
+        assertThat(b.body().readAllBytes()).containsExactly('G', 'I', 'F');
+
+        assertThat(mp.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("요청 크기 제한을 넘으면 읽는 도중 중단")
+    void enforces_raw_size_limit() throws IOException {
+        byte[] body = body(part("files", "a.png", "image/png", new byte[MultipartStream.BUFFER_SIZE * 4]));
+        MultipartStream mp = new MultipartStream(new ByteArrayInputStream(body), BOUNDARY, MultipartStream.BUFFER_SIZE * 2);
+
+        MultipartStream.Part part = mp.next();
+        assertThatThrownBy(() -> part.body().readAllBytes())
+                .isInstanceOf(MultipartStream.SizeLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Content-Type에서 boundary 추출")
+    void extracts_boundary() {
+        assertThat(MultipartStream.boundaryOf("multipart/form-data; boundary=abc")).isEqualTo("abc");
+        assertThat(MultipartStream.boundaryOf("multipart/form-data; boundary=\"a b\"")).isEqualTo("a b");
+        assertThat(MultipartStream.boundaryOf("application/json")).isNull();
+    }
+
+    private static byte[] part(String name, String filename, String contentType, byte[] content) {
+        StringBuilder h = new StringBuilder("--").append(BOUNDARY).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (filename != null) {
+            h.append("; filename=\"").append(filename.replace("\"", "\\\"")).append('"');
+        }
+        h.append("\r\n");
+        if (contentType != null) {
+            h.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        h.append("\r\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(h.toString().getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private static byte[] body(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] p : parts) {
+            out.writeBytes(p);
+        }
+        out.writeBytes(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+}
@@ -23,6 +23,7 @@ import jakarta.servlet.http.Cookie;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.http.HttpHeaders;
 import com.example.community.repository.MemberRepository;
+import com.example.community.security.OriginPolicy;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -38,7 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "refresh.exp-ms=3600000",
         "ALLOWED_ORIGINS=http://test1.example,http://test2.example"
 })
-@Import(AuthControllerSecurityTest.TestConfig.class)
+@Import({AuthControllerSecurityTest.TestConfig.class, OriginPolicy.class})
 @AutoConfigureMockMvc(addFilters = false)
 class AuthControllerSecurityTest {
 
@@ -5,6 +5,7 @@ import com.example.community.domain.Member;
 import com.example.community.domain.auth.RefreshToken;
 import com.example.community.repository.MemberRepository;
 import com.example.community.security.MemberDetails;
+import com.example.community.security.OriginPolicy;
 import com.example.community.service.MemberService;
 import com.example.community.service.RefreshTokenService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -37,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 로그인, 토큰 갱신, 로그아웃 기능 테스트
  */
 @WebMvcTest(AuthController.class)
+@Import(OriginPolicy.class)
 @AutoConfigureMockMvc(addFilters = false)
 @TestPropertySource(properties = {
     "refresh.exp-ms=3600000",
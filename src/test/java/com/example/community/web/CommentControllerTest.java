@@ -5,6 +5,7 @@ import com.example.community.domain.Member;
 import com.example.community.repository.dto.CommentProjection;
 import com.example.community.security.MemberDetails;
 import com.example.community.service.CommentService;
+import com.example.community.web.dto.CommentRes;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -120,7 +121,7 @@ class CommentControllerTest {
         
         // 현재 인증 주체(MemberDetails)의 id=1L 가정
         when(commentService.add(eq(postId), eq(1L), eq(content)))
-                .thenReturn(savedComment);
+                .thenReturn(CommentRes.of(savedComment));
         
         // when & then
         mockMvc.perform(post("/api/posts/{postId}/comments", postId)
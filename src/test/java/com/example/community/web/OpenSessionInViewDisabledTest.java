@@ -0,0 +1,109 @@
+package com.example.community.web;
+
+import com.example.community.domain.BoardType;
+import com.example.community.domain.Member;
+import com.example.community.domain.Post;
+import com.example.community.domain.PostImage;
+import com.example.community.repository.MemberRepository;
+import com.example.community.repository.PostRepository;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * OSIV 비활성화 확인
+ *
+ * 영속성 컨텍스트가 요청 전체로 열려 있지 않으므로 컨트롤러/직렬화 단계에서 지연 로딩이 일어나면
+ * LazyInitializationException으로 500 응답이 되어 이 테스트가 실패합니다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"ALLOWED_ORIGINS=http://localhost:3000"})
+class OpenSessionInViewDisabledTest {
+
+    private static final String TITLE = "osiv-check 게시글";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ApplicationContext context;
+    @Autowired private MemberRepository members;
+    @Autowired private PostRepository posts;
+
+    private Member author;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        author = members.save(Member.builder().username("osiv-user").email("osiv@test.com")
+                .password("p").roles(Set.of("ROLE_USER")).build());
+        Post p = Post.builder().title(TITLE).content("본문").boardType(BoardType.FREE).author(author).build();
+        p.addImage(PostImage.builder().fileKey("posts/" + author.getId() + "/a.png").originalName("a.png")
+                .contentType("image/png").size(10).url("/files/posts/" + author.getId() + "/a.png")
+                .width(640).height(480).build());
+        post = posts.save(p);
+    }
+
+    @AfterEach
+    void tearDown() {
+        posts.deleteById(post.getId());
+        members.deleteById(author.getId());
+    }
+
+    @Test
+    @DisplayName("OSIV 인터셉터가 등록되지 않음")
+    void open_in_view_interceptor_is_not_registered() {
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 지연 연관을 건드리면 예외")
+    void lazy_association_outside_transaction_fails() {
+        Post detached = posts.findById(post.getId()).orElseThrow();
+
+        assertThatThrownBy(() -> detached.getImages().size()).isInstanceOf(LazyInitializationException.class);
+        assertThatThrownBy(() -> detached.getAuthor().getUsername()).isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    @DisplayName("목록 응답은 트랜잭션 안에서 작성자와 이미지를 모두 채움")
+    void list_response_is_fully_materialized() throws Exception {
+        mockMvc.perform(get("/api/posts").param("q", "osiv-check").header("Origin", "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].author.username").value("osiv-user"))
+                .andExpect(jsonPath("$.content[0].images[0].fileKey").value("posts/" + author.getId() + "/a.png"))
+                .andExpect(jsonPath("$.content[0].images[0].width").value(640));
+
+        mockMvc.perform(get("/api/posts/board/{boardType}", BoardType.FREE).param("q", "osiv-check")
+                        .header("Origin", "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].images[0].height").value(480));
+    }
+
+    @Test
+    @DisplayName("상세 응답은 트랜잭션 안에서 작성자와 이미지를 모두 채움")
+    void detail_response_is_fully_materialized() throws Exception {
+        mockMvc.perform(get("/api/posts/{id}", post.getId()).header("Origin", "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value(TITLE))
+                .andExpect(jsonPath("$.author.username").value("osiv-user"))
+                .andExpect(jsonPath("$.images[0].url").value("/files/posts/" + author.getId() + "/a.png"));
+    }
+}
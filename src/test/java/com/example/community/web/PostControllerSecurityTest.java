@@ -5,6 +5,7 @@ import com.example.community.domain.Post;
 import com.example.community.security.PostSecurity;
 import com.example.community.service.PostService;
 import com.example.community.service.dto.PostDtos;
+import com.example.community.web.dto.PostRes;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -61,7 +62,7 @@ class PostControllerSecurityTest {
     @WithAnonymousUser
     void anonymousUserCanAccessPostList() throws Exception {
         // given
-        Page<Post> emptyPage = new PageImpl<>(new ArrayList<>());
+        Page<PostRes> emptyPage = new PageImpl<>(new ArrayList<>());
         when(postService.search(any(), any())).thenReturn(emptyPage);
 
         // when & then
@@ -116,7 +117,7 @@ class PostControllerSecurityTest {
                 .author(author)
                 .build();
 
-        when(postService.create(anyLong(), any(PostDtos.Create.class))).thenReturn(createdPost);
+        when(postService.create(anyLong(), any(PostDtos.Create.class))).thenReturn(PostRes.of(createdPost));
         when(postSecurity.isNoticeAllowed(any(PostDtos.Create.class))).thenReturn(true);
 
         // when & then
@@ -180,7 +181,7 @@ class PostControllerSecurityTest {
                 .build();
 
         when(postService.create(org.mockito.ArgumentMatchers.anyLong(), org.mockito.ArgumentMatchers.any(PostDtos.Create.class)))
-                .thenReturn(created);
+                .thenReturn(PostRes.of(created));
 
         // when & then
         mockMvc.perform(post("/api/posts")
@@ -0,0 +1,91 @@
+package com.example.community.web;
+
+import com.example.community.config.MaxQueries;
+import com.example.community.domain.BoardType;
+import com.example.community.domain.Member;
+import com.example.community.domain.Post;
+import com.example.community.domain.PostImage;
+import com.example.community.repository.MemberRepository;
+import com.example.community.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 게시글 조회 API의 SQL 문장 수 상한 (N+1 회귀 방지)
+ *
+ * 게시글/이미지 수가 늘어도 문장 수가 고정되어야 합니다.
+ * 목록: 게시글+작성자 1, 이미지 IN 1 (+ 필요 시 count 1), 상세: 게시글+작성자+이미지 1, 조회수 증가 1
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"ALLOWED_ORIGINS=http://localhost:3000"})
+class PostQueryBudgetTest {
+
+    private static final int POSTS = 5;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private MemberRepository members;
+    @Autowired private PostRepository posts;
+
+    private Member author;
+    private final List<Post> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        author = members.save(Member.builder().username("budget-user").email("budget@test.com")
+                .password("p").roles(Set.of("ROLE_USER")).build());
+        for (int i = 0; i < POSTS; i++) {
+            Post p = Post.builder().title("query-budget " + i).content("본문").boardType(BoardType.FREE)
+                    .author(author).build();
+            for (int j = 0; j < 2; j++) {
+                String key = "posts/" + author.getId() + "/" + i + "-" + j + ".png";
+                p.addImage(PostImage.builder().fileKey(key).originalName(i + "-" + j + ".png")
+                        .contentType("image/png").size(10).url("/files/" + key).width(10).height(10).build());
+            }
+            saved.add(posts.save(p));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        saved.forEach(p -> posts.deleteById(p.getId()));
+        members.deleteById(author.getId());
+    }
+
+    @Test
+    @MaxQueries(3)
+    @DisplayName("목록 조회는 게시글 수와 무관하게 고정된 문장 수")
+    void list_does_not_issue_per_post_queries() throws Exception {
+        mockMvc.perform(get("/api/posts").param("q", "query-budget").header("Origin", "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(POSTS))
+                .andExpect(jsonPath("$.content[0].images.length()").value(2));
+    }
+
+    @Test
+    @MaxQueries(2)
+    @DisplayName("상세 조회는 작성자와 이미지를 한 번에 가져옴")
+    void detail_fetches_author_and_images_at_once() throws Exception {
+        mockMvc.perform(get("/api/posts/{id}", saved.get(0).getId()).header("Origin", "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author.username").value("budget-user"))
+                .andExpect(jsonPath("$.images.length()").value(2));
+    }
+}
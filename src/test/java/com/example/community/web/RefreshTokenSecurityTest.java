@@ -6,6 +6,7 @@ import com.example.community.domain.auth.RefreshToken;
 import com.example.community.repository.MemberRepository;
 import com.example.community.service.MemberService;
 import com.example.community.service.RefreshTokenService;
+import com.example.community.security.OriginPolicy;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -38,7 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "refresh.cookie.secure=false",
         "refresh.cookie.same-site=Lax"
 })
-@Import(RefreshTokenSecurityTest.TestConfig.class)
+@Import({RefreshTokenSecurityTest.TestConfig.class, OriginPolicy.class})
 public class RefreshTokenSecurityTest {
 
     @Autowired